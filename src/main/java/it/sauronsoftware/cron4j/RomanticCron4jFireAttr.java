@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+/**
+ * The attribute of cron fire determined by scheduler, e.g. planned fire time. (immutable) <br>
+ * Not exists for launch-now because it is not fired by cron.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jFireAttr {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long plannedFireMillis; // epoch millis of the time matched with cron
+    protected final long spreadMillis; // zero if no spreading
+    protected final boolean catchUp; // true if fired for missed fire time (misfire)
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public RomanticCron4jFireAttr(long plannedFireMillis, long spreadMillis, boolean catchUp) {
+        this.plannedFireMillis = plannedFireMillis;
+        this.spreadMillis = spreadMillis;
+        this.catchUp = catchUp;
+    }
+
+    public RomanticCron4jFireAttr withSpread(long spreadMillis) {
+        return new RomanticCron4jFireAttr(plannedFireMillis, spreadMillis, catchUp);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "fire:{planned=" + plannedFireMillis + ", spread=" + spreadMillis + "ms" + (catchUp ? ", catchUp" : "") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getPlannedFireMillis() {
+        return plannedFireMillis;
+    }
+
+    public long getSpreadMillis() {
+        return spreadMillis;
+    }
+
+    public boolean isCatchUp() {
+        return catchUp;
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.lastaflute.job.log.JobErrorLog;
+import org.lastaflute.job.log.JobErrorStackTracer;
+import org.lastaflute.job.subsidiary.CompiledCronExp;
+
+/**
+ * The scheduler engine keeping tasks in the queue ordered by next fire time. <br>
+ * Native cron4j wakes every minute and matches all patterns with the current time,
+ * but this engine computes next fire time once per fire and waits for only the earliest task,
+ * so cost per tick is proportional to the tasks actually due.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jFireQueueScheduler extends RomanticCron4jNativeScheduler {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, FireQueueEntry> entryMap = new HashMap<String, FireQueueEntry>(); // guarded by fireLock
+    protected final PriorityQueue<FireQueueEntry> fireQueue = createFireQueue(); // guarded by fireLock
+    protected final ReentrantLock fireLock = new ReentrantLock();
+    protected final Condition fireCondition = fireLock.newCondition(); // signaled when queue changed
+    protected Thread dispatcherThread; // null allowed before start, guarded by fireLock
+    protected boolean dispatching; // guarded by fireLock
+
+    protected PriorityQueue<FireQueueEntry> createFireQueue() {
+        return new PriorityQueue<FireQueueEntry>(Comparator.comparingLong(entry -> entry.getNextFireMillis()));
+    }
+
+    // ===================================================================================
+    //                                                                         Queue Entry
+    //                                                                         ===========
+    protected static class FireQueueEntry {
+
+        protected final String id; // not null
+        protected final Task task; // not null
+        protected final SchedulingPattern pattern; // not null
+        protected final CompiledCronExp compiledCron; // not null, compiled from the pattern once
+        protected long nextFireMillis; // guarded by fireLock
+
+        public FireQueueEntry(String id, Task task, SchedulingPattern pattern) {
+            this.id = id;
+            this.task = task;
+            this.pattern = pattern;
+            this.compiledCron = RomanticCron4jPatternCompiler.compile(pattern);
+        }
+
+        @Override
+        public String toString() {
+            return "entry:{" + id + ", " + pattern + ", next=" + nextFireMillis + "}";
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Task getTask() {
+            return task;
+        }
+
+        public SchedulingPattern getPattern() {
+            return pattern;
+        }
+
+        public CompiledCronExp getCompiledCron() {
+            return compiledCron;
+        }
+
+        public long getNextFireMillis() {
+            return nextFireMillis;
+        }
+
+        public void setNextFireMillis(long nextFireMillis) {
+            this.nextFireMillis = nextFireMillis;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Schedule
+    //                                                                            ========
+    @Override
+    public boolean isSecondsSupported() { // fires at exact time without minute polling
+        return true;
+    }
+
+    @Override
+    public String schedule(String cronExp, Task task) throws InvalidPatternException {
+        return schedule(createSchedulingPattern(cronExp), task);
+    }
+
+    @Override
+    public String schedule(SchedulingPattern pattern, Task task) { // also called by string pattern
+        final String id = GUIDGenerator.generate();
+        fireLock.lock();
+        try {
+            enqueue(new FireQueueEntry(id, task, pattern), System.currentTimeMillis());
+        } finally {
+            fireLock.unlock();
+        }
+        return id;
+    }
+
+    @Override
+    public void reschedule(String id, String cronExp) throws InvalidPatternException {
+        reschedule(id, createSchedulingPattern(cronExp));
+    }
+
+    @Override
+    public void reschedule(String id, SchedulingPattern pattern) { // also called by string pattern
+        fireLock.lock();
+        try {
+            final FireQueueEntry existing = entryMap.remove(id);
+            if (existing == null) { // same as native (ignored)
+                return;
+            }
+            fireQueue.remove(existing); // linear but rare
+            enqueue(new FireQueueEntry(id, existing.getTask(), pattern), System.currentTimeMillis());
+        } finally {
+            fireLock.unlock();
+        }
+    }
+
+    @Override
+    public void deschedule(String id) {
+        fireLock.lock();
+        try {
+            final FireQueueEntry existing = entryMap.remove(id);
+            if (existing != null) {
+                fireQueue.remove(existing);
+                fireCondition.signalAll();
+            }
+        } finally {
+            fireLock.unlock();
+        }
+    }
+
+    @Override
+    public Task getTask(String id) {
+        fireLock.lock();
+        try {
+            final FireQueueEntry entry = entryMap.get(id);
+            return entry != null ? entry.getTask() : null;
+        } finally {
+            fireLock.unlock();
+        }
+    }
+
+    @Override
+    public SchedulingPattern getSchedulingPattern(String id) {
+        fireLock.lock();
+        try {
+            final FireQueueEntry entry = entryMap.get(id);
+            return entry != null ? entry.getPattern() : null;
+        } finally {
+            fireLock.unlock();
+        }
+    }
+
+    protected void enqueue(FireQueueEntry entry, long baseMillis) { // in fire lock
+        entry.setNextFireMillis(calculateNextFireMillis(entry, baseMillis));
+        entryMap.put(entry.getId(), entry);
+        fireQueue.add(entry);
+        fireCondition.signalAll(); // the head might be changed
+    }
+
+    protected SchedulingPattern createSchedulingPattern(String cronExp) {
+        if (RomanticCron4jSecondsPattern.hasSecondsField(cronExp)) {
+            return new RomanticCron4jSecondsPattern(cronExp);
+        } else {
+            return new SchedulingPattern(cronExp);
+        }
+    }
+
+    protected long calculateNextFireMillis(FireQueueEntry entry, long baseMillis) { // strictly after the base
+        final long nextMillis = entry.getCompiledCron().nextFireMillis(baseMillis, prepareTimeZone());
+        return nextMillis != CompiledCronExp.NOT_FOUND ? nextMillis : Long.MAX_VALUE; // e.g. '0 0 31 2 *' is never fired
+    }
+
+    // ===================================================================================
+    //                                                                          Start/Stop
+    //                                                                          ==========
+    @Override
+    public void start() throws IllegalStateException {
+        super.start(); // for e.g. started status, executor list (native launcher does nothing)
+        fireLock.lock();
+        try {
+            rebaseFireQueue(System.currentTimeMillis()); // e.g. restart after stop()
+            dispatching = true;
+            dispatcherThread = createDispatcherThread();
+            dispatcherThread.start();
+        } finally {
+            fireLock.unlock();
+        }
+    }
+
+    protected void rebaseFireQueue(long baseMillis) { // in fire lock
+        // stopped time is not misfire so next fire times are recalculated from now
+        fireQueue.clear();
+        for (FireQueueEntry entry : entryMap.values()) {
+            entry.setNextFireMillis(calculateNextFireMillis(entry, baseMillis));
+            fireQueue.add(entry);
+        }
+    }
+
+    protected Thread createDispatcherThread() {
+        final Thread thread = new Thread(() -> dispatch());
+        thread.setName("cron4j::fireQueue::" + getGuid());
+        thread.setDaemon(isDaemon());
+        return thread;
+    }
+
+    @Override
+    public void stop() throws IllegalStateException {
+        final Thread stoppedThread;
+        fireLock.lock();
+        try {
+            dispatching = false;
+            fireCondition.signalAll();
+            stoppedThread = dispatcherThread;
+            dispatcherThread = null;
+        } finally {
+            fireLock.unlock();
+        }
+        if (stoppedThread != null) {
+            try {
+                stoppedThread.join(); // to avoid spawning executor after stopping executors
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.stop();
+    }
+
+    // ===================================================================================
+    //                                                                            Dispatch
+    //                                                                            ========
+    protected void dispatch() {
+        while (true) {
+            final List<DueFire> dueFireList;
+            fireLock.lock();
+            try {
+                if (!dispatching) {
+                    return;
+                }
+                final long waitMillis = awaitNextFire();
+                if (waitMillis > 0) { // signaled or spurious wakeup, check the head again
+                    continue;
+                }
+                dueFireList = pollDueFireList(System.currentTimeMillis());
+            } catch (InterruptedException e) { // basically no way, only stop() ends dispatching
+                continue;
+            } finally {
+                fireLock.unlock();
+            }
+            for (DueFire dueFire : dueFireList) { // out of lock not to block schedule() of the tasks
+                fireTask(dueFire);
+            }
+        }
+    }
+
+    protected long awaitNextFire() throws InterruptedException { // in fire lock, returns zero if fire is due
+        final FireQueueEntry head = fireQueue.peek();
+        if (head == null) {
+            fireCondition.await();
+            return Long.MAX_VALUE;
+        }
+        final long waitMillis = head.getNextFireMillis() - System.currentTimeMillis();
+        if (waitMillis > 0) {
+            fireCondition.await(waitMillis, TimeUnit.MILLISECONDS);
+            return waitMillis;
+        }
+        return 0L;
+    }
+
+    protected List<DueFire> pollDueFireList(long currentMillis) { // in fire lock
+        final List<DueFire> dueFireList = new ArrayList<DueFire>();
+        while (!fireQueue.isEmpty() && fireQueue.peek().getNextFireMillis() <= currentMillis) {
+            final FireQueueEntry entry = fireQueue.poll();
+            final long plannedMillis = entry.getNextFireMillis();
+            // fire times until current time are missed if late over the minimum interval (a second) by e.g. JVM pause
+            final boolean possiblyMissed = currentMillis - plannedMillis >= 1000L;
+            dueFireList.add(new DueFire(entry.getTask(), plannedMillis, possiblyMissed ? currentMillis : -1L));
+            // from current time to skip missed fires (handled by misfire policy of the task)
+            final long baseMillis = Math.max(plannedMillis, currentMillis);
+            entry.setNextFireMillis(calculateNextFireMillis(entry, baseMillis));
+            fireQueue.add(entry);
+        }
+        return dueFireList;
+    }
+
+    protected static class DueFire {
+
+        protected final Task task; // not null
+        protected final long plannedMillis; // the due time of the entry
+        protected final long polledMillis; // minus if not late, fire times until this are missed (inclusive)
+
+        public DueFire(Task task, long plannedMillis, long polledMillis) {
+            this.task = task;
+            this.plannedMillis = plannedMillis;
+            this.polledMillis = polledMillis;
+        }
+
+        public Task getTask() {
+            return task;
+        }
+
+        public long getPlannedMillis() {
+            return plannedMillis;
+        }
+
+        public long getPolledMillis() {
+            return polledMillis;
+        }
+    }
+
+    protected void fireTask(DueFire dueFire) {
+        final Task task = dueFire.getTask();
+        try {
+            spawnCronFire(task, dueFire.getPlannedMillis(), /*catchUp*/false);
+            if (dueFire.getPolledMillis() >= 0L) {
+                handleMisfire(task, dueFire.getPlannedMillis(), dueFire.getPolledMillis() + 1L); // e.g. JVM pause
+            }
+        } catch (RuntimeException e) { // dispatcher should continue for other tasks
+            final String stackTrace = new JobErrorStackTracer().buildExceptionStackTrace(e);
+            JobErrorLog.log("Failed to fire the task: " + task + "\n" + stackTrace);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                     Native Launcher
+    //                                                                     ===============
+    @Override
+    LauncherThread spawnLauncher(long referenceTimeInMillis) { // called by native timer every minute
+        return null; // no matching here, tasks are fired (and misfire is detected) by dispatcher (return value is unused by timer)
+    }
+}
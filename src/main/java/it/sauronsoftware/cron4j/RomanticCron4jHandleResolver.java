@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * The resolver of method handles for private members of native cron4j. <br>
+ * Handles are resolved once (basically at class initialization) and kept as static final,
+ * so accessing them is as cheap as direct access after JIT inlining (unlike reflection).
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jHandleResolver {
+
+    // ===================================================================================
+    //                                                                               Field
+    //                                                                               =====
+    /**
+     * @param declaringType The type declaring the private field. (NotNull)
+     * @param fieldName The name of the field. (NotNull)
+     * @param exposedType The type of field value for invocation, e.g. Object for private type. (NotNull)
+     * @return The method handle as (declaringType)exposedType. (NotNull)
+     */
+    public static MethodHandle findGetter(Class<?> declaringType, String fieldName, Class<?> exposedType) {
+        final Field field = findAccessibleField(declaringType, fieldName);
+        try {
+            return lookup().unreflectGetter(field).asType(MethodType.methodType(exposedType, declaringType));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to resolve the getter: " + field, e);
+        }
+    }
+
+    /**
+     * @param declaringType The type declaring the private field. (NotNull)
+     * @param fieldName The name of the field. (NotNull)
+     * @param exposedType The type of field value for invocation. (NotNull)
+     * @return The method handle as (declaringType, exposedType)void. (NotNull)
+     */
+    public static MethodHandle findSetter(Class<?> declaringType, String fieldName, Class<?> exposedType) {
+        final Field field = findAccessibleField(declaringType, fieldName);
+        try {
+            return lookup().unreflectSetter(field).asType(MethodType.methodType(void.class, declaringType, exposedType));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to resolve the setter: " + field, e);
+        }
+    }
+
+    protected static Field findAccessibleField(Class<?> declaringType, String fieldName) {
+        try {
+            final Field field = declaringType.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) { // e.g. unexpected cron4j version
+            throw new IllegalStateException("Not found the field: " + declaringType.getName() + "@" + fieldName, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Method
+    //                                                                              ======
+    /**
+     * @param declaringType The type declaring the private method. (NotNull)
+     * @param methodName The name of the method. (NotNull)
+     * @param argTypes The array of argument types of the method. (NotNull, EmptyAllowed)
+     * @return The method handle as (declaringType, argTypes...)returnType. (NotNull)
+     */
+    public static MethodHandle findMethod(Class<?> declaringType, String methodName, Class<?>... argTypes) {
+        final Method method;
+        try {
+            method = declaringType.getDeclaredMethod(methodName, argTypes);
+        } catch (NoSuchMethodException e) { // e.g. unexpected cron4j version
+            throw new IllegalStateException("Not found the method: " + declaringType.getName() + "@" + methodName + "()", e);
+        }
+        method.setAccessible(true);
+        try {
+            return lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to resolve the method: " + method, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Invoke
+    //                                                                              ======
+    /**
+     * Handle the throwable from method handle invocation.
+     * @param e The thrown throwable. (NotNull)
+     * @param handleDisp The display of the handle for exception message. (NotNull)
+     * @return The runtime exception to be thrown. (NotNull)
+     */
+    public static RuntimeException translateInvocationFailure(Throwable e, String handleDisp) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException("Failed to invoke the handle: " + handleDisp, e); // checked, no way
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected static MethodHandles.Lookup lookup() {
+        return MethodHandles.lookup();
+    }
+}
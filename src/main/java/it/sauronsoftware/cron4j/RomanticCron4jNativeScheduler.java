@@ -15,12 +15,21 @@
  */
 package it.sauronsoftware.cron4j;
 
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.dbflute.optional.OptionalThing;
-import org.dbflute.util.DfReflectionUtil;
 import org.lastaflute.job.cron4j.Cron4jTask;
+import org.lastaflute.job.cron4j.Cron4jVirtualThreadFactory;
+import org.lastaflute.job.cron4j.Cron4jWorkerPool;
+import org.lastaflute.job.log.JobErrorLog;
+import org.lastaflute.job.log.JobErrorStackTracer;
 import org.lastaflute.job.subsidiary.LaunchNowOption;
 
 /**
@@ -33,17 +42,71 @@ public class RomanticCron4jNativeScheduler extends Scheduler {
     //                                                                           Attribute
     //                                                                           =========
     // -----------------------------------------------------
-    //                                            Reflection
-    //                                            ----------
-    protected final Object attributeLinkLock = this; // per instance
-    protected final Object reflectionPartyLock = RomanticCron4jNativeScheduler.class; // as static
+    //                                                Option
+    //                                                ------
+    protected Cron4jWorkerPool workerPool; // null allowed, option (fresh thread per execution if null)
+    protected boolean virtualThreadUsed; // for all jobs, option
 
-    protected static Field executorsField; // cached
-    protected List<TaskExecutor> linkedExecutors;
+    // -----------------------------------------------------
+    //                                           Fire Spread
+    //                                           -----------
+    protected ScheduledExecutorService spreadTimer; // null allowed, lazy-loaded at first spreading, guarded by attributeLinkLock
+
+    // -----------------------------------------------------
+    //                                               Misfire
+    //                                               -------
+    protected volatile long lastLaunchMinuteMillis; // zero before first launch, updated by native timer thread only
 
-    protected static Field lockField; // cached
+    // -----------------------------------------------------
+    //                                         Native Handle
+    //                                         -------------
+    // resolved once at class initialization, static final handles are inlined by JIT
+    protected static final MethodHandle executorsGetterHandle = findGetter("executors", List.class);
+    protected static final MethodHandle lockGetterHandle = findGetter("lock", Object.class);
+    protected static final MethodHandle launcherReferenceTimeGetterHandle =
+            RomanticCron4jHandleResolver.findGetter(LauncherThread.class, "referenceTimeInMillis", long.class);
+
+    protected final Object attributeLinkLock = this; // per instance
+    protected List<TaskExecutor> linkedExecutors;
     protected Object linkedLock;
 
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    /**
+     * @param workerPool The pool of worker threads to execute tasks on reused threads. (NotNull)
+     */
+    public void useWorkerPool(Cron4jWorkerPool workerPool) {
+        if (workerPool == null) {
+            throw new IllegalArgumentException("The argument 'workerPool' should not be null.");
+        }
+        if (isStarted()) {
+            throw new IllegalStateException("Cannot use worker pool after started: " + workerPool);
+        }
+        this.workerPool = workerPool;
+    }
+
+    /**
+     * Execute all jobs on virtual threads if the runtime supports it. (platform thread if not) <br>
+     * Virtual thread is prior to worker pool, which is used for platform thread.
+     */
+    public void useVirtualThread() {
+        if (isStarted()) {
+            throw new IllegalStateException("Cannot use virtual thread after started.");
+        }
+        this.virtualThreadUsed = true;
+    }
+
+    // ===================================================================================
+    //                                                                             Support
+    //                                                                             =======
+    /**
+     * @return true if the cron expression can have seconds field. (native cron4j polls per minute)
+     */
+    public boolean isSecondsSupported() {
+        return false;
+    }
+
     // ===================================================================================
     //                                                                          Launch Now
     //                                                                          ==========
@@ -53,7 +116,7 @@ public class RomanticCron4jNativeScheduler extends Scheduler {
             if (!isStarted()) {
                 throw new IllegalStateException("Scheduler not started");
             }
-            return doSpawnExecutor(cron4jTask, OptionalThing.of(nowOption));
+            return doSpawnExecutor(cron4jTask, OptionalThing.of(nowOption), OptionalThing.empty()); // not cron fire
         }
     }
 
@@ -61,48 +124,216 @@ public class RomanticCron4jNativeScheduler extends Scheduler {
     //                                                                      Spawn Executor
     //                                                                      ==============
     @Override
-    protected TaskExecutor spawnExecutor(Task task) { // called by run() (and unused launch())
-        return doSpawnExecutor(task, OptionalThing.ofNullable(null, () -> {
+    protected TaskExecutor spawnExecutor(Task task) { // called by launcher thread of run() (and unused launch())
+        return spawnCronFire(task, derivePlannedFireMillis(), /*catchUp*/false);
+    }
+
+    protected long derivePlannedFireMillis() { // basically in launcher thread
+        final Thread currentThread = Thread.currentThread();
+        final long referenceMillis;
+        if (currentThread instanceof LauncherThread) { // basically here, the time matched with cron patterns
+            try {
+                referenceMillis = (long) launcherReferenceTimeGetterHandle.invokeExact((LauncherThread) currentThread);
+            } catch (Throwable e) {
+                throw RomanticCron4jHandleResolver.translateInvocationFailure(e, "referenceTimeInMillis");
+            }
+        } else { // e.g. launch() of native API
+            referenceMillis = System.currentTimeMillis();
+        }
+        return truncateToMinute(referenceMillis); // native cron4j matches per minute
+    }
+
+    protected TaskExecutor spawnCronFire(Task task, long plannedFireMillis, boolean catchUp) {
+        final long spreadMillis = determineFireSpreadMillis(task);
+        final RomanticCron4jFireAttr fireAttr = new RomanticCron4jFireAttr(plannedFireMillis, spreadMillis, catchUp);
+        if (spreadMillis > 0L) { // delayed by timer not to block launcher thread for other tasks
+            scheduleSpreadFire(task, fireAttr);
+            return null; // return value is unused by launcher
+        }
+        return doSpawnExecutor(task, emptyNowOption(), OptionalThing.of(fireAttr));
+    }
+
+    protected OptionalThing<LaunchNowOption> emptyNowOption() {
+        return OptionalThing.ofNullable(null, () -> {
             throw new IllegalStateException("Not found the launch-now option because of not launch-now.");
-        }));
+        });
     }
 
-    protected TaskExecutor doSpawnExecutor(Task task, OptionalThing<LaunchNowOption> nowOption) {
+    protected TaskExecutor doSpawnExecutor(Task task, OptionalThing<LaunchNowOption> nowOption,
+            OptionalThing<RomanticCron4jFireAttr> fireAttr) {
         setupLinkedExecutorsIfNeeds();
-        final TaskExecutor executor = createTaskExecutor(task, nowOption);
+        final TaskExecutor executor = createTaskExecutor(task, nowOption, fireAttr);
         synchronized (linkedExecutors) {
             linkedExecutors.add(executor);
         }
-        executor.start(isDaemon());
+        try {
+            executor.start(isDaemon());
+        } catch (RejectedExecutionException e) { // by worker pool
+            synchronized (linkedExecutors) {
+                linkedExecutors.remove(executor);
+            }
+            if (nowOption.isPresent()) { // caller of launch-now can handle it
+                throw e;
+            }
+            // cron launcher thread should continue for other tasks
+            JobErrorLog.log("Cannot execute the task because of rejection by worker pool: " + task + ", " + workerPool);
+        }
         return executor;
     }
 
-    protected TaskExecutor createTaskExecutor(Task task, OptionalThing<LaunchNowOption> nowOption) {
-        return new RomanticCron4jNativeTaskExecutor(this, task, nowOption);
+    protected TaskExecutor createTaskExecutor(Task task, OptionalThing<LaunchNowOption> nowOption,
+            OptionalThing<RomanticCron4jFireAttr> fireAttr) {
+        final boolean virtualThread = determineVirtualThread(task);
+        return new RomanticCron4jNativeTaskExecutor(this, task, nowOption, OptionalThing.ofNullable(workerPool, () -> {
+            throw new IllegalStateException("Not found the worker pool.");
+        }), virtualThread, fireAttr);
+    }
+
+    protected boolean determineVirtualThread(Task task) {
+        if (!isVirtualThreadSupported()) { // e.g. Java8, falls back to platform thread
+            return false;
+        }
+        if (virtualThreadUsed) { // scheduler-wide
+            return true;
+        }
+        return task instanceof Cron4jTask && ((Cron4jTask) task).getVaryingCron().getCronOption().isVirtualThreadUsed();
+    }
+
+    protected boolean isVirtualThreadSupported() {
+        return Cron4jVirtualThreadFactory.isSupported();
     }
 
     // ===================================================================================
-    //                                                                 Reflection Festival
-    //                                                                 ===================
+    //                                                                         Fire Spread
+    //                                                                         ===========
+    protected long determineFireSpreadMillis(Task task) {
+        return task instanceof Cron4jTask ? ((Cron4jTask) task).determineFireSpreadMillis() : 0L;
+    }
+
+    protected void scheduleSpreadFire(Task task, RomanticCron4jFireAttr fireAttr) {
+        try {
+            final long spreadMillis = fireAttr.getSpreadMillis();
+            prepareSpreadTimer().schedule(() -> fireSpreadTask(task, fireAttr), spreadMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) { // already stopped, so no fire
+        }
+    }
+
+    protected ScheduledExecutorService prepareSpreadTimer() {
+        synchronized (attributeLinkLock) {
+            if (spreadTimer == null) {
+                spreadTimer = createSpreadTimer();
+            }
+            return spreadTimer;
+        }
+    }
+
+    protected ScheduledExecutorService createSpreadTimer() {
+        final String threadName = "cron4j::spreader::" + getGuid();
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true); // only waits, stopped with scheduler
+            return thread;
+        });
+    }
+
+    protected void fireSpreadTask(Task task, RomanticCron4jFireAttr fireAttr) { // in timer thread
+        setupLinkedLockIfNeeds();
+        try {
+            synchronized (linkedLock) { // same as launch-now, not to spawn after stopping executors
+                if (!isStarted()) {
+                    return;
+                }
+                doSpawnExecutor(task, emptyNowOption(), OptionalThing.of(fireAttr));
+            }
+        } catch (RuntimeException e) { // timer should continue for other tasks
+            final String stackTrace = new JobErrorStackTracer().buildExceptionStackTrace(e);
+            JobErrorLog.log("Failed to fire the spread task: " + task + "\n" + stackTrace);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Misfire
+    //                                                                             =======
+    @Override
+    LauncherThread spawnLauncher(long referenceTimeInMillis) { // called by native timer thread every minute
+        final long currentMinuteMillis = truncateToMinute(referenceTimeInMillis);
+        final long previousMinuteMillis = lastLaunchMinuteMillis;
+        lastLaunchMinuteMillis = currentMinuteMillis;
+        if (previousMinuteMillis > 0L && currentMinuteMillis - previousMinuteMillis > 60000L) { // e.g. JVM pause
+            // native timer launches only for the current time after sleeping so minutes between them are missed
+            for (Task task : collectScheduledTaskList()) {
+                handleMisfire(task, previousMinuteMillis, currentMinuteMillis);
+            }
+        }
+        return super.spawnLauncher(referenceTimeInMillis);
+    }
+
+    protected List<Task> collectScheduledTaskList() {
+        final List<Task> taskList = new ArrayList<Task>();
+        for (TaskCollector collector : getTaskCollectors()) {
+            final TaskTable taskTable = collector.getTasks();
+            final int size = taskTable.size();
+            for (int i = 0; i < size; i++) {
+                taskList.add(taskTable.getTask(i));
+            }
+        }
+        return taskList;
+    }
+
+    /**
+     * @param task The scheduled task that may have missed fire times. (NotNull)
+     * @param afterMillis The epoch millis after which fire times are missed (exclusive), e.g. last planned time.
+     * @param beforeMillis The epoch millis before which fire times are missed (exclusive), e.g. current time.
+     */
+    protected void handleMisfire(Task task, long afterMillis, long beforeMillis) {
+        if (!(task instanceof Cron4jTask)) { // skipped silently like native
+            return;
+        }
+        try {
+            final List<Long> catchUpList = ((Cron4jTask) task).handleMisfire(afterMillis, beforeMillis, prepareTimeZone());
+            for (Long plannedFireMillis : catchUpList) {
+                spawnCronFire(task, plannedFireMillis, /*catchUp*/true);
+            }
+        } catch (RuntimeException e) { // scheduler thread should continue for other tasks
+            final String stackTrace = new JobErrorStackTracer().buildExceptionStackTrace(e);
+            JobErrorLog.log("Failed to handle the misfire of the task: " + task + "\n" + stackTrace);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                Stop
+    //                                                                                ====
+    @Override
+    public void stop() throws IllegalStateException {
+        synchronized (attributeLinkLock) { // pending spread fires are canceled
+            if (spreadTimer != null) {
+                spreadTimer.shutdownNow();
+                spreadTimer = null;
+            }
+        }
+        super.stop(); // stops executing tasks and waits for them
+        lastLaunchMinuteMillis = 0L; // stopped time is not misfire
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Native Access
+    //                                                                       =============
     // -----------------------------------------------------
     //                                             Executors
     //                                             ---------
-    protected void setupLinkedExecutorsIfNeeds() {
-        readyExecutorsFieldIfNeeds();
+    @SuppressWarnings("unchecked")
+    protected void setupLinkedExecutorsIfNeeds() { // after start() because the list is created in start()
         if (linkedExecutors == null) {
             synchronized (attributeLinkLock) {
                 if (linkedExecutors == null) {
-                    linkedExecutors = getFieldValue(executorsField);
-                }
-            }
-        }
-    }
-
-    protected void readyExecutorsFieldIfNeeds() {
-        if (executorsField == null) {
-            synchronized (reflectionPartyLock) {
-                if (executorsField == null) {
-                    executorsField = getAccessibleField("executors");
+                    try {
+                        linkedExecutors = (List<TaskExecutor>) executorsGetterHandle.invokeExact((Scheduler) this);
+                    } catch (Throwable e) {
+                        throw RomanticCron4jHandleResolver.translateInvocationFailure(e, "executors");
+                    }
                 }
             }
         }
@@ -112,21 +343,14 @@ public class RomanticCron4jNativeScheduler extends Scheduler {
     //                                                 Lock
     //                                                ------
     protected void setupLinkedLockIfNeeds() {
-        readyLockFieldIfNeeds();
         if (linkedLock == null) {
             synchronized (attributeLinkLock) {
                 if (linkedLock == null) {
-                    linkedLock = getFieldValue(lockField);
-                }
-            }
-        }
-    }
-
-    protected void readyLockFieldIfNeeds() {
-        if (lockField == null) {
-            synchronized (reflectionPartyLock) {
-                if (lockField == null) {
-                    lockField = getAccessibleField("lock");
+                    try {
+                        linkedLock = (Object) lockGetterHandle.invokeExact((Scheduler) this);
+                    } catch (Throwable e) {
+                        throw RomanticCron4jHandleResolver.translateInvocationFailure(e, "lock");
+                    }
                 }
             }
         }
@@ -135,14 +359,16 @@ public class RomanticCron4jNativeScheduler extends Scheduler {
     // ===================================================================================
     //                                                                        Small Helper
     //                                                                        ============
-    @SuppressWarnings("unchecked")
-    protected <RESULT> RESULT getFieldValue(Field field) {
-        return (RESULT) DfReflectionUtil.getValue(field, this);
+    protected TimeZone prepareTimeZone() {
+        final TimeZone timeZone = getTimeZone();
+        return timeZone != null ? timeZone : TimeZone.getDefault();
+    }
+
+    protected long truncateToMinute(long epochMillis) {
+        return Math.floorDiv(epochMillis, 60000L) * 60000L;
     }
 
-    protected Field getAccessibleField(String fieldName) {
-        final Field field = DfReflectionUtil.getWholeField(getClass(), fieldName);
-        field.setAccessible(true);
-        return field;
+    protected static MethodHandle findGetter(String fieldName, Class<?> exposedType) {
+        return RomanticCron4jHandleResolver.findGetter(Scheduler.class, fieldName, exposedType);
     }
 }
@@ -15,11 +15,13 @@
  */
 package it.sauronsoftware.cron4j;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.dbflute.optional.OptionalThing;
-import org.dbflute.util.DfReflectionUtil;
+import org.lastaflute.job.cron4j.Cron4jVirtualThreadFactory;
+import org.lastaflute.job.cron4j.Cron4jWorkerPool;
 import org.lastaflute.job.subsidiary.LaunchNowOption;
 
 /**
@@ -37,41 +39,58 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
     protected final Scheduler linkedScheduler; // not null
     protected final Task linkedTask; // not null
     protected final OptionalThing<LaunchNowOption> nowOption; // not null
+    protected final OptionalThing<Cron4jWorkerPool> workerPool; // not null, empty if fresh thread per execution
+    protected final boolean virtualThread; // prior to worker pool, already determined as supported
+    protected final OptionalThing<RomanticCron4jFireAttr> fireAttr; // not null, empty if launch-now
 
     // -----------------------------------------------------
-    //                                            Reflection
-    //                                            ----------
-    protected final Object attributeLinkLock = this; // per instance
-    protected final Object reflectionPartyLock = RomanticCron4jNativeTaskExecutor.class; // as static
+    //                                           Worker Pool
+    //                                           -----------
+    protected final CountDownLatch endingLatch; // null allowed, exists only when worker pool, released when ending
+    protected volatile Thread workerThread; // null allowed, pooled thread only while executing the task
 
-    protected static Field lockField; // cached
-    protected Object linkedLock;
+    // -----------------------------------------------------
+    //                                         Native Handle
+    //                                         -------------
+    // resolved once at class initialization, static final handles are inlined by JIT
+    protected static final MethodHandle lockGetterHandle = findGetter("lock", Object.class);
+    protected static final MethodHandle startTimeSetterHandle = findSetter("startTime", long.class);
+    protected static final MethodHandle guidGetterHandle = findGetter("guid", String.class);
+    protected static final MethodHandle threadSetterHandle = findSetter("thread", Thread.class);
+    protected static final MethodHandle contextGetterHandle = findGetter("context", TaskExecutionContext.class); // private type
+    protected static final MethodHandle stoppedSetterHandle = findSetter("stopped", boolean.class);
+    protected static final MethodHandle notifyExecutionTerminatedHandle = findMethod("notifyExecutionTerminated", Throwable.class);
+    protected static final MethodHandle notifyExecutionStoppingHandle = findMethod("notifyExecutionStopping");
 
-    protected static Field startTimeField; // cached
+    protected final Object attributeLinkLock = this; // per instance
+    protected Object linkedLock;
     protected Long linkedStartTime;
-
-    protected static Field guidField; // cached
     protected String linkedGuid;
-
-    protected static Field threadField; // cached
     protected Thread linkedThread;
-
-    protected static Field contextField; // cached
     protected TaskExecutionContext linkedContext;
 
-    protected static Field stoppedField; // cached
-
-    protected static Method notifyExecutionTerminatedMethod; // cached
-    protected static Method notifyExecutionStoppingMethod; // cached
-
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public RomanticCron4jNativeTaskExecutor(Scheduler scheduler, Task task, OptionalThing<LaunchNowOption> nowOption) {
+        this(scheduler, task, nowOption, OptionalThing.empty(), false);
+    }
+
+    public RomanticCron4jNativeTaskExecutor(Scheduler scheduler, Task task, OptionalThing<LaunchNowOption> nowOption,
+            OptionalThing<Cron4jWorkerPool> workerPool, boolean virtualThread) {
+        this(scheduler, task, nowOption, workerPool, virtualThread, OptionalThing.empty());
+    }
+
+    public RomanticCron4jNativeTaskExecutor(Scheduler scheduler, Task task, OptionalThing<LaunchNowOption> nowOption,
+            OptionalThing<Cron4jWorkerPool> workerPool, boolean virtualThread, OptionalThing<RomanticCron4jFireAttr> fireAttr) {
         super(scheduler, task);
         this.linkedScheduler = scheduler;
         this.linkedTask = task;
         this.nowOption = nowOption;
+        this.workerPool = virtualThread ? OptionalThing.empty() : workerPool; // virtual thread is not pooled
+        this.virtualThread = virtualThread;
+        this.fireAttr = fireAttr;
+        this.endingLatch = this.workerPool.isPresent() ? new CountDownLatch(1) : null;
     }
 
     // ===================================================================================
@@ -84,9 +103,13 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
             registerStartTimeCurrentTime();
             setupLinkedGuidIfNeeds();
             final String threadName = buildThreadName(linkedScheduler.getGuid(), linkedGuid);
-            registerThreadNewCreated();
-            prepareThread(daemon, threadName);
-            actuallyThreadStart();
+            if (workerPool.isPresent()) { // reusing threads
+                actuallyWorkerSubmit(workerPool.get(), threadName);
+            } else { // fresh thread per execution (might be virtual thread)
+                registerThreadNewCreated();
+                prepareThread(daemon, threadName);
+                actuallyThreadStart();
+            }
         }
     }
 
@@ -97,7 +120,9 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
     }
 
     protected void prepareThread(boolean daemon, String threadName) {
-        linkedThread.setDaemon(daemon);
+        if (!virtualThread) { // virtual thread is always daemon (cannot change it)
+            linkedThread.setDaemon(daemon);
+        }
         linkedThread.setName(threadName);
     }
 
@@ -105,6 +130,17 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
         linkedThread.start();
     }
 
+    protected void actuallyWorkerSubmit(Cron4jWorkerPool pool, String threadName) {
+        // the context class loader is inherited from submitter like fresh thread
+        final ClassLoader submitterLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            pool.execute(new RomanticWorkerRunner(threadName, submitterLoader));
+        } catch (RejectedExecutionException e) {
+            endingLatch.countDown(); // no execution so no waiting
+            throw e;
+        }
+    }
+
     // ===================================================================================
     //                                                                     Romantic Runner
     //                                                                     ===============
@@ -130,8 +166,37 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
         }
     }
 
+    protected class RomanticWorkerRunner extends RomanticRunner {
+
+        protected final String threadName; // not null
+        protected final ClassLoader submitterLoader; // null allowed (basically not null)
+
+        public RomanticWorkerRunner(String threadName, ClassLoader submitterLoader) {
+            this.threadName = threadName;
+            this.submitterLoader = submitterLoader;
+        }
+
+        @Override
+        public void run() {
+            final Thread currentThread = Thread.currentThread();
+            final String originalName = currentThread.getName();
+            final ClassLoader originalLoader = currentThread.getContextClassLoader();
+            try {
+                currentThread.setName(threadName);
+                currentThread.setContextClassLoader(submitterLoader);
+                registerWorkerThread(currentThread);
+                super.run();
+            } finally {
+                unregisterWorkerThread();
+                currentThread.setName(originalName); // because task renames it
+                currentThread.setContextClassLoader(originalLoader);
+                endingLatch.countDown();
+            }
+        }
+    }
+
     protected RomanticCron4jTaskExecutionContext createRomanticContext() {
-        return new RomanticCron4jTaskExecutionContext(linkedContext, nowOption);
+        return new RomanticCron4jTaskExecutionContext(linkedContext, nowOption, fireAttr);
     }
 
     // ===================================================================================
@@ -144,13 +209,13 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
         }
         setupLinkedLockIfNeeds();
         synchronized (linkedLock) {
-            if (linkedThread != null && !isStopped()) {
+            if (isStopRequestable()) {
                 registerStoppedAsTrue();
                 if (isPaused()) {
                     resume();
                 }
                 invokeNotifyExecutionStopping();
-                linkedThread.interrupt();
+                interruptExecutingThread();
             }
         }
         // no wait to avoid deadlock of LaScheduledJob's lock between stopNow() thread and job thread
@@ -168,28 +233,78 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
         //}
     }
 
+    protected boolean isStopRequestable() {
+        if (isStopped()) {
+            return false;
+        }
+        if (workerPool.isPresent()) { // also queued task, job can know it by runtime.stopIfNeeds()
+            return isAlive();
+        } else {
+            return linkedThread != null;
+        }
+    }
+
+    protected void interruptExecutingThread() {
+        final Thread executingThread = workerPool.isPresent() ? workerThread : linkedThread;
+        if (executingThread != null) { // null if queued in worker pool
+            executingThread.interrupt();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Join/Alive
+    //                                                                         ==========
+    @Override
+    public void join() throws InterruptedException { // called by e.g. launched process, scheduler stop
+        if (endingLatch != null) { // worker pool, the pooled thread does not die
+            endingLatch.await();
+        } else {
+            super.join();
+        }
+    }
+
+    @Override
+    public boolean isAlive() {
+        if (endingLatch != null) { // worker pool, also true if queued
+            return endingLatch.getCount() > 0;
+        } else {
+            return super.isAlive();
+        }
+    }
+
     // ===================================================================================
-    //                                                                 Reflection Festival
-    //                                                                 ===================
+    //                                                                       Worker Thread
+    //                                                                       =============
+    protected void registerWorkerThread(Thread currentThread) {
+        setupLinkedLockIfNeeds();
+        synchronized (linkedLock) {
+            workerThread = currentThread;
+        }
+    }
+
+    protected void unregisterWorkerThread() {
+        setupLinkedLockIfNeeds();
+        synchronized (linkedLock) { // no more interruption by stop() after here
+            workerThread = null;
+            Thread.interrupted(); // clear interruption by stop() not to be inherited to next task
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Native Access
+    //                                                                       =============
     // -----------------------------------------------------
     //                                                 Lock
     //                                                ------
     protected void setupLinkedLockIfNeeds() {
-        readyLockFieldIfNeeds();
         if (linkedLock == null) {
             synchronized (attributeLinkLock) {
                 if (linkedLock == null) {
-                    linkedLock = getFieldValue(lockField);
-                }
-            }
-        }
-    }
-
-    protected void readyLockFieldIfNeeds() {
-        if (lockField == null) {
-            synchronized (reflectionPartyLock) {
-                if (lockField == null) {
-                    lockField = getAccessibleField("lock");
+                    try {
+                        linkedLock = (Object) lockGetterHandle.invokeExact((TaskExecutor) this);
+                    } catch (Throwable e) {
+                        throw translateInvocationFailure(e, "lock");
+                    }
                 }
             }
         }
@@ -199,41 +314,27 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
     //                                            Start Time
     //                                            ----------
     protected void registerStartTimeCurrentTime() {
-        readyStartTimeFieldIfNeeds();
         final long millis = System.currentTimeMillis(); // #thinking should be from time-manager? (but basically unused...)
-        setFieldValue(startTimeField, millis);
-        linkedStartTime = millis;
-    }
-
-    protected void readyStartTimeFieldIfNeeds() {
-        if (startTimeField == null) {
-            synchronized (reflectionPartyLock) {
-                if (startTimeField == null) {
-                    startTimeField = getAccessibleField("startTime");
-                }
-            }
+        try {
+            startTimeSetterHandle.invokeExact((TaskExecutor) this, millis);
+        } catch (Throwable e) {
+            throw translateInvocationFailure(e, "startTime");
         }
+        linkedStartTime = millis;
     }
 
     // -----------------------------------------------------
     //                                                 GUID
     //                                                ------
     protected void setupLinkedGuidIfNeeds() {
-        readyGuidFieldIfNeeds();
         if (linkedGuid == null) {
             synchronized (attributeLinkLock) {
                 if (linkedGuid == null) {
-                    linkedGuid = getFieldValue(guidField);
-                }
-            }
-        }
-    }
-
-    protected void readyGuidFieldIfNeeds() {
-        if (guidField == null) {
-            synchronized (reflectionPartyLock) {
-                if (guidField == null) {
-                    guidField = getAccessibleField("guid");
+                    try {
+                        linkedGuid = (String) guidGetterHandle.invokeExact((TaskExecutor) this);
+                    } catch (Throwable e) {
+                        throw translateInvocationFailure(e, "guid");
+                    }
                 }
             }
         }
@@ -243,19 +344,20 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
     //                                                Thread
     //                                                ------
     protected void registerThreadNewCreated() {
-        readyThreadFieldIfNeeds();
-        final Thread thread = new Thread(new RomanticRunner());
-        setFieldValue(threadField, thread);
+        final Thread thread = newExecutionThread(new RomanticRunner());
+        try {
+            threadSetterHandle.invokeExact((TaskExecutor) this, thread);
+        } catch (Throwable e) {
+            throw translateInvocationFailure(e, "thread");
+        }
         linkedThread = thread;
     }
 
-    protected void readyThreadFieldIfNeeds() {
-        if (threadField == null) {
-            synchronized (reflectionPartyLock) {
-                if (threadField == null) {
-                    threadField = getAccessibleField("thread");
-                }
-            }
+    protected Thread newExecutionThread(Runnable runnable) {
+        if (virtualThread) { // thread-local contexts (e.g. ThreadCacheContext) work as well
+            return Cron4jVirtualThreadFactory.newUnstartedThread(runnable);
+        } else {
+            return new Thread(runnable);
         }
     }
 
@@ -263,21 +365,14 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
     //                                               Context
     //                                               -------
     protected void setupLinkedContextIfNeeds() {
-        readyContextFieldIfNeeds();
         if (linkedContext == null) {
             synchronized (attributeLinkLock) {
                 if (linkedContext == null) {
-                    linkedContext = getFieldValue(contextField);
-                }
-            }
-        }
-    }
-
-    protected void readyContextFieldIfNeeds() {
-        if (contextField == null) {
-            synchronized (reflectionPartyLock) {
-                if (contextField == null) {
-                    contextField = getAccessibleField("context");
+                    try {
+                        linkedContext = (TaskExecutionContext) contextGetterHandle.invokeExact((TaskExecutor) this);
+                    } catch (Throwable e) {
+                        throw translateInvocationFailure(e, "context");
+                    }
                 }
             }
         }
@@ -287,17 +382,10 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
     //                                               Stopped
     //                                               -------
     protected void registerStoppedAsTrue() {
-        readyStoppedFieldIfNeeds();
-        setFieldValue(stoppedField, true);
-    }
-
-    protected void readyStoppedFieldIfNeeds() {
-        if (stoppedField == null) {
-            synchronized (reflectionPartyLock) {
-                if (stoppedField == null) {
-                    stoppedField = getAccessibleField("stopped");
-                }
-            }
+        try {
+            stoppedSetterHandle.invokeExact((TaskExecutor) this, true);
+        } catch (Throwable e) {
+            throw translateInvocationFailure(e, "stopped");
         }
     }
 
@@ -305,56 +393,37 @@ public class RomanticCron4jNativeTaskExecutor extends TaskExecutor {
     //                                                Notify
     //                                                ------
     protected void invokeNotifyExecutionTerminated(Throwable cause) {
-        readyNotifyExecutionTerminatedMethodIfNeeds();
-        DfReflectionUtil.invoke(notifyExecutionTerminatedMethod, this, new Object[] { cause });
-    }
-
-    protected void readyNotifyExecutionTerminatedMethodIfNeeds() {
-        if (notifyExecutionTerminatedMethod == null) {
-            synchronized (reflectionPartyLock) {
-                if (notifyExecutionTerminatedMethod == null) {
-                    final String methodName = "notifyExecutionTerminated";
-                    final Class<?>[] argTypes = new Class<?>[] { Throwable.class };
-                    notifyExecutionTerminatedMethod = DfReflectionUtil.getWholeMethod(getClass(), methodName, argTypes);
-                    notifyExecutionTerminatedMethod.setAccessible(true);
-                }
-            }
+        try {
+            notifyExecutionTerminatedHandle.invokeExact((TaskExecutor) this, cause);
+        } catch (Throwable e) {
+            throw translateInvocationFailure(e, "notifyExecutionTerminated()");
         }
     }
 
     protected void invokeNotifyExecutionStopping() {
-        readyNotifyExecutionStoppingMethodIfNeeds();
-        DfReflectionUtil.invoke(notifyExecutionStoppingMethod, this, new Object[] {});
-    }
-
-    protected void readyNotifyExecutionStoppingMethodIfNeeds() {
-        if (notifyExecutionStoppingMethod == null) {
-            synchronized (reflectionPartyLock) {
-                if (notifyExecutionStoppingMethod == null) {
-                    final String methodName = "notifyExecutionStopping";
-                    final Class<?>[] argTypes = new Class<?>[] {};
-                    notifyExecutionStoppingMethod = DfReflectionUtil.getWholeMethod(getClass(), methodName, argTypes);
-                    notifyExecutionStoppingMethod.setAccessible(true);
-                }
-            }
+        try {
+            notifyExecutionStoppingHandle.invokeExact((TaskExecutor) this);
+        } catch (Throwable e) {
+            throw translateInvocationFailure(e, "notifyExecutionStopping()");
         }
     }
 
     // ===================================================================================
     //                                                                        Small Helper
     //                                                                        ============
-    @SuppressWarnings("unchecked")
-    protected <RESULT> RESULT getFieldValue(Field field) {
-        return (RESULT) DfReflectionUtil.getValue(field, this);
+    protected static MethodHandle findGetter(String fieldName, Class<?> exposedType) {
+        return RomanticCron4jHandleResolver.findGetter(TaskExecutor.class, fieldName, exposedType);
+    }
+
+    protected static MethodHandle findSetter(String fieldName, Class<?> exposedType) {
+        return RomanticCron4jHandleResolver.findSetter(TaskExecutor.class, fieldName, exposedType);
     }
 
-    protected void setFieldValue(Field field, Object value) {
-        DfReflectionUtil.setValue(field, this, value);
+    protected static MethodHandle findMethod(String methodName, Class<?>... argTypes) {
+        return RomanticCron4jHandleResolver.findMethod(TaskExecutor.class, methodName, argTypes);
     }
 
-    protected Field getAccessibleField(String fieldName) {
-        final Field field = DfReflectionUtil.getWholeField(getClass(), fieldName);
-        field.setAccessible(true);
-        return field;
+    protected static RuntimeException translateInvocationFailure(Throwable e, String handleDisp) {
+        return RomanticCron4jHandleResolver.translateInvocationFailure(e, handleDisp);
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lastaflute.job.subsidiary.CompiledCronExp;
+import org.lastaflute.job.subsidiary.CompiledCronExp.CronFieldMask;
+
+/**
+ * The compiler of cron expression to bit-set per field. <br>
+ * It evaluates the value matchers of native pattern for all values of each field,
+ * so the compiled expression has the same semantics as cron4j (e.g. 'L' day, wrapped range).
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jPatternCompiler {
+
+    // ===================================================================================
+    //                                                                             Compile
+    //                                                                             =======
+    /**
+     * @param cronExp The cron expression, with seconds field or not. (NotNull)
+     * @return The compiled cron expression. (NotNull)
+     * @throws InvalidPatternException When the expression is invalid.
+     */
+    public static CompiledCronExp compile(String cronExp) throws InvalidPatternException {
+        if (cronExp == null) {
+            throw new IllegalArgumentException("The argument 'cronExp' should not be null.");
+        }
+        if (RomanticCron4jSecondsPattern.hasSecondsField(cronExp)) {
+            return compile(new RomanticCron4jSecondsPattern(cronExp));
+        } else {
+            return compile(new SchedulingPattern(cronExp));
+        }
+    }
+
+    /**
+     * @param pattern The native scheduling pattern, might be seconds pattern. (NotNull)
+     * @return The compiled cron expression. (NotNull)
+     */
+    public static CompiledCronExp compile(SchedulingPattern pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("The argument 'pattern' should not be null.");
+        }
+        final boolean secondsSpecified = pattern instanceof RomanticCron4jSecondsPattern;
+        final long secondMask = secondsSpecified ? ((RomanticCron4jSecondsPattern) pattern).getSecondsMask() : 1L; // zero second
+        final List<CronFieldMask> maskList = new ArrayList<CronFieldMask>(pattern.matcherSize);
+        for (int i = 0; i < pattern.matcherSize; i++) {
+            final long minuteMask = evaluate((ValueMatcher) pattern.minuteMatchers.get(i), 0, 59);
+            final long hourMask = evaluate((ValueMatcher) pattern.hourMatchers.get(i), 0, 23);
+            final long[][] dayOfMonthMasks = evaluateDayOfMonth((ValueMatcher) pattern.dayOfMonthMatchers.get(i));
+            final long monthMask = evaluate((ValueMatcher) pattern.monthMatchers.get(i), 1, 12);
+            final long dayOfWeekMask = evaluate((ValueMatcher) pattern.dayOfWeekMatchers.get(i), 0, 6); // same as native match()
+            maskList.add(new CronFieldMask(secondMask, minuteMask, hourMask, dayOfMonthMasks, monthMask, dayOfWeekMask));
+        }
+        return new CompiledCronExp(pattern.toString(), maskList, secondsSpecified);
+    }
+
+    protected static long evaluate(ValueMatcher matcher, int minValue, int maxValue) {
+        long mask = 0L;
+        for (int value = minValue; value <= maxValue; value++) {
+            if (matcher.match(value)) {
+                mask |= (1L << value);
+            }
+        }
+        return mask;
+    }
+
+    protected static long[][] evaluateDayOfMonth(ValueMatcher matcher) { // [leap][month]
+        final long[][] masks = new long[2][13]; // month index zero is unused
+        for (int leap = 0; leap <= 1; leap++) {
+            for (int month = 1; month <= 12; month++) {
+                final int lastDay = lastDayOf(month, leap == 1);
+                long mask = 0L;
+                for (int day = 1; day <= lastDay; day++) {
+                    final boolean matched;
+                    if (matcher instanceof DayOfMonthValueMatcher) { // e.g. 'L', same as native match()
+                        matched = ((DayOfMonthValueMatcher) matcher).match(day, month, leap == 1);
+                    } else {
+                        matched = matcher.match(day);
+                    }
+                    if (matched) {
+                        mask |= (1L << day);
+                    }
+                }
+                masks[leap][month] = mask;
+            }
+        }
+        return masks;
+    }
+
+    protected static int lastDayOf(int month, boolean leapYear) {
+        if (month == 2) {
+            return leapYear ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+/**
+ * The scheduling pattern with seconds field at the head. <br>
+ * e.g. "*&#47;10 * * * * *" (every ten seconds), "0,30 5 * * * *" (at 05:00 and 05:30 every hour) <br>
+ * The rest fields (minute to day-of-week) are parsed by native cron4j,
+ * and multiple patterns by '|' are not supported with seconds field.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jSecondsPattern extends SchedulingPattern {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int SECONDS_FIELD_COUNT = 6; // second minute hour day-of-month month day-of-week
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String cronExp; // not null, whole expression with seconds field
+    protected final long secondsMask; // bit per second (0-59), at least one bit
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public RomanticCron4jSecondsPattern(String cronExp) throws InvalidPatternException {
+        super(extractMinutePattern(cronExp));
+        this.cronExp = cronExp;
+        this.secondsMask = parseSecondsField(extractSecondsField(cronExp));
+    }
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    /**
+     * @param cronExp The cron expression to be determined. (NotNull)
+     * @return true if the expression has seconds field at the head.
+     */
+    public static boolean hasSecondsField(String cronExp) {
+        if (cronExp.indexOf('|') >= 0) { // multiple patterns are only native
+            return splitField(cronExp.substring(0, cronExp.indexOf('|'))).length == SECONDS_FIELD_COUNT;
+        }
+        return splitField(cronExp).length == SECONDS_FIELD_COUNT;
+    }
+
+    /**
+     * @param cronExp The cron expression with seconds field to be validated. (NotNull)
+     * @return true if valid.
+     */
+    public static boolean validate(String cronExp) {
+        try {
+            new RomanticCron4jSecondsPattern(cronExp);
+            return true;
+        } catch (InvalidPatternException e) {
+            return false;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Parse
+    //                                                                               =====
+    protected static String extractSecondsField(String cronExp) {
+        return splitField(cronExp)[0];
+    }
+
+    protected static String extractMinutePattern(String cronExp) {
+        if (cronExp == null) {
+            throw new InvalidPatternException("The cron expression should not be null.");
+        }
+        if (cronExp.indexOf('|') >= 0) {
+            throw new InvalidPatternException("Multiple patterns are not supported with seconds field: " + cronExp);
+        }
+        final String[] fields = splitField(cronExp);
+        if (fields.length != SECONDS_FIELD_COUNT) {
+            throw new InvalidPatternException("The cron expression with seconds should have six fields: " + cronExp);
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 1; i < fields.length; i++) {
+            sb.append(i > 1 ? " " : "").append(fields[i]);
+        }
+        return sb.toString();
+    }
+
+    protected static String[] splitField(String cronExp) {
+        return cronExp.trim().split("\\s+");
+    }
+
+    protected static long parseSecondsField(String secondsField) { // e.g. *, */10, 0,30, 10-20, 10-40/5
+        long mask = 0L;
+        for (String element : secondsField.split(",")) {
+            mask |= parseSecondsElement(element, secondsField);
+        }
+        if (mask == 0L) {
+            throw new InvalidPatternException("The seconds field matches nothing: " + secondsField);
+        }
+        return mask;
+    }
+
+    protected static long parseSecondsElement(String element, String secondsField) {
+        final String rangeExp;
+        final int step;
+        final int slashIndex = element.indexOf('/');
+        if (slashIndex >= 0) {
+            rangeExp = element.substring(0, slashIndex);
+            step = parseSecondsValue(element.substring(slashIndex + 1), secondsField);
+            if (step <= 0) {
+                throw new InvalidPatternException("The step of seconds field should be positive: " + secondsField);
+            }
+        } else {
+            rangeExp = element;
+            step = 1;
+        }
+        final int from;
+        final int to;
+        if ("*".equals(rangeExp)) {
+            from = 0;
+            to = 59;
+        } else if (rangeExp.indexOf('-') >= 0) {
+            from = parseSecondsValue(rangeExp.substring(0, rangeExp.indexOf('-')), secondsField);
+            to = parseSecondsValue(rangeExp.substring(rangeExp.indexOf('-') + 1), secondsField);
+            if (from > to) {
+                throw new InvalidPatternException("The range of seconds field should be ascending: " + secondsField);
+            }
+        } else {
+            from = parseSecondsValue(rangeExp, secondsField);
+            to = slashIndex >= 0 ? 59 : from; // e.g. 5/10 means from 5 every ten seconds
+        }
+        long mask = 0L;
+        for (int second = from; second <= to; second += step) {
+            mask |= (1L << second);
+        }
+        return mask;
+    }
+
+    protected static int parseSecondsValue(String valueExp, String secondsField) {
+        final int value;
+        try {
+            value = Integer.parseInt(valueExp.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidPatternException("Invalid value in seconds field: " + valueExp + " in " + secondsField);
+        }
+        if (value < 0 || value > 59) {
+            throw new InvalidPatternException("The value of seconds field should be 0-59: " + value + " in " + secondsField);
+        }
+        return value;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return cronExp;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getSecondsMask() {
+        return secondsMask;
+    }
+}
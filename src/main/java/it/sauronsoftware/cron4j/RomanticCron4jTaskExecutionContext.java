@@ -29,13 +29,20 @@ public class RomanticCron4jTaskExecutionContext implements TaskExecutionContext
     //                                                                           =========
     protected final TaskExecutionContext nativeContext; // not null
     protected final OptionalThing<LaunchNowOption> nowOption; // not null
+    protected final OptionalThing<RomanticCron4jFireAttr> fireAttr; // not null, empty if launch-now
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public RomanticCron4jTaskExecutionContext(TaskExecutionContext nativeContext, OptionalThing<LaunchNowOption> nowOption) {
+        this(nativeContext, nowOption, OptionalThing.empty());
+    }
+
+    public RomanticCron4jTaskExecutionContext(TaskExecutionContext nativeContext, OptionalThing<LaunchNowOption> nowOption,
+            OptionalThing<RomanticCron4jFireAttr> fireAttr) {
         this.nativeContext = nativeContext;
         this.nowOption = nowOption;
+        this.fireAttr = fireAttr;
     }
 
     // ===================================================================================
@@ -81,4 +88,8 @@ public class RomanticCron4jTaskExecutionContext implements TaskExecutionContext
     public OptionalThing<LaunchNowOption> getLaunchNowOption() {
         return nowOption;
     }
+
+    public OptionalThing<RomanticCron4jFireAttr> getFireAttr() {
+        return fireAttr;
+    }
 }
@@ -21,6 +21,11 @@ import org.dbflute.optional.OptionalThing;
 import org.lastaflute.job.key.LaJobKey;
 import org.lastaflute.job.key.LaJobUnique;
 import org.lastaflute.job.subsidiary.CronConsumer;
+import org.lastaflute.job.subsidiary.JobHistoryOrder;
+import org.lastaflute.job.subsidiary.JobHistorySearchOpCall;
+import org.lastaflute.job.subsidiary.JobHistoryVisitor;
+import org.lastaflute.job.subsidiary.JobMetricsSnapshot;
+import org.lastaflute.job.subsidiary.JobStatisticsSnapshot;
 
 /**
  * @author jflute
@@ -100,4 +105,72 @@ public interface JobManager {
      * @return The list of job history, removed too old histories. (NotNull)
      */
     List<LaJobHistory> searchJobHistoryList();
+
+    /**
+     * Search job history by the condition, using index per job (not scanning all histories).
+     * <pre>
+     * List&lt;LaJobHistory&gt; historyList = jobManager.searchJobHistoryList(op -&gt; {
+     *     op.byJobUnique(LaJobUnique.of("sea")).byExecResultType(ExecResultType.CAUSED_BY_APPLICATION);
+     *     op.paging(20, 1);
+     * });
+     * </pre>
+     * @param opLambda The callback to set up the search option, e.g. job key, activation time range, paging. (NotNull)
+     * @return The read-only list of job history matched with the condition, latest first. (NotNull)
+     * @throws IllegalStateException When the implementation does not support the indexed search.
+     */
+    default List<LaJobHistory> searchJobHistoryList(JobHistorySearchOpCall opLambda) { // default for compatibility of implementations
+        throw new IllegalStateException("Not supported the indexed history search by the implementation: " + getClass().getName());
+    }
+
+    /**
+     * Visit job histories one by one without copying them to list, e.g. for frequent monitoring.
+     * <pre>
+     * jobManager.forEachJobHistory(JobHistoryOrder.LATEST_FIRST, history -&gt; {
+     *     if (history.getActivationTime().isBefore(limitTime)) {
+     *         return false; // stops the iteration
+     *     }
+     *     ... // e.g. count failures
+     *     return true; // to next history
+     * });
+     * </pre>
+     * @param order The order of iteration by recording, e.g. latest first. (NotNull)
+     * @param visitor The visitor of history, returning false to stop the iteration. (NotNull)
+     */
+    default void forEachJobHistory(JobHistoryOrder order, JobHistoryVisitor visitor) { // copying list if not overridden
+        final List<LaJobHistory> historyList = searchJobHistoryList(); // oldest first
+        final boolean latestFirst = order == JobHistoryOrder.LATEST_FIRST;
+        for (int i = 0; i < historyList.size(); i++) {
+            if (!visitor.visit(historyList.get(latestFirst ? historyList.size() - 1 - i : i))) {
+                break;
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    /**
+     * Take statistics snapshots of all jobs, e.g. for monitoring.
+     * @return The read-only list of statistics snapshot as registered order of jobs. (NotNull)
+     * @throws IllegalStateException When the implementation does not record statistics.
+     */
+    default List<JobStatisticsSnapshot> takeStatisticsSnapshotList() {
+        throw new IllegalStateException("Not supported the job statistics by the implementation: " + getClass().getName());
+    }
+
+    /**
+     * Take the snapshot of job metrics at once, e.g. for scraping by monitoring. <br>
+     * It contains gauges (e.g. executing count) and statistics of all jobs (counters and timers),
+     * and short runs between scrapes are not missed because counters are accumulated.
+     * <pre>
+     * JobMetricsSnapshot metrics = jobManager.takeMetricsSnapshot();
+     * metrics.getExecutingCount(); // gauge
+     * metrics.getJobStatisticsList().forEach(statistics -&gt; ...); // e.g. lock wait, hook time
+     * </pre>
+     * @return The snapshot of metrics, consistent if no recording while reading. (NotNull)
+     * @throws IllegalStateException When the implementation does not record metrics.
+     */
+    default JobMetricsSnapshot takeMetricsSnapshot() {
+        throw new IllegalStateException("Not supported the job metrics by the implementation: " + getClass().getName());
+    }
 }
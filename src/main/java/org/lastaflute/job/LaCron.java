@@ -33,7 +33,7 @@ public interface LaCron {
      * <pre>
      * cron.register("* * * * *", SeaJob.class, waitIfConcurrent(), op -&gt; op.params(...)); // per one minute
      * </pre>
-     * @param cronExp The cron expression e.g. "10 * * * *". (NotNull)
+     * @param cronExp The cron expression e.g. "10 * * * *", or with seconds e.g. "*&#47;10 * * * * *" if fire-queue engine. (NotNull)
      * @param jobType The type of registered job that implements the provided interface. (NotNull)
      * @param concurrentExec The handling type when concurrent execution of same job. (NotNull)
      * @param opLambda The callback to setup option for e.g. parameter. (NotNull)
@@ -15,6 +15,7 @@
  */
 package org.lastaflute.job;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -66,6 +67,21 @@ public interface LaJobHistory {
      */
     LocalDateTime getActivationTime();
 
+    /**
+     * @return The optional local date-time when the job was due, planned fire time (spread) of cron or request time of launch-now.
+     * (NotNull, EmptyAllowed: e.g. unknown in old history)
+     */
+    default OptionalThing<LocalDateTime> getPlannedTime() { // default for compatible
+        return OptionalThing.empty();
+    }
+
+    /**
+     * @return The optional milliseconds from planned time to activation, means lag of scheduler. (NotNull, EmptyAllowed: no planned time)
+     */
+    default OptionalThing<Long> getFireLagMillis() {
+        return getPlannedTime().map(plannedTime -> Math.max(0L, Duration.between(plannedTime, getActivationTime()).toMillis()));
+    }
+
     /**
      * @return The optional local date-time of job beginning. (NotNull, EmptyAllowed: e.g. quit by duplicate)
      */
@@ -90,4 +106,21 @@ public interface LaJobHistory {
      * @return The optional exception of failure cause. (NotNull, EmptyAllowed: if success)
      */
     OptionalThing<Throwable> getCause();
+
+    // ===================================================================================
+    //                                                                      Fire Attribute
+    //                                                                      ==============
+    /**
+     * @return The offset milliseconds that the fire was delayed by spreading policy. (zero if no spreading, e.g. launch-now)
+     */
+    default long getFireSpreadMillis() { // default for compatible
+        return 0L;
+    }
+
+    /**
+     * @return true if the execution is to catch up the missed fire time by misfire policy, e.g. after JVM pause.
+     */
+    default boolean isMisfireCatchUp() { // default for compatible
+        return false;
+    }
 }
@@ -18,6 +18,8 @@ package org.lastaflute.job;
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +31,7 @@ import javax.annotation.Resource;
 
 import org.dbflute.bhv.proposal.callback.ExecutedSqlCounter;
 import org.dbflute.bhv.proposal.callback.TraceableSqlAdditionalInfoProvider;
+import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.hook.AccessContext;
 import org.dbflute.hook.CallbackContext;
 import org.dbflute.hook.SqlFireHook;
@@ -51,17 +54,39 @@ import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableS
 import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableSqlStringFilter;
 import org.lastaflute.db.jta.romanticist.SavedTransactionMemories;
 import org.lastaflute.db.jta.romanticist.TransactionMemoriesProvider;
+import org.lastaflute.job.exception.JobExecutionGroupNotFoundException;
 import org.lastaflute.job.exception.JobStoppedException;
 import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.log.JobErrorJudgment;
 import org.lastaflute.job.log.JobErrorLog;
 import org.lastaflute.job.log.JobErrorLogHook;
 import org.lastaflute.job.log.JobErrorResource;
 import org.lastaflute.job.log.JobErrorStackTracer;
+import org.lastaflute.job.log.JobErrorSuppressor;
+import org.lastaflute.job.log.JobFlightEventType;
+import org.lastaflute.job.log.JobFlightRecorder;
+import org.lastaflute.job.log.JobFlightSpan;
 import org.lastaflute.job.log.JobHistoryHook;
 import org.lastaflute.job.log.JobNoticeLog;
 import org.lastaflute.job.log.JobNoticeLogHook;
+import org.lastaflute.job.log.JobNoticeLogLevel;
+import org.lastaflute.job.log.JobNoticeMessage;
+import org.lastaflute.job.subsidiary.AsyncHistoryOpCall;
+import org.lastaflute.job.subsidiary.AsyncHistoryOption;
 import org.lastaflute.job.subsidiary.CrossVMHook;
+import org.lastaflute.job.subsidiary.ExecResultType;
+import org.lastaflute.job.subsidiary.ExecutionPermitGroup;
+import org.lastaflute.job.subsidiary.FireSpreading;
+import org.lastaflute.job.subsidiary.FireSpreading.FireSpreadType;
+import org.lastaflute.job.subsidiary.HistoryJournalOpCall;
+import org.lastaflute.job.subsidiary.HistoryJournalOption;
+import org.lastaflute.job.subsidiary.HistoryRetentionOpCall;
+import org.lastaflute.job.subsidiary.HistoryRetentionOption;
+import org.lastaflute.job.subsidiary.JobErrorDedupOpCall;
+import org.lastaflute.job.subsidiary.JobErrorDedupOption;
 import org.lastaflute.job.subsidiary.RunnerResult;
+import org.lastaflute.job.subsidiary.WorkerPoolOpCall;
+import org.lastaflute.job.subsidiary.WorkerPoolOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -96,9 +121,21 @@ public class LaJobRunner {
     protected AccessContextArranger accessContextArranger; // null allowed, option
     protected CrossVMHook crossVMHook;
     protected JobErrorLogHook errorLogHook; // null allowed, option
+    protected JobErrorSuppressor errorSuppressor; // null allowed, option (all errors are logged if null)
     protected JobHistoryHook historyHook; // null allowed, option
+    protected AsyncHistoryOption asyncHistoryOption; // null allowed, option (history hook on job thread if null)
     protected JobNoticeLogHook noticeLogHook; // null allowed, option
-    protected int jobHistoryLimit = 100; // as framework default
+    protected int jobHistoryLimit = 300; // as framework default
+    protected HistoryRetentionOption historyRetentionOption; // null allowed, option (only limit count if null)
+    protected boolean jobHistoryCompacted; // option (full history object in memory if false)
+    protected HistoryJournalOption historyJournalOption; // null allowed, option (memory only if null)
+    protected WorkerPoolOption workerPoolOption; // null allowed, option (fresh thread per execution if null)
+    protected boolean virtualThreadUsed; // for all jobs, option
+    protected boolean fireQueueEngineUsed; // option (native cron4j minute polling if false)
+    protected ExecutionPermitGroup globalExecutionPermit; // null allowed, option (no limit if null)
+    protected FireSpreading fireSpreading; // null allowed, option (no spreading if null)
+    protected boolean lockContentionRecorded; // option (plain lock without recording if false)
+    protected final Map<String, ExecutionPermitGroup> executionGroupMap = new LinkedHashMap<String, ExecutionPermitGroup>(); // read-only after boot
 
     // ===================================================================================
     //                                                                              Option
@@ -133,6 +170,28 @@ public class LaJobRunner {
         return this;
     }
 
+    /**
+     * Deduplicate error logging of jobs by fingerprint of the error (exception types and top stack frames). <br>
+     * The same error of a job is logged (and hooked) with full stack trace once per window,
+     * and repeats in the window are only counted, summarized at next logging or at success of the job.
+     * <pre>
+     * runner.dedupJobError(op -&gt; op.suppressionWindow(Duration.ofMinutes(30)));
+     * </pre>
+     * @param opLambda The callback to set up the option of error deduplication. (NotNull)
+     * @return this. (NotNull)
+     */
+    public LaJobRunner dedupJobError(JobErrorDedupOpCall opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final JobErrorDedupOption option = new JobErrorDedupOption();
+        opLambda.callback(option);
+        this.errorSuppressor = createJobErrorSuppressor(option);
+        return this;
+    }
+
+    protected JobErrorSuppressor createJobErrorSuppressor(JobErrorDedupOption option) {
+        return new JobErrorSuppressor(option);
+    }
+
     /**
      * @param historyHook The callback of history hook for e.g. saving to database. (NotNull)
      * @return this. (NotNull)
@@ -143,6 +202,23 @@ public class LaJobRunner {
         return this;
     }
 
+    /**
+     * Deliver job histories to the history hook by background writer in batch, not on job thread. <br>
+     * The hook receives the histories by hookRecordBatch(), so the history hook is required.
+     * <pre>
+     * runner.useHistoryHook(...).deliverHistoryAsync(op -&gt; op.batchSize(50).flushIntervalMillis(2000));
+     * </pre>
+     * @param opLambda The callback to set up the option of asynchronous delivery. (NotNull)
+     * @return this. (NotNull)
+     */
+    public LaJobRunner deliverHistoryAsync(AsyncHistoryOpCall opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final AsyncHistoryOption option = new AsyncHistoryOption();
+        opLambda.callback(option);
+        this.asyncHistoryOption = option;
+        return this;
+    }
+
     /**
      * @param noticeLogHook The callback of notice log hook for e.g. saving to database. (NotNull)
      * @return this. (NotNull)
@@ -156,7 +232,7 @@ public class LaJobRunner {
     }
 
     /**
-     * @param jobHistoryLimit The limit size of job history saved in memory. (NotNull)
+     * @param jobHistoryLimit The limit size of job history saved in memory, 300 as default. (NotNull)
      * @return this. (NotNull)
      */
     public LaJobRunner limitJobHistory(int jobHistoryLimit) { // almost required if DBFlute
@@ -171,6 +247,181 @@ public class LaJobRunner {
         return 10; // as default, no history is not allowed for LaunchedProcess
     }
 
+    /**
+     * Retain job histories in memory by policies (e.g. age, bytes) in addition to the limit count. <br>
+     * The policies are evaluated for the oldest histories when a history is recorded (cheaply),
+     * and the minimum per job keeps the latest histories of each job against the limit and the policies.
+     * <pre>
+     * runner.limitJobHistory(1000).retainJobHistory(op -&gt; op.maxAge(Duration.ofHours(24)).minimumPerJob(1));
+     * </pre>
+     * @param opLambda The callback to set up the option of history retention. (NotNull)
+     * @return this. (NotNull)
+     */
+    public LaJobRunner retainJobHistory(HistoryRetentionOpCall opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final HistoryRetentionOption option = new HistoryRetentionOption();
+        opLambda.callback(option);
+        this.historyRetentionOption = option;
+        return this;
+    }
+
+    /**
+     * Keep job histories in memory as compact records made of primitive fields. <br>
+     * It is effective when you save many histories by limitJobHistory(). <br>
+     * The cause of saved history becomes summary that has only class name and message (no stack trace),
+     * which is also returned by e.g. LaunchedProcess.waitForEnding(). (history hook receives full history)
+     * @return this. (NotNull)
+     */
+    public LaJobRunner compactJobHistory() {
+        this.jobHistoryCompacted = true;
+        return this;
+    }
+
+    /**
+     * Save job histories to local journal files so that they survive restarts. <br>
+     * The histories are appended as binary records to memory-mapped segment files,
+     * and replayed into the history cache when the scheduler starts.
+     * <pre>
+     * runner.useHistoryJournal("/var/app/job-journal", op -&gt; op.segmentBytes(1024 * 1024).maxSegmentCount(4));
+     * </pre>
+     * @param directory The path of directory for journal files, created if not exists. (NotNull)
+     * @param opLambda The callback to set up the option of history journal. (NotNull)
+     * @return this. (NotNull)
+     */
+    public LaJobRunner useHistoryJournal(String directory, HistoryJournalOpCall opLambda) {
+        assertArgumentNotNull("directory", directory);
+        assertArgumentNotNull("opLambda", opLambda);
+        final HistoryJournalOption option = new HistoryJournalOption(directory);
+        opLambda.callback(option);
+        this.historyJournalOption = option;
+        return this;
+    }
+
+    /**
+     * Execute jobs on the bounded pool of reused threads instead of fresh thread per execution.
+     * <pre>
+     * runner.useWorkerPool(op -&gt; op.poolSize(10, 50).queueCapacity(100));
+     * </pre>
+     * @param opLambda The callback to set up the option of worker pool. (NotNull)
+     * @return this. (NotNull)
+     */
+    public LaJobRunner useWorkerPool(WorkerPoolOpCall opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final WorkerPoolOption option = new WorkerPoolOption();
+        opLambda.callback(option);
+        this.workerPoolOption = option;
+        return this;
+    }
+
+    /**
+     * Execute all jobs on virtual threads if the runtime supports it (platform thread if not). <br>
+     * It is effective for I/O-bound jobs. You can also use it per job by cron option.
+     * @return this. (NotNull)
+     */
+    public LaJobRunner useVirtualThread() {
+        this.virtualThreadUsed = true;
+        return this;
+    }
+
+    /**
+     * Use the scheduler engine that keeps jobs in the queue ordered by next fire time. <br>
+     * Native cron4j engine matches all cron patterns every minute,
+     * but this engine wakes up only when the earliest job is due.
+     * @return this. (NotNull)
+     */
+    public LaJobRunner useFireQueueEngine() {
+        this.fireQueueEngineUsed = true;
+        return this;
+    }
+
+    /**
+     * Limit the count of concurrently executing jobs in this JavaVM (for all jobs). <br>
+     * Jobs beyond the limit wait for finishing other jobs (not quit, not error).
+     * <pre>
+     * runner.limitConcurrentExecution(20); // e.g. smaller than DB connection pool
+     * </pre>
+     * @param permits The count of jobs that can be executed concurrently, should be positive.
+     * @return this. (NotNull)
+     */
+    public LaJobRunner limitConcurrentExecution(int permits) {
+        this.globalExecutionPermit = newExecutionPermitGroup(ExecutionPermitGroup.GLOBAL_GROUP_NAME, permits);
+        return this;
+    }
+
+    /**
+     * Define the execution group that limits the count of concurrently executing jobs in the group. <br>
+     * Jobs declare the group by cron option, and jobs beyond the limit wait for finishing other jobs.
+     * <pre>
+     * runner.defineExecutionGroup("heavyDB", 3);
+     * cron.register("* * * * *", SeaJob.class, waitIfConcurrent(), op -&gt; op.inExecutionGroup("heavyDB"));
+     * </pre>
+     * @param groupName The name of execution group, unique in the runner. (NotNull, NotEmpty)
+     * @param permits The count of jobs in the group that can be executed concurrently, should be positive.
+     * @return this. (NotNull)
+     */
+    public LaJobRunner defineExecutionGroup(String groupName, int permits) {
+        assertArgumentNotNull("groupName", groupName);
+        if (executionGroupMap.containsKey(groupName)) {
+            throw new IllegalArgumentException("Already defined the execution group: " + groupName);
+        }
+        executionGroupMap.put(groupName, newExecutionPermitGroup(groupName, permits));
+        return this;
+    }
+
+    protected ExecutionPermitGroup newExecutionPermitGroup(String groupName, int permits) {
+        return new ExecutionPermitGroup(groupName, permits);
+    }
+
+    /**
+     * Spread fire time of all cron jobs within the window by deterministic offset from job identity. <br>
+     * It avoids the stampede of many jobs at top of minute (e.g. DB connections, remote API). <br>
+     * The offset is derived from job unique (or job key if no unique), so each job keeps its interval.
+     * You can also specify it per job by cron option, which is prior to this.
+     * <pre>
+     * runner.spreadFireTime(20); // e.g. "0 * * * *" jobs fire between 00:00 and 00:20
+     * </pre>
+     * @param windowSeconds The window of offset in seconds, should be positive and smaller than the cron interval.
+     * @return this. (NotNull)
+     */
+    public LaJobRunner spreadFireTime(int windowSeconds) {
+        this.fireSpreading = newFireSpreading(FireSpreadType.HASHED, windowSeconds);
+        return this;
+    }
+
+    /**
+     * Spread fire time of all cron jobs within the window by random offset per fire.
+     * @param windowSeconds The window of offset in seconds, should be positive and smaller than the cron interval.
+     * @return this. (NotNull)
+     */
+    public LaJobRunner spreadFireTimeRandomly(int windowSeconds) {
+        this.fireSpreading = newFireSpreading(FireSpreadType.RANDOM, windowSeconds);
+        return this;
+    }
+
+    protected FireSpreading newFireSpreading(FireSpreadType spreadType, int windowSeconds) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("The argument 'windowSeconds' should be positive: " + windowSeconds);
+        }
+        return new FireSpreading(spreadType, windowSeconds * 1000L);
+    }
+
+    /**
+     * Record contention of concurrency control locks (preparing, running, neighbor's) per job and group. <br>
+     * How long each acquisition waited and which thread held the lock are recorded,
+     * and you can see them by lock contention list (or dump) of the job's executing snapshot.
+     * <pre>
+     * runner.recordLockContention(); // e.g. for investigation of stalled jobs
+     * jobManager.findJobByKey(jobKey).alwaysPresent(job -&gt; {
+     *     logger.debug(job.takeSnapshotNow().toLockContentionDump());
+     * });
+     * </pre>
+     * @return this. (NotNull)
+     */
+    public LaJobRunner recordLockContention() {
+        this.lockContentionRecorded = true;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                                Run
     //                                                                               =====
@@ -226,6 +477,7 @@ public class LaJobRunner {
         arrangeCallbackContext(runtime);
         final Object variousPreparedObj = prepareVariousContext(runtime);
         final long before = showRunning(runtime);
+        final JobFlightSpan runSpan = JobFlightRecorder.begin(JobFlightEventType.JOB_RUN); // none span if no recording
         Throwable cause = null;
         try {
             debugFw(runtime, "...Calling try clause of job runner");
@@ -239,10 +491,15 @@ public class LaJobRunner {
             showJobException(runtime, before, filtered);
         } finally {
             debugFw(runtime, "...Calling finally clause of job runner");
+            final ExecResultType runResultType = cause == null ? ExecResultType.SUCCESS : ExecResultType.CAUSED_BY_APPLICATION;
+            runSpan.end(runtime.getJobKey(), runtime.getJobUnique(), runResultType);
             hookFinally(runtime, OptionalThing.ofNullable(cause, () -> {
                 throw new IllegalStateException("Not found the cause: " + runtime);
             }));
             showFinishing(runtime, before, cause); // should be before clearing because of using them
+            if (cause == null && errorSuppressor != null) {
+                showSuppressedErrorResolved(runtime);
+            }
             clearVariousContext(runtime, variousPreparedObj);
             clearPreparedAccessContext();
             clearCallbackContext();
@@ -316,9 +573,16 @@ public class LaJobRunner {
     //                                               Running
     //                                               -------
     protected long showRunning(LaJobRuntime runtime) {
-        JobNoticeLog.log(runtime.getNoticeLogLevel(), () -> buildRunningJobLogMessage(runtime));
-        if (noticeLogHook != null) {
-            noticeLogHook.hookRunning(runtime, buildRunningJobLogMessage(runtime));
+        final JobNoticeLogLevel logLevel = runtime.getNoticeLogLevel();
+        final boolean logEnabled = JobNoticeLog.isEnabled(logLevel);
+        if (logEnabled || noticeLogHook != null) { // no allocation if nobody consumes it
+            final JobNoticeMessage msg = new JobNoticeMessage(() -> buildRunningJobLogMessage(runtime)); // shared
+            if (logEnabled) {
+                JobNoticeLog.log(logLevel, msg);
+            }
+            if (noticeLogHook != null) {
+                noticeLogHook.hookRunningLazily(runtime, msg);
+            }
         }
         return System.currentTimeMillis();
     }
@@ -335,17 +599,24 @@ public class LaJobRunner {
     //                                             Finishing
     //                                             ---------
     protected void showFinishing(LaJobRuntime runtime, long before, Throwable cause) {
-        final String msg = buildFinishingMsg(runtime, before, cause); // also no use enabled
+        final JobNoticeLogLevel logLevel = runtime.getNoticeLogLevel();
+        final boolean logEnabled = JobNoticeLog.isEnabled(logLevel);
+        if (!logEnabled && noticeLogHook == null) { // e.g. suppressed, skip building big message
+            return;
+        }
+        final long after = System.currentTimeMillis(); // not when building lazily
+        final JobNoticeMessage msg = new JobNoticeMessage(() -> buildFinishingMsg(runtime, before, after, cause)); // shared
         if (noticeLogHook != null) {
-            noticeLogHook.hookFinishing(runtime, msg, OptionalThing.ofNullable(cause, () -> {
+            noticeLogHook.hookFinishingLazily(runtime, msg, OptionalThing.ofNullable(cause, () -> {
                 throw new IllegalStateException("Not found the cause: " + runtime);
             }));
         }
-        JobNoticeLog.log(runtime.getNoticeLogLevel(), () -> msg);
+        if (logEnabled) {
+            JobNoticeLog.log(logLevel, msg);
+        }
     }
 
-    protected String buildFinishingMsg(LaJobRuntime runtime, long before, Throwable cause) {
-        final long after = System.currentTimeMillis();
+    protected String buildFinishingMsg(LaJobRuntime runtime, long before, long after, Throwable cause) {
         final StringBuilder sb = new StringBuilder();
         sb.append("#flow #job ...Finishing job: ").append(runtime.toRunMethodDisp());
         buildProcessHashIfNeeds(sb);
@@ -575,10 +846,41 @@ public class LaJobRunner {
     }
 
     protected void showJobException(LaJobRuntime runtime, long before, Throwable cause) {
+        if (errorSuppressor != null && !isBusinessStoppedException(cause)) { // deduplicated
+            final JobErrorJudgment judgment = errorSuppressor.judge(runtime.getJobKey(), cause);
+            if (judgment.isSuppressed()) { // without building stack trace
+                showSuppressedJobException(runtime, judgment);
+                return;
+            }
+            final String msg = buildJobExceptionMessage(runtime, before, cause);
+            logJobException(runtime, insertErrorJudgment(msg, judgment), cause);
+            return;
+        }
         final String msg = buildJobExceptionMessage(runtime, before, cause);
         logJobException(runtime, msg, cause);
     }
 
+    // -----------------------------------------------------
+    //                                   Error Deduplication
+    //                                   -------------------
+    protected void showSuppressedJobException(LaJobRuntime runtime, JobErrorJudgment judgment) {
+        JobNoticeLog.log(runtime.getNoticeLogLevel(), () -> {
+            return "#flow #job ...Suppressing the same error of the job: " + runtime.getJobKey() + ", " + judgment.toSummaryLine();
+        });
+    }
+
+    protected String insertErrorJudgment(String msg, JobErrorJudgment judgment) { // into the first line
+        final int firstLineEnd = msg.indexOf(LF);
+        final String summary = " (" + judgment.toSummaryLine() + ")";
+        return firstLineEnd >= 0 ? msg.substring(0, firstLineEnd) + summary + msg.substring(firstLineEnd) : msg + summary;
+    }
+
+    protected void showSuppressedErrorResolved(LaJobRuntime runtime) {
+        errorSuppressor.resolve(runtime.getJobKey()).ifPresent(summary -> {
+            JobNoticeLog.log(runtime.getNoticeLogLevel(), () -> summary);
+        });
+    }
+
     // -----------------------------------------------------
     //                                      Message Building
     //                                      ----------------
@@ -671,7 +973,11 @@ public class LaJobRunner {
     }
 
     protected void buildExceptionStackTrace(Throwable cause, StringBuilder sb) {
-        sb.append(LF).append(new JobErrorStackTracer().buildExceptionStackTrace(cause));
+        sb.append(LF).append(createJobErrorStackTracer().buildExceptionStackTrace(cause));
+    }
+
+    protected JobErrorStackTracer createJobErrorStackTracer() { // you can collapse framework frames by overriding
+        return new JobErrorStackTracer();
     }
 
     // -----------------------------------------------------
@@ -777,9 +1083,101 @@ public class LaJobRunner {
         });
     }
 
+    public OptionalThing<JobErrorSuppressor> getErrorSuppressor() {
+        return OptionalThing.ofNullable(errorSuppressor, () -> {
+            throw new IllegalStateException("Not found the errorSuppressor.");
+        });
+    }
+
     public OptionalThing<JobHistoryHook> getHistoryHook() {
         return OptionalThing.ofNullable(historyHook, () -> {
             throw new IllegalStateException("Not found the historyHook.");
         });
     }
+
+    public int getJobHistoryLimit() {
+        return jobHistoryLimit;
+    }
+
+    public OptionalThing<HistoryRetentionOption> getHistoryRetentionOption() {
+        return OptionalThing.ofNullable(historyRetentionOption, () -> {
+            throw new IllegalStateException("Not found the historyRetentionOption.");
+        });
+    }
+
+    public boolean isJobHistoryCompacted() {
+        return jobHistoryCompacted;
+    }
+
+    public boolean isVirtualThreadUsed() {
+        return virtualThreadUsed;
+    }
+
+    public boolean isFireQueueEngineUsed() {
+        return fireQueueEngineUsed;
+    }
+
+    public boolean isLockContentionRecorded() {
+        return lockContentionRecorded;
+    }
+
+    public OptionalThing<AsyncHistoryOption> getAsyncHistoryOption() {
+        return OptionalThing.ofNullable(asyncHistoryOption, () -> {
+            throw new IllegalStateException("Not found the asyncHistoryOption.");
+        });
+    }
+
+    public OptionalThing<HistoryJournalOption> getHistoryJournalOption() {
+        return OptionalThing.ofNullable(historyJournalOption, () -> {
+            throw new IllegalStateException("Not found the historyJournalOption.");
+        });
+    }
+
+    public OptionalThing<WorkerPoolOption> getWorkerPoolOption() {
+        return OptionalThing.ofNullable(workerPoolOption, () -> {
+            throw new IllegalStateException("Not found the workerPoolOption.");
+        });
+    }
+
+    public OptionalThing<ExecutionPermitGroup> getGlobalExecutionPermit() {
+        return OptionalThing.ofNullable(globalExecutionPermit, () -> {
+            throw new IllegalStateException("Not found the globalExecutionPermit.");
+        });
+    }
+
+    public OptionalThing<FireSpreading> getFireSpreading() {
+        return OptionalThing.ofNullable(fireSpreading, () -> {
+            throw new IllegalStateException("Not found the fireSpreading.");
+        });
+    }
+
+    public OptionalThing<ExecutionPermitGroup> findExecutionGroup(String groupName) {
+        assertArgumentNotNull("groupName", groupName);
+        return OptionalThing.ofNullable(executionGroupMap.get(groupName), () -> {
+            throwJobExecutionGroupNotFoundException(groupName);
+        });
+    }
+
+    protected void throwJobExecutionGroupNotFoundException(String groupName) {
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice("Not found the execution group.");
+        br.addItem("Advice");
+        br.addElement("The execution group should be defined in job runner.");
+        br.addElement("For example:");
+        br.addElement("  (x):");
+        br.addElement("    cron.register(..., op -> op.inExecutionGroup(\"heavyDB\")); // *Bad: not defined");
+        br.addElement("  (o):");
+        br.addElement("    runner.defineExecutionGroup(\"heavyDB\", 3); // Good: in createRunner()");
+        br.addElement("    cron.register(..., op -> op.inExecutionGroup(\"heavyDB\"));");
+        br.addItem("Specified Group");
+        br.addElement(groupName);
+        br.addItem("Defined Group");
+        br.addElement(executionGroupMap.keySet());
+        final String msg = br.buildExceptionMessage();
+        throw new JobExecutionGroupNotFoundException(msg);
+    }
+
+    public List<ExecutionPermitGroup> getExecutionGroupList() {
+        return Collections.unmodifiableList(new ArrayList<ExecutionPermitGroup>(executionGroupMap.values()));
+    }
 }
@@ -15,9 +15,16 @@
  */
 package org.lastaflute.job;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.dbflute.optional.OptionalThing;
 import org.lastaflute.job.exception.JobAlreadyDisappearedException;
 import org.lastaflute.job.exception.JobAlreadyUnscheduleException;
 import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.subsidiary.CompiledCronExp;
+import org.lastaflute.job.subsidiary.JobStatisticsSnapshot;
 import org.lastaflute.job.subsidiary.LaunchNowOpCall;
 import org.lastaflute.job.subsidiary.LaunchedProcess;
 import org.lastaflute.job.subsidiary.ReadableJobAttr;
@@ -79,7 +86,7 @@ public interface LaScheduledJob extends ReadableJobAttr, ReadableJobState, Regis
      * x disappear() to reschedule()
      * x disappear() to unschedule()
      * </pre>
-     * @param cronExp The new cron expression of the job e.g. '10 * * * *' (NotNull)
+     * @param cronExp The new cron expression of the job e.g. '10 * * * *', or with seconds if fire-queue engine. (NotNull)
      * @param opLambda The callback to setup varying option for e.g. parameter. (NotNull)
      * @throws JobAlreadyDisappearedException When the job is already disappeared.
      */
@@ -134,6 +141,57 @@ public interface LaScheduledJob extends ReadableJobAttr, ReadableJobState, Regis
      */
     void becomeNonCron();
 
+    // ===================================================================================
+    //                                                                           Fire Time
+    //                                                                           =========
+    /**
+     * Get the compiled cron expression, which can calculate fire times without parsing. <br>
+     * It is switched by reschedule() so get it again after rescheduling.
+     * @return The optional compiled cron expression. (NotNull, EmptyAllowed: if non-cron or not compiled by the implementation)
+     */
+    default OptionalThing<CompiledCronExp> getCompiledCron() { // default for compatibility of implementations
+        return OptionalThing.ofNullable(null, () -> {
+            throw new IllegalStateException("Not found the compiled cron by the implementation: " + getClass().getName());
+        });
+    }
+
+    /**
+     * Get the next fire times by the cron from current time, as the scheduler fires them. <br>
+     * They are local date-times of the scheduler's time zone, so times skipped by summer time are not contained. <br>
+     * It does not contain launchNow() and unscheduled state is not considered.
+     * <pre>
+     * List&lt;LocalDateTime&gt; timeList = job.getNextFireTimeList(3); // e.g. '0 10 * * 1-5'
+     * // [2026-10-16T10:00, 2026-10-19T10:00, 2026-10-20T10:00] if current time is Friday morning
+     * </pre>
+     * @param count The count of fire times to be forecast, should be zero or positive.
+     * @return The list of next fire times in ascending order. (NotNull, EmptyAllowed: if non-cron or never fired)
+     * @throws IllegalStateException When the implementation does not support it even if compiled cron exists.
+     */
+    default List<LocalDateTime> getNextFireTimeList(int count) { // default for compatibility of implementations
+        if (!getCompiledCron().isPresent()) { // same as non-cron
+            return Collections.emptyList();
+        }
+        throw new IllegalStateException("Not supported the next fire times by the implementation: " + getClass().getName());
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    /**
+     * Take the snapshot of execution statistics since scheduling started (reset by reboot). <br>
+     * It contains counts per execution result and approximate percentiles of duration and queue wait.
+     * <pre>
+     * JobStatisticsSnapshot statistics = job.takeStatisticsSnapshot();
+     * long p99 = statistics.getDuration().getP99(); // milliseconds
+     * long failureCount = statistics.getResultCount(ExecResultType.CAUSED_BY_APPLICATION);
+     * </pre>
+     * @return The snapshot of statistics. (NotNull)
+     * @throws IllegalStateException When the implementation does not record statistics.
+     */
+    default JobStatisticsSnapshot takeStatisticsSnapshot() {
+        throw new IllegalStateException("Not supported the job statistics by the implementation: " + getClass().getName());
+    }
+
     // ===================================================================================
     //                                                                        Next Trigger
     //                                                                        ============
@@ -23,6 +23,10 @@ import org.lastaflute.job.key.LaJobKey;
 import org.lastaflute.job.key.LaJobUnique;
 import org.lastaflute.job.subsidiary.CronConsumer;
 import org.lastaflute.job.subsidiary.JobConcurrentExec;
+import org.lastaflute.job.subsidiary.JobHistoryOrder;
+import org.lastaflute.job.subsidiary.JobHistorySearchOpCall;
+import org.lastaflute.job.subsidiary.JobHistoryVisitor;
+import org.lastaflute.job.subsidiary.JobMetricsSnapshot;
 
 /**
  * @author jflute
@@ -40,6 +44,24 @@ public interface LaSchedulingNow {
 
     List<LaJobHistory> searchJobHistoryList();
 
+    default List<LaJobHistory> searchJobHistoryList(JobHistorySearchOpCall opLambda) {
+        throw new IllegalStateException("Not supported the indexed history search by the implementation: " + getClass().getName());
+    }
+
+    default void forEachJobHistory(JobHistoryOrder order, JobHistoryVisitor visitor) { // copying list if not overridden
+        final List<LaJobHistory> historyList = searchJobHistoryList(); // oldest first
+        final boolean latestFirst = order == JobHistoryOrder.LATEST_FIRST;
+        for (int i = 0; i < historyList.size(); i++) {
+            if (!visitor.visit(historyList.get(latestFirst ? historyList.size() - 1 - i : i))) {
+                break;
+            }
+        }
+    }
+
+    default JobMetricsSnapshot takeMetricsSnapshot() {
+        throw new IllegalStateException("Not supported the job metrics by the implementation: " + getClass().getName());
+    }
+
     void setupNeighborConcurrent(String groupName, JobConcurrentExec concurrentExec, Set<LaJobKey> jobKeySet);
 
     void destroy();
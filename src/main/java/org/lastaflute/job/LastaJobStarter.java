@@ -31,13 +31,22 @@ import org.lastaflute.core.util.ContainerUtil;
 import org.lastaflute.di.naming.NamingConvention;
 import org.lastaflute.job.cron4j.Cron4jCron;
 import org.lastaflute.job.cron4j.Cron4jCron.CronRegistrationType;
+import org.lastaflute.job.cron4j.Cron4jHistoryDeliverer;
+import org.lastaflute.job.cron4j.Cron4jHistoryJournal;
 import org.lastaflute.job.cron4j.Cron4jNow;
 import org.lastaflute.job.cron4j.Cron4jScheduler;
+import org.lastaflute.job.cron4j.Cron4jVirtualThreadFactory;
+import org.lastaflute.job.cron4j.Cron4jWorkerPool;
 import org.lastaflute.job.exception.JobSchedulerNoInterfaceException;
 import org.lastaflute.job.exception.JobSchedulerNotFoundException;
+import org.lastaflute.job.log.JobHistoryHook;
+import org.lastaflute.job.subsidiary.AsyncHistoryOption;
+import org.lastaflute.job.subsidiary.HistoryJournalOption;
+import org.lastaflute.job.subsidiary.WorkerPoolOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import it.sauronsoftware.cron4j.RomanticCron4jFireQueueScheduler;
 import it.sauronsoftware.cron4j.RomanticCron4jNativeScheduler;
 
 /**
@@ -66,6 +75,8 @@ public class LastaJobStarter {
             inject(jobRunner);
             cron4jScheduler = createCron4jScheduler(jobRunner);
             cron4jNow = createCron4jNow(cron4jScheduler, jobRunner);
+            prepareHistoryJournal(jobRunner, cron4jNow);
+            prepareHistoryDeliverer(jobRunner, cron4jNow);
             final Cron4jCron cron4jCron = createCron4jCron(cron4jScheduler, jobRunner, cron4jNow);
             appScheduler.schedule(cron4jCron);
             showBoot(appScheduler, jobRunner, cron4jScheduler, cron4jNow);
@@ -163,17 +174,70 @@ public class LastaJobStarter {
     //                                      Cron4j Scheduler
     //                                      ----------------
     protected Cron4jScheduler createCron4jScheduler(LaJobRunner jobRunner) {
-        return new Cron4jScheduler(newNativeScheduler());
+        final RomanticCron4jNativeScheduler nativeScheduler;
+        if (jobRunner.isFireQueueEngineUsed()) {
+            nativeScheduler = newFireQueueScheduler();
+        } else {
+            nativeScheduler = newNativeScheduler();
+        }
+        jobRunner.getWorkerPoolOption().ifPresent(poolOption -> {
+            nativeScheduler.useWorkerPool(createWorkerPool(nativeScheduler, poolOption));
+        });
+        if (jobRunner.isVirtualThreadUsed()) {
+            if (!Cron4jVirtualThreadFactory.isSupported()) {
+                logger.info("*Virtual thread is not supported in the runtime so platform thread is used.");
+            }
+            nativeScheduler.useVirtualThread();
+        }
+        return new Cron4jScheduler(nativeScheduler);
     }
 
     protected RomanticCron4jNativeScheduler newNativeScheduler() {
         return new RomanticCron4jNativeScheduler();
     }
 
+    protected RomanticCron4jFireQueueScheduler newFireQueueScheduler() {
+        return new RomanticCron4jFireQueueScheduler();
+    }
+
+    protected Cron4jWorkerPool createWorkerPool(RomanticCron4jNativeScheduler nativeScheduler, WorkerPoolOption poolOption) {
+        return new Cron4jWorkerPool(poolOption, () -> nativeScheduler.isDaemon());
+    }
+
     protected Cron4jNow createCron4jNow(Cron4jScheduler cron4jScheduler, LaJobRunner jobRunner) {
         return new Cron4jNow(cron4jScheduler, jobRunner, prepareCurrentTimeProvider(), isFrameworkDebug());
     }
 
+    protected void prepareHistoryJournal(LaJobRunner jobRunner, Cron4jNow cron4jNow) {
+        jobRunner.getHistoryJournalOption().ifPresent(journalOption -> {
+            final int replayedCount = cron4jNow.startHistoryJournal(createHistoryJournal(journalOption));
+            logger.info("...Replaying job histories from journal: count={}, {}", replayedCount, journalOption);
+        });
+    }
+
+    protected Cron4jHistoryJournal createHistoryJournal(HistoryJournalOption journalOption) {
+        return new Cron4jHistoryJournal(journalOption);
+    }
+
+    protected void prepareHistoryDeliverer(LaJobRunner jobRunner, Cron4jNow cron4jNow) {
+        jobRunner.getAsyncHistoryOption().ifPresent(asyncOption -> {
+            final JobHistoryHook historyHook = jobRunner.getHistoryHook().orElseTranslatingThrow(cause -> {
+                String msg = "The asynchronous history delivery needs history hook: " + asyncOption + ", runner=" + jobRunner;
+                return new IllegalStateException(msg, cause);
+            });
+            cron4jNow.startHistoryDeliverer(createHistoryDeliverer(jobRunner, asyncOption, historyHook));
+        });
+    }
+
+    protected Cron4jHistoryDeliverer createHistoryDeliverer(LaJobRunner jobRunner, AsyncHistoryOption asyncOption,
+            JobHistoryHook historyHook) {
+        return new Cron4jHistoryDeliverer(asyncOption, historyHook, jobRunner, getNativeHistoryLimit(jobRunner));
+    }
+
+    protected int getNativeHistoryLimit(LaJobRunner jobRunner) {
+        return jobRunner.getJobHistoryLimit(); // same as task's history limit
+    }
+
     protected Cron4jCron createCron4jCron(Cron4jScheduler cron4jScheduler, LaJobRunner runner, Cron4jNow cron4jNow) {
         return new Cron4jCron(cron4jScheduler, runner, cron4jNow, CronRegistrationType.START, prepareCurrentTimeProvider(),
                 isFrameworkDebug());
@@ -18,6 +18,7 @@ package org.lastaflute.job;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -28,6 +29,11 @@ import org.lastaflute.job.key.LaJobKey;
 import org.lastaflute.job.key.LaJobUnique;
 import org.lastaflute.job.subsidiary.CronConsumer;
 import org.lastaflute.job.subsidiary.JobConcurrentExec;
+import org.lastaflute.job.subsidiary.JobHistoryOrder;
+import org.lastaflute.job.subsidiary.JobHistorySearchOpCall;
+import org.lastaflute.job.subsidiary.JobHistoryVisitor;
+import org.lastaflute.job.subsidiary.JobMetricsSnapshot;
+import org.lastaflute.job.subsidiary.JobStatisticsSnapshot;
 import org.lastaflute.web.servlet.filter.bowgun.BowgunCurtainBefore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -161,6 +167,29 @@ public class SimpleJobManager implements JobManager {
         return schedulingNow.searchJobHistoryList();
     }
 
+    @Override
+    public List<LaJobHistory> searchJobHistoryList(JobHistorySearchOpCall opLambda) {
+        return schedulingNow.searchJobHistoryList(opLambda);
+    }
+
+    @Override
+    public void forEachJobHistory(JobHistoryOrder order, JobHistoryVisitor visitor) {
+        schedulingNow.forEachJobHistory(order, visitor);
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    @Override
+    public List<JobStatisticsSnapshot> takeStatisticsSnapshotList() {
+        return getJobList().stream().map(job -> job.takeStatisticsSnapshot()).collect(Collectors.toList());
+    }
+
+    @Override
+    public JobMetricsSnapshot takeMetricsSnapshot() {
+        return schedulingNow.takeMetricsSnapshot();
+    }
+
     // ===================================================================================
     //                                                                        Assist Logic
     //                                                                        ============
@@ -213,6 +242,25 @@ public class SimpleJobManager implements JobManager {
             return Collections.emptyList(); // unreachable
         }
 
+        @Override
+        public List<LaJobHistory> searchJobHistoryList(JobHistorySearchOpCall opLambda) {
+            // air shot for job ending after destroy()
+            //throwJobManagerNotInitializedYetException();
+            return Collections.emptyList(); // unreachable
+        }
+
+        @Override
+        public void forEachJobHistory(JobHistoryOrder order, JobHistoryVisitor visitor) {
+            // air shot for job ending after destroy()
+            //throwJobManagerNotInitializedYetException();
+        }
+
+        @Override
+        public JobMetricsSnapshot takeMetricsSnapshot() {
+            // air shot for monitoring before initialization or after destroy()
+            return new JobMetricsSnapshot(System.currentTimeMillis(), 0L, 0L, Collections.emptyList(), true);
+        }
+
         @Override
         public void setupNeighborConcurrent(String groupName, JobConcurrentExec concurrentExec, Set<LaJobKey> jobKeySet) {
             throwJobManagerNotInitializedYetException();
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.util.Srl;
+import org.lastaflute.job.LaJobHistory;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobNote;
+import org.lastaflute.job.key.LaJobUnique;
+import org.lastaflute.job.subsidiary.ExecResultType;
+
+import it.sauronsoftware.cron4j.RomanticCron4jFireAttr;
+
+/**
+ * The job history saved in memory by primitive fields for many histories. <br>
+ * Date-times are kept as epoch milliseconds of local fields (so nanoseconds under milliseconds are lost),
+ * and the cause is kept as only class name and message, materialized as summarized cause when it is needed.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jCompactJobHistory implements LaJobHistory {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final long NONE_MILLIS = Long.MIN_VALUE; // means empty
+    protected static final ExecResultType[] RESULT_TYPES = ExecResultType.values(); // to restore from ordinal
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final LaJobKey jobKey; // not null, shared with job
+    protected final LaJobNote jobNote; // null allowed, shared with job
+    protected final LaJobUnique jobUnique; // null allowed, shared with job
+    protected final String cronExp; // null allowed, interned
+    protected final String jobTypeFqcn; // not null, interned
+    protected final long activationMillis;
+    protected final long plannedMillis; // NONE_MILLIS if unknown
+    protected final long beginMillis; // NONE_MILLIS if no execution
+    protected final long endMillis; // NONE_MILLIS if no execution
+    protected final byte execResultOrdinal;
+    protected final String[] endTitleRollEntries; // null allowed, key and value alternately
+    protected final String causeClassName; // null allowed (if success)
+    protected final String causeMessage; // null allowed
+    protected final long plannedFireMillis; // NONE_MILLIS if launch-now
+    protected final long fireSpreadMillis;
+    protected final boolean misfireCatchUp;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public Cron4jCompactJobHistory(Cron4jJobHistory history) {
+        this.jobKey = history.getJobKey();
+        this.jobNote = history.getJobNote().orElse(null);
+        this.jobUnique = history.getJobUnique().orElse(null);
+        this.cronExp = history.getCronExp().map(exp -> exp.intern()).orElse(null);
+        this.jobTypeFqcn = history.getJobTypeFqcn().intern(); // many histories of same job
+        this.activationMillis = toMillis(history.getActivationTime());
+        this.plannedMillis = history.getPlannedTime().map(time -> toMillis(time)).orElse(NONE_MILLIS);
+        this.beginMillis = history.getBeginTime().map(time -> toMillis(time)).orElse(NONE_MILLIS);
+        this.endMillis = history.getEndTime().map(time -> toMillis(time)).orElse(NONE_MILLIS);
+        this.execResultOrdinal = (byte) history.getExecResultType().ordinal();
+        this.endTitleRollEntries = toEntries(history.getEndTitleRollSnapshotMap());
+        final Throwable cause = history.getCause().orElse(null);
+        this.causeClassName = cause != null ? Cron4jSummarizedCause.extractCauseClassName(cause).intern() : null;
+        this.causeMessage = cause != null ? cause.getMessage() : null;
+        final RomanticCron4jFireAttr fireAttr = history.getFireAttr().orElse(null);
+        this.plannedFireMillis = fireAttr != null ? fireAttr.getPlannedFireMillis() : NONE_MILLIS;
+        this.fireSpreadMillis = fireAttr != null ? fireAttr.getSpreadMillis() : 0L;
+        this.misfireCatchUp = fireAttr != null && fireAttr.isCatchUp();
+    }
+
+    protected static long toMillis(LocalDateTime dateTime) { // local fields as they are
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    protected static LocalDateTime toDateTime(long millis) {
+        final long epochSecond = Math.floorDiv(millis, 1000L);
+        final int nano = (int) Math.floorMod(millis, 1000L) * 1000000;
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    protected static String[] toEntries(Map<String, String> rollMap) {
+        if (rollMap.isEmpty()) {
+            return null; // mainly here
+        }
+        final String[] entries = new String[rollMap.size() * 2];
+        int index = 0;
+        for (Map.Entry<String, String> entry : rollMap.entrySet()) {
+            entries[index++] = entry.getKey().intern(); // keys are fixed names in application
+            entries[index++] = entry.getValue();
+        }
+        return entries;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("history:{");
+        sb.append(jobKey);
+        if (jobNote != null) {
+            sb.append(", ").append(jobNote);
+        }
+        if (jobUnique != null) {
+            sb.append(", ").append(jobUnique);
+        }
+        if (cronExp != null) {
+            sb.append(", ").append(cronExp);
+        }
+        sb.append(", ").append(Srl.substringLastRear(jobTypeFqcn, "."));
+        sb.append(", activation=").append(getActivationTime());
+        if (plannedMillis != NONE_MILLIS && activationMillis > plannedMillis) {
+            sb.append(", lag=").append(activationMillis - plannedMillis).append("ms");
+        }
+        if (fireSpreadMillis > 0L) {
+            sb.append(", spread=").append(fireSpreadMillis).append("ms");
+        }
+        if (misfireCatchUp) {
+            sb.append(", catchUp");
+        }
+        sb.append(", begin=").append(beginMillis != NONE_MILLIS ? toDateTime(beginMillis).toString() : "*no begin");
+        sb.append(", end=").append(endMillis != NONE_MILLIS ? toDateTime(endMillis).toString() : "*no end");
+        sb.append(", ").append(getExecResultType());
+        if (causeClassName != null) {
+            sb.append(", ").append(Srl.substringLastRear(causeClassName, "."));
+        }
+        sb.append("}@").append(Integer.toHexString(hashCode()));
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    // -----------------------------------------------------
+    //                                         Job Attribute
+    //                                         -------------
+    @Override
+    public LaJobKey getJobKey() {
+        return jobKey;
+    }
+
+    @Override
+    public OptionalThing<LaJobNote> getJobNote() {
+        return OptionalThing.ofNullable(jobNote, () -> {
+            throw new IllegalStateException("Not found the job note: " + jobKey);
+        });
+    }
+
+    @Override
+    public OptionalThing<LaJobUnique> getJobUnique() {
+        return OptionalThing.ofNullable(jobUnique, () -> {
+            throw new IllegalStateException("Not found the job unique: " + jobKey);
+        });
+    }
+
+    @Override
+    public OptionalThing<String> getCronExp() {
+        return OptionalThing.ofNullable(cronExp, () -> {
+            throw new IllegalStateException("Not found the cron expression: " + jobKey);
+        });
+    }
+
+    @Override
+    public String getJobTypeFqcn() {
+        return jobTypeFqcn;
+    }
+
+    // -----------------------------------------------------
+    //                                      Execution Result
+    //                                      ----------------
+    @Override
+    public LocalDateTime getActivationTime() {
+        return toDateTime(activationMillis);
+    }
+
+    @Override
+    public OptionalThing<LocalDateTime> getPlannedTime() {
+        return OptionalThing.ofNullable(plannedMillis != NONE_MILLIS ? toDateTime(plannedMillis) : null, () -> {
+            throw new IllegalStateException("Not found the planned time: " + jobKey);
+        });
+    }
+
+    @Override
+    public OptionalThing<LocalDateTime> getBeginTime() {
+        return OptionalThing.ofNullable(beginMillis != NONE_MILLIS ? toDateTime(beginMillis) : null, () -> {
+            throw new IllegalStateException("Not found the begin time: " + jobKey);
+        });
+    }
+
+    @Override
+    public OptionalThing<LocalDateTime> getEndTime() {
+        return OptionalThing.ofNullable(endMillis != NONE_MILLIS ? toDateTime(endMillis) : null, () -> {
+            throw new IllegalStateException("Not found the end time: " + jobKey);
+        });
+    }
+
+    @Override
+    public ExecResultType getExecResultType() {
+        return RESULT_TYPES[execResultOrdinal];
+    }
+
+    @Override
+    public Map<String, String> getEndTitleRollSnapshotMap() {
+        if (endTitleRollEntries == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> rollMap = new LinkedHashMap<String, String>(endTitleRollEntries.length);
+        for (int i = 0; i < endTitleRollEntries.length; i += 2) {
+            rollMap.put(endTitleRollEntries[i], endTitleRollEntries[i + 1]);
+        }
+        return Collections.unmodifiableMap(rollMap);
+    }
+
+    @Override
+    public OptionalThing<Throwable> getCause() { // materialized lazily
+        return OptionalThing.ofNullable(causeClassName != null ? new Cron4jSummarizedCause(causeClassName, causeMessage) : null, () -> {
+            throw new IllegalStateException("Not found the cause: " + jobKey);
+        });
+    }
+
+    // -----------------------------------------------------
+    //                                        Fire Attribute
+    //                                        --------------
+    public OptionalThing<Long> getPlannedFireMillis() {
+        return OptionalThing.ofNullable(plannedFireMillis != NONE_MILLIS ? plannedFireMillis : null, () -> {
+            throw new IllegalStateException("Not found the planned fire time: " + jobKey);
+        });
+    }
+
+    @Override
+    public long getFireSpreadMillis() {
+        return fireSpreadMillis;
+    }
+
+    @Override
+    public boolean isMisfireCatchUp() {
+        return misfireCatchUp;
+    }
+}
@@ -89,6 +89,7 @@ public class Cron4jCron implements LaCron {
         if (isNonCrom(cronExp)) {
             throw new IllegalArgumentException("The cronExp for register() should not be non-cron: " + toString());
         }
+        verifyCronExp(cronExp);
         assertArgumentNotNull("jobType", jobType);
         assertArgumentNotNull("concurrentExec", concurrentExec);
         assertArgumentNotNull("opLambda (cronOptionConsumer)", opLambda);
@@ -99,6 +100,10 @@ public class Cron4jCron implements LaCron {
         return Cron4jCron.isNonCronExp(cronExp);
     }
 
+    protected void verifyCronExp(String cronExp) { // e.g. seconds field needs supported engine
+        cron4jScheduler.verifyCronExp(cronExp);
+    }
+
     @Override
     public RegisteredJob registerNonCron(Class<? extends LaJob> jobType, JobConcurrentExec concurrentExec, InitialCronOpCall opLambda) {
         assertArgumentNotNull("jobType", jobType);
@@ -122,9 +127,14 @@ public class Cron4jCron implements LaCron {
     protected CronOption createCronOption(InitialCronOpCall opLambda) {
         final CronOption option = new CronOption();
         opLambda.callback(option);
+        verifyExecutionGroup(option);
         return option;
     }
 
+    protected void verifyExecutionGroup(CronOption option) { // e.g. not defined group
+        option.getExecutionGroupNameList().forEach(groupName -> jobRunner.findExecutionGroup(groupName).get());
+    }
+
     // -----------------------------------------------------
     //                                            Cron4jTask
     //                                            ----------
@@ -136,7 +146,10 @@ public class Cron4jCron implements LaCron {
     }
 
     protected VaryingCron createVaryingCron(String cronExp, VaryingCronOption cronOption) {
-        return new VaryingCron(cronExp, cronOption);
+        if (isNonCronExp(cronExp)) {
+            return new VaryingCron(cronExp, cronOption);
+        }
+        return new VaryingCron(cronExp, cronOption, cron4jScheduler.compileCronExp(cronExp)); // compiled once here
     }
 
     protected JobThreadNaming prepareThreadNaming(CronOption cronOption) {
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.dbflute.hook.AccessContext;
+import org.dbflute.hook.CallbackContext;
+import org.dbflute.util.DfTypeUtil;
+import org.lastaflute.core.magic.ThreadCacheContext;
+import org.lastaflute.db.dbflute.accesscontext.AccessContextArranger;
+import org.lastaflute.db.dbflute.accesscontext.AccessContextResource;
+import org.lastaflute.db.dbflute.accesscontext.PreparedAccessContext;
+import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableSqlFireHook;
+import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableSqlResultHandler;
+import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableSqlStringFilter;
+import org.lastaflute.job.LaJobHistory;
+import org.lastaflute.job.LaJobRunner;
+import org.lastaflute.job.log.JobErrorLog;
+import org.lastaflute.job.log.JobErrorStackTracer;
+import org.lastaflute.job.log.JobHistoryHook;
+import org.lastaflute.job.log.JobHistoryResource;
+import org.lastaflute.job.log.JobNoticeLog;
+import org.lastaflute.job.log.JobNoticeLogLevel;
+import org.lastaflute.job.subsidiary.AsyncHistoryOption;
+import org.lastaflute.job.subsidiary.AsyncHistoryOption.HistoryOverflowType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The deliverer of job histories to history hook by background writer thread. <br>
+ * Job threads only queue histories, and the writer hands them to the hook in batch.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jHistoryDeliverer {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(Cron4jHistoryDeliverer.class);
+    protected static final String LF = "\n";
+    protected static final long DISCARD_LOGGING_INTERVAL = 1000L; // to avoid log flood
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final AsyncHistoryOption option; // not null
+    protected final JobHistoryHook historyHook; // not null
+    protected final LaJobRunner jobRunner; // not null, for access context
+    protected final int nativeHistoryLimit;
+    protected final BlockingQueue<LaJobHistory> historyQueue; // bounded
+    protected final Method hookMethod; // not null, resolved once for contexts of hook
+    protected final AtomicLong discardedCount = new AtomicLong();
+    protected volatile boolean closed;
+    protected Thread writerThread; // null allowed before start
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public Cron4jHistoryDeliverer(AsyncHistoryOption option, JobHistoryHook historyHook, LaJobRunner jobRunner, int nativeHistoryLimit) {
+        this.option = option;
+        this.historyHook = historyHook;
+        this.jobRunner = jobRunner;
+        this.nativeHistoryLimit = nativeHistoryLimit;
+        this.historyQueue = createHistoryQueue(option);
+        this.hookMethod = findHookMethod();
+    }
+
+    protected BlockingQueue<LaJobHistory> createHistoryQueue(AsyncHistoryOption option) {
+        return new ArrayBlockingQueue<LaJobHistory>(option.getQueueCapacity());
+    }
+
+    // ===================================================================================
+    //                                                                               Start
+    //                                                                               =====
+    public synchronized void start() {
+        if (writerThread != null) {
+            throw new IllegalStateException("Already started the deliverer: " + this);
+        }
+        final Thread thread = new Thread(() -> writeLoop(), "lasta-job::history-deliverer");
+        thread.setDaemon(true); // not to block JavaVM shutdown, remaining histories are drained by destroy
+        thread.start();
+        writerThread = thread;
+    }
+
+    protected void writeLoop() {
+        final List<LaJobHistory> batchList = new ArrayList<LaJobHistory>(option.getBatchSize());
+        while (true) {
+            try {
+                final LaJobHistory first = closed ? historyQueue.poll() : historyQueue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    if (closed) {
+                        break; // drained
+                    }
+                    continue;
+                }
+                batchList.add(first);
+                fillBatch(batchList);
+            } catch (InterruptedException e) { // no way, not interrupted because the hook may use I/O
+                logger.info("*Interrupted the history deliverer so stop it: {}", this);
+                break;
+            }
+            deliver(batchList);
+            batchList.clear();
+        }
+    }
+
+    protected void fillBatch(List<LaJobHistory> batchList) throws InterruptedException {
+        final int batchSize = option.getBatchSize();
+        final long deadline = System.currentTimeMillis() + option.getFlushIntervalMillis();
+        while (batchList.size() < batchSize) {
+            historyQueue.drainTo(batchList, batchSize - batchList.size());
+            final long remaining = deadline - System.currentTimeMillis();
+            if (batchList.size() >= batchSize || remaining <= 0 || closed) {
+                break;
+            }
+            final LaJobHistory next = historyQueue.poll(remaining, TimeUnit.MILLISECONDS);
+            if (next == null) { // flush interval passed
+                break;
+            }
+            batchList.add(next);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Offer
+    //                                                                               =====
+    /**
+     * Queue the history for delivery, the overflow type decides the behavior if the queue is full.
+     * @param jobHistory The job history to be delivered. (NotNull)
+     */
+    public void offer(LaJobHistory jobHistory) {
+        if (closed) { // e.g. job finished after draining
+            deliver(Collections.singletonList(jobHistory));
+            return;
+        }
+        if (historyQueue.offer(jobHistory)) {
+            drainIfClosed();
+            return;
+        }
+        final HistoryOverflowType overflowType = option.getOverflowType();
+        if (HistoryOverflowType.DISCARD_OLDEST.equals(overflowType)) {
+            while (!historyQueue.offer(jobHistory)) {
+                if (historyQueue.poll() != null) {
+                    showDiscarded(overflowType);
+                }
+            }
+            drainIfClosed();
+        } else if (HistoryOverflowType.DISCARD_NEWEST.equals(overflowType)) {
+            showDiscarded(overflowType);
+        } else { // caller runs
+            deliver(Collections.singletonList(jobHistory));
+        }
+    }
+
+    protected void drainIfClosed() { // closed after checking it so the writer and close() may have already drained
+        if (closed) {
+            final List<LaJobHistory> restList = new ArrayList<LaJobHistory>();
+            historyQueue.drainTo(restList);
+            if (!restList.isEmpty()) {
+                deliver(restList); // on the caller thread same as offering after closed
+            }
+        }
+    }
+
+    protected void showDiscarded(HistoryOverflowType overflowType) {
+        final long count = discardedCount.incrementAndGet();
+        if (count == 1 || count % DISCARD_LOGGING_INTERVAL == 0) {
+            final String msg = "*Discarded job history because the delivery queue is full: type={}, discarded={}, {}";
+            logger.warn(msg, overflowType, count, option);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Deliver
+    //                                                                             =======
+    protected void deliver(List<LaJobHistory> historyList) {
+        arrangeHookThreadCacheContext();
+        jobRunner.getAccessContextArranger().ifPresent(arranger -> { // for DB control
+            arrangeHookPreparedAccessContext(arranger, hookMethod);
+        });
+        arrangeHookCallbackContext(hookMethod, historyList);
+        try {
+            showHistoryDelivering(historyList);
+            final List<LaJobHistory> deliveredList = new ArrayList<LaJobHistory>(historyList); // copy, batch list is reused
+            historyHook.hookRecordBatch(Collections.unmodifiableList(deliveredList), new JobHistoryResource(nativeHistoryLimit));
+        } catch (RuntimeException e) { // not to stop writer thread
+            final String msg = "Failed to deliver job histories to the hook: count=" + historyList.size() + ", hook=" + historyHook;
+            JobErrorLog.log((msg + LF + new JobErrorStackTracer().buildExceptionStackTrace(e)).trim());
+        } finally {
+            clearHookCallbackContext();
+            clearHookPreparedAccessContext();
+            clearHookThreadCacheContext();
+        }
+    }
+
+    protected void showHistoryDelivering(List<LaJobHistory> historyList) {
+        if (!historyHook.suppressesNoticeLog()) {
+            JobNoticeLog.log(JobNoticeLogLevel.DEBUG, () -> {
+                return "#flow #job ...hookRecording job histories in batch: count=" + historyList.size();
+            });
+        }
+    }
+
+    protected Method findHookMethod() { // called by constructor
+        return Stream.of(historyHook.getClass().getMethods()) // always public method
+                .filter(method -> method.getName().equals("hookRecordBatch"))
+                .findFirst()
+                .orElseThrow(() -> { // no way
+                    return new IllegalStateException("Not found the batch method in hook: " + historyHook);
+                });
+    }
+
+    // -----------------------------------------------------
+    //                                          Hook Context
+    //                                          ------------
+    protected void arrangeHookThreadCacheContext() {
+        ThreadCacheContext.initialize();
+    }
+
+    protected void clearHookThreadCacheContext() {
+        ThreadCacheContext.clear();
+    }
+
+    protected void arrangeHookPreparedAccessContext(AccessContextArranger arranger, Method hookMethod) {
+        final String moduleName = DfTypeUtil.toClassTitle(historyHook.getClass());
+        final AccessContextResource resource = new AccessContextResource(moduleName, hookMethod, Collections.emptyMap());
+        final AccessContext context = arranger.arrangePreparedAccessContext(resource);
+        if (context == null) {
+            throw new IllegalStateException("Cannot return null from access context arranger: " + arranger + " hook=" + historyHook);
+        }
+        PreparedAccessContext.setAccessContextOnThread(context);
+    }
+
+    protected void clearHookPreparedAccessContext() {
+        PreparedAccessContext.clearAccessContextOnThread();
+    }
+
+    protected void arrangeHookCallbackContext(Method hookMethod, List<LaJobHistory> historyList) {
+        CallbackContext.setSqlFireHookOnThread(new RomanticTraceableSqlFireHook());
+        CallbackContext.setSqlStringFilterOnThread(new RomanticTraceableSqlStringFilter(hookMethod, () -> {
+            return "(" + historyHook.getClass().getSimpleName() + ", batch of " + historyList.size() + ")";
+        }));
+        CallbackContext.setSqlResultHandlerOnThread(new RomanticTraceableSqlResultHandler());
+    }
+
+    protected void clearHookCallbackContext() {
+        CallbackContext.clearSqlResultHandlerOnThread();
+        CallbackContext.clearSqlStringFilterOnThread();
+        CallbackContext.clearSqlFireHookOnThread();
+    }
+
+    // ===================================================================================
+    //                                                                               Close
+    //                                                                               =====
+    /**
+     * Deliver remaining histories and stop the writer thread, waiting until the drain time. <br>
+     * Histories offered after closing are delivered on the caller thread.
+     */
+    public void close() {
+        final Thread thread;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            thread = writerThread;
+        }
+        if (thread == null) { // not started
+            return;
+        }
+        try {
+            thread.join(option.getShutdownDrainMillis()); // the writer drains without waiting after closed
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warn("*Cannot deliver all job histories in the drain time: remaining={}, {}", historyQueue.size(), option);
+            return;
+        }
+        final List<LaJobHistory> restList = new ArrayList<LaJobHistory>();
+        historyQueue.drainTo(restList); // offered just before closed
+        if (!restList.isEmpty()) {
+            deliver(restList);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "historyDeliverer:{" + option + ", queued=" + historyQueue.size() + (closed ? ", closed" : "") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getQueuedCount() {
+        return historyQueue.size();
+    }
+
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+}
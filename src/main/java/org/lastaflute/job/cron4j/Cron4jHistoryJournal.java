@@ -0,0 +1,559 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobNote;
+import org.lastaflute.job.key.LaJobUnique;
+import org.lastaflute.job.subsidiary.ExecResultType;
+import org.lastaflute.job.subsidiary.HistoryJournalOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import it.sauronsoftware.cron4j.RomanticCron4jFireAttr;
+
+/**
+ * The append-only journal of job histories on local files. <br>
+ * Histories are appended as compact binary records to memory-mapped segment files,
+ * so the job thread does not wait for disk I/O (written back by OS).
+ * <pre>
+ * record: [int payloadLength][int crc32][byte[] payload]
+ * zero length means end of records in the segment
+ * </pre>
+ * The length is written after the payload, so a record broken by process crash is not read.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jHistoryJournal {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(Cron4jHistoryJournal.class);
+    protected static final String SEGMENT_PREFIX = "history-";
+    protected static final String SEGMENT_SUFFIX = ".journal";
+    protected static final byte RECORD_VERSION = 1;
+    protected static final int RECORD_HEADER_BYTES = 8; // length and checksum
+    protected static final int END_MARK_BYTES = 4; // zero length
+    protected static final int CAUSE_MESSAGE_MAX_LENGTH = 2000; // to keep record compact
+    protected static final Consumer<ByteBuffer> segmentUnmapper = prepareSegmentUnmapper(); // not null, no-op if unsupported
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final HistoryJournalOption option; // not null
+    protected final Path directory; // not null
+    protected final List<Long> segmentNoList = new ArrayList<Long>(); // ordered, guarded by this
+    protected final JournalEncodingStream encodingStream = new JournalEncodingStream(); // reused, guarded by this
+    protected final CRC32 crc = new CRC32(); // reused, guarded by this
+    protected FileChannel currentChannel; // null allowed before open
+    protected MappedByteBuffer currentBuffer; // null allowed before open, position is next record
+    protected ExecutorService segmentCleaner; // null allowed until first deletion, guarded by this
+    protected boolean closed;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public Cron4jHistoryJournal(HistoryJournalOption option) {
+        this.option = option;
+        this.directory = Paths.get(option.getDirectory());
+    }
+
+    // ===================================================================================
+    //                                                                                Open
+    //                                                                                ====
+    public synchronized void open() {
+        if (currentBuffer != null) {
+            throw new IllegalStateException("Already opened the journal: " + this);
+        }
+        try {
+            Files.createDirectories(directory);
+            final List<Long> foundNoList = findSegmentNoList();
+            final int staleCount = Math.max(foundNoList.size() - option.getMaxSegmentCount(), 0);
+            for (Long staleNo : foundNoList.subList(0, staleCount)) { // left by failed deletion, e.g. locked on Windows
+                deleteSegmentLater(toSegmentPath(staleNo)); // not replayed, retried here
+            }
+            segmentNoList.addAll(foundNoList.subList(staleCount, foundNoList.size()));
+            if (segmentNoList.isEmpty()) {
+                segmentNoList.add(1L);
+            }
+            mapSegment(segmentNoList.get(segmentNoList.size() - 1));
+            currentBuffer.position(seekRecordEnd(currentBuffer));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open the history journal: " + option, e);
+        }
+    }
+
+    protected List<Long> findSegmentNoList() throws IOException {
+        final List<Long> noList = new ArrayList<Long>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                final String fileName = path.getFileName().toString();
+                final String noExp = fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length());
+                try {
+                    noList.add(Long.parseLong(noExp));
+                } catch (NumberFormatException ignored) { // not journal file
+                }
+            }
+        }
+        Collections.sort(noList);
+        return noList;
+    }
+
+    protected void mapSegment(long segmentNo) throws IOException {
+        final FileChannel channel = FileChannel.open(toSegmentPath(segmentNo) // segment
+                , StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final long mappedSize = Math.max(channel.size(), option.getSegmentBytes());
+        currentBuffer = channel.map(MapMode.READ_WRITE, 0, mappedSize); // extends the file with zero
+        currentChannel = channel;
+    }
+
+    protected Path toSegmentPath(long segmentNo) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%06d", segmentNo) + SEGMENT_SUFFIX);
+    }
+
+    // ===================================================================================
+    //                                                                              Replay
+    //                                                                              ======
+    /**
+     * Replay all histories in the journal from oldest.
+     * @param historyLambda The callback of replayed history with its generated history key. (NotNull)
+     * @return The count of replayed histories. (NotMinus)
+     */
+    public synchronized int replay(BiConsumer<String, Cron4jJobHistory> historyLambda) {
+        int replayedCount = 0;
+        for (Long segmentNo : segmentNoList) {
+            final ByteBuffer segment;
+            try {
+                segment = ByteBuffer.wrap(Files.readAllBytes(toSegmentPath(segmentNo)));
+            } catch (IOException e) {
+                logger.warn("*Failed to read the journal segment so skip it: " + toSegmentPath(segmentNo), e);
+                continue;
+            }
+            int offset = 0;
+            while (true) {
+                final int payloadLength = readValidPayloadLength(segment, offset);
+                if (payloadLength <= 0) {
+                    break;
+                }
+                final int payloadOffset = offset + RECORD_HEADER_BYTES;
+                final Cron4jJobHistory history = decodeHistory(segment, payloadOffset, payloadLength);
+                if (history != null) { // null if e.g. unknown version
+                    historyLambda.accept(buildHistoryKey(segmentNo, offset), history);
+                    ++replayedCount;
+                }
+                offset = payloadOffset + payloadLength;
+            }
+        }
+        return replayedCount;
+    }
+
+    protected int seekRecordEnd(ByteBuffer segment) {
+        int offset = 0;
+        while (true) {
+            final int payloadLength = readValidPayloadLength(segment, offset);
+            if (payloadLength <= 0) {
+                return offset;
+            }
+            offset = offset + RECORD_HEADER_BYTES + payloadLength;
+        }
+    }
+
+    protected int readValidPayloadLength(ByteBuffer segment, int offset) { // zero if end or broken
+        if (offset + RECORD_HEADER_BYTES > segment.limit()) {
+            return 0;
+        }
+        final int payloadLength = segment.getInt(offset);
+        if (payloadLength <= 0 || offset + RECORD_HEADER_BYTES + payloadLength > segment.limit()) {
+            return 0;
+        }
+        final byte[] payload = new byte[payloadLength];
+        final ByteBuffer duplicate = segment.duplicate();
+        duplicate.position(offset + RECORD_HEADER_BYTES);
+        duplicate.get(payload);
+        crc.reset();
+        crc.update(payload, 0, payloadLength);
+        if ((int) crc.getValue() != segment.getInt(offset + 4)) { // broken by crash while writing
+            return 0;
+        }
+        return payloadLength;
+    }
+
+    protected String buildHistoryKey(long segmentNo, int offset) {
+        return "journal:" + segmentNo + ":" + offset; // unique in the journal
+    }
+
+    // ===================================================================================
+    //                                                                              Append
+    //                                                                              ======
+    /**
+     * Append the history to the journal, do nothing if already closed.
+     * @param history The job history to be saved. (NotNull)
+     */
+    public synchronized void append(Cron4jJobHistory history) {
+        if (closed || currentBuffer == null) { // e.g. job finished while destroying scheduler
+            return;
+        }
+        try {
+            encodingStream.reset();
+            encodeHistory(new DataOutputStream(encodingStream), history);
+            final int payloadLength = encodingStream.size();
+            final int recordLength = RECORD_HEADER_BYTES + payloadLength;
+            if (recordLength + END_MARK_BYTES > option.getSegmentBytes()) {
+                logger.warn("*Too large history record for the journal segment so skip it: bytes={}, {}", recordLength, history);
+                return;
+            }
+            if (currentBuffer.position() + recordLength + END_MARK_BYTES > currentBuffer.capacity()) {
+                rotateSegment();
+            }
+            writeRecord(encodingStream.getBytes(), payloadLength);
+        } catch (IOException | RuntimeException e) { // not to break job execution
+            logger.warn("*Failed to append the history to the journal: " + history, e);
+        }
+    }
+
+    protected void writeRecord(byte[] payload, int payloadLength) {
+        final int recordOffset = currentBuffer.position();
+        crc.reset();
+        crc.update(payload, 0, payloadLength);
+        currentBuffer.position(recordOffset + RECORD_HEADER_BYTES);
+        currentBuffer.put(payload, 0, payloadLength);
+        currentBuffer.putInt(currentBuffer.position(), 0); // end mark, overrides broken remainder
+        currentBuffer.putInt(recordOffset + 4, (int) crc.getValue());
+        currentBuffer.putInt(recordOffset, payloadLength); // last, as commit of the record
+    }
+
+    protected void rotateSegment() throws IOException { // in job thread so no waiting for disk here
+        releaseCurrentSegment(); // without force, written back by OS like records in the segment
+        final long nextNo = segmentNoList.get(segmentNoList.size() - 1) + 1L;
+        segmentNoList.add(nextNo);
+        mapSegment(nextNo);
+        while (segmentNoList.size() > option.getMaxSegmentCount()) {
+            deleteSegmentLater(toSegmentPath(segmentNoList.remove(0)));
+        }
+    }
+
+    protected void releaseCurrentSegment() throws IOException {
+        final MappedByteBuffer buffer = currentBuffer;
+        currentBuffer = null; // before unmapping, not to be accessed after that
+        currentChannel.close(); // mapping is still valid after close
+        currentChannel = null;
+        segmentUnmapper.accept(buffer); // immediately, to delete the file later (cannot delete mapped file on Windows)
+    }
+
+    protected void deleteSegmentLater(Path segmentPath) { // already removed from the list so not read any more
+        prepareSegmentCleaner().execute(() -> {
+            try {
+                Files.deleteIfExists(segmentPath); // already unmapped if supported by JDK
+            } catch (IOException | RuntimeException e) { // skipped and retried by next open
+                logger.warn("*Failed to delete the old segment of the journal: " + segmentPath, e);
+            }
+        });
+    }
+
+    protected ExecutorService prepareSegmentCleaner() {
+        if (segmentCleaner == null) {
+            segmentCleaner = createSegmentCleaner();
+        }
+        return segmentCleaner;
+    }
+
+    protected ExecutorService createSegmentCleaner() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "lasta-job::journal-cleaner");
+            thread.setDaemon(true); // only deletes files, waited by close()
+            return thread;
+        });
+    }
+
+    // ===================================================================================
+    //                                                                               Unmap
+    //                                                                               =====
+    protected static Consumer<ByteBuffer> prepareSegmentUnmapper() { // resolved once, JDK internal so by reflection
+        try { // Java9 or later
+            final Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeType.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeType.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            return buffer -> invokeUnmapper(buffer, () -> invokeCleaner.invoke(unsafe, buffer));
+        } catch (ReflectiveOperationException | RuntimeException ignored) { // e.g. Java8
+        }
+        try { // Java8
+            final Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> invokeUnmapper(buffer, () -> {
+                final Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleanMethod.invoke(cleaner);
+                }
+            });
+        } catch (ReflectiveOperationException | RuntimeException e) { // released by GC
+            logger.debug("Cannot unmap the journal segment explicitly on the JDK: " + e.getMessage());
+            return buffer -> {};
+        }
+    }
+
+    protected static void invokeUnmapper(ByteBuffer buffer, UnmapperCall call) {
+        try {
+            call.invoke();
+        } catch (ReflectiveOperationException | RuntimeException e) { // released by GC
+            logger.debug("Failed to unmap the journal segment: " + buffer, e);
+        }
+    }
+
+    @FunctionalInterface
+    protected static interface UnmapperCall {
+
+        void invoke() throws ReflectiveOperationException;
+    }
+
+    // ===================================================================================
+    //                                                                              Encode
+    //                                                                              ======
+    protected void encodeHistory(DataOutputStream out, Cron4jJobHistory history) throws IOException {
+        out.writeByte(RECORD_VERSION);
+        writeString(out, history.getJobKey().value());
+        final OptionalThing<LaJobNote> jobNote = history.getJobNote();
+        writeString(out, jobNote.flatMap(note -> note.getTitle()).orElse(null));
+        writeString(out, jobNote.flatMap(note -> note.getDesc()).orElse(null));
+        writeString(out, history.getJobUnique().map(uq -> uq.value()).orElse(null));
+        writeString(out, history.getCronExp().orElse(null));
+        writeString(out, history.getJobTypeFqcn());
+        writeDateTime(out, history.getActivationTime());
+        writeDateTime(out, history.getBeginTime().orElse(null));
+        writeDateTime(out, history.getEndTime().orElse(null));
+        writeString(out, history.getExecResultType().name());
+        final Map<String, String> rollMap = history.getEndTitleRollSnapshotMap();
+        out.writeInt(rollMap.size());
+        for (Map.Entry<String, String> entry : rollMap.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+        final Throwable cause = history.getCause().orElse(null);
+        writeString(out, cause != null ? Cron4jSummarizedCause.extractCauseClassName(cause) : null);
+        writeString(out, cause != null ? truncateMessage(cause.getMessage()) : null);
+        final RomanticCron4jFireAttr fireAttr = history.getFireAttr().orElse(null);
+        out.writeBoolean(fireAttr != null);
+        if (fireAttr != null) {
+            out.writeLong(fireAttr.getPlannedFireMillis());
+            out.writeLong(fireAttr.getSpreadMillis());
+            out.writeBoolean(fireAttr.isCatchUp());
+        }
+        writeDateTime(out, history.getPlannedTime().orElse(null)); // appended at tail, optional when reading
+        out.flush();
+    }
+
+    protected String truncateMessage(String message) {
+        if (message == null || message.length() <= CAUSE_MESSAGE_MAX_LENGTH) {
+            return message;
+        }
+        return message.substring(0, CAUSE_MESSAGE_MAX_LENGTH) + "...";
+    }
+
+    protected void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    protected void writeDateTime(DataOutputStream out, LocalDateTime dateTime) throws IOException {
+        out.writeBoolean(dateTime != null);
+        if (dateTime != null) { // local fields as they are
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Decode
+    //                                                                              ======
+    protected Cron4jJobHistory decodeHistory(ByteBuffer segment, int payloadOffset, int payloadLength) {
+        final ByteBuffer in = segment.duplicate();
+        in.position(payloadOffset);
+        in.limit(payloadOffset + payloadLength);
+        try {
+            final byte version = in.get();
+            if (version != RECORD_VERSION) {
+                logger.info("*Unknown version of journal record so skip it: version={}", version);
+                return null;
+            }
+            final LaJobKey jobKey = LaJobKey.of(readString(in));
+            final String title = readString(in);
+            final String desc = readString(in);
+            final OptionalThing<LaJobNote> jobNote = OptionalThing.ofNullable(
+                    title != null || desc != null ? LaJobNote.of(title, desc) : null, () -> {
+                        throw new IllegalStateException("Not found the job note in the journal: " + jobKey);
+                    });
+            final String uniqueCode = readString(in);
+            final OptionalThing<LaJobUnique> jobUnique = OptionalThing.ofNullable(uniqueCode != null ? LaJobUnique.of(uniqueCode) : null,
+                    () -> {
+                        throw new IllegalStateException("Not found the job unique in the journal: " + jobKey);
+                    });
+            final OptionalThing<String> cronExp = OptionalThing.ofNullable(readString(in), () -> {
+                throw new IllegalStateException("Not found the cron expression in the journal: " + jobKey);
+            });
+            final String jobTypeFqcn = readString(in);
+            final LocalDateTime activationTime = readDateTime(in);
+            final OptionalThing<LocalDateTime> beginTime = OptionalThing.ofNullable(readDateTime(in), () -> {
+                throw new IllegalStateException("Not found the begin time in the journal: " + jobKey);
+            });
+            final OptionalThing<LocalDateTime> endTime = OptionalThing.ofNullable(readDateTime(in), () -> {
+                throw new IllegalStateException("Not found the end time in the journal: " + jobKey);
+            });
+            final ExecResultType execResultType = ExecResultType.valueOf(readString(in));
+            final int rollSize = in.getInt();
+            final Map<String, String> rollMap = new LinkedHashMap<String, String>(rollSize);
+            for (int i = 0; i < rollSize; i++) {
+                rollMap.put(readString(in), readString(in));
+            }
+            final String causeClassName = readString(in);
+            final String causeMessage = readString(in);
+            final OptionalThing<Throwable> cause = OptionalThing.ofNullable(
+                    causeClassName != null ? new Cron4jSummarizedCause(causeClassName, causeMessage) : null, () -> {
+                        throw new IllegalStateException("Not found the cause in the journal: " + jobKey);
+                    });
+            final RomanticCron4jFireAttr fireAttr;
+            if (in.get() != 0) {
+                fireAttr = new RomanticCron4jFireAttr(in.getLong(), in.getLong(), in.get() != 0);
+            } else {
+                fireAttr = null;
+            }
+            final LocalDateTime plannedTime = in.hasRemaining() ? readDateTime(in) : null; // may be written by older version
+            return new Cron4jJobHistory(jobKey, jobNote, jobUnique // identity
+                    , cronExp, jobTypeFqcn // cron
+                    , activationTime, beginTime, endTime // execution time
+                    , execResultType, rollMap, cause // execution result
+                    , OptionalThing.ofNullable(fireAttr, () -> {
+                        throw new IllegalStateException("Not found the fire attribute in the journal: " + jobKey);
+                    }), OptionalThing.ofNullable(plannedTime, () -> {
+                        throw new IllegalStateException("Not found the planned time in the journal: " + jobKey);
+                    })); // fire attribute
+        } catch (BufferUnderflowException | IllegalArgumentException e) { // e.g. unknown result type
+            logger.info("*Cannot decode the journal record so skip it: offset={}, {}", payloadOffset, e.getMessage());
+            return null;
+        }
+    }
+
+    protected String readString(ByteBuffer in) {
+        final int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    protected LocalDateTime readDateTime(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        final long epochSecond = in.getLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, in.getInt(), ZoneOffset.UTC);
+    }
+
+    // ===================================================================================
+    //                                                                               Close
+    //                                                                               =====
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (currentBuffer != null) {
+            try {
+                currentBuffer.force(); // only when closing, e.g. before restarting
+                releaseCurrentSegment();
+            } catch (IOException e) {
+                logger.warn("*Failed to close the history journal: " + option, e);
+            }
+        }
+        awaitSegmentCleaner();
+    }
+
+    protected void awaitSegmentCleaner() {
+        if (segmentCleaner == null) {
+            return;
+        }
+        segmentCleaner.shutdown(); // pending deletions are executed
+        try {
+            if (!segmentCleaner.awaitTermination(10L, TimeUnit.SECONDS)) {
+                logger.warn("*Timeout to wait for deleting old segments of the journal: " + option);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segmentCleaner = null;
+    }
+
+    // ===================================================================================
+    //                                                                       Journal Parts
+    //                                                                       =============
+    protected static class JournalEncodingStream extends ByteArrayOutputStream {
+
+        public JournalEncodingStream() {
+            super(1024);
+        }
+
+        public byte[] getBytes() { // internal buffer without copy
+            return buf;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "historyJournal:{" + option + ", segments=" + segmentNoList.size() + (closed ? ", closed" : "") + "}";
+    }
+}
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -34,6 +35,7 @@ import org.dbflute.optional.OptionalThingIfPresentAfter;
 import org.dbflute.util.DfTypeUtil;
 import org.lastaflute.job.LaJob;
 import org.lastaflute.job.LaJobHistory;
+import org.lastaflute.job.LaJobRunner;
 import org.lastaflute.job.LaScheduledJob;
 import org.lastaflute.job.exception.JobAlreadyDisappearedException;
 import org.lastaflute.job.exception.JobAlreadyUnscheduleException;
@@ -43,10 +45,14 @@ import org.lastaflute.job.key.LaJobNote;
 import org.lastaflute.job.key.LaJobUnique;
 import org.lastaflute.job.log.JobChangeLog;
 import org.lastaflute.job.log.JobNoticeLogLevel;
+import org.lastaflute.job.subsidiary.CompiledCronExp;
 import org.lastaflute.job.subsidiary.CronOption;
 import org.lastaflute.job.subsidiary.CronParamsSupplier;
 import org.lastaflute.job.subsidiary.JobConcurrentExec;
+import org.lastaflute.job.subsidiary.JobExecStatistics;
 import org.lastaflute.job.subsidiary.JobExecutingSnapshot;
+import org.lastaflute.job.subsidiary.JobLockContention;
+import org.lastaflute.job.subsidiary.JobStatisticsSnapshot;
 import org.lastaflute.job.subsidiary.LaunchNowOpCall;
 import org.lastaflute.job.subsidiary.LaunchNowOption;
 import org.lastaflute.job.subsidiary.LaunchedProcess;
@@ -79,6 +85,7 @@ public class Cron4jJob implements LaScheduledJob {
     protected volatile OptionalThing<Cron4jId> cron4jId; // mutable for non-cron
     protected final Cron4jTask cron4jTask; // 1:1
     protected final Cron4jNow cron4jNow; // n:1
+    protected final JobExecStatistics execStatistics; // not null, recorded by task
 
     protected volatile boolean unscheduled;
     protected volatile boolean disappeared;
@@ -106,6 +113,7 @@ public class Cron4jJob implements LaScheduledJob {
         this.cron4jId = cron4jId;
         this.cron4jTask = cron4jTask;
         this.cron4jNow = cron4jNow;
+        this.execStatistics = cron4jNow.getMetricsRegistry().register(jobKey); // shared with metrics
     }
 
     // ===================================================================================
@@ -184,7 +192,16 @@ public class Cron4jJob implements LaScheduledJob {
                     .collect(Collectors.toList());
         }
         final int executingCount = (mainExecState.isPresent() ? 1 : 0) + outlawParallelExecStateList.size();
-        return new JobExecutingSnapshot(executingCount, mainExecState, outlawParallelExecStateList);
+        final List<JobLockContention> lockContentionList = cron4jTask.takeLockContentionList(getNeighborConcurrentGroupList());
+        return new JobExecutingSnapshot(executingCount, mainExecState, outlawParallelExecStateList, lockContentionList);
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    @Override
+    public JobStatisticsSnapshot takeStatisticsSnapshot() {
+        return execStatistics.snapshot();
     }
 
     // ===================================================================================
@@ -203,6 +220,7 @@ public class Cron4jJob implements LaScheduledJob {
     protected LaunchedProcess doLaunchNow(LaunchNowOpCall opLambda) {
         verifyCanScheduleState();
         final LaunchNowOption option = createLaunchNowOption(opLambda);
+        option.acceptLaunchRequestedMillis(System.currentTimeMillis()); // to measure how long it waits for thread
         if (JobChangeLog.isEnabled()) {
             JobChangeLog.log("#job ...Launching now: {}, {}", option, this);
         }
@@ -309,6 +327,9 @@ public class Cron4jJob implements LaScheduledJob {
         if (isNonCromExp(cronExp)) {
             throw new IllegalArgumentException("The cronExp for reschedule() should not be non-cron: " + toString());
         }
+        cron4jNow.getCron4jScheduler().verifyCronExp(cronExp); // before switching
+        final CompiledCronExp compiledCron = cron4jNow.getCron4jScheduler().compileCronExp(cronExp); // also before switching
+        final VaryingCronOption cronOption = createCronOption(opLambda); // with verification so before switching
         if (unscheduled) {
             unscheduled = false; // can revive from unscheduled
         }
@@ -316,7 +337,7 @@ public class Cron4jJob implements LaScheduledJob {
         // cronExp in task is switched here, and synchronized in task
         // while, outlaw parallel tasks are not target here because they are for only non-cron
         final String existingCronExp = cron4jTask.getVaryingCron().getCronExp();
-        cron4jTask.switchCron(cronExp, createCronOption(opLambda));
+        cron4jTask.switchCron(compiledCron, cronOption);
 
         final Cron4jScheduler cron4jScheduler = cron4jNow.getCron4jScheduler();
         cron4jId.ifPresent(id -> {
@@ -343,9 +364,15 @@ public class Cron4jJob implements LaScheduledJob {
     protected VaryingCronOption createCronOption(VaryingCronOpCall opLambda) {
         final VaryingCronOption option = new CronOption();
         opLambda.callback(option);
+        verifyExecutionGroup(option);
         return option;
     }
 
+    protected void verifyExecutionGroup(VaryingCronOption option) { // e.g. not defined group
+        final LaJobRunner jobRunner = cron4jNow.getJobRunner();
+        option.getExecutionGroupNameList().forEach(groupName -> jobRunner.findExecutionGroup(groupName).get());
+    }
+
     protected boolean isNativeScheduledId(Cron4jScheduler cron4jScheduler, Cron4jId id) {
         return cron4jScheduler.getNativeScheduler().getTask(id.value()) != null;
     }
@@ -605,6 +632,26 @@ public class Cron4jJob implements LaScheduledJob {
         return cron4jTask.getJobType();
     }
 
+    @Override
+    public synchronized OptionalThing<CompiledCronExp> getCompiledCron() { // synchronized for varying
+        final CompiledCronExp compiledCron = !isNonCron() ? cron4jTask.getVaryingCron().getCompiledCron().orElse(null) : null;
+        return OptionalThing.ofNullable(compiledCron, () -> {
+            throw new IllegalStateException("Not found compiled cron because of non-cron job: " + toString());
+        });
+    }
+
+    @Override
+    public List<LocalDateTime> getNextFireTimeList(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The argument 'count' should not be minus: " + count);
+        }
+        final long currentMillis = System.currentTimeMillis(); // same clock as the engine
+        final TimeZone timeZone = cron4jNow.getCron4jScheduler().getFireTimeZone(); // e.g. for summer time
+        return getCompiledCron().map(compiledCron -> {
+            return compiledCron.forecastFireTimeList(currentMillis, timeZone, count);
+        }).orElseGet(() -> Collections.emptyList());
+    }
+
     // -----------------------------------------------------
     //                                          Control Info
     //                                          ------------
@@ -635,6 +682,10 @@ public class Cron4jJob implements LaScheduledJob {
         return cron4jId;
     }
 
+    public JobExecStatistics getExecStatistics() { // for framework
+        return execStatistics;
+    }
+
     public Cron4jTask getCron4jTask() { // for framework
         return cron4jTask;
     }
@@ -30,7 +30,12 @@ import org.lastaflute.job.key.LaJobUnique;
 import org.lastaflute.job.log.SavedHistoryCache;
 import org.lastaflute.job.subsidiary.EndTitleRoll;
 import org.lastaflute.job.subsidiary.ExecResultType;
+import org.lastaflute.job.subsidiary.HistoryRetentionOption;
+import org.lastaflute.job.subsidiary.JobHistoryOrder;
+import org.lastaflute.job.subsidiary.JobHistorySearchOption;
+import org.lastaflute.job.subsidiary.JobHistoryVisitor;
 
+import it.sauronsoftware.cron4j.RomanticCron4jFireAttr;
 import it.sauronsoftware.cron4j.TaskExecutor;
 
 /**
@@ -42,21 +47,52 @@ public class Cron4jJobHistory implements LaJobHistory {
     // ===================================================================================
     //                                                                       History Cache
     //                                                                       =============
-    protected static final SavedHistoryCache historyCache = new SavedHistoryCache();
+    protected static final SavedHistoryCache historyCache = new SavedHistoryCache(); // thread-safe without synchronization
 
-    public synchronized static OptionalThing<LaJobHistory> find(TaskExecutor taskExecutor) {
+    public static OptionalThing<LaJobHistory> find(TaskExecutor taskExecutor) {
         return historyCache.find(generateHistoryKey(taskExecutor));
     }
 
-    public synchronized static void record(TaskExecutor taskExecutor, LaJobHistory jobHistory, int limit) {
+    public static void record(TaskExecutor taskExecutor, LaJobHistory jobHistory, int limit) {
         historyCache.record(generateHistoryKey(taskExecutor), jobHistory, limit);
     }
 
-    public synchronized static List<LaJobHistory> list() {
+    public static void record(TaskExecutor taskExecutor, LaJobHistory jobHistory, int limit,
+            OptionalThing<HistoryRetentionOption> retentionOption) {
+        final String historyKey = generateHistoryKey(taskExecutor);
+        if (retentionOption.isPresent()) {
+            historyCache.record(historyKey, jobHistory, limit, retentionOption.get());
+        } else {
+            historyCache.record(historyKey, jobHistory, limit);
+        }
+    }
+
+    public static void restore(String historyKey, LaJobHistory jobHistory, int limit) { // e.g. replayed from journal
+        historyCache.record(historyKey, jobHistory, limit);
+    }
+
+    public static void restore(String historyKey, LaJobHistory jobHistory, int limit,
+            OptionalThing<HistoryRetentionOption> retentionOption) {
+        if (retentionOption.isPresent()) {
+            historyCache.record(historyKey, jobHistory, limit, retentionOption.get());
+        } else {
+            historyCache.record(historyKey, jobHistory, limit);
+        }
+    }
+
+    public static List<LaJobHistory> list() {
         return historyCache.list();
     }
 
-    public synchronized static void clear() {
+    public static int forEach(JobHistoryOrder order, JobHistoryVisitor visitor) {
+        return historyCache.forEach(order, visitor);
+    }
+
+    public static List<LaJobHistory> search(JobHistorySearchOption option) {
+        return historyCache.search(option);
+    }
+
+    public static void clear() {
         historyCache.clear();
     }
 
@@ -78,6 +114,8 @@ public class Cron4jJobHistory implements LaJobHistory {
     protected final ExecResultType execResultType; // not null
     protected final Map<String, String> endTitleRollSnapshotMap; // not null, empty allowed, read-only
     protected final OptionalThing<Throwable> cause; // not null, empty allowed
+    protected final OptionalThing<RomanticCron4jFireAttr> fireAttr; // not null, empty if launch-now
+    protected final OptionalThing<LocalDateTime> plannedTime; // not null, empty if unknown
 
     // ===================================================================================
     //                                                                         Constructor
@@ -86,6 +124,26 @@ public class Cron4jJobHistory implements LaJobHistory {
             , OptionalThing<String> cronExp, String jobTypeFqcn // cron
             , LocalDateTime activationTime, OptionalThing<LocalDateTime> beginTime, OptionalThing<LocalDateTime> endTime // execution time
             , ExecResultType execResultType, OptionalThing<EndTitleRoll> endTitleRoll, OptionalThing<Throwable> cause // execution result
+    ) {
+        this(jobKey, jobNote, jobUnique, cronExp, jobTypeFqcn, activationTime, beginTime, endTime, execResultType, endTitleRoll, cause,
+                OptionalThing.empty());
+    }
+
+    public Cron4jJobHistory(LaJobKey jobKey, OptionalThing<LaJobNote> jobNote, OptionalThing<LaJobUnique> jobUnique // identity
+            , OptionalThing<String> cronExp, String jobTypeFqcn // cron
+            , LocalDateTime activationTime, OptionalThing<LocalDateTime> beginTime, OptionalThing<LocalDateTime> endTime // execution time
+            , ExecResultType execResultType, OptionalThing<EndTitleRoll> endTitleRoll, OptionalThing<Throwable> cause // execution result
+            , OptionalThing<RomanticCron4jFireAttr> fireAttr // fire attribute
+    ) {
+        this(jobKey, jobNote, jobUnique, cronExp, jobTypeFqcn, activationTime, beginTime, endTime, execResultType, endTitleRoll, cause,
+                fireAttr, OptionalThing.empty());
+    }
+
+    public Cron4jJobHistory(LaJobKey jobKey, OptionalThing<LaJobNote> jobNote, OptionalThing<LaJobUnique> jobUnique // identity
+            , OptionalThing<String> cronExp, String jobTypeFqcn // cron
+            , LocalDateTime activationTime, OptionalThing<LocalDateTime> beginTime, OptionalThing<LocalDateTime> endTime // execution time
+            , ExecResultType execResultType, OptionalThing<EndTitleRoll> endTitleRoll, OptionalThing<Throwable> cause // execution result
+            , OptionalThing<RomanticCron4jFireAttr> fireAttr, OptionalThing<LocalDateTime> plannedTime // fire attribute
     ) {
         this.jobKey = jobKey;
         this.jobNote = jobNote;
@@ -98,6 +156,39 @@ public class Cron4jJobHistory implements LaJobHistory {
         this.execResultType = execResultType;
         this.endTitleRollSnapshotMap = prepareEndTitleRollSnapshotMap(endTitleRoll);
         this.cause = cause;
+        this.fireAttr = fireAttr;
+        this.plannedTime = plannedTime;
+    }
+
+    public Cron4jJobHistory(LaJobKey jobKey, OptionalThing<LaJobNote> jobNote, OptionalThing<LaJobUnique> jobUnique // identity
+            , OptionalThing<String> cronExp, String jobTypeFqcn // cron
+            , LocalDateTime activationTime, OptionalThing<LocalDateTime> beginTime, OptionalThing<LocalDateTime> endTime // execution time
+            , ExecResultType execResultType, Map<String, String> endTitleRollSnapshotMap, OptionalThing<Throwable> cause // execution result
+            , OptionalThing<RomanticCron4jFireAttr> fireAttr // fire attribute
+    ) { // for e.g. replay from journal, the snapshot map is already made
+        this(jobKey, jobNote, jobUnique, cronExp, jobTypeFqcn, activationTime, beginTime, endTime, execResultType, endTitleRollSnapshotMap,
+                cause, fireAttr, OptionalThing.empty());
+    }
+
+    public Cron4jJobHistory(LaJobKey jobKey, OptionalThing<LaJobNote> jobNote, OptionalThing<LaJobUnique> jobUnique // identity
+            , OptionalThing<String> cronExp, String jobTypeFqcn // cron
+            , LocalDateTime activationTime, OptionalThing<LocalDateTime> beginTime, OptionalThing<LocalDateTime> endTime // execution time
+            , ExecResultType execResultType, Map<String, String> endTitleRollSnapshotMap, OptionalThing<Throwable> cause // execution result
+            , OptionalThing<RomanticCron4jFireAttr> fireAttr, OptionalThing<LocalDateTime> plannedTime // fire attribute
+    ) {
+        this.jobKey = jobKey;
+        this.jobNote = jobNote;
+        this.jobUnique = jobUnique;
+        this.cronExp = cronExp;
+        this.jobTypeFqcn = jobTypeFqcn;
+        this.activationTime = activationTime;
+        this.beginTime = beginTime;
+        this.endTime = endTime;
+        this.execResultType = execResultType;
+        this.endTitleRollSnapshotMap = Collections.unmodifiableMap(new LinkedHashMap<String, String>(endTitleRollSnapshotMap));
+        this.cause = cause;
+        this.fireAttr = fireAttr;
+        this.plannedTime = plannedTime;
     }
 
     protected Map<String, String> prepareEndTitleRollSnapshotMap(OptionalThing<EndTitleRoll> endTitleRoll) {
@@ -125,6 +216,19 @@ public class Cron4jJobHistory implements LaJobHistory {
         sb.append(cronExp.map(cron -> ", " + cron).orElse(""));
         sb.append(", ").append(Srl.substringLastRear(jobTypeFqcn, "."));
         sb.append(", activation=").append(activationTime);
+        getFireLagMillis().ifPresent(lagMillis -> {
+            if (lagMillis > 0L) {
+                sb.append(", lag=").append(lagMillis).append("ms");
+            }
+        });
+        fireAttr.ifPresent(attr -> {
+            if (attr.getSpreadMillis() > 0L) {
+                sb.append(", spread=").append(attr.getSpreadMillis()).append("ms");
+            }
+            if (attr.isCatchUp()) {
+                sb.append(", catchUp");
+            }
+        });
         sb.append(", begin=").append(beginTime.map(time -> time.toString()).orElse("*no begin"));
         sb.append(", end=").append(endTime.map(time -> time.toString()).orElse("*no end"));
         sb.append(", ").append(execResultType);
@@ -198,4 +302,26 @@ public class Cron4jJobHistory implements LaJobHistory {
     public OptionalThing<Throwable> getCause() {
         return cause;
     }
+
+    // -----------------------------------------------------
+    //                                        Fire Attribute
+    //                                        --------------
+    public OptionalThing<RomanticCron4jFireAttr> getFireAttr() {
+        return fireAttr;
+    }
+
+    @Override
+    public OptionalThing<LocalDateTime> getPlannedTime() {
+        return plannedTime;
+    }
+
+    @Override
+    public long getFireSpreadMillis() {
+        return fireAttr.map(attr -> attr.getSpreadMillis()).orElse(0L);
+    }
+
+    @Override
+    public boolean isMisfireCatchUp() {
+        return fireAttr.map(attr -> attr.isCatchUp()).orElse(false);
+    }
 }
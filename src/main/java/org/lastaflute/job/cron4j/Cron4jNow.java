@@ -23,6 +23,10 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.dbflute.optional.OptionalThing;
@@ -38,8 +42,17 @@ import org.lastaflute.job.key.LaJobKey;
 import org.lastaflute.job.key.LaJobNote;
 import org.lastaflute.job.key.LaJobUnique;
 import org.lastaflute.job.log.JobChangeLog;
+import org.lastaflute.job.log.JobHistoryHook;
+import org.lastaflute.job.subsidiary.ContentionRecordingLock;
 import org.lastaflute.job.subsidiary.CronConsumer;
+import org.lastaflute.job.subsidiary.HistoryRetentionOption;
 import org.lastaflute.job.subsidiary.JobConcurrentExec;
+import org.lastaflute.job.subsidiary.JobHistoryOrder;
+import org.lastaflute.job.subsidiary.JobHistorySearchOpCall;
+import org.lastaflute.job.subsidiary.JobHistorySearchOption;
+import org.lastaflute.job.subsidiary.JobHistoryVisitor;
+import org.lastaflute.job.subsidiary.JobMetricsRegistry;
+import org.lastaflute.job.subsidiary.JobMetricsSnapshot;
 import org.lastaflute.job.subsidiary.JobSubIdentityAttr;
 import org.lastaflute.job.subsidiary.NeighborConcurrentGroup;
 import org.slf4j.Logger;
@@ -56,6 +69,9 @@ public class Cron4jNow implements LaSchedulingNow {
     //                                                                          ==========
     private static final Logger logger = LoggerFactory.getLogger(Cron4jNow.class);
 
+    // static same as history cache, counted down after previous destroying closes journal and clears histories
+    protected static volatile CountDownLatch destroyingLatch; // null allowed (no destroying yet)
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -69,6 +85,9 @@ public class Cron4jNow implements LaSchedulingNow {
     protected final Map<TaskJobIdentity, Cron4jJob> cron4jTaskJobMap = new ConcurrentHashMap<TaskJobIdentity, Cron4jJob>();
     protected final Map<String, NeighborConcurrentGroup> neighborConcurrentMap = new ConcurrentHashMap<String, NeighborConcurrentGroup>();
     protected int incrementedJobNumber;
+    protected volatile Cron4jHistoryJournal historyJournal; // null allowed, option (memory only if null)
+    protected volatile Cron4jHistoryDeliverer historyDeliverer; // null allowed, option (on job thread if null)
+    protected final JobMetricsRegistry metricsRegistry; // not null, updated by tasks
 
     // ===================================================================================
     //                                                                         Constructor
@@ -78,6 +97,11 @@ public class Cron4jNow implements LaSchedulingNow {
         this.jobRunner = jobRunner;
         this.currentTime = currentTime;
         this.frameworkDebug = frameworkDebug;
+        this.metricsRegistry = createMetricsRegistry();
+    }
+
+    protected JobMetricsRegistry createMetricsRegistry() {
+        return new JobMetricsRegistry();
     }
 
     // ===================================================================================
@@ -236,6 +260,7 @@ public class Cron4jNow implements LaSchedulingNow {
             jobOrderedList.remove(job);
             job.getJobUnique().ifPresent(jobUnique -> jobUniqueJobMap.remove(jobUnique));
             cron4jTaskJobMap.remove(job.getCron4jTask().getTaskJobIdentity());
+            metricsRegistry.remove(jobKey);
         });
     }
 
@@ -252,6 +277,43 @@ public class Cron4jNow implements LaSchedulingNow {
         });
     }
 
+    @Override
+    public List<LaJobHistory> searchJobHistoryList(JobHistorySearchOpCall opLambda) {
+        assertArgumentNotNull("opLambda", opLambda);
+        final JobHistorySearchOption option = new JobHistorySearchOption();
+        opLambda.callback(option);
+        final Supplier<List<LaJobHistory>> nativeSearcher = () -> Cron4jJobHistory.search(option);
+        return jobRunner.getHistoryHook().map(hook -> {
+            return hook.hookSearch(option, nativeSearcher);
+        }).orElseGet(() -> {
+            return nativeSearcher.get();
+        });
+    }
+
+    // ===================================================================================
+    //                                                                             Metrics
+    //                                                                             =======
+    @Override
+    public JobMetricsSnapshot takeMetricsSnapshot() {
+        return metricsRegistry.snapshot();
+    }
+
+    // ===================================================================================
+    //                                                                    History For Each
+    //                                                                    ================
+    @Override
+    public void forEachJobHistory(JobHistoryOrder order, JobHistoryVisitor visitor) {
+        assertArgumentNotNull("order", order);
+        assertArgumentNotNull("visitor", visitor);
+        final Consumer<JobHistoryVisitor> nativeIterator = nativeVisitor -> Cron4jJobHistory.forEach(order, nativeVisitor);
+        final OptionalThing<JobHistoryHook> historyHook = jobRunner.getHistoryHook();
+        if (historyHook.isPresent()) {
+            historyHook.get().hookForEach(order, visitor, nativeIterator);
+        } else {
+            nativeIterator.accept(visitor);
+        }
+    }
+
     // ===================================================================================
     //                                                                 Neighbor Concurrent
     //                                                                 ===================
@@ -268,8 +330,8 @@ public class Cron4jNow implements LaSchedulingNow {
         }
         synchronized (neighborConcurrentMap) {
             checkDuplicateNeighborConcurrentGroup(groupName);
-            final Object groupPreparingLock = new Object();
-            final Object groupRunningLock = new Object();
+            final ReentrantLock groupPreparingLock = new ContentionRecordingLock("neighbor preparing (" + groupName + ")", true); // fair
+            final ReentrantLock groupRunningLock = new ContentionRecordingLock("neighbor running (" + groupName + ")", false);
             final CopyOnWriteArraySet<LaJobKey> safeSet = new CopyOnWriteArraySet<LaJobKey>(jobKeySet);
             final NeighborConcurrentGroup group =
                     new NeighborConcurrentGroup(groupName, concurrentExec, safeSet, groupPreparingLock, groupRunningLock);
@@ -288,6 +350,76 @@ public class Cron4jNow implements LaSchedulingNow {
         }
     }
 
+    // ===================================================================================
+    //                                                                     History Journal
+    //                                                                     ===============
+    /**
+     * Open the journal and replay its histories into the history cache, and save histories to it after that.
+     * @param journal The history journal not opened yet. (NotNull)
+     * @return The count of replayed histories. (NotMinus)
+     */
+    public synchronized int startHistoryJournal(Cron4jHistoryJournal journal) {
+        assertArgumentNotNull("journal", journal);
+        if (historyJournal != null) {
+            throw new IllegalStateException("Already started the history journal: " + historyJournal);
+        }
+        awaitPreviousDestroying(); // not to read segments still written and replayed histories cleared by it
+        journal.open();
+        final int replayLimit = getHistoryReplayLimit();
+        final OptionalThing<HistoryRetentionOption> retentionOption = jobRunner.getHistoryRetentionOption();
+        final int replayedCount = journal.replay((historyKey, jobHistory) -> { // retained as recorded now
+            Cron4jJobHistory.restore(historyKey, jobHistory, replayLimit, retentionOption);
+        });
+        historyJournal = journal;
+        return replayedCount;
+    }
+
+    protected void awaitPreviousDestroying() {
+        final CountDownLatch latch = destroyingLatch;
+        if (latch == null) {
+            return;
+        }
+        final long waitMillis = getPreviousDestroyingWaitMillis();
+        try {
+            if (!latch.await(waitMillis, TimeUnit.MILLISECONDS)) {
+                String msg = "Timeout to wait for previous scheduler destroying before opening journal: waitMillis=" + waitMillis;
+                throw new IllegalStateException(msg);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted to wait for previous scheduler destroying before opening journal.", e);
+        }
+    }
+
+    protected long getPreviousDestroyingWaitMillis() {
+        return 60000L; // stopping waits for running jobs
+    }
+
+    protected int getHistoryReplayLimit() {
+        return jobRunner.getJobHistoryLimit(); // same as task's history limit
+    }
+
+    /**
+     * Start the deliverer and deliver histories to the history hook by it after that.
+     * @param deliverer The history deliverer not started yet. (NotNull)
+     */
+    public synchronized void startHistoryDeliverer(Cron4jHistoryDeliverer deliverer) {
+        assertArgumentNotNull("deliverer", deliverer);
+        if (historyDeliverer != null) {
+            throw new IllegalStateException("Already started the history deliverer: " + historyDeliverer);
+        }
+        deliverer.start();
+        historyDeliverer = deliverer;
+    }
+
+    protected void closeHistoryJournal() {
+        final Cron4jHistoryJournal journal = historyJournal;
+        if (journal != null) {
+            historyJournal = null;
+            journal.close(); // after stopped jobs so that their histories are saved
+        }
+    }
+
     // ===================================================================================
     //                                                                    Destroy Schedule
     //                                                                    ================
@@ -296,19 +428,30 @@ public class Cron4jNow implements LaSchedulingNow {
         if (JobChangeLog.isEnabled()) {
             JobChangeLog.log("#job ...Destroying scheduler completely: jobs={} scheduler={}", jobKeyJobMap.size(), cron4jScheduler);
         }
+        final CountDownLatch latch = new CountDownLatch(1); // next journal waits for it
+        destroyingLatch = latch;
         // not use AsyncManager here, because not frequent call, keep no dependency to core
         new Thread(() -> { // to release synchronized lock to avoid deadlock
             try {
-                cron4jScheduler.stop();
-            } catch (RuntimeException e) {
-                final String msg = "#job Failed to stop jobs: jobs={} scheduler={}";
-                if (JobChangeLog.isEnabled()) {
-                    JobChangeLog.log(msg, jobKeyJobMap.size(), cron4jScheduler, e);
-                } else { // just in case
-                    logger.info(msg, jobKeyJobMap.size(), cron4jScheduler, e);
+                try {
+                    cron4jScheduler.stop();
+                } catch (RuntimeException e) {
+                    final String msg = "#job Failed to stop jobs: jobs={} scheduler={}";
+                    if (JobChangeLog.isEnabled()) {
+                        JobChangeLog.log(msg, jobKeyJobMap.size(), cron4jScheduler, e);
+                    } else { // just in case
+                        logger.info(msg, jobKeyJobMap.size(), cron4jScheduler, e);
+                    }
                 }
+                final Cron4jHistoryDeliverer deliverer = historyDeliverer;
+                if (deliverer != null) { // after stop to deliver histories of stopped jobs
+                    deliverer.close(); // drains remaining histories
+                }
+                closeHistoryJournal(); // after stop and drain to save histories of stopped jobs
+                Cron4jJobHistory.clear();
+            } finally {
+                latch.countDown(); // next scheduling replays histories after clear
             }
-            Cron4jJobHistory.clear();
         }).start();
     }
 
@@ -343,6 +486,22 @@ public class Cron4jNow implements LaSchedulingNow {
     //                                                                            Accessor
     //                                                                            ========
     // basically for framework
+    public OptionalThing<Cron4jHistoryJournal> getHistoryJournal() {
+        return OptionalThing.ofNullable(historyJournal, () -> {
+            throw new IllegalStateException("Not found the history journal.");
+        });
+    }
+
+    public JobMetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    public OptionalThing<Cron4jHistoryDeliverer> getHistoryDeliverer() {
+        return OptionalThing.ofNullable(historyDeliverer, () -> {
+            throw new IllegalStateException("Not found the history deliverer.");
+        });
+    }
+
     public Cron4jScheduler getCron4jScheduler() {
         return cron4jScheduler;
     }
@@ -16,12 +16,19 @@
 package org.lastaflute.job.cron4j;
 
 import java.util.List;
+import java.util.TimeZone;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.lastaflute.job.exception.JobCronExpInvalidException;
+import org.lastaflute.job.subsidiary.CompiledCronExp;
 import org.lastaflute.job.subsidiary.LaunchNowOption;
 
+import it.sauronsoftware.cron4j.InvalidPatternException;
 import it.sauronsoftware.cron4j.RomanticCron4jNativeScheduler;
+import it.sauronsoftware.cron4j.RomanticCron4jPatternCompiler;
+import it.sauronsoftware.cron4j.RomanticCron4jSecondsPattern;
 import it.sauronsoftware.cron4j.Scheduler;
 import it.sauronsoftware.cron4j.TaskExecutor;
 
@@ -50,6 +57,54 @@ public class Cron4jScheduler {
         nativeScheduler.start();
     }
 
+    /**
+     * Verify the cron expression, especially seconds field, which depends on the scheduler engine.
+     * @param cronExp The cron expression to be verified. (NotNull)
+     * @throws JobCronExpInvalidException When the expression cannot be scheduled by the engine.
+     */
+    public void verifyCronExp(String cronExp) {
+        if (!RomanticCron4jSecondsPattern.hasSecondsField(cronExp)) { // native pattern is checked by native
+            return;
+        }
+        if (!nativeScheduler.isSecondsSupported()) {
+            throwJobCronExpInvalidException(cronExp, "The seconds field is not supported by the scheduler engine.",
+                    "Use fire-queue engine to fire at sub-minute intervals: runner.useFireQueueEngine()");
+        }
+        try {
+            new RomanticCron4jSecondsPattern(cronExp);
+        } catch (InvalidPatternException e) {
+            throwJobCronExpInvalidException(cronExp, "Invalid cron expression with seconds field.", e.getMessage());
+        }
+    }
+
+    /**
+     * Compile the cron expression to bit-set per field, which is used for e.g. next fire time.
+     * @param cronExp The cron expression to be compiled, should be verified. (NotNull)
+     * @return The compiled cron expression. (NotNull)
+     * @throws InvalidPatternException When the expression is invalid.
+     */
+    public CompiledCronExp compileCronExp(String cronExp) {
+        return RomanticCron4jPatternCompiler.compile(cronExp);
+    }
+
+    protected void throwJobCronExpInvalidException(String cronExp, String notice, String advice) {
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice(notice);
+        br.addItem("Advice");
+        br.addElement(advice);
+        br.addElement("For example:");
+        br.addElement("  (o): \"*/10 * * * * *\" // every ten seconds");
+        br.addElement("  (o): \"0,30 5 * * * *\" // at 05:00 and 05:30 every hour");
+        br.addElement("  (x): \"60 * * * * *\" // seconds should be 0-59");
+        br.addElement("  (x): \"0 * * * * *|0 5 * * * *\" // cannot use multiple patterns");
+        br.addItem("Cron Expression");
+        br.addElement(cronExp);
+        br.addItem("Scheduler Engine");
+        br.addElement(nativeScheduler.getClass().getName());
+        final String msg = br.buildExceptionMessage();
+        throw new JobCronExpInvalidException(msg);
+    }
+
     public String schedule(String cronExp, Cron4jTask cron4jTask) {
         return nativeScheduler.schedule(cronExp, cron4jTask);
     }
@@ -85,6 +140,11 @@ public class Cron4jScheduler {
         nativeScheduler.stop();
     }
 
+    public TimeZone getFireTimeZone() { // same as the engine matches cron fields
+        final TimeZone timeZone = nativeScheduler.getTimeZone();
+        return timeZone != null ? timeZone : TimeZone.getDefault();
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
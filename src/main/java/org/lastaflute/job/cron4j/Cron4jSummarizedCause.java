@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+/**
+ * The summary of history cause, only class name and message of the original exception. <br>
+ * It is materialized from e.g. journal or compact history, so it has no stack trace.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jSummarizedCause extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final String causeClassName; // not null, FQCN of original exception
+
+    public Cron4jSummarizedCause(String causeClassName, String message) {
+        super(message, null, false, false); // no stack trace
+        this.causeClassName = causeClassName;
+    }
+
+    public static String extractCauseClassName(Throwable cause) {
+        if (cause instanceof Cron4jSummarizedCause) { // e.g. summarized again
+            return ((Cron4jSummarizedCause) cause).getCauseClassName();
+        }
+        return cause.getClass().getName();
+    }
+
+    @Override
+    public String toString() {
+        final String message = getMessage();
+        return causeClassName + (message != null ? ": " + message : "");
+    }
+
+    public String getCauseClassName() {
+        return causeClassName;
+    }
+}
@@ -16,12 +16,19 @@
 package org.lastaflute.job.cron4j;
 
 import java.lang.reflect.Method;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -43,6 +50,7 @@ import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableS
 import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableSqlResultHandler;
 import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableSqlStringFilter;
 import org.lastaflute.job.LaJob;
+import org.lastaflute.job.LaJobHistory;
 import org.lastaflute.job.LaJobRunner;
 import org.lastaflute.job.exception.JobConcurrentlyExecutingException;
 import org.lastaflute.job.exception.JobLaunchParameterConflictException;
@@ -52,17 +60,27 @@ import org.lastaflute.job.key.LaJobUnique;
 import org.lastaflute.job.log.JobErrorLog;
 import org.lastaflute.job.log.JobErrorResource;
 import org.lastaflute.job.log.JobErrorStackTracer;
+import org.lastaflute.job.log.JobFlightEventType;
+import org.lastaflute.job.log.JobFlightRecorder;
+import org.lastaflute.job.log.JobFlightSpan;
 import org.lastaflute.job.log.JobHistoryHook;
 import org.lastaflute.job.log.JobHistoryResource;
 import org.lastaflute.job.log.JobNoticeLog;
 import org.lastaflute.job.log.JobNoticeLogLevel;
+import org.lastaflute.job.subsidiary.CompiledCronExp;
 import org.lastaflute.job.subsidiary.ConcurrentJobStopper;
+import org.lastaflute.job.subsidiary.ContentionRecordingLock;
 import org.lastaflute.job.subsidiary.CrossVMHook;
 import org.lastaflute.job.subsidiary.CrossVMState;
 import org.lastaflute.job.subsidiary.EndTitleRoll;
 import org.lastaflute.job.subsidiary.ExecResultType;
+import org.lastaflute.job.subsidiary.ExecutionPermitGroup;
+import org.lastaflute.job.subsidiary.FireSpreading;
 import org.lastaflute.job.subsidiary.JobConcurrentExec;
+import org.lastaflute.job.subsidiary.JobExecStatistics;
 import org.lastaflute.job.subsidiary.JobIdentityAttr;
+import org.lastaflute.job.subsidiary.JobLockContention;
+import org.lastaflute.job.subsidiary.JobMetricsRegistry;
 import org.lastaflute.job.subsidiary.LaunchNowOption;
 import org.lastaflute.job.subsidiary.NeighborConcurrentGroup;
 import org.lastaflute.job.subsidiary.NeighborConcurrentJobStopper;
@@ -74,6 +92,7 @@ import org.lastaflute.job.subsidiary.VaryingCronOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import it.sauronsoftware.cron4j.RomanticCron4jFireAttr;
 import it.sauronsoftware.cron4j.RomanticCron4jTaskExecutionContext;
 import it.sauronsoftware.cron4j.Task;
 import it.sauronsoftware.cron4j.TaskExecutionContext;
@@ -104,8 +123,8 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
     protected final boolean frameworkDebug;
 
     protected final TaskRunningState runningState; // not null
-    protected final Object preparingLock = new Object(); // not null
-    protected final Object runningLock = new Object(); // not null
+    protected final ReentrantLock preparingLock = new ContentionRecordingLock("job preparing", true); // not null, fair for waiting order
+    protected final ReentrantLock runningLock = new ContentionRecordingLock("job running", false); // not null, handed over from preparing
     protected final Object varyingLock = new Object(); // not null
 
     protected final TaskJobIdentity taskJobIdentity; // for outlaw parallel tasks, not null
@@ -180,17 +199,23 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
         debugFw("...Beginning the cron4j task (before run): {}", jobType);
         final TaskExecutionContext nativeContext;
         final OptionalThing<LaunchNowOption> nowOption;
+        final OptionalThing<RomanticCron4jFireAttr> fireAttr;
         if (context instanceof RomanticCron4jTaskExecutionContext) {
             final RomanticCron4jTaskExecutionContext romantic = (RomanticCron4jTaskExecutionContext) context;
             nativeContext = romantic.getNativeContext();
             nowOption = romantic.getLaunchNowOption();
+            fireAttr = romantic.getFireAttr();
         } else {
             nativeContext = context;
             nowOption = OptionalThing.empty();
+            fireAttr = OptionalThing.empty();
         }
         try {
             final LocalDateTime activationTime = currentTime.get();
+            final OptionalThing<LocalDateTime> plannedTime = derivePlannedTime(activationTime, fireAttr, nowOption);
             final Cron4jJob job = findJob();
+            JobFlightRecorder.emit(JobFlightEventType.ACTIVATION, job.getJobKey(), job.getJobUnique(), null);
+            fireAttr.ifPresent(attr -> showLateFireIfNeeds(job, attr));
             final Thread jobThread = Thread.currentThread();
             RunnerResult runnerResult = null;
             Throwable controllerCause = null;
@@ -199,7 +224,9 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
                 runnerResult = doExecute(job, nativeContext, nowOption); // not null
                 if (canTriggerNext(job, runnerResult)) {
                     debugFw("...Calling triggerNext() of job in task (after run)");
+                    final JobFlightSpan triggerSpan = JobFlightRecorder.begin(JobFlightEventType.TRIGGER_NEXT);
                     job.triggerNext(); // should be after current job ending
+                    triggerSpan.end(job.getJobKey(), job.getJobUnique(), null);
                 }
             } catch (JobConcurrentlyExecutingException e) { // these catch statements are related to deriveRunnerExecResultType()
                 debugFw("...Calling catch clause of job concurrently executing exception: {}", e.getClass().getSimpleName());
@@ -216,7 +243,7 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
             final OptionalThing<LocalDateTime> endTime = deriveEndTime(optRunnerResult);
             debugFw("...Calling recordJobHistory() of task (after run): {}, {}", optRunnerResult, endTime);
             recordJobHistory(nativeContext, job, jobThread, activationTime, optRunnerResult, endTime, optControllerCause(controllerCause),
-                    nowOption);
+                    nowOption, fireAttr, plannedTime);
             debugFw("...Ending the cron4j task (after run): {}, {}", optRunnerResult, endTime);
         } catch (Throwable coreCause) { // controller dead
             final String msg = "Failed to control the job task: " + varyingCron + ", " + jobType.getSimpleName();
@@ -246,11 +273,32 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
         });
     }
 
+    protected OptionalThing<LocalDateTime> derivePlannedTime(LocalDateTime activationTime, OptionalThing<RomanticCron4jFireAttr> fireAttr,
+            OptionalThing<LaunchNowOption> nowOption) { // planned time by current time's clock (may be not system clock)
+        final Long plannedMillis; // system epoch millis
+        if (fireAttr.isPresent()) { // cron fire
+            plannedMillis = fireAttr.get().getPlannedFireMillis() + fireAttr.get().getSpreadMillis();
+        } else { // launch-now
+            plannedMillis = nowOption.flatMap(op -> op.getLaunchRequestedMillis()).orElse(null);
+        }
+        final LocalDateTime plannedTime;
+        if (plannedMillis != null) {
+            final long lagMillis = Math.max(0L, System.currentTimeMillis() - plannedMillis);
+            plannedTime = activationTime.minus(lagMillis, ChronoUnit.MILLIS);
+        } else { // e.g. native context
+            plannedTime = null;
+        }
+        return OptionalThing.ofNullable(plannedTime, () -> {
+            throw new IllegalStateException("Not found the planned time: " + jobType);
+        });
+    }
+
     // ===================================================================================
     //                                                        Execute - Concurrent Control
     //                                                        ============================
     protected RunnerResult doExecute(Cron4jJob job, TaskExecutionContext context, OptionalThing<LaunchNowOption> nowOption) { // e.g. concurrent control, cross vm
-        // ...may be hard to read, synchronized hell
+        // running locks are acquired while holding preparing locks (hand-over-hand),
+        // so next thread cannot get running lock before me without any crevasse
         final String cronExp;
         final VaryingCronOption cronOption;
         debugFw("...Locking varying lock (before run): {}", varyingLock);
@@ -259,77 +307,108 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
             cronOption = varyingCron.getCronOption();
         }
         final List<NeighborConcurrentGroup> neighborConcurrentGroupList = job.getNeighborConcurrentGroupList();
+        final List<ReentrantLock> runningLockList = new ArrayList<ReentrantLock>(neighborConcurrentGroupList.size() + 1);
+        final long lockBeginNanos = System.nanoTime();
+        final JobFlightSpan lockSpan = JobFlightRecorder.begin(JobFlightEventType.LOCK_WAIT);
+        final OptionalThing<RunnerResult> preparingResult = prepareRunning(job, neighborConcurrentGroupList, runningLockList);
+        lockSpan.end(job.getJobKey(), job.getJobUnique(), null);
+        final JobMetricsRegistry metricsRegistry = cron4jNow.getMetricsRegistry();
+        metricsRegistry.recordLockWait(job.getExecStatistics(), toElapsedMillis(lockBeginNanos));
+        if (preparingResult.isPresent()) { // e.g. quit, error (running locks are not held here)
+            return preparingResult.get();
+        }
+        try { // in my running lock and neighbor's running locks
+            final OptionalThing<CrossVMState> crossVMState = crossVMBeginning(job, nowOption);
+            if (crossVMState.isPresent() && crossVMState.get().isQuit()) {
+                return RunnerResult.asQuitByConcurrent(); // quit by cross VM handling
+            }
+            final RunnerResult runnerResult;
+            final LocalDateTime endTime;
+            metricsRegistry.beginExecuting(outlawParallelTask);
+            try {
+                runnerResult = executeInPermit(job, cronExp, cronOption, context, nowOption);
+            } finally {
+                debugFw("...Calling finally clause of job execution (after run)");
+                metricsRegistry.endExecuting(outlawParallelTask);
+                endTime = currentTime.get();
+                crossVMEnding(job, crossVMState, endTime, nowOption);
+            }
+            runnerResult.acceptEndTime(endTime); // lazy load now
+            return runnerResult;
+        } finally {
+            debugFw("...Locking running state in running lock (after run): {}", runningState);
+            synchronized (runningState) { // running state is only my job so outside neighbor synchronization
+                if (runningState.getBeginTime().isPresent()) {
+                    runningState.end(); // for controller dead
+                }
+            }
+            unlockReversely(runningLockList); // neighbor's running locks and then my running lock
+        }
+    }
+
+    protected OptionalThing<RunnerResult> prepareRunning(Cron4jJob job, List<NeighborConcurrentGroup> neighborConcurrentGroupList,
+            List<ReentrantLock> runningLockList) { // running locks are held when empty result
         debugFw("...Locking preparing lock (before run): {}", preparingLock);
-        synchronized (preparingLock) { // waiting for previous preparing end
+        acquireLock(preparingLock); // waiting for previous preparing end
+        final List<ReentrantLock> neighborPreparingLockList = new ArrayList<ReentrantLock>(neighborConcurrentGroupList.size());
+        try {
             final OptionalThing<RunnerResult> concurrentResult = stopConcurrentJobIfNeeds(job);
             if (concurrentResult.isPresent()) { // e.g. quit, error
-                return concurrentResult.get();
+                return concurrentResult;
             }
             // no duplicate or duplicate as waiting, here
-            final OptionalThing<RunnerResult> neighborConcurrentResult =
-                    synchronizedNeighborPreparing(neighborConcurrentGroupList.iterator(), () -> {
-                        final OptionalThing<RunnerResult> result = stopNeighborConcurrentJobIfNeeds(job, neighborConcurrentGroupList);
-                        if (!result.isPresent()) { // no duplicate neighbor or duplicate as waiting
-                            sleepForLockableLife(); // not to get running lock before previous thread in crevasse point
-                            debugFw("...Locking running lock (before run): {}", runningLock);
-                            synchronized (runningLock) { // waiting for previous running end
-                                debugFw("...Locking running state in preparing and running lock (before run): {}", runningState);
-                                synchronizedNeighborRunning(neighborConcurrentGroupList.iterator(), () -> { // also neighbor's running
-                                    synchronized (runningState) { // to protect running state, begin() and end()
-                                        // may be override by crevasse headache, but recover it later
-                                        runningState.begin(); // needs to get in preparing lock, to suppress duplicate begin()
-                                    }
-                                    return null; // unused
-                                });
-                            }
-                        }
-                        return result;
-                    });
+            for (NeighborConcurrentGroup group : neighborConcurrentGroupList) {
+                lockAndKeep(group.getGroupPreparingReentrantLock(), neighborPreparingLockList);
+            }
+            final OptionalThing<RunnerResult> neighborConcurrentResult = stopNeighborConcurrentJobIfNeeds(job, neighborConcurrentGroupList);
             if (neighborConcurrentResult.isPresent()) { // e.g. quit, error
-                return neighborConcurrentResult.get();
+                return neighborConcurrentResult;
+            }
+            // no duplicate neighbor or duplicate as waiting, so waiting for previous running end
+            // (next thread is waiting for preparing lock until I get running locks)
+            debugFw("...Locking running lock in preparing lock (before run): {}", runningLock);
+            lockAndKeep(runningLock, runningLockList);
+            for (NeighborConcurrentGroup group : neighborConcurrentGroupList) { // also neighbor's running
+                lockAndKeep(group.getGroupRunningReentrantLock(), runningLockList);
+            }
+            synchronized (runningState) { // to protect running state, begin() and end()
+                runningState.begin(); // needs to get in preparing lock, to suppress duplicate begin()
             }
+            return OptionalThing.empty();
+        } catch (RuntimeException | Error e) { // e.g. begin() failure, no running here
+            unlockReversely(runningLockList);
+            throw e;
+        } finally {
+            unlockReversely(neighborPreparingLockList); // running locks are handed over to execution
+            preparingLock.unlock();
         }
-        // *here is first crevasse point
-        // (really want to get running lock before returning preparing lock)
-        debugFw("...Locking running lock (before run): {}", runningLock);
-        synchronized (runningLock) { // to make next thread wait for me (or waiting by crevasse headache)
-            try { // *here is second crevasse point
-                return synchronizedNeighborRunning(neighborConcurrentGroupList.iterator(), () -> {
-                    if (!runningState.getBeginTime().isPresent()) { // almost no way, but may be crevasse headache
-                        runningState.begin(); // just in case
-                    }
-                    final OptionalThing<CrossVMState> crossVMState = crossVMBeginning(job, nowOption);
-                    if (crossVMState.isPresent() && crossVMState.get().isQuit()) {
-                        return RunnerResult.asQuitByConcurrent(); // quit by cross VM handling
-                    }
-                    final RunnerResult runnerResult;
-                    final LocalDateTime endTime;
-                    try {
-                        debugFw("...Calling actuallyExecute() of task (before run): {}", job);
-                        runnerResult = actuallyExecute(job, cronExp, cronOption, context, nowOption);
-                    } finally {
-                        debugFw("...Calling finally clause of job execution (after run)");
-                        endTime = currentTime.get();
-                        crossVMEnding(job, crossVMState, endTime, nowOption);
-                    }
-                    runnerResult.acceptEndTime(endTime); // lazy load now
-                    return runnerResult;
-                });
-            } finally {
-                debugFw("...Locking running state in running lock (after run): {}", runningState);
-                synchronized (runningState) { // running state is only my job so outside neighbor synchronization
-                    if (runningState.getBeginTime().isPresent()) {
-                        runningState.end(); // for controller dead
-                    }
-                }
+    }
+
+    protected long toElapsedMillis(long beginNanos) {
+        return (System.nanoTime() - beginNanos) / 1000000L;
+    }
+
+    protected void lockAndKeep(ReentrantLock lock, List<ReentrantLock> lockedList) {
+        acquireLock(lock);
+        lockedList.add(lock); // after locking for unlocking only locked
+    }
+
+    protected void acquireLock(ReentrantLock lock) {
+        if (jobRunner.isLockContentionRecorded() && lock instanceof ContentionRecordingLock) {
+            final long waitNanos = ((ContentionRecordingLock) lock).lockRecording();
+            if (waitNanos > 0L && isFrameworkDebug()) {
+                debugFw("...Waited {}ms for the lock: {}", waitNanos / 1000000L, lock);
             }
+        } else { // no cost if disabled
+            lock.lock();
         }
     }
 
-    protected void sleepForLockableLife() {
-        try {
-            Thread.sleep(200);
-        } catch (InterruptedException ignored) {}
+    protected void unlockReversely(List<ReentrantLock> lockedList) {
+        for (int i = lockedList.size() - 1; i >= 0; i--) {
+            lockedList.get(i).unlock();
+        }
+        lockedList.clear();
     }
 
     // -----------------------------------------------------
@@ -357,29 +436,6 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
     // -----------------------------------------------------
     //                                   Neighbor Concurrent
     //                                   -------------------
-    protected OptionalThing<RunnerResult> synchronizedNeighborPreparing(Iterator<NeighborConcurrentGroup> groupIte,
-            Supplier<OptionalThing<RunnerResult>> runner) { // in preparing lock
-        if (groupIte.hasNext()) {
-            final NeighborConcurrentGroup group = groupIte.next();
-            synchronized (group.getGroupPreparingLock()) {
-                return synchronizedNeighborPreparing(groupIte, runner);
-            }
-        } else {
-            return runner.get();
-        }
-    }
-
-    protected RunnerResult synchronizedNeighborRunning(Iterator<NeighborConcurrentGroup> groupIte, Supplier<RunnerResult> runner) { // in running lock
-        if (groupIte.hasNext()) {
-            final NeighborConcurrentGroup group = groupIte.next();
-            synchronized (group.getGroupRunningLock()) {
-                return synchronizedNeighborRunning(groupIte, runner);
-            }
-        } else {
-            return runner.get();
-        }
-    }
-
     protected OptionalThing<RunnerResult> stopNeighborConcurrentJobIfNeeds(Cron4jJob job,
             List<NeighborConcurrentGroup> neighborConcurrentGroupList) { // in neighbor preparing lock
         return createNeighborConcurrentJobStopper(neighborConcurrentGroupList).stopIfNeeds(job, jobState -> {
@@ -434,6 +490,74 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
         }).acceptEndTime(currentTime.get());
     }
 
+    // -----------------------------------------------------
+    //                                     Execution Permit
+    //                                     ----------------
+    protected RunnerResult executeInPermit(Cron4jJob job, String cronExp, VaryingCronOption cronOption, TaskExecutionContext context,
+            OptionalThing<LaunchNowOption> nowOption) { // in running locks
+        final List<ExecutionPermitGroup> permitGroupList = preparePermitGroupList(cronOption);
+        final List<ExecutionPermitGroup> acquiredList = new ArrayList<ExecutionPermitGroup>(permitGroupList.size());
+        try {
+            if (!permitGroupList.isEmpty()) { // execution group or global permit
+                final long permitBeginNanos = System.nanoTime();
+                final boolean acquired = acquireExecutionPermit(job, cronOption, permitGroupList, acquiredList);
+                recordPermitWait(job, toElapsedMillis(permitBeginNanos));
+                if (!acquired) {
+                    return RunnerResult.asQuitByConcurrent(); // stopped while waiting for permit
+                }
+            }
+            debugFw("...Calling actuallyExecute() of task (before run): {}", job);
+            return actuallyExecute(job, cronExp, cronOption, context, nowOption);
+        } finally {
+            for (int i = acquiredList.size() - 1; i >= 0; i--) {
+                acquiredList.get(i).release();
+            }
+        }
+    }
+
+    protected List<ExecutionPermitGroup> preparePermitGroupList(VaryingCronOption cronOption) {
+        final List<String> groupNameList = cronOption.getExecutionGroupNameList();
+        final OptionalThing<ExecutionPermitGroup> globalPermit = jobRunner.getGlobalExecutionPermit();
+        if (groupNameList.isEmpty() && !globalPermit.isPresent()) {
+            return Collections.emptyList(); // mostly here
+        }
+        final List<ExecutionPermitGroup> permitGroupList = new ArrayList<ExecutionPermitGroup>(groupNameList.size() + 1);
+        groupNameList.stream().sorted().forEach(groupName -> { // sorted to avoid deadlock between groups
+            permitGroupList.add(jobRunner.findExecutionGroup(groupName).get()); // already verified when registration
+        });
+        globalPermit.ifPresent(permit -> permitGroupList.add(permit)); // last not to keep global permit while group waiting
+        return permitGroupList;
+    }
+
+    protected boolean acquireExecutionPermit(JobIdentityAttr identityProvider, VaryingCronOption cronOption,
+            List<ExecutionPermitGroup> permitGroupList, List<ExecutionPermitGroup> acquiredList) { // false if stopped
+        for (ExecutionPermitGroup permitGroup : permitGroupList) {
+            debugFw("...Acquiring execution permit (before run): {}", permitGroup);
+            final long waitMillis;
+            try {
+                waitMillis = permitGroup.acquire();
+            } catch (InterruptedException e) { // e.g. stopNow()
+                JobNoticeLog.log(cronOption.getNoticeLogLevel(), () -> {
+                    return "#job ...Quitting the job stopped while waiting for execution permit: " + identityProvider.getJobKey()
+                            + " in " + permitGroup.getGroupName();
+                });
+                return false;
+            }
+            acquiredList.add(permitGroup);
+            if (waitMillis > 0L) {
+                JobNoticeLog.log(cronOption.getNoticeLogLevel(), () -> {
+                    return "#job ...Waited for execution permit: " + identityProvider.getJobKey() + " in " + permitGroup.getGroupName()
+                            + " (" + waitMillis + "ms)";
+                });
+            }
+        }
+        return true;
+    }
+
+    protected void recordPermitWait(Cron4jJob job, long waitMillis) { // separated from lock wait sampled before
+        cron4jNow.getMetricsRegistry().recordPermitWait(job.getExecStatistics(), waitMillis);
+    }
+
     // -----------------------------------------------------
     //                                         Cron4jRuntime
     //                                         -------------
@@ -509,10 +633,12 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
                 arrangeHookPreparedAccessContext(arranger, hook, hookMethod, job, nowOption);
             });
             arrangeHookCallbackContext(hook, hookMethod, job);
+            final JobFlightSpan hookSpan = JobFlightRecorder.begin(JobFlightEventType.CROSS_VM_HOOK);
             try {
                 showCrossVMBeginning(job, hook);
                 return hook.hookBeginning(job, runningState.getBeginTime().get()); // already begun here
             } finally {
+                hookSpan.end(job.getJobKey(), job.getJobUnique(), null);
                 clearHookCallbackContext();
                 clearHookPreparedAccessContext();
                 clearHookThreadCacheContext();
@@ -540,10 +666,12 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
                 arrangeHookPreparedAccessContext(arranger, hook, hookMethod, job, nowOption);
             });
             arrangeHookCallbackContext(hook, hookMethod, job);
+            final JobFlightSpan hookSpan = JobFlightRecorder.begin(JobFlightEventType.CROSS_VM_HOOK);
             try {
                 showCrossVMEnding(job, hook);
                 hook.hookEnding(job, crossVMState.get(), endTime);
             } finally {
+                hookSpan.end(job.getJobKey(), job.getJobUnique(), null);
                 clearHookCallbackContext();
                 clearHookPreparedAccessContext();
                 clearHookThreadCacheContext();
@@ -568,10 +696,49 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
     //                                           -----------
     protected void recordJobHistory(TaskExecutionContext context, Cron4jJob job, Thread jobThread, LocalDateTime activationTime,
             OptionalThing<RunnerResult> runnerResult, OptionalThing<LocalDateTime> endTime, OptionalThing<Throwable> controllerCause,
-            OptionalThing<LaunchNowOption> nowOption) {
+            OptionalThing<LaunchNowOption> nowOption, OptionalThing<RomanticCron4jFireAttr> fireAttr, OptionalThing<LocalDateTime> plannedTime) {
         final TaskExecutor taskExecutor = context.getTaskExecutor();
-        final Cron4jJobHistory jobHistory = prepareJobHistory(job, activationTime, runnerResult, endTime, controllerCause);
+        final Cron4jJobHistory jobHistory =
+                prepareJobHistory(job, activationTime, runnerResult, endTime, controllerCause, fireAttr, plannedTime);
+        recordExecStatistics(job, jobHistory);
         final int historyLimit = getHistoryLimit();
+        final OptionalThing<Cron4jHistoryDeliverer> deliverer = cron4jNow.getHistoryDeliverer();
+        if (deliverer.isPresent()) { // asynchronous delivery
+            deliverer.get().offer(jobHistory); // no wait for the hook
+        } else {
+            hookHistoryRecord(job, nowOption, jobHistory, historyLimit);
+        }
+        Cron4jJobHistory.record(taskExecutor, toSavedHistory(jobHistory), historyLimit, jobRunner.getHistoryRetentionOption());
+        cron4jNow.getHistoryJournal().ifPresent(journal -> { // no wait for disk I/O
+            journal.append(jobHistory);
+        });
+    }
+
+    protected void recordExecStatistics(Cron4jJob job, Cron4jJobHistory jobHistory) { // no allocation
+        final long activationMillis = toStatisticsMillis(jobHistory.getActivationTime());
+        final OptionalThing<LocalDateTime> beginTime = jobHistory.getBeginTime();
+        final OptionalThing<LocalDateTime> endTime = jobHistory.getEndTime();
+        final long beginMillis = beginTime.isPresent() ? toStatisticsMillis(beginTime.get()) : JobExecStatistics.NONE_MILLIS;
+        final long endMillis = endTime.isPresent() ? toStatisticsMillis(endTime.get()) : JobExecStatistics.NONE_MILLIS;
+        final ExecResultType resultType = jobHistory.getExecResultType();
+        final JobMetricsRegistry metricsRegistry = cron4jNow.getMetricsRegistry();
+        metricsRegistry.recordExecution(job.getExecStatistics(), resultType, activationMillis, beginMillis, endMillis);
+        final OptionalThing<LocalDateTime> plannedTime = jobHistory.getPlannedTime();
+        if (plannedTime.isPresent()) {
+            metricsRegistry.recordFireLag(job.getExecStatistics(), activationMillis - toStatisticsMillis(plannedTime.get()));
+        }
+    }
+
+    protected long toStatisticsMillis(LocalDateTime dateTime) { // local fields as they are, only for difference
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000L + dateTime.getNano() / 1000000;
+    }
+
+    protected LaJobHistory toSavedHistory(Cron4jJobHistory jobHistory) {
+        return jobRunner.isJobHistoryCompacted() ? new Cron4jCompactJobHistory(jobHistory) : jobHistory;
+    }
+
+    protected void hookHistoryRecord(Cron4jJob job, OptionalThing<LaunchNowOption> nowOption, Cron4jJobHistory jobHistory,
+            int historyLimit) {
         jobRunner.getHistoryHook().ifPresent(hook -> {
             final Method hookMethod = findHookMethod(hook, "hookRecord");
             arrangeHookThreadCacheContext();
@@ -579,32 +746,37 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
                 arrangeHookPreparedAccessContext(arranger, hook, hookMethod, job, nowOption);
             });
             arrangeHookCallbackContext(hook, hookMethod, job);
+            final long hookBeginNanos = System.nanoTime();
+            final JobFlightSpan hookSpan = JobFlightRecorder.begin(JobFlightEventType.HISTORY_HOOK);
             try {
                 showJobHistoryHookRecording(job, hook);
                 hook.hookRecord(jobHistory, new JobHistoryResource(historyLimit));
             } finally {
+                hookSpan.end(job.getJobKey(), job.getJobUnique(), jobHistory.getExecResultType());
+                cron4jNow.getMetricsRegistry().recordHookTime(job.getExecStatistics(), toElapsedMillis(hookBeginNanos));
                 clearHookCallbackContext();
                 clearHookPreparedAccessContext();
                 clearHookThreadCacheContext();
             }
         });
-        Cron4jJobHistory.record(taskExecutor, jobHistory, historyLimit);
     }
 
     protected Cron4jJobHistory prepareJobHistory(Cron4jJob job, LocalDateTime activationTime, OptionalThing<RunnerResult> runnerResult,
-            OptionalThing<LocalDateTime> endTime, OptionalThing<Throwable> controllerCause) {
+            OptionalThing<LocalDateTime> endTime, OptionalThing<Throwable> controllerCause, OptionalThing<RomanticCron4jFireAttr> fireAttr,
+            OptionalThing<LocalDateTime> plannedTime) {
         final OptionalThing<LocalDateTime> beginTime = runnerResult.flatMap(res -> res.getBeginTime());
         final Cron4jJobHistory jobHistory;
         if (!controllerCause.isPresent()) { // mainly here, and runnerResult is not null here
             jobHistory = createJobHistory(job, activationTime, beginTime, endTime, () -> {
                 return deriveRunnerExecResultType(runnerResult);
-            }, runnerResult.flatMap(res -> res.getEndTitleRoll()), runnerResult.flatMap(res -> res.getCause()));
+            }, runnerResult.flatMap(res -> res.getEndTitleRoll()), runnerResult.flatMap(res -> res.getCause()), fireAttr,
+                    plannedTime);
         } else if (controllerCause.get() instanceof JobConcurrentlyExecutingException) {
             jobHistory = createJobHistory(job, activationTime, beginTime, endTime, () -> ExecResultType.ERROR_BY_CONCURRENT,
-                    OptionalThing.empty(), controllerCause);
+                    OptionalThing.empty(), controllerCause, fireAttr, plannedTime);
         } else { // may be framework exception
             jobHistory = createJobHistory(job, activationTime, beginTime, endTime, () -> ExecResultType.CAUSED_BY_FRAMEWORK,
-                    OptionalThing.empty(), controllerCause);
+                    OptionalThing.empty(), controllerCause, fireAttr, plannedTime);
         }
         return jobHistory;
     }
@@ -625,7 +797,7 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
 
     protected Cron4jJobHistory createJobHistory(Cron4jJob job, LocalDateTime activationTime, OptionalThing<LocalDateTime> beginTime,
             OptionalThing<LocalDateTime> endTime, Supplier<ExecResultType> execResultTypeProvider, OptionalThing<EndTitleRoll> endTitleRoll,
-            OptionalThing<Throwable> cause) {
+            OptionalThing<Throwable> cause, OptionalThing<RomanticCron4jFireAttr> fireAttr, OptionalThing<LocalDateTime> plannedTime) {
         final LaJobKey jobKey = job.getJobKey();
         final OptionalThing<LaJobNote> jobNote = job.getJobNote();
         final OptionalThing<LaJobUnique> jobUnique = job.getJobUnique();
@@ -636,11 +808,12 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
                 , cronExp, jobTypeFqcn // cron
                 , activationTime, beginTime, endTime // execution time
                 , execResultType // execution result
-                , endTitleRoll, cause);
+                , endTitleRoll, cause // execution result
+                , fireAttr, plannedTime); // fire attribute
     }
 
     protected int getHistoryLimit() {
-        return 300;
+        return jobRunner.getJobHistoryLimit();
     }
 
     protected void showJobHistoryHookRecording(Cron4jJob job, JobHistoryHook hook) {
@@ -766,16 +939,20 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
         }
     }
 
-    public void switchCron(String cronExp, VaryingCronOption cronOption) {
+    public void switchCron(CompiledCronExp compiledCron, VaryingCronOption cronOption) {
         synchronized (varyingLock) {
-            this.varyingCron = createVaryingCron(cronExp, cronOption);
+            this.varyingCron = createVaryingCron(compiledCron, cronOption);
         }
     }
 
-    protected VaryingCron createVaryingCron(String cronExp, VaryingCronOption cronOption) {
+    protected VaryingCron createVaryingCron(String cronExp, VaryingCronOption cronOption) { // for non-cron
         return new VaryingCron(cronExp, cronOption);
     }
 
+    protected VaryingCron createVaryingCron(CompiledCronExp compiledCron, VaryingCronOption cronOption) {
+        return new VaryingCron(compiledCron.getCronExp(), cronOption, compiledCron);
+    }
+
     // ===================================================================================
     //                                                                       Determination
     //                                                                       =============
@@ -811,6 +988,110 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
         }
     }
 
+    // ===================================================================================
+    //                                                                         Fire Spread
+    //                                                                         ===========
+    /**
+     * Determine the offset to delay the cron fire of the task (not called for launch-now). <br>
+     * The job's option is prior to the runner's one.
+     * @return The offset milliseconds to delay the fire. (zero if no spreading)
+     */
+    public long determineFireSpreadMillis() { // called by launcher thread
+        final VaryingCronOption cronOption;
+        synchronized (varyingLock) {
+            cronOption = varyingCron.getCronOption();
+        }
+        final FireSpreading spreading = cronOption.getFireSpreading().orElse(jobRunner.getFireSpreading().orElse(null));
+        if (spreading == null) {
+            return 0L;
+        }
+        return spreading.determineOffsetMillis(deriveFireSpreadIdentity());
+    }
+
+    protected String deriveFireSpreadIdentity() { // unique is prior because job key is generated by registration order
+        return cron4jNow.findJobByTask(taskJobIdentity).map(job -> {
+            return job.getJobUnique().map(uq -> uq.value()).orElseGet(() -> job.getJobKey().value());
+        }).orElseGet(() -> jobType.getName()); // basically no way, not to stop launcher thread
+    }
+
+    // ===================================================================================
+    //                                                                             Misfire
+    //                                                                             =======
+    /**
+     * Handle the missed fire times (misfire) by the policy of the job, called by scheduler when it detects stall.
+     * @param afterMillis The epoch millis after which fire times are missed (exclusive), e.g. last planned time.
+     * @param beforeMillis The epoch millis before which fire times are missed (exclusive), e.g. current time.
+     * @param timeZone The time zone of scheduler to calculate fire times. (NotNull)
+     * @return The read-only list of planned fire millis for catch-up, in time order. (NotNull, EmptyAllowed: e.g. skip policy)
+     */
+    public List<Long> handleMisfire(long afterMillis, long beforeMillis, TimeZone timeZone) {
+        final VaryingCron cron;
+        synchronized (varyingLock) {
+            cron = varyingCron;
+        }
+        if (!cron.getCompiledCron().isPresent()) { // non-cron is not fired by cron
+            return Collections.emptyList();
+        }
+        final CompiledCronExp compiledCron = cron.getCompiledCron().get();
+        final VaryingCronOption cronOption = cron.getCronOption();
+        final int catchUpLimit = cronOption.getMisfireCatchUpLimit(); // zero if skip
+        final Deque<Long> catchUpDeque = new ArrayDeque<Long>(Math.min(catchUpLimit, 16)); // latest ones are prior
+        int missedCount = 0;
+        long baseMillis = afterMillis;
+        while (missedCount < getMisfireCountLimit()) { // limit for e.g. every-second cron after long pause
+            final long missedMillis = compiledCron.nextFireMillis(baseMillis, timeZone);
+            if (missedMillis == CompiledCronExp.NOT_FOUND || missedMillis >= beforeMillis) {
+                break;
+            }
+            ++missedCount;
+            if (catchUpLimit > 0) {
+                if (catchUpDeque.size() >= catchUpLimit) {
+                    catchUpDeque.removeFirst();
+                }
+                catchUpDeque.addLast(missedMillis);
+            }
+            baseMillis = missedMillis;
+        }
+        if (missedCount == 0) {
+            return Collections.emptyList();
+        }
+        showMisfire(cronOption, cron.getCronExp(), missedCount, catchUpDeque.size());
+        return Collections.unmodifiableList(new ArrayList<Long>(catchUpDeque));
+    }
+
+    protected int getMisfireCountLimit() {
+        return 10000; // enough to count, e.g. about three hours of every-second cron
+    }
+
+    protected void showMisfire(VaryingCronOption cronOption, String cronExp, int missedCount, int catchUpCount) {
+        final String countExp = missedCount >= getMisfireCountLimit() ? missedCount + " or more" : String.valueOf(missedCount);
+        JobNoticeLog.log(cronOption.getNoticeLogLevel(), () -> {
+            final String handlingExp = catchUpCount > 0 ? "catching up " + catchUpCount + " by " + cronOption.getMisfirePolicy() : "skipped";
+            return "#job #misfire Missed fire times of the job: " + jobType.getSimpleName() + " (" + cronExp + "), missed=" + countExp
+                    + ", " + handlingExp;
+        });
+    }
+
+    protected void showLateFireIfNeeds(Cron4jJob job, RomanticCron4jFireAttr fireAttr) { // in job thread
+        // activation delay from planned time except spreading, e.g. waiting for worker pool, launcher after JVM pause
+        final long lateMillis = System.currentTimeMillis() - fireAttr.getPlannedFireMillis() - fireAttr.getSpreadMillis();
+        if (fireAttr.isCatchUp()) {
+            JobNoticeLog.log(job.getNoticeLogLevel(), () -> {
+                return "#job #misfire ...Catching up the missed fire: " + job.toIdentityDisp() + ", planned="
+                        + Instant.ofEpochMilli(fireAttr.getPlannedFireMillis()) + " (" + lateMillis + "ms late)";
+            });
+        } else if (lateMillis > getLateFireThresholdMillis()) {
+            JobNoticeLog.log(job.getNoticeLogLevel(), () -> {
+                return "#job #misfire Late fire of the job: " + job.toIdentityDisp() + ", planned="
+                        + Instant.ofEpochMilli(fireAttr.getPlannedFireMillis()) + " (" + lateMillis + "ms late)";
+            });
+        }
+    }
+
+    protected long getLateFireThresholdMillis() {
+        return 10000L; // as default, native cron4j polls per minute so it may be late for a few seconds
+    }
+
     // ===================================================================================
     //                                                                     Framework Debug
     //                                                                     ===============
@@ -824,6 +1105,33 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
         return frameworkDebug;
     }
 
+    // ===================================================================================
+    //                                                                     Lock Contention
+    //                                                                     ===============
+    /**
+     * @param neighborConcurrentGroupList The list of neighbor concurrent group of the job. (NotNull)
+     * @return The read-only list of contention of concurrency control locks. (NotNull, EmptyAllowed: not recorded)
+     */
+    public List<JobLockContention> takeLockContentionList(List<NeighborConcurrentGroup> neighborConcurrentGroupList) {
+        if (!jobRunner.isLockContentionRecorded()) {
+            return Collections.emptyList();
+        }
+        final List<JobLockContention> contentionList = new ArrayList<JobLockContention>();
+        addLockContention(contentionList, preparingLock);
+        addLockContention(contentionList, runningLock);
+        for (NeighborConcurrentGroup group : neighborConcurrentGroupList) {
+            addLockContention(contentionList, group.getGroupPreparingReentrantLock());
+            addLockContention(contentionList, group.getGroupRunningReentrantLock());
+        }
+        return Collections.unmodifiableList(contentionList);
+    }
+
+    protected void addLockContention(List<JobLockContention> contentionList, ReentrantLock lock) {
+        if (lock instanceof ContentionRecordingLock) { // may be plain lock if overridden
+            contentionList.add(((ContentionRecordingLock) lock).takeContentionSnapshot());
+        }
+    }
+
     // ===================================================================================
     //                                                                Outlaw Parallel Task
     //                                                                ====================
@@ -863,11 +1171,29 @@ public class Cron4jTask extends Task { // unique per job in lasta job world (exc
         return concurrentExec;
     }
 
-    public Object getPreparingLock() {
+    /**
+     * Synchronized block on the returned lock does not exclude executions of the task, which use lock() of it.
+     * @return The preparing lock of the task as ReentrantLock. (NotNull)
+     */
+    @Deprecated
+    public Object getPreparingLock() { // use getPreparingReentrantLock()
+        return getPreparingReentrantLock();
+    }
+
+    public ReentrantLock getPreparingReentrantLock() {
         return preparingLock;
     }
 
-    public Object getRunningLock() {
+    /**
+     * Synchronized block on the returned lock does not exclude executions of the task, which use lock() of it.
+     * @return The running lock of the task as ReentrantLock. (NotNull)
+     */
+    @Deprecated
+    public Object getRunningLock() { // use getRunningReentrantLock()
+        return getRunningReentrantLock();
+    }
+
+    public ReentrantLock getRunningReentrantLock() {
         return runningLock;
     }
 
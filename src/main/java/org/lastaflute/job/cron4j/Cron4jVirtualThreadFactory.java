@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * The factory of virtual thread for task executors. <br>
+ * The virtual thread API is called via method handles resolved once
+ * because this library is compiled for Java8, so it is supported only when the runtime has it.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jVirtualThreadFactory {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final MethodHandle ofVirtualHandle; // null allowed, Thread.ofVirtual()
+    protected static final MethodHandle unstartedHandle; // null allowed, Thread.Builder.unstarted(Runnable)
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle unstarted = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            final Class<?> ofVirtualType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualType));
+            unstarted = lookup.findVirtual(builderType, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            ofVirtual.invoke(); // e.g. preview feature (not enabled) throws exception here
+        } catch (Throwable ignored) { // e.g. Java8, Java17
+            ofVirtual = null;
+            unstarted = null;
+        }
+        ofVirtualHandle = ofVirtual;
+        unstartedHandle = unstarted;
+    }
+
+    // ===================================================================================
+    //                                                                             Support
+    //                                                                             =======
+    /**
+     * @return true if the current runtime can create virtual threads.
+     */
+    public static boolean isSupported() {
+        return ofVirtualHandle != null;
+    }
+
+    // ===================================================================================
+    //                                                                              Create
+    //                                                                              ======
+    /**
+     * @param runnable The runnable executed in the new thread. (NotNull)
+     * @return The new-created virtual thread, which is not started yet. (NotNull)
+     * @throws IllegalStateException When the runtime does not support virtual thread.
+     */
+    public static Thread newUnstartedThread(Runnable runnable) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual thread is not supported in the runtime: java.version=" + getJavaVersion());
+        }
+        try {
+            final Object builder = ofVirtualHandle.invoke();
+            return (Thread) unstartedHandle.invoke(builder, runnable);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) { // no way
+            throw new IllegalStateException("Failed to create virtual thread: " + runnable, e);
+        }
+    }
+
+    protected static String getJavaVersion() {
+        return System.getProperty("java.version");
+    }
+}
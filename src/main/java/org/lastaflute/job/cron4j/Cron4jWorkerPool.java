@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.lastaflute.job.subsidiary.WorkerPoolOption;
+import org.lastaflute.job.subsidiary.WorkerPoolOption.WorkerRejectionType;
+
+/**
+ * The bounded pool of worker threads for task executors. <br>
+ * Worker threads are reused between job executions instead of fresh thread per execution.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jWorkerPool {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final WorkerPoolOption poolOption; // not null
+    protected final BooleanSupplier daemonDeterminer; // not null, linked to scheduler's daemon
+    protected final AtomicInteger workerNumber = new AtomicInteger(); // for thread name
+    protected final ThreadPoolExecutor threadPool; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public Cron4jWorkerPool(WorkerPoolOption poolOption, BooleanSupplier daemonDeterminer) {
+        this.poolOption = poolOption;
+        this.daemonDeterminer = daemonDeterminer;
+        this.threadPool = createThreadPool(poolOption);
+    }
+
+    protected ThreadPoolExecutor createThreadPool(WorkerPoolOption poolOption) {
+        final int corePoolSize = poolOption.getCorePoolSize();
+        final int maxPoolSize = poolOption.getMaxPoolSize();
+        final long keepAliveSeconds = poolOption.getKeepAliveSeconds();
+        final BlockingQueue<Runnable> workQueue = createWorkQueue(poolOption);
+        final ThreadFactory threadFactory = createThreadFactory();
+        final RejectedExecutionHandler rejectionHandler = createRejectionHandler(poolOption);
+        return new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveSeconds, TimeUnit.SECONDS, workQueue, threadFactory,
+                rejectionHandler);
+    }
+
+    protected BlockingQueue<Runnable> createWorkQueue(WorkerPoolOption poolOption) {
+        final int queueCapacity = poolOption.getQueueCapacity();
+        return queueCapacity > 0 ? new ArrayBlockingQueue<Runnable>(queueCapacity) : new SynchronousQueue<Runnable>();
+    }
+
+    protected ThreadFactory createThreadFactory() {
+        return runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setName(buildWorkerThreadName(workerNumber.incrementAndGet()));
+            thread.setDaemon(daemonDeterminer.getAsBoolean());
+            return thread;
+        };
+    }
+
+    protected String buildWorkerThreadName(int number) {
+        return "cron4j::worker-" + number; // renamed by task while executing
+    }
+
+    protected RejectedExecutionHandler createRejectionHandler(WorkerPoolOption poolOption) {
+        final boolean errorRejection = WorkerRejectionType.ERROR.equals(poolOption.getRejectionType());
+        return (runnable, executor) -> {
+            if (executor.isShutdown()) { // e.g. late spawn after scheduler stop, no fresh thread
+                throw new RejectedExecutionException("Rejected the task by the shutdown worker pool: " + toString());
+            }
+            if (errorRejection) {
+                throw new RejectedExecutionException("Rejected the task by the full worker pool: " + toString());
+            }
+            startFreshThread(runnable); // fresh thread as default, only when saturated
+        };
+    }
+
+    protected void startFreshThread(Runnable runnable) {
+        final Thread thread = new Thread(runnable);
+        thread.setDaemon(daemonDeterminer.getAsBoolean());
+        thread.start(); // the task renames it
+    }
+
+    // ===================================================================================
+    //                                                                             Execute
+    //                                                                             =======
+    /**
+     * @param runnable The runnable of task executor, which manages its ending by itself. (NotNull)
+     * @throws RejectedExecutionException When the pool is full and the rejection type is error, or already shutdown.
+     */
+    public void execute(Runnable runnable) {
+        threadPool.execute(runnable);
+    }
+
+    // ===================================================================================
+    //                                                                            Shutdown
+    //                                                                            ========
+    public void shutdown() { // executing tasks are stopped by scheduler's stop
+        threadPool.shutdown();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "workerPool:{threads=" + threadPool.getPoolSize() + ", active=" + threadPool.getActiveCount() + ", queued="
+                + threadPool.getQueue().size() + ", " + poolOption + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public WorkerPoolOption getPoolOption() {
+        return poolOption;
+    }
+
+    public int getPoolSize() {
+        return threadPool.getPoolSize();
+    }
+
+    public int getActiveCount() {
+        return threadPool.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return threadPool.getQueue().size();
+    }
+}
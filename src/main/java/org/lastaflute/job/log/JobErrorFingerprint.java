@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+/**
+ * The fingerprint of job error, made of exception types and top stack frames in the cause chain. <br>
+ * Messages are not used because they often contain variable values e.g. IDs.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobErrorFingerprint {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int CAUSE_DEPTH_LIMIT = 10; // for safety of circular or deep chain
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String fingerprintExp; // not null, types and frames
+    protected final String hashExp; // not null, for display
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected JobErrorFingerprint(String fingerprintExp) {
+        this.fingerprintExp = fingerprintExp;
+        this.hashExp = Integer.toHexString(fingerprintExp.hashCode());
+    }
+
+    /**
+     * @param cause The exception of job error. (NotNull)
+     * @param topFrameCount The count of top stack frames per exception. (NotMinus)
+     * @return The new-created fingerprint. (NotNull)
+     */
+    public static JobErrorFingerprint of(Throwable cause, int topFrameCount) {
+        final StringBuilder sb = new StringBuilder(128);
+        Throwable current = cause;
+        for (int depth = 0; current != null && depth < CAUSE_DEPTH_LIMIT; depth++) {
+            if (depth > 0) {
+                sb.append(" <- ");
+            }
+            sb.append(current.getClass().getName());
+            final StackTraceElement[] trace = current.getStackTrace();
+            final int frameCount = Math.min(topFrameCount, trace.length);
+            for (int i = 0; i < frameCount; i++) {
+                final StackTraceElement element = trace[i];
+                sb.append('|').append(element.getClassName()).append('.').append(element.getMethodName());
+                sb.append(':').append(element.getLineNumber());
+            }
+            final Throwable next = current.getCause();
+            current = next != current ? next : null;
+        }
+        return new JobErrorFingerprint(sb.toString());
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof JobErrorFingerprint && fingerprintExp.equals(((JobErrorFingerprint) obj).fingerprintExp);
+    }
+
+    @Override
+    public int hashCode() {
+        return fingerprintExp.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "fingerprint:{" + hashExp + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getFingerprintExp() {
+        return fingerprintExp;
+    }
+
+    public String getHashExp() {
+        return hashExp;
+    }
+}
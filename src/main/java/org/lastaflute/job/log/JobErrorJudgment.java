@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+/**
+ * The judgment of job error by the suppressor.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobErrorJudgment {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final JobErrorFingerprint fingerprint; // not null
+    protected final boolean suppressed; // true if repeated in the window
+    protected final int repeatedCount; // suppressed count in the window (if logged, of the previous window)
+    protected final long windowBeginMillis; // of the counted window
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public JobErrorJudgment(JobErrorFingerprint fingerprint, boolean suppressed, int repeatedCount, long windowBeginMillis) {
+        this.fingerprint = fingerprint;
+        this.suppressed = suppressed;
+        this.repeatedCount = repeatedCount;
+        this.windowBeginMillis = windowBeginMillis;
+    }
+
+    // ===================================================================================
+    //                                                                        Display Line
+    //                                                                        ============
+    /**
+     * @return The summary line of the error for log message. (NotNull)
+     */
+    public String toSummaryLine() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("errorFingerprint=").append(fingerprint.getHashExp());
+        if (repeatedCount > 0) {
+            final long elapsedMillis = System.currentTimeMillis() - windowBeginMillis;
+            sb.append(", suppressedRepeats=").append(repeatedCount).append(" (in last ").append(elapsedMillis / 1000L).append("s)");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "judgment:{" + fingerprint.getHashExp() + ", " + (suppressed ? "suppressed" : "logged") + ", " + repeatedCount + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public JobErrorFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    public boolean isSuppressed() {
+        return suppressed;
+    }
+
+    public int getRepeatedCount() {
+        return repeatedCount;
+    }
+
+    public long getWindowBeginMillis() {
+        return windowBeginMillis;
+    }
+}
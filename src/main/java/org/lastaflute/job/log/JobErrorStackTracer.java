@@ -15,39 +15,202 @@
  */
 package org.lastaflute.job.log;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
-import java.io.UnsupportedEncodingException;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
 
 /**
+ * The renderer of exception stack trace for job error log, same format as printStackTrace(). <br>
+ * It writes to StringBuilder directly (no print stream and no encoding),
+ * and it can be bounded by max depth of causes and collapsing frames e.g. framework frames. <br>
+ * The rendered string is cached per exception (weakly) because it may be rendered twice in failure paths. <br>
+ * The cache is keyed by equals()/hashCode() of WeakHashMap, so the cached string is used only if it was rendered
+ * from the same instance (identity hash code) with the same direct cause and suppressed count.
+ * Changes deeper than them after rendering (e.g. initCause() of nested cause) are not reflected.
  * @author jflute
  * @since 0.4.1 (2017/03/20 Monday)
  */
 public class JobErrorStackTracer {
 
-    private static final Logger logger = LoggerFactory.getLogger(JobErrorStackTracer.class);
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String LN = System.lineSeparator(); // same as printStackTrace()
+    protected static final String CAUSE_CAPTION = "Caused by: ";
+    protected static final String SUPPRESSED_CAPTION = "Suppressed: ";
+    protected static final int CACHE_LIMIT = 256; // cleared over it, for safety (also weak keys)
+
+    /** The cache of rendered string per exception, guarded by itself. (weak keys by equals(), so checked by identity when hit) */
+    protected static final Map<Throwable, RenderedTrace> renderedCache = new WeakHashMap<Throwable, RenderedTrace>();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int maxCauseDepth = 30; // as default, enclosed (cause and suppressed) depth
+    protected Predicate<StackTraceElement> collapsedFrameDeterminer; // null allowed, no collapse if null
+
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    /**
+     * @param maxCauseDepth The max depth of enclosed exceptions (cause and suppressed), 30 as default. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public JobErrorStackTracer maxCauseDepth(int maxCauseDepth) {
+        if (maxCauseDepth < 0) {
+            throw new IllegalArgumentException("The argument 'maxCauseDepth' should not be minus: " + maxCauseDepth);
+        }
+        this.maxCauseDepth = maxCauseDepth;
+        return this;
+    }
 
+    /**
+     * Collapse consecutive frames determined by the callback into one line e.g. "... 12 collapsed frames".
+     * <pre>
+     * new JobErrorStackTracer().collapseFrame(frame -&gt; frame.getClassName().startsWith("org.lastaflute."));
+     * </pre>
+     * @param collapsedFrameDeterminer The callback to determine collapsed frame. (NotNull)
+     * @return this. (NotNull)
+     */
+    public JobErrorStackTracer collapseFrame(Predicate<StackTraceElement> collapsedFrameDeterminer) {
+        if (collapsedFrameDeterminer == null) {
+            throw new IllegalArgumentException("The argument 'collapsedFrameDeterminer' should not be null.");
+        }
+        this.collapsedFrameDeterminer = collapsedFrameDeterminer;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                         Stack Trace
+    //                                                                         ===========
     public String buildExceptionStackTrace(Throwable cause) { // similar to logging filter
-        final StringBuilder sb = new StringBuilder();
-        final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
-        final String encoding = "UTF-8"; // for on-memory closed-scope I/O
-        PrintStream ps = null;
-        try {
-            final boolean autoFlush = false; // the output stream does not need flush
-            ps = new PrintStream(out, autoFlush, encoding);
-            cause.printStackTrace(ps);
-            sb.append(out.toString(encoding));
-        } catch (UnsupportedEncodingException continued) { // basically no way
-            logger.warn("Unknown encoding: " + encoding, continued);
-            sb.append(out.toString()); // retry without encoding
-        } finally {
-            if (ps != null) {
-                ps.close();
+        final RenderedTrace cached;
+        synchronized (renderedCache) {
+            cached = renderedCache.get(cause);
+        }
+        if (cached != null && cached.isRenderedBy(this) && cached.isRenderedFrom(cause)) {
+            return cached.getStackTrace();
+        }
+        final String stackTrace = renderStackTrace(cause);
+        synchronized (renderedCache) {
+            if (renderedCache.size() >= CACHE_LIMIT) {
+                renderedCache.clear();
             }
+            renderedCache.put(cause, new RenderedTrace(cause, maxCauseDepth, collapsedFrameDeterminer, stackTrace));
+        }
+        return stackTrace;
+    }
+
+    protected String renderStackTrace(Throwable cause) {
+        final StringBuilder sb = new StringBuilder(2048);
+        final Set<Throwable> dejaVu = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+        dejaVu.add(cause);
+        sb.append(cause).append(LN);
+        final StackTraceElement[] trace = cause.getStackTrace();
+        appendFrames(sb, "", trace, trace.length);
+        for (Throwable suppressed : cause.getSuppressed()) {
+            appendEnclosed(sb, suppressed, trace, SUPPRESSED_CAPTION, "\t", dejaVu, 1);
+        }
+        final Throwable nested = cause.getCause();
+        if (nested != null) {
+            appendEnclosed(sb, nested, trace, CAUSE_CAPTION, "", dejaVu, 1);
         }
         return sb.toString();
     }
+
+    protected void appendEnclosed(StringBuilder sb, Throwable enclosed, StackTraceElement[] enclosingTrace, String caption, String prefix,
+            Set<Throwable> dejaVu, int depth) {
+        if (dejaVu.contains(enclosed)) {
+            sb.append(prefix).append(caption).append("[CIRCULAR REFERENCE:").append(enclosed).append("]").append(LN);
+            return;
+        }
+        dejaVu.add(enclosed);
+        if (depth > maxCauseDepth) {
+            sb.append(prefix).append(caption).append(enclosed).append(LN);
+            sb.append(prefix).append("\t... (omitted by max cause depth ").append(maxCauseDepth).append(")").append(LN);
+            return;
+        }
+        final StackTraceElement[] trace = enclosed.getStackTrace();
+        int ourIndex = trace.length - 1;
+        int enclosingIndex = enclosingTrace.length - 1;
+        while (ourIndex >= 0 && enclosingIndex >= 0 && trace[ourIndex].equals(enclosingTrace[enclosingIndex])) {
+            --ourIndex;
+            --enclosingIndex;
+        }
+        final int framesInCommon = trace.length - 1 - ourIndex;
+        sb.append(prefix).append(caption).append(enclosed).append(LN);
+        appendFrames(sb, prefix, trace, ourIndex + 1);
+        if (framesInCommon > 0) {
+            sb.append(prefix).append("\t... ").append(framesInCommon).append(" more").append(LN);
+        }
+        for (Throwable suppressed : enclosed.getSuppressed()) {
+            appendEnclosed(sb, suppressed, trace, SUPPRESSED_CAPTION, prefix + "\t", dejaVu, depth + 1);
+        }
+        final Throwable nested = enclosed.getCause();
+        if (nested != null) {
+            appendEnclosed(sb, nested, trace, CAUSE_CAPTION, prefix, dejaVu, depth + 1);
+        }
+    }
+
+    protected void appendFrames(StringBuilder sb, String prefix, StackTraceElement[] trace, int frameCount) {
+        int collapsedCount = 0;
+        for (int i = 0; i < frameCount; i++) {
+            final StackTraceElement element = trace[i];
+            if (collapsedFrameDeterminer != null && collapsedFrameDeterminer.test(element)) {
+                ++collapsedCount;
+                continue;
+            }
+            if (collapsedCount > 0) {
+                appendCollapsed(sb, prefix, collapsedCount);
+                collapsedCount = 0;
+            }
+            sb.append(prefix).append("\tat ").append(element).append(LN);
+        }
+        if (collapsedCount > 0) {
+            appendCollapsed(sb, prefix, collapsedCount);
+        }
+    }
+
+    protected void appendCollapsed(StringBuilder sb, String prefix, int collapsedCount) {
+        sb.append(prefix).append("\t... ").append(collapsedCount).append(" collapsed frames").append(LN);
+    }
+
+    // ===================================================================================
+    //                                                                      Rendered Trace
+    //                                                                      ==============
+    protected static class RenderedTrace {
+
+        protected final int renderedIdentity; // identity hash code, not to refer the key strongly
+        protected final int causeIdentity; // zero if no cause, for initCause() after rendering
+        protected final int suppressedCount; // for addSuppressed() after rendering
+        protected final int maxCauseDepth;
+        protected final Predicate<StackTraceElement> collapsedFrameDeterminer; // null allowed
+        protected final String stackTrace; // not null
+
+        public RenderedTrace(Throwable rendered, int maxCauseDepth, Predicate<StackTraceElement> collapsedFrameDeterminer,
+                String stackTrace) {
+            this.renderedIdentity = System.identityHashCode(rendered);
+            this.causeIdentity = System.identityHashCode(rendered.getCause());
+            this.suppressedCount = rendered.getSuppressed().length;
+            this.maxCauseDepth = maxCauseDepth;
+            this.collapsedFrameDeterminer = collapsedFrameDeterminer;
+            this.stackTrace = stackTrace;
+        }
+
+        public boolean isRenderedBy(JobErrorStackTracer tracer) { // same options
+            return maxCauseDepth == tracer.maxCauseDepth && collapsedFrameDeterminer == tracer.collapsedFrameDeterminer;
+        }
+
+        public boolean isRenderedFrom(Throwable cause) { // not other equal exception, and not changed
+            return renderedIdentity == System.identityHashCode(cause) && causeIdentity == System.identityHashCode(cause.getCause())
+                    && suppressedCount == cause.getSuppressed().length;
+        }
+
+        public String getStackTrace() {
+            return stackTrace;
+        }
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.subsidiary.JobErrorDedupOption;
+
+/**
+ * The suppressor of the same errors of a job in the window, to avoid flooding logs and alerts. <br>
+ * The first error of a fingerprint is logged, and repeats in the window are counted,
+ * and the count is summarized when the error is logged after the window or when the job succeeds.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobErrorSuppressor {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final JobErrorDedupOption dedupOption; // not null
+    protected final Map<LaJobKey, Map<JobErrorFingerprint, SuppressionState>> jobStateMap =
+            new ConcurrentHashMap<LaJobKey, Map<JobErrorFingerprint, SuppressionState>>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public JobErrorSuppressor(JobErrorDedupOption dedupOption) {
+        if (dedupOption == null) {
+            throw new IllegalArgumentException("The argument 'dedupOption' should not be null.");
+        }
+        this.dedupOption = dedupOption;
+    }
+
+    // ===================================================================================
+    //                                                                   Suppression State
+    //                                                                   =================
+    protected static class SuppressionState { // guarded by this
+
+        protected long windowBeginMillis; // when logged with full stack trace
+        protected int suppressedCount; // in the current window
+
+        public SuppressionState(long windowBeginMillis) {
+            this.windowBeginMillis = windowBeginMillis;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Judgment
+    //                                                                            ========
+    /**
+     * Judge whether the error of the job should be logged or suppressed.
+     * @param jobKey The key of the failed job. (NotNull)
+     * @param cause The exception of the job error. (NotNull)
+     * @return The judgment of the error, containing the fingerprint. (NotNull)
+     */
+    public JobErrorJudgment judge(LaJobKey jobKey, Throwable cause) {
+        final JobErrorFingerprint fingerprint = JobErrorFingerprint.of(cause, dedupOption.getTopFrameCount());
+        final long currentMillis = currentMillis();
+        final Map<JobErrorFingerprint, SuppressionState> stateMap = jobStateMap.computeIfAbsent(jobKey, key -> {
+            return new ConcurrentHashMap<JobErrorFingerprint, SuppressionState>();
+        });
+        SuppressionState state = stateMap.get(fingerprint);
+        if (state == null) {
+            if (stateMap.size() >= dedupOption.getMaxFingerprintPerJob()) { // too many kinds of errors
+                return new JobErrorJudgment(fingerprint, false, 0, currentMillis);
+            }
+            final SuppressionState created = new SuppressionState(currentMillis);
+            state = stateMap.putIfAbsent(fingerprint, created);
+            if (state == null) { // first time
+                return new JobErrorJudgment(fingerprint, false, 0, currentMillis);
+            }
+        }
+        synchronized (state) {
+            final long windowBeginMillis = state.windowBeginMillis;
+            if (currentMillis - windowBeginMillis >= dedupOption.getSuppressionWindowMillis()) { // window expired
+                final int suppressedCount = state.suppressedCount;
+                state.windowBeginMillis = currentMillis;
+                state.suppressedCount = 0;
+                return new JobErrorJudgment(fingerprint, false, suppressedCount, windowBeginMillis);
+            } else {
+                ++state.suppressedCount;
+                return new JobErrorJudgment(fingerprint, true, state.suppressedCount, windowBeginMillis);
+            }
+        }
+    }
+
+    /**
+     * Resolve the errors of the job because it succeeded, and summarize suppressed repeats if exist.
+     * @param jobKey The key of the succeeded job. (NotNull)
+     * @return The summary message of suppressed errors. (NotNull, EmptyAllowed: when no suppressed error)
+     */
+    public OptionalThing<String> resolve(LaJobKey jobKey) {
+        final Map<JobErrorFingerprint, SuppressionState> stateMap = jobStateMap.isEmpty() ? null : jobStateMap.remove(jobKey);
+        String summary = null;
+        if (stateMap != null) {
+            final StringBuilder sb = new StringBuilder();
+            stateMap.forEach((fingerprint, state) -> {
+                final int suppressedCount;
+                synchronized (state) {
+                    suppressedCount = state.suppressedCount;
+                }
+                if (suppressedCount > 0) {
+                    sb.append(sb.length() > 0 ? ", " : "").append(fingerprint.getHashExp()).append("=").append(suppressedCount);
+                }
+            });
+            if (sb.length() > 0) {
+                summary = "#flow #job The suppressed errors were resolved by success: " + jobKey + ", repeats={" + sb + "}";
+            }
+        }
+        return OptionalThing.ofNullable(summary, () -> {
+            throw new IllegalStateException("Not found the suppressed errors: " + jobKey);
+        });
+    }
+
+    protected long currentMillis() {
+        return System.currentTimeMillis();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public JobErrorDedupOption getDedupOption() {
+        return dedupOption;
+    }
+}
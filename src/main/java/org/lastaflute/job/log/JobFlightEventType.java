@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+/**
+ * The type of flight recorder event of job execution.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public enum JobFlightEventType {
+
+    /** instant when task is activated (before concurrent control) */
+    ACTIVATION,
+
+    /** from before preparing lock to getting running locks (or quit) */
+    LOCK_WAIT,
+
+    /** the job run in runner, with result type */
+    JOB_RUN,
+
+    /** the call of cross-VM hook (beginning or ending) */
+    CROSS_VM_HOOK,
+
+    /** the call of history hook on job thread */
+    HISTORY_HOOK,
+
+    /** the triggering of next jobs after success */
+    TRIGGER_NEXT
+}
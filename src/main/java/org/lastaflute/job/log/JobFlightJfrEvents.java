@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobUnique;
+import org.lastaflute.job.log.JobFlightRecorder.JobFlightSpanFactory;
+import org.lastaflute.job.subsidiary.ExecResultType;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JFR events of job execution, loaded by {@link JobFlightRecorder} only when the runtime has JFR. <br>
+ * Don't refer this class directly from other classes, or NoClassDefFoundError may occur in runtime without JFR.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobFlightJfrEvents implements JobFlightSpanFactory {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<JobFlightEventType, EventType> jfrEventTypeMap; // not null, read-only after construction
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public JobFlightJfrEvents() {
+        jfrEventTypeMap = prepareJfrEventTypeMap();
+    }
+
+    protected Map<JobFlightEventType, EventType> prepareJfrEventTypeMap() {
+        final Map<JobFlightEventType, EventType> typeMap = new EnumMap<JobFlightEventType, EventType>(JobFlightEventType.class);
+        for (JobFlightEventType eventType : JobFlightEventType.values()) {
+            typeMap.put(eventType, EventType.getEventType(newEvent(eventType).getClass())); // registered here
+        }
+        return typeMap;
+    }
+
+    // ===================================================================================
+    //                                                                        Span Factory
+    //                                                                        ============
+    @Override
+    public JobFlightSpan begin(JobFlightEventType eventType) {
+        if (!jfrEventTypeMap.get(eventType).isEnabled()) { // no recording, or disabled by settings
+            return JobFlightSpan.NONE; // without allocating event
+        }
+        final JobFlightEvent event = newEvent(eventType);
+        event.begin();
+        return event;
+    }
+
+    protected JobFlightEvent newEvent(JobFlightEventType eventType) {
+        switch (eventType) {
+        case ACTIVATION:
+            return new JobActivationEvent();
+        case LOCK_WAIT:
+            return new JobLockWaitEvent();
+        case JOB_RUN:
+            return new JobRunEvent();
+        case CROSS_VM_HOOK:
+            return new JobCrossVMHookEvent();
+        case HISTORY_HOOK:
+            return new JobHistoryHookEvent();
+        case TRIGGER_NEXT:
+            return new JobTriggerNextEvent();
+        default:
+            throw new IllegalStateException("Unknown flight event type: " + eventType);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Base Event
+    //                                                                          ==========
+    @Category({ "LastaFlute", "Job" })
+    @StackTrace(false) // job identity is enough
+    public static abstract class JobFlightEvent extends Event implements JobFlightSpan {
+
+        @Label("Job Key")
+        protected String jobKey;
+
+        @Label("Job Unique")
+        protected String jobUnique;
+
+        @Label("Result Type")
+        protected String resultType;
+
+        @Override
+        public void end(LaJobKey jobKey, OptionalThing<LaJobUnique> jobUnique, ExecResultType resultType) {
+            end(); // of event
+            if (shouldCommit()) { // e.g. over threshold
+                this.jobKey = jobKey.value();
+                this.jobUnique = jobUnique.map(uq -> uq.value()).orElse(null);
+                this.resultType = resultType != null ? resultType.name() : null;
+                commit();
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                     Concrete Events
+    //                                                                     ===============
+    @Name("org.lastaflute.job.JobActivation")
+    @Label("Job Activation")
+    @Description("The job task is activated by cron or launch-now.")
+    public static class JobActivationEvent extends JobFlightEvent {
+    }
+
+    @Name("org.lastaflute.job.JobLockWait")
+    @Label("Job Lock Wait")
+    @Description("Waiting for the locks of concurrent control (preparing, running, neighbor's).")
+    public static class JobLockWaitEvent extends JobFlightEvent {
+    }
+
+    @Name("org.lastaflute.job.JobRun")
+    @Label("Job Run")
+    @Description("The job is run by the job runner.")
+    public static class JobRunEvent extends JobFlightEvent {
+    }
+
+    @Name("org.lastaflute.job.JobCrossVMHook")
+    @Label("Job Cross-VM Hook")
+    @Description("The cross-VM hook is called for beginning or ending.")
+    public static class JobCrossVMHookEvent extends JobFlightEvent {
+    }
+
+    @Name("org.lastaflute.job.JobHistoryHook")
+    @Label("Job History Hook")
+    @Description("The history hook is called on job thread.")
+    public static class JobHistoryHookEvent extends JobFlightEvent {
+    }
+
+    @Name("org.lastaflute.job.JobTriggerNext")
+    @Label("Job Trigger Next")
+    @Description("The next jobs are triggered after success.")
+    public static class JobTriggerNextEvent extends JobFlightEvent {
+    }
+}
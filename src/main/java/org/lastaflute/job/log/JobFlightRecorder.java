@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobUnique;
+import org.lastaflute.job.subsidiary.ExecResultType;
+
+/**
+ * The emitter of JDK Flight Recorder events of job execution. <br>
+ * The JFR API is used via the class loaded once by name because this library is compiled for Java8,
+ * so events are emitted only when the runtime has it (e.g. Java8u262 or later), and it costs almost nothing without recording.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobFlightRecorder {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String JFR_SPAN_FACTORY_FQCN = "org.lastaflute.job.log.JobFlightJfrEvents";
+    protected static final JobFlightSpanFactory spanFactory; // null allowed, null if no JFR in runtime
+    static {
+        JobFlightSpanFactory factory = null;
+        try {
+            Class.forName("jdk.jfr.FlightRecorder"); // e.g. old Java8 does not have it
+            factory = (JobFlightSpanFactory) Class.forName(JFR_SPAN_FACTORY_FQCN).newInstance();
+        } catch (Throwable ignored) { // e.g. ClassNotFoundException, NoClassDefFoundError
+            factory = null;
+        }
+        spanFactory = factory;
+    }
+
+    /**
+     * The factory of span, implemented with JFR API. (not referred directly to keep JFR API optional)
+     */
+    public static interface JobFlightSpanFactory {
+
+        /**
+         * @param eventType The type of flight event. (NotNull)
+         * @return The begun span, or the none span if not recording. (NotNull)
+         */
+        JobFlightSpan begin(JobFlightEventType eventType);
+    }
+
+    // ===================================================================================
+    //                                                                             Support
+    //                                                                             =======
+    /**
+     * @return true if the current runtime has JDK Flight Recorder.
+     */
+    public static boolean isAvailable() {
+        return spanFactory != null;
+    }
+
+    // ===================================================================================
+    //                                                                                Emit
+    //                                                                                ====
+    /**
+     * Begin the span of the event, which should be ended by end() of the span.
+     * @param eventType The type of flight event. (NotNull)
+     * @return The begun span, or the shared none span if no JFR or no recording. (NotNull)
+     */
+    public static JobFlightSpan begin(JobFlightEventType eventType) {
+        if (spanFactory == null) {
+            return JobFlightSpan.NONE;
+        }
+        return spanFactory.begin(eventType);
+    }
+
+    /**
+     * Emit the instant event, e.g. activation.
+     * @param eventType The type of flight event. (NotNull)
+     * @param jobKey The key of the job. (NotNull)
+     * @param jobUnique The optional unique code of the job. (NotNull, EmptyAllowed)
+     * @param resultType The type of execution result. (NullAllowed)
+     */
+    public static void emit(JobFlightEventType eventType, LaJobKey jobKey, OptionalThing<LaJobUnique> jobUnique,
+            ExecResultType resultType) {
+        if (spanFactory == null) {
+            return;
+        }
+        spanFactory.begin(eventType).end(jobKey, jobUnique, resultType);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobUnique;
+import org.lastaflute.job.subsidiary.ExecResultType;
+
+/**
+ * The span of flight recorder event, begun by {@link JobFlightRecorder}.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public interface JobFlightSpan {
+
+    /** The span that does nothing, used when no recording. (shared) */
+    JobFlightSpan NONE = (jobKey, jobUnique, resultType) -> {};
+
+    /**
+     * End the span and commit the event if recording.
+     * @param jobKey The key of the job. (NotNull)
+     * @param jobUnique The optional unique code of the job. (NotNull, EmptyAllowed)
+     * @param resultType The type of execution result. (NullAllowed: e.g. not finished yet, hook)
+     */
+    void end(LaJobKey jobKey, OptionalThing<LaJobUnique> jobUnique, ExecResultType resultType);
+}
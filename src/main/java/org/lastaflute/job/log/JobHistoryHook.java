@@ -16,9 +16,13 @@
 package org.lastaflute.job.log;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.lastaflute.job.LaJobHistory;
+import org.lastaflute.job.subsidiary.JobHistoryOrder;
+import org.lastaflute.job.subsidiary.JobHistorySearchOption;
+import org.lastaflute.job.subsidiary.JobHistoryVisitor;
 
 /**
  * @author jflute
@@ -32,6 +36,18 @@ public interface JobHistoryHook {
      */
     void hookRecord(LaJobHistory jobHistory, JobHistoryResource resource);
 
+    /**
+     * Called by background writer instead of hookRecord() if asynchronous delivery is used. <br>
+     * Override it if you can save the histories at a time, e.g. batch insert.
+     * @param historyList The list of job history provided by LastaJob, oldest first. (NotNull, NotEmpty, ReadOnly)
+     * @param resource the resource of history, e.g. nativeHistoryLimit (NotNull)
+     */
+    default void hookRecordBatch(List<LaJobHistory> historyList, JobHistoryResource resource) {
+        for (LaJobHistory jobHistory : historyList) { // as default
+            hookRecord(jobHistory, resource);
+        }
+    }
+
     /**
      * @param nativeSearcher The searcher of LastaJob native histories. (NotNull)
      * @return The list of history, native histories or application histories. (NotNull)
@@ -40,6 +56,26 @@ public interface JobHistoryHook {
         return nativeSearcher.get(); // as default
     }
 
+    /**
+     * Override it with hookList() if you manage histories by application, e.g. saved in database.
+     * @param option The option of search condition, e.g. job key, paging. (NotNull)
+     * @param nativeSearcher The searcher of LastaJob native histories by the option, using job index. (NotNull)
+     * @return The list of history matched with the option, latest first. (NotNull)
+     */
+    default List<LaJobHistory> hookSearch(JobHistorySearchOption option, Supplier<List<LaJobHistory>> nativeSearcher) {
+        return nativeSearcher.get(); // as default
+    }
+
+    /**
+     * Override it with hookList() if you manage histories by application, e.g. reading database by cursor.
+     * @param order The order of iteration by recording. (NotNull)
+     * @param visitor The visitor of history, returning false to stop the iteration. (NotNull)
+     * @param nativeIterator The iterator of LastaJob native histories without copying, accepting the visitor. (NotNull)
+     */
+    default void hookForEach(JobHistoryOrder order, JobHistoryVisitor visitor, Consumer<JobHistoryVisitor> nativeIterator) {
+        nativeIterator.accept(visitor); // as default
+    }
+
     /**
      * Does it suppress notice log of the hook?
      * @return The determination, true or false.
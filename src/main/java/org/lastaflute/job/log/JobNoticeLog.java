@@ -35,6 +35,15 @@ public class JobNoticeLog {
     // ===================================================================================
     //                                                                      Job Notice Log
     //                                                                      ==============
+    public static boolean isEnabled(JobNoticeLogLevel logLevel) { // to skip building message
+        if (JobNoticeLogLevel.INFO.equals(logLevel)) {
+            return logger.isInfoEnabled();
+        } else if (JobNoticeLogLevel.DEBUG.equals(logLevel)) {
+            return logger.isDebugEnabled();
+        }
+        return false;
+    }
+
     public static void log(JobNoticeLogLevel logLevel, Supplier<String> msg) { // very internal
         if (JobNoticeLogLevel.INFO.equals(logLevel)) {
             logger.info(msg.get());
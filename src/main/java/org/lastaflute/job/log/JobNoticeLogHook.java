@@ -15,6 +15,8 @@
  */
 package org.lastaflute.job.log;
 
+import java.util.function.Supplier;
+
 import org.dbflute.optional.OptionalThing;
 import org.lastaflute.job.LaJobRuntime;
 
@@ -28,6 +30,29 @@ public interface JobNoticeLogHook {
 
     void hookFinishing(LaJobRuntime runtime, String msg, OptionalThing<Throwable> cause);
 
+    /**
+     * Called by framework instead of hookRunning() so that you can avoid building message if you don't need it.
+     * The supplier should be resolved in this method call (on the job thread) if you need the message,
+     * because thread-bound information in it (e.g. SQL, mail, remote-api counts) is cleared after the call.
+     * @param runtime The runtime of current job. (NotNull)
+     * @param msgSupplier The supplier of message built lazily once, shared with notice log. (NotNull)
+     */
+    default void hookRunningLazily(LaJobRuntime runtime, Supplier<String> msgSupplier) {
+        hookRunning(runtime, msgSupplier.get());
+    }
+
+    /**
+     * Called by framework instead of hookFinishing() so that you can avoid building message if you don't need it.
+     * The supplier should be resolved in this method call (on the job thread) if you need the message,
+     * because thread-bound information in it (e.g. SQL, mail, remote-api counts) is cleared after the call.
+     * @param runtime The runtime of current job. (NotNull)
+     * @param msgSupplier The supplier of message built lazily once, shared with notice log. (NotNull)
+     * @param cause The exception of job failure. (NotNull, EmptyAllowed: when success)
+     */
+    default void hookFinishingLazily(LaJobRuntime runtime, Supplier<String> msgSupplier, OptionalThing<Throwable> cause) {
+        hookFinishing(runtime, msgSupplier.get(), cause);
+    }
+
     default void hookStopped(LaJobRuntime runtime, String msg, OptionalThing<Throwable> cause) { // optional
         // do nothing as default
     }
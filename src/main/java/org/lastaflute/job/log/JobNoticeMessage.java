@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+import java.util.function.Supplier;
+
+/**
+ * The message of notice log built lazily only once, shared between notice log and hook. <br>
+ * Not thread-safe because it is used in the job thread.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobNoticeMessage implements Supplier<String> {
+
+    protected final Supplier<String> messageBuilder; // not null
+    protected String builtMessage; // null allowed before building
+
+    public JobNoticeMessage(Supplier<String> messageBuilder) {
+        this.messageBuilder = messageBuilder;
+    }
+
+    @Override
+    public String get() {
+        if (builtMessage == null) {
+            builtMessage = messageBuilder.get();
+        }
+        return builtMessage;
+    }
+
+    public boolean isBuilt() {
+        return builtMessage != null;
+    }
+
+    @Override
+    public String toString() {
+        return builtMessage != null ? builtMessage : "(not built yet)";
+    }
+}
@@ -15,18 +15,43 @@
  */
 package org.lastaflute.job.log;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
 
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.optional.OptionalThing;
 import org.lastaflute.job.LaJobHistory;
 import org.lastaflute.job.exception.JobHistoryNotFoundException;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobUnique;
+import org.lastaflute.job.subsidiary.HistoryRetentionOption;
+import org.lastaflute.job.subsidiary.JobHistoryOrder;
+import org.lastaflute.job.subsidiary.JobHistorySearchOption;
+import org.lastaflute.job.subsidiary.JobHistoryVisitor;
 
 /**
+ * The cache of job histories saved in memory, evicting the oldest one over the limit. <br>
+ * Histories are kept in the fixed-capacity ring buffer with the key index,
+ * so recording is O(1) without copying keys, and writers are not blocked by each other. <br>
+ * Only clear() and change of the limit block writers (rarely). <br>
+ * Slots are also indexed per job (job key and job unique) for search,
+ * so searching histories of a job does not scan histories of other jobs. <br>
+ * Retention policies (e.g. age, bytes) are evaluated for the oldest histories on recording,
+ * and histories protected by minimum per job are pinned out of the ring when evicted.
  * @author jflute
  * @since 0.2.8 (2017/03/04 Saturday)
  */
@@ -35,9 +60,165 @@ public class SavedHistoryCache {
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
-    // basically synchronized but just in case
-    protected final Map<String, LaJobHistory> historyMap = new ConcurrentHashMap<String, LaJobHistory>();
-    protected final List<String> historyKeyList = new CopyOnWriteArrayList<String>();
+    protected final Map<String, SavedSlot> historyIndex = new ConcurrentHashMap<String, SavedSlot>(); // key to slot
+    protected final AtomicLong sequence = new AtomicLong(); // next sequence number of recording
+    protected volatile AtomicReferenceArray<SavedSlot> ring; // null allowed before first recording, replaced by limit change
+    protected final StampedLock ringLock = new StampedLock(); // read: recording (shared), write: clear or limit change
+    protected final Map<LaJobKey, JobSlotIndex> jobKeyIndexMap = new ConcurrentHashMap<LaJobKey, JobSlotIndex>();
+    protected final Map<LaJobUnique, JobSlotIndex> jobUniqueIndexMap = new ConcurrentHashMap<LaJobUnique, JobSlotIndex>();
+
+    // -----------------------------------------------------
+    //                                             Retention
+    //                                             ---------
+    protected static final HistoryRetentionOption NO_RETENTION = new HistoryRetentionOption(); // no policy, no minimum
+    protected volatile HistoryRetentionOption retention = NO_RETENTION; // not null, the latest one of recording
+    protected final AtomicLong approximateBytes = new AtomicLong(); // of saved (not released) slots
+    protected final NavigableMap<Long, SavedSlot> pinnedSlotMap = new ConcurrentSkipListMap<Long, SavedSlot>(); // sequence to slot
+    protected final ReentrantLock evaluationLock = new ReentrantLock(); // only one evaluator, others skip it
+    protected long evaluationCursor; // guarded by evaluationLock, next sequence number to be evaluated
+
+    // ===================================================================================
+    //                                                                          Saved Slot
+    //                                                                          ==========
+    protected static class SavedSlot {
+
+        protected final String historyKey; // not null
+        protected final LaJobHistory jobHistory; // not null
+        protected final long sequenceNo; // position in the ring is sequenceNo % capacity
+        protected final long recordedMillis; // for retention by age
+        protected final long estimatedBytes; // for retention by bytes
+        protected volatile int released; // 1 if released, updated by compare-and-set to subtract bytes only once
+
+        public SavedSlot(String historyKey, LaJobHistory jobHistory, long sequenceNo, long recordedMillis, long estimatedBytes) {
+            this.historyKey = historyKey;
+            this.jobHistory = jobHistory;
+            this.sequenceNo = sequenceNo;
+            this.recordedMillis = recordedMillis;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        public String getHistoryKey() {
+            return historyKey;
+        }
+
+        public LaJobHistory getJobHistory() {
+            return jobHistory;
+        }
+
+        public long getSequenceNo() {
+            return sequenceNo;
+        }
+
+        public long getRecordedMillis() {
+            return recordedMillis;
+        }
+
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+    }
+
+    protected static final AtomicIntegerFieldUpdater<SavedSlot> releasedUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(SavedSlot.class, "released"); // without atomic object per slot
+
+    // ===================================================================================
+    //                                                                           Job Index
+    //                                                                           =========
+    protected static class JobSlotIndex { // per job so locked per job (striped)
+
+        protected final ArrayDeque<SavedSlot> slotDeque = new ArrayDeque<SavedSlot>(); // guarded by this, oldest first
+
+        public synchronized void add(SavedSlot slot) {
+            slotDeque.addLast(slot);
+        }
+
+        public synchronized void remove(SavedSlot slot) {
+            if (slotDeque.peekFirst() == slot) { // mainly here because the oldest is evicted
+                slotDeque.pollFirst();
+            } else {
+                slotDeque.removeFirstOccurrence(slot); // identity because of no equals()
+            }
+        }
+
+        public synchronized SavedSlot findOldestOverMinimum(int minimum) { // null allowed
+            return slotDeque.size() > minimum ? slotDeque.peekFirst() : null;
+        }
+
+        public synchronized boolean isWithinMinimum(int minimum) {
+            return slotDeque.size() <= minimum;
+        }
+
+        public synchronized void collectLatestFirst(JobHistorySearchOption option, SavedHistoryCache cache, List<LaJobHistory> resultList) {
+            final Iterator<SavedSlot> ite = slotDeque.descendingIterator();
+            int skipped = 0;
+            while (ite.hasNext() && resultList.size() < option.getLimit()) {
+                final SavedSlot slot = ite.next();
+                if (cache.isAlive(slot) && option.matches(slot.getJobHistory())) {
+                    if (skipped < option.getOffset()) {
+                        ++skipped;
+                    } else {
+                        resultList.add(slot.getJobHistory());
+                    }
+                }
+            }
+        }
+    }
+
+    protected void addJobIndex(SavedSlot slot) {
+        final LaJobHistory jobHistory = slot.getJobHistory();
+        final JobSlotIndex jobIndex = jobKeyIndexMap.computeIfAbsent(jobHistory.getJobKey(), key -> new JobSlotIndex());
+        jobHistory.getJobUnique().ifPresent(jobUnique -> {
+            jobUniqueIndexMap.putIfAbsent(jobUnique, jobIndex); // unique is fixed per job
+        });
+        jobIndex.add(slot);
+        if (!pinnedSlotMap.isEmpty()) { // e.g. the nightly job runs again so the pinned one is not needed
+            releasePinnedOverMinimum(jobIndex);
+        }
+    }
+
+    protected void releasePinnedOverMinimum(JobSlotIndex jobIndex) {
+        final int minimum = retention.getMinimumPerJob();
+        while (true) {
+            final SavedSlot oldest = jobIndex.findOldestOverMinimum(minimum); // pinned ones are oldest of the job
+            if (oldest == null || pinnedSlotMap.get(oldest.getSequenceNo()) != oldest) {
+                return;
+            }
+            releaseSlot(oldest);
+        }
+    }
+
+    protected void evictSlot(SavedSlot slot) { // from ring by limit or retention policy
+        if (needsPinning(slot)) {
+            pinnedSlotMap.put(slot.getSequenceNo(), slot); // still alive out of the ring
+            return;
+        }
+        releaseSlot(slot);
+    }
+
+    protected boolean needsPinning(SavedSlot slot) {
+        final int minimum = retention.getMinimumPerJob();
+        if (minimum <= 0 || !isAlive(slot)) { // no protection or stale by re-recording
+            return false;
+        }
+        final JobSlotIndex jobIndex = jobKeyIndexMap.get(slot.getJobHistory().getJobKey());
+        return jobIndex != null && jobIndex.isWithinMinimum(minimum); // the slot itself is included
+    }
+
+    protected void releaseSlot(SavedSlot slot) { // may be called twice e.g. evicted by policy and overwritten in ring
+        historyIndex.remove(slot.getHistoryKey(), slot); // not remove if same key is re-recorded
+        final JobSlotIndex jobIndex = jobKeyIndexMap.get(slot.getJobHistory().getJobKey());
+        if (jobIndex != null) { // basically true
+            jobIndex.remove(slot);
+        }
+        pinnedSlotMap.remove(slot.getSequenceNo(), slot);
+        if (releasedUpdater.compareAndSet(slot, 0, 1)) {
+            approximateBytes.addAndGet(-slot.getEstimatedBytes());
+        }
+    }
+
+    protected boolean isAlive(SavedSlot slot) { // false if evicted or stale by re-recording of same key
+        return historyIndex.get(slot.getHistoryKey()) == slot;
+    }
 
     // ===================================================================================
     //                                                                           Operation
@@ -45,17 +226,18 @@ public class SavedHistoryCache {
     // -----------------------------------------------------
     //                                                 Find
     //                                                ------
-    public synchronized OptionalThing<LaJobHistory> find(String historyKey) {
-        final LaJobHistory found = historyMap.get(historyKey);
-        return OptionalThing.ofNullable(found, () -> {
+    public OptionalThing<LaJobHistory> find(String historyKey) {
+        final SavedSlot found = historyIndex.get(historyKey);
+        return OptionalThing.ofNullable(found != null ? found.getJobHistory() : null, () -> {
             final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
             br.addNotice("Not found the job history by the job thread.");
             br.addItem("History Key");
             br.addElement(historyKey);
             br.addItem("Existing Key");
-            if (!historyKeyList.isEmpty()) {
-                for (String existingKey : historyKeyList) { // using list for order
-                    br.addElement(existingKey + " = " + historyMap.get(existingKey));
+            final List<SavedSlot> slotList = snapshotSlotList();
+            if (!slotList.isEmpty()) {
+                for (SavedSlot slot : slotList) { // using ring for order
+                    br.addElement(slot.getHistoryKey() + " = " + slot.getJobHistory());
                 }
             } else {
                 br.addElement("*No history");
@@ -68,29 +250,294 @@ public class SavedHistoryCache {
     // -----------------------------------------------------
     //                                                Record
     //                                                ------
-    public synchronized void record(String historyKey, LaJobHistory jobHistory, int limit) {
-        if (historyMap.size() >= limit) {
-            final String removedKey = historyKeyList.remove(0); // oldest
-            historyMap.remove(removedKey);
+    public void record(String historyKey, LaJobHistory jobHistory, int limit) {
+        record(historyKey, jobHistory, limit, NO_RETENTION);
+    }
+
+    /**
+     * Record the history, evicting the oldest ones over the limit or by the retention policies.
+     * @param historyKey The key of history e.g. GUID of task executor. (NotNull)
+     * @param jobHistory The history of job execution. (NotNull)
+     * @param limit The max count of histories in the ring. (Positive)
+     * @param retentionOption The option of retention, evaluated after recording. (NotNull)
+     */
+    public void record(String historyKey, LaJobHistory jobHistory, int limit, HistoryRetentionOption retentionOption) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("The argument 'limit' should be positive: " + limit);
         }
-        historyMap.put(historyKey, jobHistory);
-        historyKeyList.add(historyKey);
+        if (retentionOption == null) {
+            throw new IllegalArgumentException("The argument 'retentionOption' should not be null.");
+        }
+        if (retention != retentionOption) { // basically only once
+            retention = retentionOption;
+        }
+        while (true) {
+            final long stamp = ringLock.readLock(); // shared with other writers
+            try {
+                final AtomicReferenceArray<SavedSlot> currentRing = ring;
+                if (currentRing != null && currentRing.length() == limit) { // mainly here
+                    doRecord(currentRing, historyKey, jobHistory);
+                    if (retentionOption.hasPolicy()) {
+                        evaluateRetention(currentRing, retentionOption);
+                    }
+                    return;
+                }
+            } finally {
+                ringLock.unlockRead(stamp);
+            }
+            prepareRing(limit); // first recording or limit changed, then retry
+        }
+    }
+
+    protected void doRecord(AtomicReferenceArray<SavedSlot> currentRing, String historyKey, LaJobHistory jobHistory) {
+        final long sequenceNo = sequence.getAndIncrement();
+        final long estimatedBytes = estimateBytes(jobHistory);
+        final SavedSlot slot = new SavedSlot(historyKey, jobHistory, sequenceNo, currentMillis(), estimatedBytes);
+        approximateBytes.addAndGet(estimatedBytes);
+        historyIndex.put(historyKey, slot); // before ring to remove it surely when evicted soon
+        addJobIndex(slot);
+        final int position = (int) (sequenceNo % currentRing.length());
+        while (true) {
+            final SavedSlot existing = currentRing.get(position);
+            if (existing != null && existing.getSequenceNo() > sequenceNo) { // overtaken by newer (one lap), so already evicted
+                evictSlot(slot);
+                return;
+            }
+            if (currentRing.compareAndSet(position, existing, slot)) {
+                if (existing != null) { // oldest
+                    evictSlot(existing);
+                }
+                return;
+            }
+        }
+    }
+
+    protected void prepareRing(int limit) {
+        final long stamp = ringLock.writeLock(); // no writer here
+        try {
+            final AtomicReferenceArray<SavedSlot> currentRing = ring;
+            if (currentRing != null && currentRing.length() == limit) { // prepared by other thread
+                return;
+            }
+            final AtomicReferenceArray<SavedSlot> newRing = new AtomicReferenceArray<SavedSlot>(limit);
+            if (currentRing != null) { // limit changed
+                final long oldestSequenceNo = sequence.get() - limit; // keeps sequence numbers for indexes
+                for (int i = 0; i < currentRing.length(); i++) {
+                    final SavedSlot slot = currentRing.get(i);
+                    if (slot == null) {
+                        continue;
+                    }
+                    if (slot.getSequenceNo() >= oldestSequenceNo) { // latest ones
+                        newRing.set((int) (slot.getSequenceNo() % limit), slot);
+                    } else { // over the new limit
+                        evictSlot(slot);
+                    }
+                }
+            }
+            ring = newRing;
+        } finally {
+            ringLock.unlockWrite(stamp);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                             Retention
+    //                                             ---------
+    protected void evaluateRetention(AtomicReferenceArray<SavedSlot> currentRing, HistoryRetentionOption retentionOption) {
+        if (!evaluationLock.tryLock()) { // other thread is evaluating, enough by it
+            return;
+        }
+        try {
+            final int capacity = currentRing.length();
+            final long nextSequenceNo = sequence.get();
+            long sequenceNo = Math.max(evaluationCursor, Math.max(0L, nextSequenceNo - capacity));
+            final long currentMillis = currentMillis(); // once per evaluation
+            for (; sequenceNo < nextSequenceNo; sequenceNo++) { // from oldest until the policies are satisfied
+                final int position = (int) (sequenceNo % capacity);
+                final SavedSlot slot = currentRing.get(position);
+                if (slot == null || slot.getSequenceNo() < sequenceNo) { // in-progress, evaluated next time
+                    break;
+                }
+                if (slot.getSequenceNo() > sequenceNo || !isAlive(slot) || pinnedSlotMap.get(sequenceNo) == slot) {
+                    continue; // overtaken, evicted, stale or pinned
+                }
+                final long bytes = approximateBytes.get();
+                if (!retentionOption.needsEviction(slot.getJobHistory(), slot.getRecordedMillis(), currentMillis, bytes)) {
+                    break; // newer ones are also retained (basically)
+                }
+                evictSlot(slot);
+                if (!pinnedSlotMap.containsKey(sequenceNo)) { // released
+                    currentRing.compareAndSet(position, slot, null); // for garbage collection
+                }
+            }
+            evaluationCursor = sequenceNo;
+        } finally {
+            evaluationLock.unlock();
+        }
+    }
+
+    /**
+     * Estimate bytes of the history in memory roughly. (not exact, only for retention)
+     * @param jobHistory The history to be recorded. (NotNull)
+     * @return The approximate bytes. (Positive)
+     */
+    protected long estimateBytes(LaJobHistory jobHistory) {
+        long bytes = 320L; // history and slot instances with optional and date-time attributes
+        for (Entry<String, String> entry : jobHistory.getEndTitleRollSnapshotMap().entrySet()) {
+            final String value = entry.getValue();
+            bytes += 64L + (entry.getKey().length() + (value != null ? value.length() : 0)) * 2L; // entry and chars
+        }
+        if (jobHistory.getCause().isPresent()) { // stack trace is big
+            bytes += 2048L;
+        }
+        return bytes;
+    }
+
+    protected long currentMillis() {
+        return System.currentTimeMillis();
+    }
+
+    public long getApproximateBytes() {
+        return approximateBytes.get();
     }
 
     // -----------------------------------------------------
     //                                                 List
     //                                                ------
-    public synchronized List<LaJobHistory> list() {
-        return historyKeyList.stream().map(key -> { // using list for order
-            return historyMap.get(key); // basically not null
-        }).collect(Collectors.toList());
+    public List<LaJobHistory> list() { // ordered by recording (oldest first)
+        final List<LaJobHistory> historyList = new ArrayList<LaJobHistory>();
+        walkRing(JobHistoryOrder.OLDEST_FIRST, slot -> historyList.add(slot.getJobHistory()));
+        return historyList;
+    }
+
+    protected List<SavedSlot> snapshotSlotList() { // weakly consistent with concurrent recording
+        final List<SavedSlot> slotList = new ArrayList<SavedSlot>();
+        walkRing(JobHistoryOrder.OLDEST_FIRST, slot -> slotList.add(slot));
+        return slotList;
+    }
+
+    // -----------------------------------------------------
+    //                                              For Each
+    //                                              --------
+    /**
+     * Visit histories in the ring directly without copying them. (weakly consistent with concurrent recording)
+     * @param order The order of iteration. (NotNull)
+     * @param visitor The visitor of history, returning false to stop. (NotNull)
+     * @return The count of visited histories. (NotMinus)
+     */
+    public int forEach(JobHistoryOrder order, JobHistoryVisitor visitor) {
+        return walkRing(order, slot -> visitor.visit(slot.getJobHistory()));
+    }
+
+    protected int walkRing(JobHistoryOrder order, Predicate<SavedSlot> slotVisitor) { // stops if false returned
+        final AtomicReferenceArray<SavedSlot> currentRing = ring;
+        if (currentRing == null) {
+            return 0;
+        }
+        final int capacity = currentRing.length();
+        final long nextSequenceNo = sequence.get();
+        final long oldestSequenceNo = Math.max(0L, nextSequenceNo - capacity);
+        final boolean latestFirst = JobHistoryOrder.LATEST_FIRST.equals(order);
+        // pinned slots out of the ring are older than slots in the ring
+        final NavigableMap<Long, SavedSlot> pinnedOutMap; // null allowed if no pinned
+        pinnedOutMap = pinnedSlotMap.isEmpty() ? null : pinnedSlotMap.headMap(oldestSequenceNo, false);
+        int visitedCount = 0;
+        if (!latestFirst && pinnedOutMap != null) {
+            final int pinnedCount = walkPinned(pinnedOutMap, slotVisitor);
+            if (pinnedCount < 0) { // stopped
+                return -pinnedCount;
+            }
+            visitedCount += pinnedCount;
+        }
+        final long step = latestFirst ? -1L : 1L;
+        long sequenceNo = latestFirst ? nextSequenceNo - 1 : oldestSequenceNo;
+        for (; oldestSequenceNo <= sequenceNo && sequenceNo < nextSequenceNo; sequenceNo += step) {
+            final SavedSlot slot = currentRing.get((int) (sequenceNo % capacity));
+            // null or other number if in-progress, overtaken or released, and stale if same key re-recorded
+            if (slot == null || slot.getSequenceNo() != sequenceNo || !isAlive(slot)) {
+                continue;
+            }
+            ++visitedCount;
+            if (!slotVisitor.test(slot)) {
+                return visitedCount;
+            }
+        }
+        if (latestFirst && pinnedOutMap != null) {
+            visitedCount += Math.abs(walkPinned(pinnedOutMap.descendingMap(), slotVisitor));
+        }
+        return visitedCount;
+    }
+
+    protected int walkPinned(NavigableMap<Long, SavedSlot> pinnedMap, Predicate<SavedSlot> slotVisitor) { // minus if stopped
+        int visitedCount = 0;
+        for (SavedSlot slot : pinnedMap.values()) {
+            if (!isAlive(slot)) { // released concurrently
+                continue;
+            }
+            ++visitedCount;
+            if (!slotVisitor.test(slot)) {
+                return -visitedCount;
+            }
+        }
+        return visitedCount;
+    }
+
+    // -----------------------------------------------------
+    //                                                Search
+    //                                                ------
+    /**
+     * Search histories by the option, using job index if job key or unique is specified.
+     * @param option The option of search condition. (NotNull)
+     * @return The read-only list of found histories, latest first. (NotNull, EmptyAllowed)
+     */
+    public List<LaJobHistory> search(JobHistorySearchOption option) {
+        final List<LaJobHistory> resultList = new ArrayList<LaJobHistory>();
+        if (option.getJobKey().isPresent() || option.getJobUnique().isPresent()) { // per job
+            final JobSlotIndex jobIndex; // null allowed if no history of the job
+            if (option.getJobKey().isPresent()) { // unique is filtered by option if both
+                jobIndex = jobKeyIndexMap.get(option.getJobKey().get());
+            } else {
+                jobIndex = jobUniqueIndexMap.get(option.getJobUnique().get());
+            }
+            if (jobIndex != null) {
+                jobIndex.collectLatestFirst(option, this, resultList);
+            }
+        } else { // all jobs, walking the ring from latest and stops when limit is reached
+            final int[] skipped = new int[1]; // mutable in lambda
+            walkRing(JobHistoryOrder.LATEST_FIRST, slot -> {
+                final LaJobHistory jobHistory = slot.getJobHistory();
+                if (option.matches(jobHistory)) {
+                    if (skipped[0] < option.getOffset()) {
+                        ++skipped[0];
+                    } else {
+                        resultList.add(jobHistory);
+                    }
+                }
+                return resultList.size() < option.getLimit(); // stops when limit is reached
+            });
+        }
+        return Collections.unmodifiableList(resultList);
     }
 
     // -----------------------------------------------------
     //                                                 Clear
     //                                                 -----
-    public synchronized void clear() {
-        historyMap.clear();
-        historyKeyList.clear();
+    public void clear() {
+        final long stamp = ringLock.writeLock();
+        try {
+            final AtomicReferenceArray<SavedSlot> currentRing = ring;
+            if (currentRing != null) {
+                ring = new AtomicReferenceArray<SavedSlot>(currentRing.length());
+            }
+            sequence.set(0L);
+            historyIndex.clear();
+            jobKeyIndexMap.clear();
+            jobUniqueIndexMap.clear();
+            pinnedSlotMap.clear();
+            approximateBytes.set(0L);
+            evaluationCursor = 0L; // no evaluator here because it is inside the read lock of ring
+        } finally {
+            ringLock.unlockWrite(stamp);
+        }
     }
 }
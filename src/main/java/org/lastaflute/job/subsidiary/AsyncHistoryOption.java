@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+/**
+ * The option of asynchronous delivery of job histories to history hook. <br>
+ * Histories are queued by job threads and handed to the hook in batch by background writer,
+ * the batch is delivered when its size is reached or the flush interval passes.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class AsyncHistoryOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int queueCapacity = 1000; // as framework default
+    protected int batchSize = 100; // as framework default
+    protected long flushIntervalMillis = 1000L; // as framework default
+    protected long shutdownDrainMillis = 10000L; // as framework default
+    protected HistoryOverflowType overflowType = HistoryOverflowType.CALLER_RUNS; // not null, no history loss as default
+
+    // ===================================================================================
+    //                                                                       Overflow Type
+    //                                                                       =============
+    public enum HistoryOverflowType {
+
+        /** delivers the history on the job thread as synchronous mode (no history loss) */
+        CALLER_RUNS,
+
+        /** discards the oldest history in the queue and queues the new one */
+        DISCARD_OLDEST,
+
+        /** discards the new history (the queued histories are kept) */
+        DISCARD_NEWEST
+    }
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param queueCapacity The capacity of histories waiting for delivery. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public AsyncHistoryOption queueCapacity(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("The argument 'queueCapacity' should be positive: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * @param batchSize The max size of histories handed to the hook at a time. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public AsyncHistoryOption batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The argument 'batchSize' should be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @param flushIntervalMillis The max waiting time in milliseconds to fill the batch. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public AsyncHistoryOption flushIntervalMillis(long flushIntervalMillis) {
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("The argument 'flushIntervalMillis' should not be minus: " + flushIntervalMillis);
+        }
+        this.flushIntervalMillis = flushIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @param shutdownDrainMillis The max waiting time in milliseconds to deliver remaining histories when destroying. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public AsyncHistoryOption shutdownDrainMillis(long shutdownDrainMillis) {
+        if (shutdownDrainMillis < 0) {
+            throw new IllegalArgumentException("The argument 'shutdownDrainMillis' should not be minus: " + shutdownDrainMillis);
+        }
+        this.shutdownDrainMillis = shutdownDrainMillis;
+        return this;
+    }
+
+    /**
+     * @param overflowType The type of behavior when the queue is full. (NotNull)
+     * @return this. (NotNull)
+     */
+    public AsyncHistoryOption overflowType(HistoryOverflowType overflowType) {
+        if (overflowType == null) {
+            throw new IllegalArgumentException("The argument 'overflowType' should not be null.");
+        }
+        this.overflowType = overflowType;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "asyncHistory:{queue=" + queueCapacity + ", batch=" + batchSize + ", flush=" + flushIntervalMillis + "ms, "
+                + overflowType + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public long getShutdownDrainMillis() {
+        return shutdownDrainMillis;
+    }
+
+    public HistoryOverflowType getOverflowType() {
+        return overflowType;
+    }
+}
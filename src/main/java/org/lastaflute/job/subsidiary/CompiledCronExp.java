@@ -0,0 +1,619 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.dbflute.optional.OptionalThing;
+
+/**
+ * The compiled (immutable) cron expression, which has bit-set per field. <br>
+ * Created once when registration or reschedule, and calculates fire times without string parsing. <br>
+ * Multiple patterns by '|' have each field set, and the earliest (or latest) one is selected.
+ * <pre>
+ * e.g. next three fire times of '0 10 * * 1-5'
+ *  List&lt;LocalDateTime&gt; timeList = compiledCron.forecastFireTimeList(now, 3);
+ * </pre>
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class CompiledCronExp {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The value returned by primitive methods when no fire time is found in the search range. */
+    public static final long NOT_FOUND = Long.MIN_VALUE;
+
+    /** The range of years to search fire time, beyond it, the expression is treated as never fired. */
+    protected static final int SEARCH_YEAR_RANGE = 100;
+
+    protected static final int SECONDS_PER_DAY = 86400;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String cronExp; // not null, as registered
+    protected final List<CronFieldMask> fieldMaskList; // not null, not empty, read-only, per pattern
+    protected final boolean secondsSpecified; // true if seconds field at the head
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CompiledCronExp(String cronExp, List<CronFieldMask> fieldMaskList, boolean secondsSpecified) {
+        if (cronExp == null) {
+            throw new IllegalArgumentException("The argument 'cronExp' should not be null.");
+        }
+        if (fieldMaskList == null || fieldMaskList.isEmpty()) {
+            throw new IllegalArgumentException("The argument 'fieldMaskList' should not be null or empty: " + cronExp);
+        }
+        this.cronExp = cronExp;
+        this.fieldMaskList = Collections.unmodifiableList(new ArrayList<CronFieldMask>(fieldMaskList));
+        this.secondsSpecified = secondsSpecified;
+    }
+
+    /**
+     * The bit-set of each field for one pattern. <br>
+     * Bit index is the field value itself e.g. month 1 is (1 &lt;&lt; 1), day-of-week 0 is Sunday.
+     */
+    public static class CronFieldMask {
+
+        protected final long secondMask; // 0-59, only zero if no seconds field
+        protected final long minuteMask; // 0-59
+        protected final long hourMask; // 0-23
+        protected final long[][] dayOfMonthMasks; // [leap-year? 1 : 0][month 1-12], 1-31 (depends on month for last day)
+        protected final long monthMask; // 1-12
+        protected final long dayOfWeekMask; // 0-6 (Sunday is zero)
+
+        public CronFieldMask(long secondMask, long minuteMask, long hourMask, long[][] dayOfMonthMasks, long monthMask,
+                long dayOfWeekMask) {
+            this.secondMask = secondMask;
+            this.minuteMask = minuteMask;
+            this.hourMask = hourMask;
+            this.dayOfMonthMasks = new long[][] { dayOfMonthMasks[0].clone(), dayOfMonthMasks[1].clone() }; // immutable
+            this.monthMask = monthMask;
+            this.dayOfWeekMask = dayOfWeekMask;
+        }
+
+        protected boolean isNeverMatched() {
+            return secondMask == 0L || minuteMask == 0L || hourMask == 0L || monthMask == 0L || dayOfWeekMask == 0L;
+        }
+
+        public long getSecondMask() {
+            return secondMask;
+        }
+
+        public long getMinuteMask() {
+            return minuteMask;
+        }
+
+        public long getHourMask() {
+            return hourMask;
+        }
+
+        public long getDayOfMonthMask(boolean leapYear, int month) {
+            return dayOfMonthMasks[leapYear ? 1 : 0][month];
+        }
+
+        public long getMonthMask() {
+            return monthMask;
+        }
+
+        public long getDayOfWeekMask() {
+            return dayOfWeekMask;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Fire Time
+    //                                                                           =========
+    /**
+     * @param after The base local date-time, the result is strictly after it. (NotNull)
+     * @return The optional next fire time. (NotNull, EmptyAllowed: if never fired in search range)
+     */
+    public OptionalThing<LocalDateTime> nextFireTime(LocalDateTime after) {
+        assertArgumentNotNull("after", after);
+        final long found = nextLocalSecond(after.toEpochSecond(ZoneOffset.UTC)); // nanos are truncated
+        return OptionalThing.ofNullable(found != NOT_FOUND ? toLocalDateTime(found) : null, () -> {
+            throw new IllegalStateException("Not found the next fire time after " + after + ": " + cronExp);
+        });
+    }
+
+    /**
+     * @param before The base local date-time, the result is strictly before it. (NotNull)
+     * @return The optional previous fire time. (NotNull, EmptyAllowed: if never fired in search range)
+     */
+    public OptionalThing<LocalDateTime> previousFireTime(LocalDateTime before) {
+        assertArgumentNotNull("before", before);
+        final long baseSecond = before.toEpochSecond(ZoneOffset.UTC) + (before.getNano() > 0 ? 1 : 0);
+        final long found = previousLocalSecond(baseSecond);
+        return OptionalThing.ofNullable(found != NOT_FOUND ? toLocalDateTime(found) : null, () -> {
+            throw new IllegalStateException("Not found the previous fire time before " + before + ": " + cronExp);
+        });
+    }
+
+    /**
+     * @param after The base local date-time, the first result is strictly after it. (NotNull)
+     * @param count The count of fire times to be forecast, should be zero or positive.
+     * @return The list of fire times in ascending order. (NotNull, EmptyAllowed: if never fired)
+     */
+    public List<LocalDateTime> forecastFireTimeList(LocalDateTime after, int count) {
+        assertArgumentNotNull("after", after);
+        if (count < 0) {
+            throw new IllegalArgumentException("The argument 'count' should not be minus: " + count);
+        }
+        final List<LocalDateTime> timeList = new ArrayList<LocalDateTime>(count);
+        long current = after.toEpochSecond(ZoneOffset.UTC);
+        for (int i = 0; i < count; i++) {
+            current = nextLocalSecond(current);
+            if (current == NOT_FOUND) {
+                break;
+            }
+            timeList.add(toLocalDateTime(current));
+        }
+        return timeList;
+    }
+
+    protected LocalDateTime toLocalDateTime(long localSecond) {
+        return LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+    }
+
+    // -----------------------------------------------------
+    //                                        Zoned Instance
+    //                                        --------------
+    /**
+     * Calculate the next fire time as instant for scheduler engine. <br>
+     * Local times skipped by daylight saving are never fired, and repeated ones are fired for each instant.
+     * @param baseMillis The base time as epoch milliseconds, the result is strictly after it.
+     * @param timeZone The time zone to match the local fields. (NotNull)
+     * @return The next fire time as epoch milliseconds, or NOT_FOUND.
+     */
+    public long nextFireMillis(long baseMillis, TimeZone timeZone) {
+        long localSecond = Math.floorDiv(baseMillis + timeZone.getOffset(baseMillis), 1000L);
+        if (timeZone.getOffset(baseMillis) != timeZone.getRawOffset()) { // might be repeated time of summer time end
+            localSecond = localSecond - 3600L; // search back for the repeated hour, filtered by base below
+        }
+        while (true) {
+            localSecond = nextLocalSecond(localSecond);
+            if (localSecond == NOT_FOUND) {
+                return NOT_FOUND;
+            }
+            final long localMillis = localSecond * 1000L;
+            final long earlierMillis = localMillis - timeZone.getOffset(localMillis - timeZone.getRawOffset() - 3600000L);
+            if (earlierMillis > baseMillis && earlierMillis + timeZone.getOffset(earlierMillis) == localMillis) {
+                return earlierMillis;
+            }
+            final long laterMillis = localMillis - timeZone.getOffset(localMillis - timeZone.getRawOffset() + 3600000L);
+            if (laterMillis > baseMillis && laterMillis + timeZone.getOffset(laterMillis) == localMillis) {
+                return laterMillis;
+            }
+            // skipped by summer time or already passed, so continue to next local time
+        }
+    }
+
+    /**
+     * Forecast the fire times as the scheduler engine fires them in the time zone. <br>
+     * Local times skipped by daylight saving are not contained, and repeated ones are contained for each instant.
+     * @param baseMillis The base time as epoch milliseconds, the first result is strictly after it.
+     * @param timeZone The time zone to match the local fields, also of the returned local date-times. (NotNull)
+     * @param count The count of fire times to be forecast, should be zero or positive.
+     * @return The list of fire times as local date-time of the time zone in ascending order. (NotNull, EmptyAllowed: if never fired)
+     */
+    public List<LocalDateTime> forecastFireTimeList(long baseMillis, TimeZone timeZone, int count) {
+        assertArgumentNotNull("timeZone", timeZone);
+        if (count < 0) {
+            throw new IllegalArgumentException("The argument 'count' should not be minus: " + count);
+        }
+        final List<LocalDateTime> timeList = new ArrayList<LocalDateTime>(count);
+        long current = baseMillis;
+        for (int i = 0; i < count; i++) {
+            current = nextFireMillis(current, timeZone);
+            if (current == NOT_FOUND) {
+                break;
+            }
+            timeList.add(toLocalDateTime(Math.floorDiv(current + timeZone.getOffset(current), 1000L)));
+        }
+        return timeList;
+    }
+
+    // -----------------------------------------------------
+    //                                      Primitive Search
+    //                                      ----------------
+    /**
+     * Calculate the next fire time without allocation.
+     * @param localSecond The base local time as seconds from 1970-01-01T00:00:00 (as UTC), the result is strictly after it.
+     * @return The next fire time as local seconds, or NOT_FOUND.
+     */
+    public long nextLocalSecond(long localSecond) {
+        final long base = localSecond + 1;
+        final long epochDay = Math.floorDiv(base, SECONDS_PER_DAY);
+        final int secondOfDay = (int) Math.floorMod(base, SECONDS_PER_DAY);
+        final int packedDate = civilFromDays(epochDay);
+        final int year = packedDate >> 9;
+        final int month = (packedDate >> 5) & 0xF;
+        final int day = packedDate & 0x1F;
+        final int hour = secondOfDay / 3600;
+        final int minute = (secondOfDay % 3600) / 60;
+        final int second = secondOfDay % 60;
+        long earliest = NOT_FOUND;
+        for (int i = 0; i < fieldMaskList.size(); i++) {
+            final long found = searchNext(fieldMaskList.get(i), year, month, day, hour, minute, second);
+            if (found != NOT_FOUND && (earliest == NOT_FOUND || found < earliest)) {
+                earliest = found;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Calculate the previous fire time without allocation.
+     * @param localSecond The base local time as seconds from 1970-01-01T00:00:00 (as UTC), the result is strictly before it.
+     * @return The previous fire time as local seconds, or NOT_FOUND.
+     */
+    public long previousLocalSecond(long localSecond) {
+        final long base = localSecond - 1;
+        final long epochDay = Math.floorDiv(base, SECONDS_PER_DAY);
+        final int secondOfDay = (int) Math.floorMod(base, SECONDS_PER_DAY);
+        final int packedDate = civilFromDays(epochDay);
+        final int year = packedDate >> 9;
+        final int month = (packedDate >> 5) & 0xF;
+        final int day = packedDate & 0x1F;
+        final int hour = secondOfDay / 3600;
+        final int minute = (secondOfDay % 3600) / 60;
+        final int second = secondOfDay % 60;
+        long latest = NOT_FOUND;
+        for (int i = 0; i < fieldMaskList.size(); i++) {
+            final long found = searchPrevious(fieldMaskList.get(i), year, month, day, hour, minute, second);
+            if (found != NOT_FOUND && (latest == NOT_FOUND || found > latest)) {
+                latest = found;
+            }
+        }
+        return latest;
+    }
+
+    protected long searchNext(CronFieldMask mask, int year, int month, int day, int hour, int minute, int second) {
+        if (mask.isNeverMatched()) {
+            return NOT_FOUND;
+        }
+        final int yearLimit = year + SEARCH_YEAR_RANGE;
+        while (year <= yearLimit) {
+            if (month > 12) {
+                ++year;
+                month = 1;
+                day = 1;
+                hour = 0;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            final int foundMonth = nextBit(mask.monthMask, month);
+            if (foundMonth != month) { // means next month or next year
+                if (foundMonth < 0) {
+                    ++year;
+                    month = 1;
+                } else {
+                    month = foundMonth;
+                }
+                day = 1;
+                hour = 0;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            final int foundDay = nextDay(mask, year, month, day);
+            if (foundDay < 0) {
+                ++month;
+                day = 1;
+                hour = 0;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            if (foundDay != day) {
+                day = foundDay;
+                hour = 0;
+                minute = 0;
+                second = 0;
+            }
+            final int foundHour = nextBit(mask.hourMask, hour);
+            if (foundHour < 0) {
+                ++day; // day over month-end is handled by day search
+                hour = 0;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            if (foundHour != hour) {
+                hour = foundHour;
+                minute = 0;
+                second = 0;
+            }
+            final int foundMinute = nextBit(mask.minuteMask, minute);
+            if (foundMinute < 0) {
+                ++hour;
+                minute = 0;
+                second = 0;
+                if (hour > 23) {
+                    ++day;
+                    hour = 0;
+                }
+                continue;
+            }
+            if (foundMinute != minute) {
+                minute = foundMinute;
+                second = 0;
+            }
+            final int foundSecond = nextBit(mask.secondMask, second);
+            if (foundSecond < 0) {
+                ++minute;
+                second = 0;
+                if (minute > 59) {
+                    ++hour;
+                    minute = 0;
+                    if (hour > 23) {
+                        ++day;
+                        hour = 0;
+                    }
+                }
+                continue;
+            }
+            return toLocalSecond(year, month, foundDay, hour, minute, foundSecond);
+        }
+        return NOT_FOUND;
+    }
+
+    protected long searchPrevious(CronFieldMask mask, int year, int month, int day, int hour, int minute, int second) {
+        if (mask.isNeverMatched()) {
+            return NOT_FOUND;
+        }
+        final int yearLimit = year - SEARCH_YEAR_RANGE;
+        while (year >= yearLimit) {
+            if (month < 1) {
+                --year;
+                month = 12;
+                day = 31;
+                hour = 23;
+                minute = 59;
+                second = 59;
+                continue;
+            }
+            final int foundMonth = previousBit(mask.monthMask, month);
+            if (foundMonth != month) { // means previous month or previous year
+                if (foundMonth < 1) { // bit zero is not used for month
+                    --year;
+                    month = 12;
+                } else {
+                    month = foundMonth;
+                }
+                day = 31; // adjusted in day search
+                hour = 23;
+                minute = 59;
+                second = 59;
+                continue;
+            }
+            final int foundDay = previousDay(mask, year, month, day);
+            if (foundDay < 0) {
+                --month;
+                day = 31;
+                hour = 23;
+                minute = 59;
+                second = 59;
+                continue;
+            }
+            if (foundDay != day) {
+                day = foundDay;
+                hour = 23;
+                minute = 59;
+                second = 59;
+            }
+            final int foundHour = previousBit(mask.hourMask, hour);
+            if (foundHour < 0) {
+                --day; // day under one is handled by day search
+                hour = 23;
+                minute = 59;
+                second = 59;
+                continue;
+            }
+            if (foundHour != hour) {
+                hour = foundHour;
+                minute = 59;
+                second = 59;
+            }
+            final int foundMinute = previousBit(mask.minuteMask, minute);
+            if (foundMinute < 0) {
+                --hour;
+                minute = 59;
+                second = 59;
+                if (hour < 0) {
+                    --day;
+                    hour = 23;
+                }
+                continue;
+            }
+            if (foundMinute != minute) {
+                minute = foundMinute;
+                second = 59;
+            }
+            final int foundSecond = previousBit(mask.secondMask, second);
+            if (foundSecond < 0) {
+                --minute;
+                second = 59;
+                if (minute < 0) {
+                    --hour;
+                    minute = 59;
+                    if (hour < 0) {
+                        --day;
+                        hour = 23;
+                    }
+                }
+                continue;
+            }
+            return toLocalSecond(year, month, foundDay, hour, minute, foundSecond);
+        }
+        return NOT_FOUND;
+    }
+
+    protected int nextDay(CronFieldMask mask, int year, int month, int fromDay) { // -1 if not found in the month
+        final int lastDay = lengthOfMonth(year, month);
+        if (fromDay > lastDay) {
+            return -1;
+        }
+        long candidate = mask.getDayOfMonthMask(isLeapYear(year), month) & (-1L << fromDay);
+        if (candidate == 0L) {
+            return -1;
+        }
+        final long firstEpochDay = daysFromCivil(year, month, 1);
+        while (candidate != 0L) {
+            final int day = Long.numberOfTrailingZeros(candidate);
+            if (day > lastDay) {
+                return -1;
+            }
+            if ((mask.dayOfWeekMask & (1L << dayOfWeek(firstEpochDay + day - 1))) != 0L) {
+                return day;
+            }
+            candidate &= candidate - 1; // clear lowest bit
+        }
+        return -1;
+    }
+
+    protected int previousDay(CronFieldMask mask, int year, int month, int fromDay) { // -1 if not found in the month
+        if (fromDay < 1) {
+            return -1;
+        }
+        final int toDay = Math.min(fromDay, lengthOfMonth(year, month));
+        long candidate = mask.getDayOfMonthMask(isLeapYear(year), month) & ((2L << toDay) - 1L);
+        final long firstEpochDay = daysFromCivil(year, month, 1);
+        while (candidate != 0L) {
+            final int day = 63 - Long.numberOfLeadingZeros(candidate);
+            if (day < 1) {
+                return -1;
+            }
+            if ((mask.dayOfWeekMask & (1L << dayOfWeek(firstEpochDay + day - 1))) != 0L) {
+                return day;
+            }
+            candidate &= ~(1L << day);
+        }
+        return -1;
+    }
+
+    protected static int nextBit(long mask, int from) { // -1 if not found
+        if (from > 63) {
+            return -1;
+        }
+        final long candidate = mask & (-1L << from);
+        return candidate != 0L ? Long.numberOfTrailingZeros(candidate) : -1;
+    }
+
+    protected static int previousBit(long mask, int to) { // -1 if not found
+        if (to < 0) {
+            return -1;
+        }
+        final long candidate = to >= 63 ? mask : mask & ((2L << to) - 1L);
+        return candidate != 0L ? 63 - Long.numberOfLeadingZeros(candidate) : -1;
+    }
+
+    // -----------------------------------------------------
+    //                                   Calendar Arithmetic
+    //                                   -------------------
+    // proleptic Gregorian calendar same as java.time, by integer arithmetic to avoid allocation
+    protected static long toLocalSecond(int year, int month, int day, int hour, int minute, int second) {
+        return daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+
+    protected static long daysFromCivil(int year, int month, int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = Math.floorDiv(y, 400L);
+        final long yearOfEra = y - era * 400L; // 0-399
+        final long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2L) / 5L + day - 1L; // 0-365
+        final long dayOfEra = yearOfEra * 365L + yearOfEra / 4L - yearOfEra / 100L + dayOfYear; // 0-146096
+        return era * 146097L + dayOfEra - 719468L;
+    }
+
+    protected static int civilFromDays(long epochDay) { // packed as (year << 9 | month << 5 | day)
+        final long z = epochDay + 719468L;
+        final long era = Math.floorDiv(z, 146097L);
+        final long dayOfEra = z - era * 146097L; // 0-146096
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460L + dayOfEra / 36524L - dayOfEra / 146096L) / 365L; // 0-399
+        final long dayOfYear = dayOfEra - (365L * yearOfEra + yearOfEra / 4L - yearOfEra / 100L); // 0-365
+        final long mp = (5L * dayOfYear + 2L) / 153L; // 0-11 (March origin)
+        final int day = (int) (dayOfYear - (153L * mp + 2L) / 5L + 1L);
+        final int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        final int year = (int) (yearOfEra + era * 400L + (month <= 2 ? 1 : 0));
+        return (year << 9) | (month << 5) | day;
+    }
+
+    protected static int dayOfWeek(long epochDay) { // 0 is Sunday, 1970-01-01 is Thursday
+        return (int) Math.floorMod(epochDay + 4L, 7L);
+    }
+
+    protected static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    protected static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected void assertArgumentNotNull(String variableName, Object value) {
+        if (variableName == null) {
+            throw new IllegalArgumentException("The variableName should not be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "compiled:{" + cronExp + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getCronExp() {
+        return cronExp;
+    }
+
+    public List<CronFieldMask> getFieldMaskList() {
+        return fieldMaskList;
+    }
+
+    public boolean isSecondsSpecified() {
+        return secondsSpecified;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.dbflute.optional.OptionalThing;
+
+/**
+ * The reentrant lock that can record how long acquisitions waited and who held it. <br>
+ * Plain lock() records nothing, so it costs nothing if the instrumentation is disabled.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class ContentionRecordingLock extends ReentrantLock {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final long serialVersionUID = 1L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String lockName; // not null, e.g. job preparing, neighbor running (groupName)
+    protected final LongAdder acquiredCount = new LongAdder(); // recorded acquisitions only
+    protected final LongAdder contendedCount = new LongAdder(); // held by other thread or queued when acquiring
+    protected final LongAdder totalWaitNanos = new LongAdder(); // of contended acquisitions
+    protected final AtomicLong maxWaitNanos = new AtomicLong();
+    protected volatile String lastHolderName; // null allowed, thread name holding it at latest contention
+    protected volatile String maxWaitHolderName; // null allowed, thread name holding it at max wait
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ContentionRecordingLock(String lockName, boolean fair) {
+        super(fair);
+        if (lockName == null) {
+            throw new IllegalArgumentException("The argument 'lockName' should not be null.");
+        }
+        this.lockName = lockName;
+    }
+
+    // ===================================================================================
+    //                                                                      Recording Lock
+    //                                                                      ==============
+    /**
+     * Acquire the lock with recording the waiting time and the holder if contended.
+     * @return The nanoseconds of waiting, zero if not contended.
+     */
+    public long lockRecording() {
+        final Thread holder = getOwner(); // approximate, may be released soon
+        final boolean contended = (holder != null && holder != Thread.currentThread()) || hasQueuedThreads();
+        if (!contended) {
+            lock();
+            acquiredCount.increment();
+            return 0L;
+        }
+        final long beginNanos = System.nanoTime();
+        lock();
+        final long waitNanos = System.nanoTime() - beginNanos;
+        recordContention(holder, waitNanos);
+        return waitNanos;
+    }
+
+    protected void recordContention(Thread holder, long waitNanos) {
+        acquiredCount.increment();
+        contendedCount.increment();
+        totalWaitNanos.add(waitNanos);
+        final String holderName = holder != null ? holder.getName() : null; // null if only queued
+        if (holderName != null) {
+            lastHolderName = holderName;
+        }
+        long currentMax;
+        while (waitNanos > (currentMax = maxWaitNanos.get())) {
+            if (maxWaitNanos.compareAndSet(currentMax, waitNanos)) {
+                maxWaitHolderName = holderName; // may be crossed with other max, rough is enough
+                break;
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    public JobLockContention takeContentionSnapshot() {
+        final Thread owner = getOwner();
+        return new JobLockContention(lockName, acquiredCount.sum(), contendedCount.sum(), totalWaitNanos.sum(), maxWaitNanos.get(),
+                OptionalThing.ofNullable(maxWaitHolderName, () -> {
+                    throw new IllegalStateException("Not found the holder at max wait: " + lockName);
+                }), OptionalThing.ofNullable(lastHolderName, () -> {
+                    throw new IllegalStateException("Not found the last holder: " + lockName);
+                }), OptionalThing.ofNullable(owner != null ? owner.getName() : null, () -> {
+                    throw new IllegalStateException("Not found the current owner: " + lockName);
+                }), getQueueLength());
+    }
+
+    /**
+     * @return The optional name of thread that holds the lock now. (NotNull, EmptyAllowed: not locked)
+     */
+    public OptionalThing<String> findOwnerThreadName() {
+        final Thread owner = getOwner();
+        return OptionalThing.ofNullable(owner != null ? owner.getName() : null, () -> {
+            throw new IllegalStateException("Not found the owner thread: " + lockName);
+        });
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "contentionLock:{" + lockName + ", " + super.toString() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getLockName() {
+        return lockName;
+    }
+}
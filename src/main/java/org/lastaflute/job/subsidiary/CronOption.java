@@ -41,6 +41,11 @@ public class CronOption implements InitialCronOption, VaryingCronOption, JobSubI
     protected List<LaJobKey> triggeringJobKeyList;
     protected JobNoticeLogLevel noticeLogLevel = JobNoticeLogLevel.INFO;
     protected boolean outlawParallelGranted;
+    protected boolean virtualThreadUsed;
+    protected List<String> executionGroupNameList; // null allowed, lazy-loaded
+    protected FireSpreading fireSpreading; // null allowed (runner's spreading is used if null)
+    protected JobMisfirePolicy misfirePolicy = JobMisfirePolicy.SKIP; // same as native cron4j as default
+    protected int misfireCatchUpLimit; // zero if skip
 
     // ===================================================================================
     //                                                                              Facade
@@ -121,6 +126,74 @@ public class CronOption implements InitialCronOption, VaryingCronOption, JobSubI
         return this;
     }
 
+    // -----------------------------------------------------
+    //                                        Virtual Thread
+    //                                        --------------
+    @Override
+    public CronOption useVirtualThread() {
+        virtualThreadUsed = true;
+        return this;
+    }
+
+    // -----------------------------------------------------
+    //                                       Execution Group
+    //                                       ---------------
+    @Override
+    public CronOption inExecutionGroup(String groupName) {
+        if (groupName == null || groupName.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'groupName' should not be null or empty: [" + groupName + "]");
+        }
+        if (executionGroupNameList == null) {
+            executionGroupNameList = new ArrayList<String>(2);
+        }
+        if (!executionGroupNameList.contains(groupName)) {
+            executionGroupNameList.add(groupName);
+        }
+        return this;
+    }
+
+    // -----------------------------------------------------
+    //                                           Fire Spread
+    //                                           -----------
+    @Override
+    public CronOption spreadFireTime(int windowSeconds) {
+        fireSpreading = newFireSpreading(FireSpreading.FireSpreadType.HASHED, windowSeconds);
+        return this;
+    }
+
+    @Override
+    public CronOption spreadFireTimeRandomly(int windowSeconds) {
+        fireSpreading = newFireSpreading(FireSpreading.FireSpreadType.RANDOM, windowSeconds);
+        return this;
+    }
+
+    protected FireSpreading newFireSpreading(FireSpreading.FireSpreadType spreadType, int windowSeconds) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("The argument 'windowSeconds' should be positive: " + windowSeconds);
+        }
+        return new FireSpreading(spreadType, windowSeconds * 1000L);
+    }
+
+    // -----------------------------------------------------
+    //                                               Misfire
+    //                                               -------
+    @Override
+    public CronOption catchUpMisfireOnce() {
+        misfirePolicy = JobMisfirePolicy.FIRE_ONCE;
+        misfireCatchUpLimit = 1;
+        return this;
+    }
+
+    @Override
+    public CronOption catchUpMisfire(int catchUpLimit) {
+        if (catchUpLimit <= 0) {
+            throw new IllegalArgumentException("The argument 'catchUpLimit' should be positive: " + catchUpLimit);
+        }
+        misfirePolicy = JobMisfirePolicy.FIRE_ALL;
+        misfireCatchUpLimit = catchUpLimit;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                      Basic Override
     //                                                                      ==============
@@ -128,7 +201,11 @@ public class CronOption implements InitialCronOption, VaryingCronOption, JobSubI
     public String toString() {
         final String uniqueExp = jobUnique != null ? "hasJobUnique(" + jobUnique + ")" : "noJobUnique";
         final String paramsExp = paramsSupplier != null ? "hasParams" : "noParams";
-        return "option:{" + uniqueExp + ", " + paramsExp + ", " + noticeLogLevel + "}";
+        final String virtualExp = virtualThreadUsed ? ", virtualThread" : "";
+        final String groupExp = executionGroupNameList != null ? ", group" + executionGroupNameList : "";
+        final String spreadExp = fireSpreading != null ? ", " + fireSpreading : "";
+        final String misfireExp = misfirePolicy != JobMisfirePolicy.SKIP ? ", misfire=" + misfirePolicy + "(" + misfireCatchUpLimit + ")" : "";
+        return "option:{" + uniqueExp + ", " + paramsExp + ", " + noticeLogLevel + virtualExp + groupExp + spreadExp + misfireExp + "}";
     }
 
     // ===================================================================================
@@ -169,4 +246,31 @@ public class CronOption implements InitialCronOption, VaryingCronOption, JobSubI
     public boolean isOutlawParallelGranted() {
         return outlawParallelGranted;
     }
+
+    @Override
+    public boolean isVirtualThreadUsed() {
+        return virtualThreadUsed;
+    }
+
+    @Override
+    public List<String> getExecutionGroupNameList() {
+        return executionGroupNameList != null ? Collections.unmodifiableList(executionGroupNameList) : Collections.emptyList();
+    }
+
+    @Override
+    public OptionalThing<FireSpreading> getFireSpreading() {
+        return OptionalThing.ofNullable(fireSpreading, () -> {
+            throw new IllegalStateException("Not found the fire spreading.");
+        });
+    }
+
+    @Override
+    public JobMisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+    @Override
+    public int getMisfireCatchUpLimit() {
+        return misfireCatchUpLimit;
+    }
 }
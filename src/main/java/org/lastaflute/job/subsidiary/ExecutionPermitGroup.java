@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The group of execution permits, which limits count of concurrently executing jobs. <br>
+ * Unlike neighbor concurrent group (mutual exclusion), it has N permits,
+ * and jobs beyond the limit wait for a permit in arrival order (not quit, not error).
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class ExecutionPermitGroup {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The group name of global execution limit (for all jobs). */
+    public static final String GLOBAL_GROUP_NAME = "$global";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String groupName; // not null
+    protected final int permits; // positive
+    protected final Semaphore semaphore; // not null, fair for waiting order
+
+    protected final LongAdder acquiredCount = new LongAdder(); // count of executions
+    protected final LongAdder waitedCount = new LongAdder(); // count of executions that waited for permit
+    protected final LongAdder totalWaitMillis = new LongAdder();
+    protected final AtomicLong maxWaitMillis = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ExecutionPermitGroup(String groupName, int permits) {
+        if (groupName == null || groupName.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'groupName' should not be null or empty: [" + groupName + "]");
+        }
+        if (permits <= 0) {
+            throw new IllegalArgumentException("The argument 'permits' should be positive: " + permits);
+        }
+        this.groupName = groupName;
+        this.permits = permits;
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    // ===================================================================================
+    //                                                                      Acquire/Release
+    //                                                                      ===============
+    /**
+     * Acquire one permit, waiting until a permit is available.
+     * @return The wait time for the permit in milliseconds. (zero if no wait)
+     * @throws InterruptedException When the thread is interrupted while waiting, e.g. stopNow().
+     */
+    public long acquire() throws InterruptedException {
+        if (semaphore.tryAcquire()) { // fast path, no measurement needed
+            acquiredCount.increment();
+            return 0L;
+        }
+        final long before = System.nanoTime();
+        semaphore.acquire();
+        final long waitMillis = (System.nanoTime() - before) / 1000000L;
+        acquiredCount.increment();
+        waitedCount.increment();
+        totalWaitMillis.add(waitMillis);
+        maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+        return waitMillis;
+    }
+
+    /**
+     * Release the permit acquired by acquire().
+     */
+    public void release() {
+        semaphore.release();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "permitGroup:{" + groupName + ", " + permits + " permits, available=" + getAvailablePermits() + ", waiting="
+                + getWaitingCount() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int getWaitingCount() { // estimate
+        return semaphore.getQueueLength();
+    }
+
+    public long getAcquiredCount() {
+        return acquiredCount.sum();
+    }
+
+    public long getWaitedCount() {
+        return waitedCount.sum();
+    }
+
+    public long getTotalWaitMillis() {
+        return totalWaitMillis.sum();
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis.get();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The policy to spread fire time of jobs within the window, to avoid stampede at e.g. top of minute. <br>
+ * Hash-based offset is deterministic per job (same job always fires at same offset),
+ * so the interval of the job keeps, and random offset is changed per fire.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class FireSpreading {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public enum FireSpreadType {
+        /** deterministic offset from job identity (LaJobUnique or LaJobKey) */
+        HASHED,
+        /** random offset per fire */
+        RANDOM
+    }
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final FireSpreadType spreadType; // not null
+    protected final long windowMillis; // positive
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public FireSpreading(FireSpreadType spreadType, long windowMillis) {
+        if (spreadType == null) {
+            throw new IllegalArgumentException("The argument 'spreadType' should not be null.");
+        }
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'windowMillis' should be positive: " + windowMillis);
+        }
+        this.spreadType = spreadType;
+        this.windowMillis = windowMillis;
+    }
+
+    // ===================================================================================
+    //                                                                       Offset Millis
+    //                                                                       =============
+    /**
+     * @param identity The identity string of job for hash-based offset, e.g. job unique, job key. (NotNull)
+     * @return The offset milliseconds to delay the fire, within zero (inclusive) to window (exclusive).
+     */
+    public long determineOffsetMillis(String identity) {
+        if (spreadType == FireSpreadType.RANDOM) {
+            return ThreadLocalRandom.current().nextLong(windowMillis);
+        }
+        return Math.floorMod(mixHash(identity), windowMillis);
+    }
+
+    protected long mixHash(String identity) { // String.hashCode() is too close between similar keys
+        long hash = identity.hashCode();
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL; // finalizer of MurmurHash3
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "spreading:{" + spreadType + ", window=" + windowMillis + "ms}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public FireSpreadType getSpreadType() {
+        return spreadType;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+}
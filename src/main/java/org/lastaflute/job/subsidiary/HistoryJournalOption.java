@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+/**
+ * The option of history journal that saves job histories to local files to survive restarts. <br>
+ * The journal consists of fixed-size segment files, the oldest segment is deleted when the count is over.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class HistoryJournalOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String directory; // not null, path of directory for segment files
+    protected int segmentBytes = 4 * 1024 * 1024; // as framework default
+    protected int maxSegmentCount = 8; // as framework default
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public HistoryJournalOption(String directory) {
+        if (directory == null || directory.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'directory' should not be null or empty: " + directory);
+        }
+        this.directory = directory;
+    }
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param segmentBytes The size of one segment file (memory-mapped), should be enough for several histories. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public HistoryJournalOption segmentBytes(int segmentBytes) {
+        if (segmentBytes < 64 * 1024) {
+            throw new IllegalArgumentException("The argument 'segmentBytes' should be over or equal 64KB: " + segmentBytes);
+        }
+        this.segmentBytes = segmentBytes;
+        return this;
+    }
+
+    /**
+     * @param maxSegmentCount The max count of segment files kept in the directory. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public HistoryJournalOption maxSegmentCount(int maxSegmentCount) {
+        if (maxSegmentCount <= 0) {
+            throw new IllegalArgumentException("The argument 'maxSegmentCount' should be positive: " + maxSegmentCount);
+        }
+        this.maxSegmentCount = maxSegmentCount;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "journal:{" + directory + ", segment=" + segmentBytes + "bytes, max=" + maxSegmentCount + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public int getMaxSegmentCount() {
+        return maxSegmentCount;
+    }
+}
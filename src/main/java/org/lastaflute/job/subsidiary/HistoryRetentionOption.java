@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.lastaflute.job.LaJobHistory;
+
+/**
+ * The option of history retention in memory in addition to the limit count of histories. <br>
+ * The policies are evaluated for the oldest histories when a history is recorded,
+ * and the minimum per job protects the latest histories of each job from any eviction.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class HistoryRetentionOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<HistoryRetentionPolicy> policyList = new ArrayList<HistoryRetentionPolicy>(); // not null
+    protected int minimumPerJob; // zero means no protection
+    protected String policyExp = ""; // for display
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * Evict histories recorded before the age.
+     * @param maxAge The max age of history from its recording. (NotNull, Positive)
+     * @return this. (NotNull)
+     */
+    public HistoryRetentionOption maxAge(Duration maxAge) {
+        if (maxAge == null || maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("The argument 'maxAge' should be positive: " + maxAge);
+        }
+        final long maxAgeMillis = maxAge.toMillis();
+        policyList.add((oldestHistory, recordedMillis, currentMillis, approximateBytes) -> {
+            return currentMillis - recordedMillis > maxAgeMillis;
+        });
+        policyExp = policyExp + ", maxAge=" + maxAge;
+        return this;
+    }
+
+    /**
+     * Evict the oldest histories while approximate bytes of all histories are over the max. <br>
+     * The bytes are estimated by attributes of history, e.g. cause, end-title-roll, so not exact.
+     * @param maxBytes The max approximate bytes of all histories in memory. (Positive)
+     * @return this. (NotNull)
+     */
+    public HistoryRetentionOption maxBytes(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The argument 'maxBytes' should be positive: " + maxBytes);
+        }
+        policyList.add((oldestHistory, recordedMillis, currentMillis, approximateBytes) -> {
+            return approximateBytes > maxBytes;
+        });
+        policyExp = policyExp + ", maxBytes=" + maxBytes;
+        return this;
+    }
+
+    /**
+     * Keep the latest histories of each job even if they are over the limit or evicted by policies. <br>
+     * e.g. a chatty once-per-minute job cannot evict the only history of a nightly job.
+     * @param minimumPerJob The count of latest histories kept per job. (Positive)
+     * @return this. (NotNull)
+     */
+    public HistoryRetentionOption minimumPerJob(int minimumPerJob) {
+        if (minimumPerJob <= 0) {
+            throw new IllegalArgumentException("The argument 'minimumPerJob' should be positive: " + minimumPerJob);
+        }
+        this.minimumPerJob = minimumPerJob;
+        return this;
+    }
+
+    /**
+     * @param policy The your own policy of retention, evaluated cheaply on recording. (NotNull)
+     * @return this. (NotNull)
+     */
+    public HistoryRetentionOption evictBy(HistoryRetentionPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("The argument 'policy' should not be null.");
+        }
+        policyList.add(policy);
+        policyExp = policyExp + ", custom=" + policy;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                          Evaluation
+    //                                                                          ==========
+    public boolean hasPolicy() {
+        return !policyList.isEmpty();
+    }
+
+    public boolean needsEviction(LaJobHistory oldestHistory, long recordedMillis, long currentMillis,
+            long approximateBytes) {
+        for (int i = 0; i < policyList.size(); i++) { // without iterator on job thread
+            final HistoryRetentionPolicy policy = policyList.get(i);
+            if (policy.needsEviction(oldestHistory, recordedMillis, currentMillis, approximateBytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "retention:{minimumPerJob=" + minimumPerJob + policyExp + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public List<HistoryRetentionPolicy> getPolicyList() {
+        return Collections.unmodifiableList(policyList);
+    }
+
+    public int getMinimumPerJob() {
+        return minimumPerJob;
+    }
+}
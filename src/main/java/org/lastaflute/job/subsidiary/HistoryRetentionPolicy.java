@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import org.lastaflute.job.LaJobHistory;
+
+/**
+ * The policy of history retention, evaluated for the oldest history in memory when a history is recorded. <br>
+ * The evaluation should be cheap because it runs on job thread (no I/O).
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+@FunctionalInterface
+public interface HistoryRetentionPolicy {
+
+    /**
+     * @param oldestHistory The oldest history in memory, which is evicted if true is returned. (NotNull)
+     * @param recordedMillis The epoch milliseconds when the oldest history was recorded in memory.
+     * @param currentMillis The current epoch milliseconds of the evaluation.
+     * @param approximateBytes The approximate bytes of all histories in memory, estimated by their attributes.
+     * @return true if the oldest history should be evicted (then the next oldest is evaluated).
+     */
+    boolean needsEviction(LaJobHistory oldestHistory, long recordedMillis, long currentMillis, long approximateBytes);
+}
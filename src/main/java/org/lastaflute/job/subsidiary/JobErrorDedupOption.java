@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.time.Duration;
+
+/**
+ * The option of deduplicated error logging of jobs. <br>
+ * The same error (exception types and top stack frames) of a job is logged with full stack trace once per window,
+ * and repeats in the window are only counted and summarized.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobErrorDedupOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected long suppressionWindowMillis = 10 * 60 * 1000L; // as default
+    protected int topFrameCount = 5; // as default, per exception in cause chain
+    protected int maxFingerprintPerJob = 32; // as default, not suppressed (always logged) over it
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param suppressionWindow The window to suppress the same error after logging it, 10 minutes as default. (NotNull, Positive)
+     * @return this. (NotNull)
+     */
+    public JobErrorDedupOption suppressionWindow(Duration suppressionWindow) {
+        if (suppressionWindow == null || suppressionWindow.isNegative() || suppressionWindow.isZero()) {
+            throw new IllegalArgumentException("The argument 'suppressionWindow' should be positive: " + suppressionWindow);
+        }
+        this.suppressionWindowMillis = suppressionWindow.toMillis();
+        return this;
+    }
+
+    /**
+     * @param topFrameCount The count of top stack frames for fingerprint per exception, 5 as default. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public JobErrorDedupOption topFrameCount(int topFrameCount) {
+        if (topFrameCount < 0) {
+            throw new IllegalArgumentException("The argument 'topFrameCount' should not be minus: " + topFrameCount);
+        }
+        this.topFrameCount = topFrameCount;
+        return this;
+    }
+
+    /**
+     * @param maxFingerprintPerJob The max count of tracked fingerprints per job, 32 as default. (Positive)
+     * @return this. (NotNull)
+     */
+    public JobErrorDedupOption maxFingerprintPerJob(int maxFingerprintPerJob) {
+        if (maxFingerprintPerJob <= 0) {
+            throw new IllegalArgumentException("The argument 'maxFingerprintPerJob' should be positive: " + maxFingerprintPerJob);
+        }
+        this.maxFingerprintPerJob = maxFingerprintPerJob;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "errorDedup:{window=" + suppressionWindowMillis + "ms, topFrame=" + topFrameCount + ", maxFingerprint="
+                + maxFingerprintPerJob + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getSuppressionWindowMillis() {
+        return suppressionWindowMillis;
+    }
+
+    public int getTopFrameCount() {
+        return topFrameCount;
+    }
+
+    public int getMaxFingerprintPerJob() {
+        return maxFingerprintPerJob;
+    }
+}
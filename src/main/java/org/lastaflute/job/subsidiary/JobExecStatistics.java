@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.lastaflute.job.key.LaJobKey;
+
+/**
+ * The statistics of job executions, always recorded by framework when job history is recorded. (thread-safe) <br>
+ * It keeps only counters and fixed-memory histograms, so recording needs no allocation.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobExecStatistics {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final long NONE_MILLIS = Long.MIN_VALUE; // means no time, e.g. not begun
+    protected static final ExecResultType[] RESULT_TYPES = ExecResultType.values();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final LaJobKey jobKey; // not null
+    protected final LongAdder[] resultCounts; // indexed by ordinal of result type
+    protected final LatencyHistogram durationHistogram = new LatencyHistogram(); // from begin to end
+    protected final LatencyHistogram queueWaitHistogram = new LatencyHistogram(); // from activation to begin
+    protected final LatencyHistogram lockWaitHistogram = new LatencyHistogram(); // for concurrent control
+    protected final LatencyHistogram permitWaitHistogram = new LatencyHistogram(); // for execution group and global limit
+    protected final LatencyHistogram hookTimeHistogram = new LatencyHistogram(); // of history hook on job thread
+    protected final LatencyHistogram fireLagHistogram = new LatencyHistogram(); // from planned time to activation
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public JobExecStatistics(LaJobKey jobKey) {
+        this.jobKey = jobKey;
+        this.resultCounts = new LongAdder[RESULT_TYPES.length];
+        for (int i = 0; i < resultCounts.length; i++) {
+            resultCounts[i] = new LongAdder();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * @param resultType The type of execution result. (NotNull)
+     * @param activationMillis The epoch milliseconds of activation.
+     * @param beginMillis The epoch milliseconds of beginning, NONE_MILLIS if no execution (e.g. quit by concurrent).
+     * @param endMillis The epoch milliseconds of ending, NONE_MILLIS if no execution.
+     */
+    public void record(ExecResultType resultType, long activationMillis, long beginMillis, long endMillis) {
+        resultCounts[resultType.ordinal()].increment();
+        if (beginMillis != NONE_MILLIS) {
+            queueWaitHistogram.record(beginMillis - activationMillis);
+            if (endMillis != NONE_MILLIS) {
+                durationHistogram.record(endMillis - beginMillis);
+            }
+        }
+    }
+
+    /**
+     * @param millis The milliseconds waiting for locks of concurrent control. (NotMinus)
+     */
+    public void recordLockWait(long millis) {
+        lockWaitHistogram.record(millis);
+    }
+
+    /**
+     * @param millis The milliseconds waiting for execution permits of groups and global limit. (NotMinus)
+     */
+    public void recordPermitWait(long millis) {
+        permitWaitHistogram.record(millis);
+    }
+
+    /**
+     * @param millis The milliseconds of history hook called on job thread. (NotMinus)
+     */
+    public void recordHookTime(long millis) {
+        hookTimeHistogram.record(millis);
+    }
+
+    /**
+     * @param millis The milliseconds from planned fire time (or launch request time) to activation. (NotMinus)
+     */
+    public void recordFireLag(long millis) {
+        fireLagHistogram.record(millis);
+    }
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    public JobStatisticsSnapshot snapshot() {
+        final Map<ExecResultType, Long> countMap = new EnumMap<ExecResultType, Long>(ExecResultType.class);
+        for (ExecResultType resultType : RESULT_TYPES) {
+            countMap.put(resultType, resultCounts[resultType.ordinal()].sum());
+        }
+        return new JobStatisticsSnapshot(jobKey, countMap, durationHistogram.summarize(), queueWaitHistogram.summarize(),
+                lockWaitHistogram.summarize(), hookTimeHistogram.summarize(), fireLagHistogram.summarize(),
+                permitWaitHistogram.summarize());
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public LaJobKey getJobKey() {
+        return jobKey;
+    }
+}
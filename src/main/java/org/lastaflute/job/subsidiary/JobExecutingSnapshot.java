@@ -32,15 +32,41 @@ public class JobExecutingSnapshot {
     protected final int executingCount;
     protected final OptionalThing<SnapshotExecState> mainExecState; // empty if no running
     protected final List<SnapshotExecState> outlawParallelExecStateList; // running only, not null
+    protected final List<JobLockContention> lockContentionList; // not null, empty if not recorded
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public JobExecutingSnapshot(int executingCount, OptionalThing<SnapshotExecState> mainExecState,
             List<SnapshotExecState> outlawParallelExecStateList) {
+        this(executingCount, mainExecState, outlawParallelExecStateList, Collections.emptyList());
+    }
+
+    public JobExecutingSnapshot(int executingCount, OptionalThing<SnapshotExecState> mainExecState,
+            List<SnapshotExecState> outlawParallelExecStateList, List<JobLockContention> lockContentionList) {
         this.executingCount = executingCount;
         this.mainExecState = mainExecState;
         this.outlawParallelExecStateList = outlawParallelExecStateList;
+        this.lockContentionList = lockContentionList;
+    }
+
+    // ===================================================================================
+    //                                                                          Debug Dump
+    //                                                                          ==========
+    /**
+     * Build the multi-line dump of lock contention for debug, e.g. when jobs stall.
+     * @return The display string of lock contention. (NotNull)
+     */
+    public String toLockContentionDump() {
+        if (lockContentionList.isEmpty()) {
+            return "*no lock contention recorded (recordLockContention() of runner is disabled?)";
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append("lock contention: executing=").append(executingCount);
+        for (JobLockContention contention : lockContentionList) {
+            sb.append("\n  ").append(contention.toDisplay());
+        }
+        return sb.toString();
     }
 
     // ===================================================================================
@@ -66,4 +92,8 @@ public class JobExecutingSnapshot {
     public List<SnapshotExecState> getOutlawParallelExecStateList() {
         return Collections.unmodifiableList(outlawParallelExecStateList); // just in case
     }
+
+    public List<JobLockContention> getLockContentionList() {
+        return Collections.unmodifiableList(lockContentionList);
+    }
 }
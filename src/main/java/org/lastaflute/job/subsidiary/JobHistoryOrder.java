@@ -0,0 +1,30 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+/**
+ * The order of job history iteration, by recording order. (not begun order)
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public enum JobHistoryOrder {
+
+    /** from the latest recorded history, e.g. for monitoring recent executions */
+    LATEST_FIRST,
+
+    /** from the oldest recorded history, same as list of histories */
+    OLDEST_FIRST
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.job.LaJobHistory;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobUnique;
+
+/**
+ * The option to search job histories, results are ordered by latest recording first.
+ * <pre>
+ * jobManager.searchJobHistoryList(op -&gt; {
+ *     op.byJobUnique(LaJobUnique.of("sea"));
+ *     op.byExecResultType(ExecResultType.CAUSED_BY_APPLICATION, ExecResultType.CAUSED_BY_FRAMEWORK);
+ *     op.activatedFrom(fromTime).activatedTo(toTime);
+ *     op.paging(20, 1);
+ * });
+ * </pre>
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobHistorySearchOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected LaJobKey jobKey; // null allowed
+    protected LaJobUnique jobUnique; // null allowed
+    protected Set<ExecResultType> execResultTypeSet; // null allowed (means all)
+    protected LocalDateTime activatedFrom; // null allowed, inclusive
+    protected LocalDateTime activatedTo; // null allowed, exclusive
+    protected int offset; // zero or positive
+    protected int limit = Integer.MAX_VALUE; // positive
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    // -----------------------------------------------------
+    //                                          Job Identity
+    //                                          ------------
+    public JobHistorySearchOption byJobKey(LaJobKey jobKey) {
+        if (jobKey == null) {
+            throw new IllegalArgumentException("The argument 'jobKey' should not be null.");
+        }
+        this.jobKey = jobKey;
+        return this;
+    }
+
+    public JobHistorySearchOption byJobUnique(LaJobUnique jobUnique) {
+        if (jobUnique == null) {
+            throw new IllegalArgumentException("The argument 'jobUnique' should not be null.");
+        }
+        this.jobUnique = jobUnique;
+        return this;
+    }
+
+    // -----------------------------------------------------
+    //                                      Execution Result
+    //                                      ----------------
+    public JobHistorySearchOption byExecResultType(ExecResultType... execResultTypes) {
+        if (execResultTypes == null || execResultTypes.length == 0) {
+            throw new IllegalArgumentException("The argument 'execResultTypes' should not be null or empty.");
+        }
+        this.execResultTypeSet = EnumSet.copyOf(Arrays.asList(execResultTypes));
+        return this;
+    }
+
+    /**
+     * @param activatedFrom The activation time as from-condition. (NotNull, Inclusive)
+     * @return this. (NotNull)
+     */
+    public JobHistorySearchOption activatedFrom(LocalDateTime activatedFrom) {
+        if (activatedFrom == null) {
+            throw new IllegalArgumentException("The argument 'activatedFrom' should not be null.");
+        }
+        this.activatedFrom = activatedFrom;
+        return this;
+    }
+
+    /**
+     * @param activatedTo The activation time as to-condition. (NotNull, Exclusive)
+     * @return this. (NotNull)
+     */
+    public JobHistorySearchOption activatedTo(LocalDateTime activatedTo) {
+        if (activatedTo == null) {
+            throw new IllegalArgumentException("The argument 'activatedTo' should not be null.");
+        }
+        this.activatedTo = activatedTo;
+        return this;
+    }
+
+    // -----------------------------------------------------
+    //                                                Paging
+    //                                                ------
+    public JobHistorySearchOption limit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("The argument 'limit' should be positive: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * @param pageSize The size of one page, should be positive.
+     * @param pageNumber The number of page, begins with 1.
+     * @return this. (NotNull)
+     */
+    public JobHistorySearchOption paging(int pageSize, int pageNumber) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The argument 'pageSize' should be positive: " + pageSize);
+        }
+        if (pageNumber <= 0) {
+            throw new IllegalArgumentException("The argument 'pageNumber' should be positive: " + pageNumber);
+        }
+        this.limit = pageSize;
+        this.offset = (int) Math.min((long) pageSize * (pageNumber - 1), Integer.MAX_VALUE);
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                               Match
+    //                                                                               =====
+    /**
+     * @param jobHistory The job history to be determined. (NotNull)
+     * @return true if the history matches with all conditions of this option.
+     */
+    public boolean matches(LaJobHistory jobHistory) {
+        if (jobKey != null && !jobKey.equals(jobHistory.getJobKey())) {
+            return false;
+        }
+        if (jobUnique != null && !jobHistory.getJobUnique().filter(uq -> uq.equals(jobUnique)).isPresent()) {
+            return false;
+        }
+        if (execResultTypeSet != null && !execResultTypeSet.contains(jobHistory.getExecResultType())) {
+            return false;
+        }
+        final LocalDateTime activationTime = jobHistory.getActivationTime();
+        if (activatedFrom != null && activationTime.isBefore(activatedFrom)) {
+            return false;
+        }
+        if (activatedTo != null && !activationTime.isBefore(activatedTo)) {
+            return false;
+        }
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("search:{");
+        sb.append("key=").append(jobKey).append(", unique=").append(jobUnique);
+        sb.append(", result=").append(execResultTypeSet);
+        sb.append(", activated=").append(activatedFrom).append("~").append(activatedTo);
+        sb.append(", offset=").append(offset).append(", limit=").append(limit);
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public OptionalThing<LaJobKey> getJobKey() {
+        return OptionalThing.ofNullable(jobKey, () -> {
+            throw new IllegalStateException("Not found the job key condition.");
+        });
+    }
+
+    public OptionalThing<LaJobUnique> getJobUnique() {
+        return OptionalThing.ofNullable(jobUnique, () -> {
+            throw new IllegalStateException("Not found the job unique condition.");
+        });
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import org.lastaflute.job.LaJobHistory;
+
+/**
+ * The visitor of job history for iteration without copying histories.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+@FunctionalInterface
+public interface JobHistoryVisitor {
+
+    /**
+     * @param jobHistory The visited job history. (NotNull)
+     * @return true if it continues to next history, false to stop the iteration.
+     */
+    boolean visit(LaJobHistory jobHistory);
+}
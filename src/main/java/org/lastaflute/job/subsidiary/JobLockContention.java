@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import org.dbflute.optional.OptionalThing;
+
+/**
+ * The snapshot of contention of a lock for concurrency control of job.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobLockContention {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String lockName; // not null
+    protected final long acquiredCount; // recorded acquisitions
+    protected final long contendedCount;
+    protected final long totalWaitNanos;
+    protected final long maxWaitNanos;
+    protected final OptionalThing<String> maxWaitHolderName; // not null, empty allowed
+    protected final OptionalThing<String> lastHolderName; // not null, empty allowed
+    protected final OptionalThing<String> currentOwnerName; // not null, empty if not locked now
+    protected final int queueLength; // estimated
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public JobLockContention(String lockName, long acquiredCount, long contendedCount, long totalWaitNanos, long maxWaitNanos,
+            OptionalThing<String> maxWaitHolderName, OptionalThing<String> lastHolderName, OptionalThing<String> currentOwnerName,
+            int queueLength) {
+        this.lockName = lockName;
+        this.acquiredCount = acquiredCount;
+        this.contendedCount = contendedCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.maxWaitHolderName = maxWaitHolderName;
+        this.lastHolderName = lastHolderName;
+        this.currentOwnerName = currentOwnerName;
+        this.queueLength = queueLength;
+    }
+
+    // ===================================================================================
+    //                                                                             Display
+    //                                                                             =======
+    public String toDisplay() { // one line for debug dump
+        final StringBuilder sb = new StringBuilder();
+        sb.append(lockName);
+        sb.append(": contended=").append(contendedCount).append("/").append(acquiredCount);
+        sb.append(", totalWait=").append(getTotalWaitMillis()).append("ms");
+        sb.append(", maxWait=").append(getMaxWaitMillis()).append("ms");
+        maxWaitHolderName.ifPresent(name -> sb.append(" (held by ").append(name).append(")"));
+        lastHolderName.ifPresent(name -> sb.append(", lastHolder=").append(name));
+        sb.append(", owner=").append(currentOwnerName.orElse("none"));
+        if (queueLength > 0) {
+            sb.append(", queued=").append(queueLength);
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "contention:{" + toDisplay() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getLockName() {
+        return lockName;
+    }
+
+    public long getAcquiredCount() {
+        return acquiredCount;
+    }
+
+    public long getContendedCount() {
+        return contendedCount;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getTotalWaitMillis() {
+        return totalWaitNanos / 1000000L;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitNanos / 1000000L;
+    }
+
+    public OptionalThing<String> getMaxWaitHolderName() {
+        return maxWaitHolderName;
+    }
+
+    public OptionalThing<String> getLastHolderName() {
+        return lastHolderName;
+    }
+
+    public OptionalThing<String> getCurrentOwnerName() {
+        return currentOwnerName;
+    }
+
+    public int getQueueLength() {
+        return queueLength;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.lastaflute.job.key.LaJobKey;
+
+/**
+ * The registry of job metrics updated by task on job thread, dependency-free. (thread-safe) <br>
+ * Counters and timers are per job (statistics), and gauges are for all jobs. <br>
+ * Recording is lock-free by adders, and recordings are bracketed by started/finished adders
+ * so that snapshot can retry until no recording is in-flight while reading (consistent snapshot).
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobMetricsRegistry {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int SNAPSHOT_RETRY_LIMIT = 16; // best effort after it
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<LaJobKey, JobExecStatistics> statisticsMap = new ConcurrentHashMap<LaJobKey, JobExecStatistics>();
+    protected final List<JobExecStatistics> statisticsList = new CopyOnWriteArrayList<JobExecStatistics>(); // registered order
+    protected final LongAdder executingCount = new LongAdder(); // gauge
+    protected final LongAdder outlawParallelCount = new LongAdder(); // gauge, executing outlaw parallel tasks
+    protected final LongAdder startedCount = new LongAdder(); // of recordings, incremented before recording
+    protected final LongAdder finishedCount = new LongAdder(); // of recordings, incremented after recording
+
+    // ===================================================================================
+    //                                                                        Registration
+    //                                                                        ============
+    /**
+     * @param jobKey The key of scheduled job. (NotNull)
+     * @return The statistics of the job, registered if not exists. (NotNull)
+     */
+    public JobExecStatistics register(LaJobKey jobKey) {
+        return statisticsMap.computeIfAbsent(jobKey, key -> {
+            final JobExecStatistics statistics = new JobExecStatistics(key);
+            statisticsList.add(statistics);
+            return statistics;
+        });
+    }
+
+    /**
+     * @param jobKey The key of disappeared job. (NotNull)
+     */
+    public void remove(LaJobKey jobKey) {
+        final JobExecStatistics removed = statisticsMap.remove(jobKey);
+        if (removed != null) {
+            statisticsList.remove(removed);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Gauge
+    //                                                                              =====
+    public void beginExecuting(boolean outlawParallel) {
+        startedCount.increment();
+        executingCount.increment();
+        if (outlawParallel) {
+            outlawParallelCount.increment();
+        }
+        finishedCount.increment();
+    }
+
+    public void endExecuting(boolean outlawParallel) {
+        startedCount.increment();
+        executingCount.decrement();
+        if (outlawParallel) {
+            outlawParallelCount.decrement();
+        }
+        finishedCount.increment();
+    }
+
+    // ===================================================================================
+    //                                                                      Counter, Timer
+    //                                                                      ==============
+    /**
+     * @param statistics The statistics of the job from register(). (NotNull)
+     * @param resultType The type of execution result. (NotNull)
+     * @param activationMillis The epoch milliseconds of activation.
+     * @param beginMillis The epoch milliseconds of beginning, NONE_MILLIS if no execution.
+     * @param endMillis The epoch milliseconds of ending, NONE_MILLIS if no execution.
+     */
+    public void recordExecution(JobExecStatistics statistics, ExecResultType resultType, long activationMillis, long beginMillis,
+            long endMillis) {
+        startedCount.increment();
+        statistics.record(resultType, activationMillis, beginMillis, endMillis);
+        finishedCount.increment();
+    }
+
+    public void recordLockWait(JobExecStatistics statistics, long millis) {
+        startedCount.increment();
+        statistics.recordLockWait(millis);
+        finishedCount.increment();
+    }
+
+    public void recordPermitWait(JobExecStatistics statistics, long millis) {
+        startedCount.increment();
+        statistics.recordPermitWait(millis);
+        finishedCount.increment();
+    }
+
+    public void recordHookTime(JobExecStatistics statistics, long millis) {
+        startedCount.increment();
+        statistics.recordHookTime(millis);
+        finishedCount.increment();
+    }
+
+    public void recordFireLag(JobExecStatistics statistics, long millis) {
+        startedCount.increment();
+        statistics.recordFireLag(millis);
+        finishedCount.increment();
+    }
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    /**
+     * Take the snapshot of all metrics, consistent if no recording is in-flight while reading. <br>
+     * It retries reading without blocking recorders, so it may be best-effort (not consistent) under heavy recording.
+     * @return The snapshot of metrics. (NotNull)
+     */
+    public JobMetricsSnapshot snapshot() {
+        JobMetricsSnapshot snapshot = null;
+        for (int i = 0; i < SNAPSHOT_RETRY_LIMIT; i++) {
+            final long finishedBefore = finishedCount.sum(); // monotonic, so started after == finished before means stable
+            snapshot = readSnapshot(true);
+            if (startedCount.sum() == finishedBefore) {
+                return snapshot;
+            }
+            Thread.yield();
+        }
+        return readSnapshot(false);
+    }
+
+    protected JobMetricsSnapshot readSnapshot(boolean consistent) {
+        final List<JobStatisticsSnapshot> jobList = new ArrayList<JobStatisticsSnapshot>(statisticsList.size());
+        for (JobExecStatistics statistics : statisticsList) {
+            jobList.add(statistics.snapshot());
+        }
+        return new JobMetricsSnapshot(System.currentTimeMillis(), executingCount.sum(), outlawParallelCount.sum(), jobList, consistent);
+    }
+}
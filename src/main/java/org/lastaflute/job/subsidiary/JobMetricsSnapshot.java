@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.job.key.LaJobKey;
+
+/**
+ * The snapshot of job metrics taken from the registry at once. (immutable)
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobMetricsSnapshot {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long takenMillis; // epoch milliseconds
+    protected final long executingCount; // gauge
+    protected final long outlawParallelCount; // gauge
+    protected final List<JobStatisticsSnapshot> jobStatisticsList; // not null, read-only, registered order
+    protected final boolean consistent; // false if best-effort under heavy recording
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public JobMetricsSnapshot(long takenMillis, long executingCount, long outlawParallelCount,
+            List<JobStatisticsSnapshot> jobStatisticsList, boolean consistent) {
+        this.takenMillis = takenMillis;
+        this.executingCount = executingCount;
+        this.outlawParallelCount = outlawParallelCount;
+        this.jobStatisticsList = Collections.unmodifiableList(jobStatisticsList);
+        this.consistent = consistent;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "metrics:{executing=" + executingCount + ", outlawParallel=" + outlawParallelCount + ", jobs=" + jobStatisticsList.size()
+                + (consistent ? "" : ", *best-effort") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getTakenMillis() {
+        return takenMillis;
+    }
+
+    public long getExecutingCount() {
+        return executingCount;
+    }
+
+    public long getOutlawParallelCount() {
+        return outlawParallelCount;
+    }
+
+    public List<JobStatisticsSnapshot> getJobStatisticsList() {
+        return jobStatisticsList;
+    }
+
+    public OptionalThing<JobStatisticsSnapshot> findJobStatistics(LaJobKey jobKey) {
+        final JobStatisticsSnapshot found = jobStatisticsList.stream().filter(st -> st.getJobKey().equals(jobKey)).findFirst().orElse(null);
+        return OptionalThing.ofNullable(found, () -> {
+            throw new IllegalStateException("Not found the statistics of the job: " + jobKey);
+        });
+    }
+
+    public boolean isConsistent() {
+        return consistent;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.subsidiary.LatencyHistogram.LatencySummary;
+
+/**
+ * The snapshot of job execution statistics since scheduling started. (immutable)
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobStatisticsSnapshot {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final LaJobKey jobKey; // not null
+    protected final Map<ExecResultType, Long> resultCountMap; // not null, all types exist
+    protected final LatencySummary duration; // not null, from begin to end
+    protected final LatencySummary queueWait; // not null, from activation to begin
+    protected final LatencySummary lockWait; // not null, for concurrent control
+    protected final LatencySummary hookTime; // not null, of history hook on job thread
+    protected final LatencySummary fireLag; // not null, from planned time to activation
+    protected final LatencySummary permitWait; // not null, for execution group and global limit
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public JobStatisticsSnapshot(LaJobKey jobKey, Map<ExecResultType, Long> resultCountMap, LatencySummary duration,
+            LatencySummary queueWait) {
+        this(jobKey, resultCountMap, duration, queueWait, LatencySummary.EMPTY, LatencySummary.EMPTY);
+    }
+
+    public JobStatisticsSnapshot(LaJobKey jobKey, Map<ExecResultType, Long> resultCountMap, LatencySummary duration,
+            LatencySummary queueWait, LatencySummary lockWait, LatencySummary hookTime) {
+        this(jobKey, resultCountMap, duration, queueWait, lockWait, hookTime, LatencySummary.EMPTY);
+    }
+
+    public JobStatisticsSnapshot(LaJobKey jobKey, Map<ExecResultType, Long> resultCountMap, LatencySummary duration,
+            LatencySummary queueWait, LatencySummary lockWait, LatencySummary hookTime, LatencySummary fireLag) {
+        this(jobKey, resultCountMap, duration, queueWait, lockWait, hookTime, fireLag, LatencySummary.EMPTY);
+    }
+
+    public JobStatisticsSnapshot(LaJobKey jobKey, Map<ExecResultType, Long> resultCountMap, LatencySummary duration,
+            LatencySummary queueWait, LatencySummary lockWait, LatencySummary hookTime, LatencySummary fireLag,
+            LatencySummary permitWait) {
+        this.jobKey = jobKey;
+        this.resultCountMap = Collections.unmodifiableMap(resultCountMap);
+        this.duration = duration;
+        this.queueWait = queueWait;
+        this.lockWait = lockWait;
+        this.hookTime = hookTime;
+        this.fireLag = fireLag;
+        this.permitWait = permitWait;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "statistics:{" + jobKey + ", runs=" + getTotalCount() + ", " + resultCountMap + ", duration=" + duration + ", queueWait="
+                + queueWait + ", lockWait=" + lockWait + ", hookTime=" + hookTime + ", fireLag=" + fireLag
+                + ", permitWait=" + permitWait + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public LaJobKey getJobKey() {
+        return jobKey;
+    }
+
+    public long getTotalCount() {
+        return resultCountMap.values().stream().mapToLong(count -> count).sum();
+    }
+
+    public long getResultCount(ExecResultType resultType) {
+        final Long count = resultCountMap.get(resultType);
+        return count != null ? count : 0L;
+    }
+
+    public Map<ExecResultType, Long> getResultCountMap() {
+        return resultCountMap;
+    }
+
+    public LatencySummary getDuration() {
+        return duration;
+    }
+
+    public LatencySummary getQueueWait() {
+        return queueWait;
+    }
+
+    public LatencySummary getLockWait() {
+        return lockWait;
+    }
+
+    public LatencySummary getPermitWait() {
+        return permitWait;
+    }
+
+    public LatencySummary getHookTime() {
+        return hookTime;
+    }
+
+    /**
+     * @return The summary of lag from planned fire time (or launch request time) to activation, large if scheduler is overloaded. (NotNull)
+     */
+    public LatencySummary getFireLag() {
+        return fireLag;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The histogram of latency in milliseconds by fixed-memory logarithmic buckets. (thread-safe) <br>
+ * Each power of two is divided into 8 buckets, so percentiles are approximate (error under 12.5%). <br>
+ * Recording needs no allocation, and summary is calculated when it is taken.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class LatencyHistogram {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int SUB_BUCKET_BITS = 3;
+    protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 8 per power of two
+    protected static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT; // covers long range
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+    protected final LongAdder totalCount = new LongAdder();
+    protected final LongAdder totalMillis = new LongAdder();
+    protected final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0L);
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * @param millis The latency in milliseconds, minus is treated as zero (e.g. clock adjustment).
+     */
+    public void record(long millis) {
+        final long value = Math.max(millis, 0L);
+        bucketCounts.incrementAndGet(toBucketIndex(value));
+        totalCount.increment();
+        totalMillis.add(value);
+        maxMillis.accumulate(value);
+    }
+
+    protected static int toBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value; // exact
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value); // over or equal sub-bucket bits
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int sub = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + sub;
+    }
+
+    protected static long toBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        final int sub = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        final long lowerBound = ((long) (SUB_BUCKET_COUNT + sub)) << shift;
+        return lowerBound + ((1L << shift) - 1L);
+    }
+
+    // ===================================================================================
+    //                                                                           Summarize
+    //                                                                           =========
+    public LatencySummary summarize() {
+        final long[] counts = new long[BUCKET_COUNT];
+        long count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) { // not atomic with other attributes, but enough for statistics
+            counts[i] = bucketCounts.get(i);
+            count += counts[i];
+        }
+        final long max = maxMillis.get();
+        final long mean = count > 0L ? totalMillis.sum() / Math.max(totalCount.sum(), 1L) : 0L;
+        return new LatencySummary(count, mean, percentile(counts, count, 0.50, max), percentile(counts, count, 0.90, max),
+                percentile(counts, count, 0.99, max), max);
+    }
+
+    protected long percentile(long[] counts, long count, double ratio, long max) {
+        if (count == 0L) {
+            return 0L;
+        }
+        final long rank = (long) Math.ceil(count * ratio);
+        long cumulative = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(toBucketUpperBound(i), max); // upper bound of the bucket, not over max
+            }
+        }
+        return max; // no way
+    }
+
+    // ===================================================================================
+    //                                                                      Latency Summary
+    //                                                                      ===============
+    /**
+     * The summary of latency histogram in milliseconds. (immutable)
+     */
+    public static class LatencySummary {
+
+        public static final LatencySummary EMPTY = new LatencySummary(0L, 0L, 0L, 0L, 0L, 0L); // e.g. not measured
+
+        protected final long count;
+        protected final long mean;
+        protected final long p50;
+        protected final long p90;
+        protected final long p99;
+        protected final long max;
+
+        public LatencySummary(long count, long mean, long p50, long p90, long p99, long max) {
+            this.count = count;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count + ", mean=" + mean + "ms, p50=" + p50 + "ms, p90=" + p90 + "ms, p99=" + p99 + "ms, max=" + max + "ms}";
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMean() {
+            return mean;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP90() {
+            return p90;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+}
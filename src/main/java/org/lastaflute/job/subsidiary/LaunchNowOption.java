@@ -19,6 +19,8 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.dbflute.optional.OptionalThing;
+
 /**
  * @author jflute
  * @since 0.4.6 (2017/05/01 Monday)
@@ -31,6 +33,7 @@ public class LaunchNowOption {
     protected Map<String, Object> parameterMap; // lazy-loaded
     protected boolean priorParams;
     protected boolean outlawParallel;
+    protected Long launchRequestedMillis; // null allowed, accepted by framework when launched
 
     // ===================================================================================
     //                                                                           Parameter
@@ -74,6 +77,13 @@ public class LaunchNowOption {
         return this;
     }
 
+    // ===================================================================================
+    //                                                                  Framework Handling
+    //                                                                  ==================
+    public void acceptLaunchRequestedMillis(long launchRequestedMillis) { // for lag of launch
+        this.launchRequestedMillis = launchRequestedMillis;
+    }
+
     // ===================================================================================
     //                                                                      Basic Override
     //                                                                      ==============
@@ -98,4 +108,10 @@ public class LaunchNowOption {
     public boolean isOutlawParallel() {
         return outlawParallel;
     }
+
+    public OptionalThing<Long> getLaunchRequestedMillis() {
+        return OptionalThing.ofNullable(launchRequestedMillis, () -> {
+            throw new IllegalStateException("Not found the launch requested millis.");
+        });
+    }
 }
@@ -17,6 +17,7 @@ package org.lastaflute.job.subsidiary;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.lastaflute.job.key.LaJobKey;
 
@@ -32,14 +33,14 @@ public class NeighborConcurrentGroup {
     protected final String groupName; // not null
     protected final JobConcurrentExec concurrentExec; // not null
     protected final Set<LaJobKey> neighborJobKeySet; // not null
-    protected final Object groupPreparingLock; // not null
-    protected final Object groupRunningLock; // not null
+    protected final ReentrantLock groupPreparingLock; // not null
+    protected final ReentrantLock groupRunningLock; // not null
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public NeighborConcurrentGroup(String groupName, JobConcurrentExec concurrentExec, Set<LaJobKey> neighborJobKeySet,
-            Object groupPreparingLock, Object groupRunningLock) {
+            ReentrantLock groupPreparingLock, ReentrantLock groupRunningLock) {
         assertArgumentNotNull("groupName", groupName);
         if (groupName.trim().isEmpty()) {
             throw new IllegalArgumentException("The argument 'groupName' should not be empty: [" + groupName + "]");
@@ -55,6 +56,30 @@ public class NeighborConcurrentGroup {
         this.groupRunningLock = groupRunningLock;
     }
 
+    /**
+     * Plain monitor object is not supported because jobs of the group are excluded by lock() of ReentrantLock.
+     * @param groupName The name of the group. (NotNull, NotEmpty)
+     * @param concurrentExec The concurrent execution type of the group. (NotNull)
+     * @param neighborJobKeySet The set of job keys in the group. (NotNull)
+     * @param groupPreparingLock The preparing lock of the group, should be ReentrantLock. (NotNull)
+     * @param groupRunningLock The running lock of the group, should be ReentrantLock. (NotNull)
+     * @throws IllegalArgumentException When the lock is not ReentrantLock.
+     */
+    @Deprecated
+    public NeighborConcurrentGroup(String groupName, JobConcurrentExec concurrentExec, Set<LaJobKey> neighborJobKeySet,
+            Object groupPreparingLock, Object groupRunningLock) { // use constructor with ReentrantLock
+        this(groupName, concurrentExec, neighborJobKeySet, toReentrantLock("groupPreparingLock", groupPreparingLock),
+                toReentrantLock("groupRunningLock", groupRunningLock));
+    }
+
+    protected static ReentrantLock toReentrantLock(String variableName, Object lock) { // null is checked later
+        if (lock != null && !(lock instanceof ReentrantLock)) { // plain monitor cannot exclude lock() of framework
+            String msg = "The argument '" + variableName + "' should be ReentrantLock: " + lock.getClass().getName();
+            throw new IllegalArgumentException(msg);
+        }
+        return (ReentrantLock) lock;
+    }
+
     // ===================================================================================
     //                                                                        Small Helper
     //                                                                        ============
@@ -90,11 +115,29 @@ public class NeighborConcurrentGroup {
         return Collections.unmodifiableSet(neighborJobKeySet);
     }
 
-    public Object getGroupPreparingLock() {
+    /**
+     * Synchronized block on the returned lock does not exclude jobs of the group, which use lock() of it.
+     * @return The preparing lock of the group as ReentrantLock. (NotNull)
+     */
+    @Deprecated
+    public Object getGroupPreparingLock() { // use getGroupPreparingReentrantLock()
+        return getGroupPreparingReentrantLock();
+    }
+
+    public ReentrantLock getGroupPreparingReentrantLock() {
         return groupPreparingLock;
     }
 
-    public Object getGroupRunningLock() {
+    /**
+     * Synchronized block on the returned lock does not exclude jobs of the group, which use lock() of it.
+     * @return The running lock of the group as ReentrantLock. (NotNull)
+     */
+    @Deprecated
+    public Object getGroupRunningLock() { // use getGroupRunningReentrantLock()
+        return getGroupRunningReentrantLock();
+    }
+
+    public ReentrantLock getGroupRunningReentrantLock() {
         return groupRunningLock;
     }
 }
@@ -15,6 +15,8 @@
  */
 package org.lastaflute.job.subsidiary;
 
+import org.dbflute.optional.OptionalThing;
+
 /**
  * @author jflute
  * @since 0.2.2 (2016/01/22 Friday at bay maihama)
@@ -23,10 +25,16 @@ public class VaryingCron {
 
     protected final String cronExp; // not null, might be non-cron
     protected final VaryingCronOption cronOption; // not null
+    protected final CompiledCronExp compiledCron; // null allowed when non-cron
+
+    public VaryingCron(String cronExp, VaryingCronOption cronOption) { // e.g. non-cron
+        this(cronExp, cronOption, null);
+    }
 
-    public VaryingCron(String cronExp, VaryingCronOption cronOption) {
+    public VaryingCron(String cronExp, VaryingCronOption cronOption, CompiledCronExp compiledCron) {
         this.cronExp = cronExp;
         this.cronOption = cronOption;
+        this.compiledCron = compiledCron;
     }
 
     @Override
@@ -41,4 +49,10 @@ public class VaryingCron {
     public VaryingCronOption getCronOption() {
         return cronOption;
     }
+
+    public OptionalThing<CompiledCronExp> getCompiledCron() {
+        return OptionalThing.ofNullable(compiledCron, () -> {
+            throw new IllegalStateException("Not found the compiled cron because of non-cron: " + cronExp);
+        });
+    }
 }
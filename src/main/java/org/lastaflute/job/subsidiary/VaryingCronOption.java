@@ -15,6 +15,8 @@
  */
 package org.lastaflute.job.subsidiary;
 
+import java.util.List;
+
 import org.dbflute.optional.OptionalThing;
 import org.lastaflute.job.log.JobNoticeLogLevel;
 
@@ -35,6 +37,54 @@ public interface VaryingCronOption {
 
     VaryingCronOption grantOutlawParallel();
 
+    /**
+     * Execute the job on virtual thread if the runtime supports it (platform thread if not). <br>
+     * It is effective for I/O-bound jobs, e.g. calling remote API.
+     * @return this. (NotNull)
+     */
+    VaryingCronOption useVirtualThread();
+
+    /**
+     * Execute the job in the execution group, which limits count of concurrently executing jobs. <br>
+     * The group should be defined by runner.defineExecutionGroup(), and you can specify several groups.
+     * @param groupName The name of execution group defined in job runner. (NotNull)
+     * @return this. (NotNull)
+     */
+    VaryingCronOption inExecutionGroup(String groupName);
+
+    /**
+     * Spread fire time of the job within the window by deterministic offset from job identity. <br>
+     * The offset is derived from job unique (or job key if no unique), so the job always fires at the same offset.
+     * <pre>
+     * cron.register("0 * * * *", SeaJob.class, waitIfConcurrent(), op -&gt; op.spreadFireTime(30)); // within 30 seconds
+     * </pre>
+     * @param windowSeconds The window of offset in seconds, should be positive and smaller than the cron interval.
+     * @return this. (NotNull)
+     */
+    VaryingCronOption spreadFireTime(int windowSeconds);
+
+    /**
+     * Spread fire time of the job within the window by random offset per fire.
+     * @param windowSeconds The window of offset in seconds, should be positive and smaller than the cron interval.
+     * @return this. (NotNull)
+     */
+    VaryingCronOption spreadFireTimeRandomly(int windowSeconds);
+
+    /**
+     * Fire the job once when fire times are missed by e.g. JVM pause (default is skip). <br>
+     * The catch-up execution is for the latest missed fire time, so use it with waitIfConcurrent().
+     * @return this. (NotNull)
+     */
+    VaryingCronOption catchUpMisfireOnce();
+
+    /**
+     * Fire the job for each missed fire time by e.g. JVM pause, up to the limit (default is skip). <br>
+     * If missed count is over the limit, latest ones are fired, so use it with waitIfConcurrent().
+     * @param catchUpLimit The max count of catch-up executions per stall, should be positive.
+     * @return this. (NotNull)
+     */
+    VaryingCronOption catchUpMisfire(int catchUpLimit);
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
@@ -43,4 +93,14 @@ public interface VaryingCronOption {
     JobNoticeLogLevel getNoticeLogLevel();
 
     boolean isOutlawParallelGranted();
+
+    boolean isVirtualThreadUsed();
+
+    List<String> getExecutionGroupNameList();
+
+    OptionalThing<FireSpreading> getFireSpreading();
+
+    JobMisfirePolicy getMisfirePolicy();
+
+    int getMisfireCatchUpLimit(); // zero if skip
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+/**
+ * The option of worker pool that executes job tasks on reused threads. <br>
+ * The pool is bounded: tasks are queued when all core threads are busy,
+ * extra threads are created until the max size when the queue is full,
+ * and the rejection type decides the behavior beyond that.
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class WorkerPoolOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int corePoolSize = 10; // as framework default
+    protected int maxPoolSize = 50; // as framework default
+    protected int queueCapacity = 100; // as framework default
+    protected long keepAliveSeconds = 60L; // as framework default
+    protected WorkerRejectionType rejectionType = WorkerRejectionType.FRESH_THREAD; // not null, no job loss as default
+
+    // ===================================================================================
+    //                                                                     Rejection Type
+    //                                                                     ==============
+    public enum WorkerRejectionType {
+
+        /** executes the rejected task on a fresh thread as the pool does not exist (no job loss) */
+        FRESH_THREAD,
+
+        /** throws the rejected execution exception (launch-now caller receives it, cron fire is logged as error) */
+        ERROR
+    }
+
+    // ===================================================================================
+    //                                                                              Facade
+    //                                                                              ======
+    /**
+     * @param corePoolSize The count of threads kept in the pool even if idle. (NotMinus)
+     * @param maxPoolSize The max count of threads in the pool, should be over or equal core size. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public WorkerPoolOption poolSize(int corePoolSize, int maxPoolSize) {
+        if (corePoolSize < 0) {
+            throw new IllegalArgumentException("The argument 'corePoolSize' should not be minus: " + corePoolSize);
+        }
+        if (maxPoolSize <= 0 || maxPoolSize < corePoolSize) {
+            String msg = "The argument 'maxPoolSize' should be positive and over or equal core size: " + maxPoolSize;
+            throw new IllegalArgumentException(msg + ", core=" + corePoolSize);
+        }
+        this.corePoolSize = corePoolSize;
+        this.maxPoolSize = maxPoolSize;
+        return this;
+    }
+
+    /**
+     * @param queueCapacity The capacity of waiting tasks when all core threads are busy, zero means direct hand-off. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public WorkerPoolOption queueCapacity(int queueCapacity) {
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("The argument 'queueCapacity' should not be minus: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * @param keepAliveSeconds The seconds to keep idle threads over the core size. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public WorkerPoolOption keepAliveSeconds(long keepAliveSeconds) {
+        if (keepAliveSeconds < 0) {
+            throw new IllegalArgumentException("The argument 'keepAliveSeconds' should not be minus: " + keepAliveSeconds);
+        }
+        this.keepAliveSeconds = keepAliveSeconds;
+        return this;
+    }
+
+    /**
+     * Throw the rejected execution exception when the pool is full. <br>
+     * (Default is to execute the task on a fresh thread)
+     * @return this. (NotNull)
+     */
+    public WorkerPoolOption rejectedAsError() {
+        this.rejectionType = WorkerRejectionType.ERROR;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "workerPool:{core=" + corePoolSize + ", max=" + maxPoolSize + ", queue=" + queueCapacity + ", keepAlive="
+                + keepAliveSeconds + "s, " + rejectionType + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public WorkerRejectionType getRejectionType() {
+        return rejectionType;
+    }
+}
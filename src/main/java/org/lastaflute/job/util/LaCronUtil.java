@@ -15,6 +15,7 @@
  */
 package org.lastaflute.job.util;
 
+import it.sauronsoftware.cron4j.RomanticCron4jSecondsPattern;
 import it.sauronsoftware.cron4j.SchedulingPattern;
 
 /**
@@ -24,13 +25,16 @@ import it.sauronsoftware.cron4j.SchedulingPattern;
 public abstract class LaCronUtil {
 
     /**
-     * @param cronExp The cron expression to be validated. (NotNull)
+     * @param cronExp The cron expression to be validated, seconds field is allowed. (NotNull)
      * @return true if valid.
      */
     public static boolean isCronExpValid(String cronExp) {
         if (cronExp == null) {
             throw new IllegalArgumentException("The argument 'cronExp' should not be null.");
         }
+        if (RomanticCron4jSecondsPattern.hasSecondsField(cronExp)) { // needs fire-queue engine to schedule
+            return RomanticCron4jSecondsPattern.validate(cronExp);
+        }
         return SchedulingPattern.validate(cronExp);
     }
 }
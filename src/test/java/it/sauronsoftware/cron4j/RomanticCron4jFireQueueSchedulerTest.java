@@ -0,0 +1,277 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+import it.sauronsoftware.cron4j.RomanticCron4jFireQueueScheduler.DueFire;
+import it.sauronsoftware.cron4j.RomanticCron4jFireQueueScheduler.FireQueueEntry;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jFireQueueSchedulerTest extends PlainTestCase {
+
+    private RecordingScheduler scheduler;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        scheduler = new RecordingScheduler();
+        scheduler.setDaemon(true);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (scheduler.isStarted()) {
+            scheduler.stop();
+        }
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                            Dispatch
+    //                                                                            ========
+    public void test_dispatch_orderByNextFire() throws Exception {
+        // ## Arrange ##
+        MockTask evenTask = new MockTask();
+        MockTask oddTask = new MockTask();
+        scheduler.schedule("*/2 * * * * *", evenTask);
+        scheduler.schedule("1-59/2 * * * * *", oddTask);
+
+        // ## Act ##
+        scheduler.start();
+
+        // ## Assert ##
+        FireRecord previous = null;
+        for (int i = 0; i < 3; i++) {
+            FireRecord record = pollFire();
+            log(record);
+            assertEquals(0L, record.plannedMillis % 1000L); // exact second
+            boolean evenSecond = (record.plannedMillis / 1000L) % 2L == 0L;
+            assertSame(evenSecond ? evenTask : oddTask, record.task);
+            if (previous != null) {
+                assertEquals(previous.plannedMillis + 1000L, record.plannedMillis); // one by one in planned order
+                assertNotSame(previous.task, record.task);
+            }
+            previous = record;
+        }
+        assertTrue(scheduler.misfireList.isEmpty());
+    }
+
+    public void test_dispatch_neverFired_toBeRescheduled() throws Exception {
+        // ## Arrange ##
+        MockTask task = new MockTask();
+        String id = scheduler.schedule("0 0 31 2 *", task); // February 31st does not exist
+        assertEquals(Long.MAX_VALUE, scheduler.entryMap.get(id).getNextFireMillis());
+        scheduler.start();
+        assertNull(scheduler.firedQueue.poll(1500L, TimeUnit.MILLISECONDS)); // dispatcher waits without busy loop
+
+        // ## Act ##
+        scheduler.reschedule(id, "* * * * * *"); // while the dispatcher waits
+
+        // ## Assert ##
+        FireRecord record = pollFire(); // woken up by signal
+        assertSame(task, record.task);
+        assertSame(task, scheduler.getTask(id));
+        assertEquals("* * * * * *", scheduler.getSchedulingPattern(id).toString());
+    }
+
+    public void test_dispatch_descheduled_notFired() throws Exception {
+        // ## Arrange ##
+        MockTask task = new MockTask();
+        String id = scheduler.schedule("* * * * * *", task);
+        scheduler.start();
+        pollFire();
+
+        // ## Act ##
+        scheduler.deschedule(id); // while the dispatcher waits for the next second
+
+        // ## Assert ##
+        assertNull(scheduler.getTask(id));
+        assertNull(scheduler.firedQueue.poll(2500L, TimeUnit.MILLISECONDS));
+    }
+
+    // ===================================================================================
+    //                                                                          Start/Stop
+    //                                                                          ==========
+    public void test_stop_joinDispatcher() throws Exception {
+        // ## Arrange ##
+        scheduler.schedule("* * * * * *", new MockTask());
+        scheduler.start();
+        Thread dispatcherThread = scheduler.dispatcherThread;
+        assertTrue(dispatcherThread.isAlive());
+
+        // ## Act ##
+        scheduler.stop();
+
+        // ## Assert ##
+        assertFalse(dispatcherThread.isAlive()); // already ended when returned
+        assertNull(scheduler.dispatcherThread);
+        scheduler.firedQueue.clear();
+        assertNull(scheduler.firedQueue.poll(1500L, TimeUnit.MILLISECONDS));
+    }
+
+    public void test_start_restart_stoppedTimeNotMisfire() throws Exception {
+        // ## Arrange ##
+        MockTask task = new MockTask();
+        scheduler.schedule("* * * * * *", task);
+        scheduler.start();
+        pollFire();
+        scheduler.stop();
+        Thread.sleep(2200L); // over the minimum interval so the old next fire time is overdue
+        scheduler.firedQueue.clear();
+        long restartMillis = System.currentTimeMillis();
+
+        // ## Act ##
+        scheduler.start();
+
+        // ## Assert ##
+        FireRecord record = pollFire();
+        log(record + ", restart=" + restartMillis);
+        assertTrue(record.plannedMillis > restartMillis); // rebased from now
+        assertTrue(scheduler.misfireList.isEmpty());
+    }
+
+    // ===================================================================================
+    //                                                                             Misfire
+    //                                                                             =======
+    public void test_pollDueFireList_late_misfire() {
+        // ## Arrange ##
+        MockTask task = new MockTask();
+        String id = scheduler.schedule("* * * * * *", task); // not started
+        long plannedMillis = 1_800_000_000_000L; // exact second
+        long currentMillis = plannedMillis + 5500L; // e.g. JVM pause
+        FireQueueEntry entry = prepareEntry(id, plannedMillis);
+
+        // ## Act ##
+        List<DueFire> dueFireList = pollDueFireList(currentMillis);
+
+        // ## Assert ##
+        assertEquals(1, dueFireList.size());
+        DueFire dueFire = dueFireList.get(0);
+        assertEquals(plannedMillis, dueFire.getPlannedMillis());
+        assertEquals(currentMillis, dueFire.getPolledMillis());
+        assertEquals(plannedMillis + 6000L, entry.getNextFireMillis()); // missed fires are skipped
+
+        // ## Act ##
+        scheduler.fireTask(dueFire);
+
+        // ## Assert ##
+        assertEquals(1, scheduler.firedQueue.size()); // the planned fire itself
+        assertEquals(1, scheduler.misfireList.size());
+        long[] misfire = scheduler.misfireList.get(0);
+        assertEquals(plannedMillis, misfire[0]);
+        assertEquals(currentMillis + 1L, misfire[1]); // current time is also missed (inclusive)
+    }
+
+    public void test_pollDueFireList_onTime_noMisfire() {
+        // ## Arrange ##
+        MockTask task = new MockTask();
+        String id = scheduler.schedule("* * * * * *", task); // not started
+        long plannedMillis = 1_800_000_000_000L;
+        long currentMillis = plannedMillis + 300L; // small delay
+        FireQueueEntry entry = prepareEntry(id, plannedMillis);
+
+        // ## Act ##
+        List<DueFire> dueFireList = pollDueFireList(currentMillis);
+        scheduler.fireTask(dueFireList.get(0));
+
+        // ## Assert ##
+        assertEquals(1, dueFireList.size());
+        assertTrue(dueFireList.get(0).getPolledMillis() < 0L);
+        assertEquals(plannedMillis + 1000L, entry.getNextFireMillis());
+        assertTrue(scheduler.misfireList.isEmpty());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    private FireRecord pollFire() throws InterruptedException {
+        FireRecord record = scheduler.firedQueue.poll(5L, TimeUnit.SECONDS);
+        assertNotNull(record);
+        return record;
+    }
+
+    private FireQueueEntry prepareEntry(String id, long nextFireMillis) {
+        scheduler.fireLock.lock();
+        try {
+            FireQueueEntry entry = scheduler.entryMap.get(id);
+            scheduler.fireQueue.remove(entry);
+            entry.setNextFireMillis(nextFireMillis);
+            scheduler.fireQueue.add(entry);
+            return entry;
+        } finally {
+            scheduler.fireLock.unlock();
+        }
+    }
+
+    private List<DueFire> pollDueFireList(long currentMillis) {
+        scheduler.fireLock.lock();
+        try {
+            return scheduler.pollDueFireList(currentMillis);
+        } finally {
+            scheduler.fireLock.unlock();
+        }
+    }
+
+    private static class RecordingScheduler extends RomanticCron4jFireQueueScheduler {
+
+        protected final BlockingQueue<FireRecord> firedQueue = new LinkedBlockingQueue<FireRecord>();
+        protected final List<long[]> misfireList = new CopyOnWriteArrayList<long[]>();
+
+        @Override
+        protected TaskExecutor spawnCronFire(Task task, long plannedFireMillis, boolean catchUp) {
+            firedQueue.add(new FireRecord(task, plannedFireMillis));
+            return null; // unused by dispatcher
+        }
+
+        @Override
+        protected void handleMisfire(Task task, long afterMillis, long beforeMillis) {
+            misfireList.add(new long[] { afterMillis, beforeMillis });
+        }
+    }
+
+    private static class FireRecord {
+
+        protected final Task task;
+        protected final long plannedMillis;
+
+        public FireRecord(Task task, long plannedMillis) {
+            this.task = task;
+            this.plannedMillis = plannedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "fire:{" + task + ", " + plannedMillis + "}";
+        }
+    }
+
+    private static class MockTask extends Task {
+
+        @Override
+        public void execute(TaskExecutionContext context) throws RuntimeException {
+        }
+    }
+}
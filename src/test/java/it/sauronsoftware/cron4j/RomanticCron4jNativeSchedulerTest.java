@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.LaJob;
+import org.lastaflute.job.LaJobRunner;
+import org.lastaflute.job.cron4j.Cron4jCron;
+import org.lastaflute.job.cron4j.Cron4jNow;
+import org.lastaflute.job.cron4j.Cron4jScheduler;
+import org.lastaflute.job.cron4j.Cron4jTask;
+import org.lastaflute.job.subsidiary.CronOption;
+import org.lastaflute.job.subsidiary.JobConcurrentExec;
+import org.lastaflute.job.subsidiary.LaunchNowOption;
+import org.lastaflute.job.subsidiary.VaryingCron;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jNativeSchedulerTest extends PlainTestCase {
+
+    private SpawnRecordingScheduler scheduler;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        scheduler = new SpawnRecordingScheduler();
+        scheduler.setDaemon(true);
+        scheduler.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (scheduler.isStarted()) {
+            scheduler.stop();
+        }
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                         Fire Spread
+    //                                                                         ===========
+    public void test_spawnCronFire_spread_delayedByTimer() throws Exception {
+        // ## Arrange ##
+        MockTask task = new MockTask();
+        scheduler.spreadMillis = 300L;
+        long plannedMillis = System.currentTimeMillis();
+
+        // ## Act ##
+        long beforeMillis = System.currentTimeMillis();
+        assertNull(scheduler.spawnCronFire(task, plannedMillis, false)); // not spawned yet
+
+        // ## Assert ##
+        SpawnRecord record = scheduler.spawnedQueue.poll(5L, TimeUnit.SECONDS);
+        assertNotNull(record);
+        assertTrue(record.spawnedMillis - beforeMillis >= 300L - 20L); // timer tolerance
+        assertSame(task, record.task);
+        assertFalse(record.nowOption.isPresent());
+        assertEquals(plannedMillis, record.fireAttr.get().getPlannedFireMillis()); // planned time is kept
+        assertEquals(300L, record.fireAttr.get().getSpreadMillis());
+    }
+
+    public void test_launchNow_notDelayed() throws Exception {
+        // ## Arrange ##
+        Cron4jTask task = createSpreadTask(new CronOption().spreadFireTime(60));
+        assertTrue(scheduler.determineFireSpreadMillis(task) > 0L); // cron fire is delayed
+        scheduler.spreadMillis = null; // real determination
+
+        // ## Act ##
+        scheduler.launchNow(task, new LaunchNowOption());
+
+        // ## Assert ##
+        SpawnRecord record = scheduler.spawnedQueue.poll(); // synchronously spawned
+        assertNotNull(record);
+        assertTrue(record.nowOption.isPresent());
+        assertFalse(record.fireAttr.isPresent());
+        assertNull(scheduler.spreadTimer); // no timer for launch-now
+    }
+
+    public void test_stop_pendingSpreadFireCanceled() throws Exception {
+        // ## Arrange ##
+        scheduler.spreadMillis = 500L;
+        scheduler.spawnCronFire(new MockTask(), System.currentTimeMillis(), false);
+        assertNotNull(scheduler.spreadTimer);
+
+        // ## Act ##
+        scheduler.stop();
+
+        // ## Assert ##
+        assertNull(scheduler.spreadTimer);
+        assertNull(scheduler.spawnedQueue.poll(1000L, TimeUnit.MILLISECONDS)); // never fired after stop
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    private Cron4jTask createSpreadTask(CronOption cronOption) {
+        LaJobRunner jobRunner = new LaJobRunner();
+        Cron4jNow cron4jNow = new Cron4jNow(new Cron4jScheduler(scheduler), jobRunner, () -> LocalDateTime.now(), false);
+        return new Cron4jTask(new VaryingCron(Cron4jCron.NON_CRON, cronOption), LaJob.class, JobConcurrentExec.WAIT,
+                option -> "mock", jobRunner, cron4jNow, () -> LocalDateTime.now(), false);
+    }
+
+    private static class SpawnRecordingScheduler extends RomanticCron4jNativeScheduler {
+
+        protected final BlockingQueue<SpawnRecord> spawnedQueue = new LinkedBlockingQueue<SpawnRecord>();
+        protected volatile Long spreadMillis; // null means real determination
+
+        @Override
+        protected long determineFireSpreadMillis(Task task) {
+            return spreadMillis != null ? spreadMillis : super.determineFireSpreadMillis(task);
+        }
+
+        @Override
+        protected TaskExecutor doSpawnExecutor(Task task, OptionalThing<LaunchNowOption> nowOption,
+                OptionalThing<RomanticCron4jFireAttr> fireAttr) { // no execution, only recording
+            spawnedQueue.add(new SpawnRecord(task, nowOption, fireAttr, System.currentTimeMillis()));
+            return null;
+        }
+    }
+
+    private static class SpawnRecord {
+
+        protected final Task task;
+        protected final OptionalThing<LaunchNowOption> nowOption;
+        protected final OptionalThing<RomanticCron4jFireAttr> fireAttr;
+        protected final long spawnedMillis;
+
+        public SpawnRecord(Task task, OptionalThing<LaunchNowOption> nowOption, OptionalThing<RomanticCron4jFireAttr> fireAttr,
+                long spawnedMillis) {
+            this.task = task;
+            this.nowOption = nowOption;
+            this.fireAttr = fireAttr;
+            this.spawnedMillis = spawnedMillis;
+        }
+    }
+
+    private static class MockTask extends Task {
+
+        @Override
+        public void execute(TaskExecutionContext context) throws RuntimeException {
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.cron4j.Cron4jWorkerPool;
+import org.lastaflute.job.subsidiary.LaunchNowOption;
+import org.lastaflute.job.subsidiary.WorkerPoolOption;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jNativeTaskExecutorTest extends PlainTestCase {
+
+    private RomanticCron4jNativeScheduler scheduler;
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (scheduler != null && scheduler.isStarted()) {
+            scheduler.stop();
+        }
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                          Join/Alive
+    //                                                                          ==========
+    public void test_worker_joinAndAlive_byEndingLatch() throws Exception {
+        // ## Arrange ##
+        Cron4jWorkerPool workerPool = startScheduler(new WorkerPoolOption().poolSize(1, 1));
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        BlockingTask task = new BlockingTask(releaseLatch);
+
+        // ## Act ##
+        TaskExecutor executor = scheduler.doSpawnExecutor(task, nowOption(), OptionalThing.empty());
+
+        // ## Assert ##
+        assertTrue(task.startedLatch.await(5, TimeUnit.SECONDS));
+        assertTrue(executor.isAlive());
+        releaseLatch.countDown();
+        executor.join();
+        assertFalse(executor.isAlive());
+        assertEquals(1, workerPool.getPoolSize()); // pooled thread does not die but join() returns
+    }
+
+    // ===================================================================================
+    //                                                                                Stop
+    //                                                                                ====
+    public void test_worker_stop_interruptsOnlyExecuting() throws Exception {
+        // ## Arrange ##
+        startScheduler(new WorkerPoolOption().poolSize(1, 1).queueCapacity(1));
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        BlockingTask executingTask = new BlockingTask(releaseLatch);
+        BlockingTask queuedTask = new BlockingTask(new CountDownLatch(0)); // no wait
+        TaskExecutor executingExecutor = scheduler.doSpawnExecutor(executingTask, nowOption(), OptionalThing.empty());
+        assertTrue(executingTask.startedLatch.await(5, TimeUnit.SECONDS));
+        TaskExecutor queuedExecutor = scheduler.doSpawnExecutor(queuedTask, nowOption(), OptionalThing.empty());
+        assertTrue(queuedExecutor.isAlive()); // queued
+
+        // ## Act ##
+        queuedExecutor.stop(); // no thread to interrupt yet
+
+        // ## Assert ##
+        assertTrue(queuedExecutor.isStopped());
+        assertFalse(executingTask.interrupted.get()); // not interrupted by other task's stop
+
+        // ## Act ##
+        executingExecutor.stop();
+
+        // ## Assert ##
+        executingExecutor.join();
+        assertTrue(executingTask.interrupted.get());
+        queuedExecutor.join();
+        assertTrue(queuedTask.startedLatch.await(5, TimeUnit.SECONDS));
+        assertFalse(queuedTask.interruptedAtStart.get()); // interruption is not inherited on reused thread
+    }
+
+    // ===================================================================================
+    //                                                                  Thread Restoration
+    //                                                                  ==================
+    public void test_worker_threadNameAndClassLoader_restored() throws Exception {
+        // ## Arrange ##
+        Cron4jWorkerPool workerPool = startScheduler(new WorkerPoolOption().poolSize(1, 1));
+        ClassLoader originalLoader = Thread.currentThread().getContextClassLoader();
+        scheduler.doSpawnExecutor(new BlockingTask(new CountDownLatch(0)), nowOption(), OptionalThing.empty()).join(); // creates worker
+        ClassLoader submitterLoader = new URLClassLoader(new URL[0], originalLoader);
+        BlockingTask task = new BlockingTask(new CountDownLatch(0));
+
+        // ## Act ##
+        Thread.currentThread().setContextClassLoader(submitterLoader);
+        TaskExecutor executor;
+        try {
+            executor = scheduler.doSpawnExecutor(task, nowOption(), OptionalThing.empty());
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalLoader);
+        }
+        executor.join();
+
+        // ## Assert ##
+        assertTrue(task.threadName.get().startsWith("cron4j::")); // renamed while executing
+        assertSame(submitterLoader, task.contextLoader.get()); // inherited from submitter
+        AtomicReference<String> afterName = new AtomicReference<String>();
+        AtomicReference<ClassLoader> afterLoader = new AtomicReference<ClassLoader>();
+        CountDownLatch afterLatch = new CountDownLatch(1);
+        workerPool.execute(() -> { // on the same pooled thread
+            afterName.set(Thread.currentThread().getName());
+            afterLoader.set(Thread.currentThread().getContextClassLoader());
+            afterLatch.countDown();
+        });
+        assertTrue(afterLatch.await(5, TimeUnit.SECONDS));
+        assertEquals("cron4j::worker-1", afterName.get());
+        assertSame(originalLoader, afterLoader.get());
+    }
+
+    // ===================================================================================
+    //                                                                           Rejection
+    //                                                                           =========
+    public void test_worker_rejectedAsError_launchNowThrows_cronFireContinues() throws Exception {
+        // ## Arrange ##
+        startScheduler(new WorkerPoolOption().poolSize(1, 1).queueCapacity(0).rejectedAsError()); // direct hand-off
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        BlockingTask executingTask = new BlockingTask(releaseLatch);
+        scheduler.doSpawnExecutor(executingTask, nowOption(), OptionalThing.empty());
+        assertTrue(executingTask.startedLatch.await(5, TimeUnit.SECONDS));
+        BlockingTask rejectedTask = new BlockingTask(new CountDownLatch(0));
+
+        try {
+            // ## Act ##
+            // ## Assert ##
+            assertException(RejectedExecutionException.class, () -> {
+                scheduler.doSpawnExecutor(rejectedTask, nowOption(), OptionalThing.empty()); // launch-now
+            });
+            TaskExecutor cronExecutor = scheduler.doSpawnExecutor(rejectedTask, scheduler.emptyNowOption(),
+                    OptionalThing.of(new RomanticCron4jFireAttr(System.currentTimeMillis(), 0L, false))); // cron fire
+            assertFalse(cronExecutor.isAlive()); // no execution, so no waiting
+            cronExecutor.join();
+            assertEquals(1, scheduler.getExecutingTasks().length); // rejected ones are removed
+        } finally {
+            releaseLatch.countDown();
+        }
+        assertEquals(1L, rejectedTask.startedLatch.getCount()); // never executed
+    }
+
+    public void test_worker_freshThreadWhenSaturated_rejectedAfterShutdown() throws Exception {
+        // ## Arrange ##
+        Cron4jWorkerPool workerPool = startScheduler(new WorkerPoolOption().poolSize(1, 1).queueCapacity(0)); // fresh thread
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        BlockingTask executingTask = new BlockingTask(releaseLatch);
+        scheduler.doSpawnExecutor(executingTask, nowOption(), OptionalThing.empty());
+        assertTrue(executingTask.startedLatch.await(5, TimeUnit.SECONDS));
+        BlockingTask saturatedTask = new BlockingTask(new CountDownLatch(0));
+        try {
+            // ## Act ##
+            scheduler.doSpawnExecutor(saturatedTask, nowOption(), OptionalThing.empty());
+
+            // ## Assert ##
+            assertTrue(saturatedTask.startedLatch.await(5, TimeUnit.SECONDS)); // by fresh thread
+        } finally {
+            releaseLatch.countDown();
+        }
+
+        // ## Act ##
+        scheduler.stop(); // also shuts down the pool
+        CountDownLatch lateLatch = new CountDownLatch(1);
+
+        // ## Assert ##
+        assertException(RejectedExecutionException.class, () -> workerPool.execute(() -> lateLatch.countDown()));
+        assertFalse(lateLatch.await(500L, TimeUnit.MILLISECONDS)); // no fresh thread after shutdown
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    private Cron4jWorkerPool startScheduler(WorkerPoolOption poolOption) {
+        scheduler = new RomanticCron4jNativeScheduler();
+        scheduler.setDaemon(true);
+        Cron4jWorkerPool workerPool = new Cron4jWorkerPool(poolOption, () -> true);
+        scheduler.useWorkerPool(workerPool);
+        scheduler.start();
+        return workerPool;
+    }
+
+    private OptionalThing<LaunchNowOption> nowOption() {
+        return OptionalThing.of(new LaunchNowOption());
+    }
+
+    private static class BlockingTask extends Task {
+
+        protected final CountDownLatch releaseLatch;
+        protected final CountDownLatch startedLatch = new CountDownLatch(1);
+        protected final AtomicBoolean interrupted = new AtomicBoolean();
+        protected final AtomicBoolean interruptedAtStart = new AtomicBoolean();
+        protected final AtomicReference<String> threadName = new AtomicReference<String>();
+        protected final AtomicReference<ClassLoader> contextLoader = new AtomicReference<ClassLoader>();
+
+        public BlockingTask(CountDownLatch releaseLatch) {
+            this.releaseLatch = releaseLatch;
+        }
+
+        @Override
+        public boolean canBeStopped() {
+            return true;
+        }
+
+        @Override
+        public void execute(TaskExecutionContext context) throws RuntimeException {
+            final Thread currentThread = Thread.currentThread();
+            interruptedAtStart.set(currentThread.isInterrupted());
+            threadName.set(currentThread.getName());
+            contextLoader.set(currentThread.getContextClassLoader());
+            startedLatch.countDown();
+            try {
+                releaseLatch.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+import java.time.LocalDateTime;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.LaJob;
+import org.lastaflute.job.LaJobRunner;
+import org.lastaflute.job.cron4j.Cron4jCron;
+import org.lastaflute.job.cron4j.Cron4jNow;
+import org.lastaflute.job.cron4j.Cron4jScheduler;
+import org.lastaflute.job.cron4j.Cron4jTask;
+import org.lastaflute.job.cron4j.Cron4jVirtualThreadFactory;
+import org.lastaflute.job.cron4j.Cron4jWorkerPool;
+import org.lastaflute.job.subsidiary.CronOption;
+import org.lastaflute.job.subsidiary.JobConcurrentExec;
+import org.lastaflute.job.subsidiary.VaryingCron;
+import org.lastaflute.job.subsidiary.WorkerPoolOption;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jNativeVirtualThreadTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                            Fallback
+    //                                                                            ========
+    public void test_determineVirtualThread_notSupported_fallbackToPlatform() {
+        if (Cron4jVirtualThreadFactory.isSupported()) {
+            log("*Virtual thread is supported in the runtime so the fallback is not tested: " + System.getProperty("java.version"));
+            return;
+        }
+        // ## Arrange ##
+        RomanticCron4jNativeScheduler scheduler = new RomanticCron4jNativeScheduler();
+        scheduler.useVirtualThread();
+        Cron4jTask task = createTask(new CronOption().useVirtualThread());
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(scheduler.determineVirtualThread(task)); // both options but unsupported
+        assertException(IllegalStateException.class, () -> Cron4jVirtualThreadFactory.newUnstartedThread(() -> {}));
+    }
+
+    public void test_createTaskExecutor_notSupported_workerPoolUsed() {
+        if (Cron4jVirtualThreadFactory.isSupported()) {
+            log("*Virtual thread is supported in the runtime so the fallback is not tested: " + System.getProperty("java.version"));
+            return;
+        }
+        // ## Arrange ##
+        RomanticCron4jNativeScheduler scheduler = new RomanticCron4jNativeScheduler();
+        Cron4jWorkerPool workerPool = new Cron4jWorkerPool(new WorkerPoolOption().poolSize(1, 1), () -> true);
+        scheduler.useWorkerPool(workerPool);
+        scheduler.useVirtualThread();
+        try {
+            // ## Act ##
+            RomanticCron4jNativeTaskExecutor executor = (RomanticCron4jNativeTaskExecutor) scheduler.createTaskExecutor(
+                    createTask(new CronOption()), OptionalThing.empty(), OptionalThing.empty());
+
+            // ## Assert ##
+            assertFalse(executor.virtualThread);
+            assertTrue(executor.workerPool.isPresent()); // platform thread of worker pool instead
+        } finally {
+            workerPool.shutdown();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Precedence
+    //                                                                          ==========
+    public void test_determineVirtualThread_schedulerWide_priorToJobOption() {
+        // ## Arrange ##
+        RomanticCron4jNativeScheduler scheduler = new SupportedScheduler();
+        scheduler.useVirtualThread();
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(scheduler.determineVirtualThread(createTask(new CronOption()))); // job does not use it but scheduler-wide
+        assertTrue(scheduler.determineVirtualThread(createTask(new CronOption().useVirtualThread())));
+        assertTrue(scheduler.determineVirtualThread(new PlainTask())); // not job task
+    }
+
+    public void test_determineVirtualThread_jobOption_onlyTheJob() {
+        // ## Arrange ##
+        RomanticCron4jNativeScheduler scheduler = new SupportedScheduler(); // not scheduler-wide
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(scheduler.determineVirtualThread(createTask(new CronOption().useVirtualThread())));
+        assertFalse(scheduler.determineVirtualThread(createTask(new CronOption())));
+        assertFalse(scheduler.determineVirtualThread(new PlainTask()));
+    }
+
+    public void test_useVirtualThread_afterStarted() {
+        // ## Arrange ##
+        RomanticCron4jNativeScheduler scheduler = new RomanticCron4jNativeScheduler();
+        scheduler.setDaemon(true);
+        scheduler.start();
+        try {
+            // ## Act ##
+            // ## Assert ##
+            assertException(IllegalStateException.class, () -> scheduler.useVirtualThread());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    private Cron4jTask createTask(CronOption cronOption) {
+        Cron4jScheduler cron4jScheduler = new Cron4jScheduler(new RomanticCron4jNativeScheduler()); // not started
+        Cron4jNow cron4jNow = new Cron4jNow(cron4jScheduler, new LaJobRunner(), () -> LocalDateTime.now(), false);
+        return new Cron4jTask(new VaryingCron(Cron4jCron.NON_CRON, cronOption), LaJob.class, JobConcurrentExec.WAIT,
+                option -> "mock", new LaJobRunner(), cron4jNow, () -> LocalDateTime.now(), false);
+    }
+
+    private static class SupportedScheduler extends RomanticCron4jNativeScheduler {
+
+        @Override
+        protected boolean isVirtualThreadSupported() { // to test precedence even if Java8
+            return true;
+        }
+    }
+
+    private static class PlainTask extends Task {
+
+        @Override
+        public void execute(TaskExecutionContext context) throws RuntimeException {
+        }
+    }
+}
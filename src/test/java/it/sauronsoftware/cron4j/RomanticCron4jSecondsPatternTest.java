@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package it.sauronsoftware.cron4j;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.subsidiary.CompiledCronExp;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class RomanticCron4jSecondsPatternTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    public void test_hasSecondsField() {
+        assertTrue(RomanticCron4jSecondsPattern.hasSecondsField("*/10 * * * * *"));
+        assertTrue(RomanticCron4jSecondsPattern.hasSecondsField("  0  5 * * * *  ")); // trimmed
+        assertTrue(RomanticCron4jSecondsPattern.hasSecondsField("0 * * * * *|0 5 * * * *")); // head pattern
+        assertFalse(RomanticCron4jSecondsPattern.hasSecondsField("*/10 * * * *"));
+        assertFalse(RomanticCron4jSecondsPattern.hasSecondsField("0 0 1 * *|30 12 * * 0"));
+    }
+
+    // ===================================================================================
+    //                                                                               Parse
+    //                                                                               =====
+    public void test_parse_secondsMask() {
+        assertEquals(mask(0, 59), new RomanticCron4jSecondsPattern("* * * * * *").getSecondsMask());
+        assertEquals(bits(0, 10, 20, 30, 40, 50), new RomanticCron4jSecondsPattern("*/10 * * * * *").getSecondsMask());
+        assertEquals(bits(0, 30), new RomanticCron4jSecondsPattern("0,30 5 * * * *").getSecondsMask());
+        assertEquals(mask(10, 20), new RomanticCron4jSecondsPattern("10-20 * * * * *").getSecondsMask());
+        assertEquals(bits(10, 15, 20, 25, 30, 35, 40), new RomanticCron4jSecondsPattern("10-40/5 * * * * *").getSecondsMask());
+        assertEquals(bits(5, 25, 45), new RomanticCron4jSecondsPattern("5/20 * * * * *").getSecondsMask());
+        assertEquals(bits(59), new RomanticCron4jSecondsPattern("59 * * * * *").getSecondsMask());
+    }
+
+    public void test_parse_restFieldsByNative() {
+        // ## Arrange ##
+        RomanticCron4jSecondsPattern pattern = new RomanticCron4jSecondsPattern("30 5 9 * * 1-5");
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("30 5 9 * * 1-5", pattern.toString());
+        assertTrue(pattern.match(toMillis("2026-10-16T09:05:00"))); // Friday
+        assertFalse(pattern.match(toMillis("2026-10-17T09:05:00"))); // Saturday
+    }
+
+    public void test_parse_compiledNextFire() {
+        // ## Arrange ##
+        RomanticCron4jSecondsPattern pattern = new RomanticCron4jSecondsPattern("*/10 * * * * *");
+
+        // ## Act ##
+        CompiledCronExp compiled = RomanticCron4jPatternCompiler.compile(pattern);
+        LocalDateTime next = compiled.nextFireTime(LocalDateTime.parse("2026-10-16T09:05:33")).get();
+
+        // ## Assert ##
+        assertEquals(LocalDateTime.parse("2026-10-16T09:05:40"), next);
+    }
+
+    public void test_parse_invalid() {
+        assertInvalid("60 * * * * *"); // over
+        assertInvalid("-1 * * * * *");
+        assertInvalid("a * * * * *");
+        assertInvalid("20-10 * * * * *"); // descending
+        assertInvalid("*/0 * * * * *");
+        assertInvalid("0 * * * * *|0 5 * * * *"); // multiple
+        assertInvalid("0 * * * * * *"); // seven fields
+        assertInvalid("0 60 * * * *"); // minute by native
+        assertFalse(RomanticCron4jSecondsPattern.validate("60 * * * * *"));
+        assertTrue(RomanticCron4jSecondsPattern.validate("0 * * * * *"));
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    private void assertInvalid(String cronExp) {
+        assertException(InvalidPatternException.class, () -> new RomanticCron4jSecondsPattern(cronExp));
+    }
+
+    private long mask(int from, int to) {
+        long mask = 0L;
+        for (int second = from; second <= to; second++) {
+            mask |= (1L << second);
+        }
+        return mask;
+    }
+
+    private long bits(int... seconds) {
+        long mask = 0L;
+        for (int second : seconds) {
+            mask |= (1L << second);
+        }
+        return mask;
+    }
+
+    private long toMillis(String localExp) {
+        return LocalDateTime.parse(localExp).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(); // same as native match
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.log.JobNoticeLogHook;
+import org.lastaflute.job.mock.MockJobRuntime;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class LaJobRunnerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                          Notice Log
+    //                                                                          ==========
+    public void test_noticeLog_suppressed_notBuilt() {
+        // ## Arrange ##
+        CountingJobRunner runner = new CountingJobRunner();
+        MockJobRuntime runtime = MockJobRuntime.of(NoopJob.class, op -> op.changeNoticeLogToSuppressed());
+
+        // ## Act ##
+        runner.run(NoopJob.class, () -> runtime);
+
+        // ## Assert ##
+        assertEquals(0, runner.runningBuiltCount.get());
+        assertEquals(0, runner.finishingBuiltCount.get());
+    }
+
+    public void test_noticeLog_hook_sharedOnce() {
+        // ## Arrange ##
+        CountingJobRunner runner = new CountingJobRunner();
+        AtomicInteger hookedCount = new AtomicInteger();
+        runner.useNoticeLogHook(new JobNoticeLogHook() { // default lazy methods call these
+            public void hookRunning(LaJobRuntime runtime, String msg) {
+                hookedCount.incrementAndGet();
+            }
+
+            public void hookFinishing(LaJobRuntime runtime, String msg, OptionalThing<Throwable> cause) {
+                hookedCount.incrementAndGet();
+            }
+        });
+        MockJobRuntime runtime = MockJobRuntime.of(NoopJob.class); // INFO
+
+        // ## Act ##
+        runner.run(NoopJob.class, () -> runtime);
+
+        // ## Assert ##
+        assertEquals(2, hookedCount.get());
+        assertEquals(1, runner.runningBuiltCount.get()); // shared with notice log
+        assertEquals(1, runner.finishingBuiltCount.get());
+    }
+
+    public void test_noticeLog_lazyHook_notConsumed() {
+        // ## Arrange ##
+        CountingJobRunner runner = new CountingJobRunner();
+        runner.useNoticeLogHook(new JobNoticeLogHook() {
+            public void hookRunning(LaJobRuntime runtime, String msg) {
+                fail("no way: " + msg);
+            }
+
+            public void hookFinishing(LaJobRuntime runtime, String msg, OptionalThing<Throwable> cause) {
+                fail("no way: " + msg);
+            }
+
+            public void hookRunningLazily(LaJobRuntime runtime, Supplier<String> msgSupplier) {
+            }
+
+            public void hookFinishingLazily(LaJobRuntime runtime, Supplier<String> msgSupplier, OptionalThing<Throwable> cause) {
+            }
+        });
+        MockJobRuntime runtime = MockJobRuntime.of(NoopJob.class, op -> op.changeNoticeLogToSuppressed());
+
+        // ## Act ##
+        runner.run(NoopJob.class, () -> runtime);
+
+        // ## Assert ##
+        assertEquals(0, runner.runningBuiltCount.get());
+        assertEquals(0, runner.finishingBuiltCount.get());
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    public void test_benchmark_allocation_noopJob() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            log("*Skipped because allocation is not measurable: {}", threadBean);
+            return;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        long threadId = Thread.currentThread().getId();
+        CountingJobRunner plainRunner = new CountingJobRunner();
+        CountingJobRunner hookRunner = new CountingJobRunner(); // always consumes messages
+        hookRunner.useNoticeLogHook(new JobNoticeLogHook() {
+            public void hookRunning(LaJobRuntime runtime, String msg) {
+            }
+
+            public void hookFinishing(LaJobRuntime runtime, String msg, OptionalThing<Throwable> cause) {
+            }
+        });
+        MockJobRuntime runtime = MockJobRuntime.of(NoopJob.class, op -> op.changeNoticeLogToSuppressed());
+        int loopCount = 2000;
+        measureAllocatedBytes(allocationBean, threadId, plainRunner, runtime, loopCount); // warm up
+        measureAllocatedBytes(allocationBean, threadId, hookRunner, runtime, loopCount);
+
+        long plainBytes = measureAllocatedBytes(allocationBean, threadId, plainRunner, runtime, loopCount);
+        long hookBytes = measureAllocatedBytes(allocationBean, threadId, hookRunner, runtime, loopCount);
+
+        log("allocated bytes per no-op job: nobodyConsumes={}, hookConsumes={}", plainBytes, hookBytes);
+        assertTrue(plainBytes < hookBytes); // no notice message if nobody consumes it
+    }
+
+    private long measureAllocatedBytes(com.sun.management.ThreadMXBean allocationBean, long threadId, LaJobRunner runner,
+            LaJobRuntime runtime, int loopCount) {
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < loopCount; i++) {
+            runner.run(NoopJob.class, () -> runtime);
+        }
+        return (allocationBean.getThreadAllocatedBytes(threadId) - before) / loopCount;
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    public static class NoopJob implements LaJob {
+
+        @Override
+        public void run(LaJobRuntime runtime) {
+        }
+    }
+
+    private static class CountingJobRunner extends LaJobRunner {
+
+        protected final AtomicInteger runningBuiltCount = new AtomicInteger();
+        protected final AtomicInteger finishingBuiltCount = new AtomicInteger();
+        protected final NoopJob noopJob = new NoopJob();
+
+        @Override
+        protected LaJob getJobComponent(Class<? extends LaJob> jobType) { // without DI container
+            return noopJob;
+        }
+
+        @Override
+        protected String buildRunningJobLogMessage(LaJobRuntime runtime) {
+            runningBuiltCount.incrementAndGet();
+            return super.buildRunningJobLogMessage(runtime);
+        }
+
+        @Override
+        protected String buildFinishingMsg(LaJobRuntime runtime, long before, long after, Throwable cause) {
+            finishingBuiltCount.incrementAndGet();
+            return "#flow #job ...Finishing job: " + runtime.toRunMethodDisp(); // no job manager here
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.LaJobHistory;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobNote;
+import org.lastaflute.job.key.LaJobUnique;
+import org.lastaflute.job.subsidiary.ExecResultType;
+
+import it.sauronsoftware.cron4j.RomanticCron4jFireAttr;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jCompactJobHistoryTest extends PlainTestCase {
+
+    private static final LaJobKey JOB_KEY = LaJobKey.of("sea");
+    private static final LaJobNote JOB_NOTE = LaJobNote.of("Sea Job", "mystic");
+    private static final LaJobUnique JOB_UNIQUE = LaJobUnique.of("uq-sea");
+
+    // ===================================================================================
+    //                                                                             Compact
+    //                                                                             =======
+    public void test_compact_sameAttributes() {
+        // ## Arrange ##
+        LocalDateTime activation = LocalDateTime.of(2026, 10, 16, 12, 34, 56, 789000000);
+        Map<String, String> rollMap = new LinkedHashMap<String, String>();
+        rollMap.put("count", "3");
+        rollMap.put("none", null);
+        Cron4jJobHistory full = createFullHistory(activation, ExecResultType.CAUSED_BY_APPLICATION, rollMap,
+                new IllegalStateException("oneman"), new RomanticCron4jFireAttr(1234L, 56L, true));
+
+        // ## Act ##
+        Cron4jCompactJobHistory compact = new Cron4jCompactJobHistory(full);
+
+        // ## Assert ##
+        log(compact);
+        assertEquals(full.getJobKey(), compact.getJobKey());
+        assertEquals(full.getJobNote().get(), compact.getJobNote().get());
+        assertEquals(full.getJobUnique().get(), compact.getJobUnique().get());
+        assertEquals(full.getCronExp().get(), compact.getCronExp().get());
+        assertEquals(full.getJobTypeFqcn(), compact.getJobTypeFqcn());
+        assertEquals(full.getActivationTime(), compact.getActivationTime());
+        assertEquals(full.getBeginTime().get(), compact.getBeginTime().get());
+        assertEquals(full.getEndTime().get(), compact.getEndTime().get());
+        assertEquals(full.getExecResultType(), compact.getExecResultType());
+        assertEquals(full.getEndTitleRollSnapshotMap(), compact.getEndTitleRollSnapshotMap());
+        Throwable cause = compact.getCause().get();
+        assertEquals("oneman", cause.getMessage());
+        assertEquals(IllegalStateException.class.getName(), ((Cron4jSummarizedCause) cause).getCauseClassName());
+        assertEquals(0, cause.getStackTrace().length);
+        assertEquals(Long.valueOf(1234L), compact.getPlannedFireMillis().get());
+        assertEquals(56L, compact.getFireSpreadMillis());
+        assertTrue(compact.isMisfireCatchUp());
+    }
+
+    public void test_compact_emptyAttributes() {
+        // ## Arrange ##
+        LocalDateTime activation = LocalDateTime.of(2026, 10, 16, 0, 0);
+        Cron4jJobHistory full = new Cron4jJobHistory(JOB_KEY, OptionalThing.empty(), OptionalThing.empty(), OptionalThing.empty(),
+                "org.docksidestage.app.job.SeaJob", activation, OptionalThing.empty(), OptionalThing.empty(),
+                ExecResultType.ERROR_BY_CONCURRENT, OptionalThing.empty(), OptionalThing.empty());
+
+        // ## Act ##
+        Cron4jCompactJobHistory compact = new Cron4jCompactJobHistory(full);
+
+        // ## Assert ##
+        assertFalse(compact.getJobNote().isPresent());
+        assertFalse(compact.getJobUnique().isPresent());
+        assertFalse(compact.getCronExp().isPresent());
+        assertFalse(compact.getBeginTime().isPresent());
+        assertFalse(compact.getEndTime().isPresent());
+        assertTrue(compact.getEndTitleRollSnapshotMap().isEmpty());
+        assertFalse(compact.getCause().isPresent());
+        assertFalse(compact.getPlannedFireMillis().isPresent());
+        assertEquals(ExecResultType.ERROR_BY_CONCURRENT, compact.getExecResultType());
+    }
+
+    public void test_compact_plannedTime() {
+        // ## Arrange ##
+        LocalDateTime activation = LocalDateTime.of(2026, 10, 16, 12, 0, 1, 250000000);
+        LocalDateTime planned = LocalDateTime.of(2026, 10, 16, 12, 0);
+        Cron4jJobHistory full = new Cron4jJobHistory(JOB_KEY, OptionalThing.empty(), OptionalThing.empty(), OptionalThing.empty(),
+                "org.docksidestage.app.job.SeaJob", activation, OptionalThing.empty(), OptionalThing.empty(), ExecResultType.SUCCESS,
+                OptionalThing.empty(), OptionalThing.empty(), OptionalThing.empty(), OptionalThing.of(planned));
+
+        // ## Act ##
+        Cron4jCompactJobHistory compact = new Cron4jCompactJobHistory(full);
+
+        // ## Assert ##
+        log(full);
+        log(compact);
+        assertEquals(planned, compact.getPlannedTime().get());
+        assertEquals(Long.valueOf(1250L), full.getFireLagMillis().get());
+        assertEquals(Long.valueOf(1250L), compact.getFireLagMillis().get());
+        assertTrue(compact.toString().contains("lag=1250ms"));
+    }
+
+    // ===================================================================================
+    //                                                                         Retained Heap
+    //                                                                         =============
+    public void test_compact_retainedHeap() {
+        // ## Arrange ##
+        int entryCount = 20000;
+        int roundCount = 5;
+        List<Long> fullBytesList = new ArrayList<Long>(roundCount);
+        List<Long> compactBytesList = new ArrayList<Long>(roundCount);
+
+        // ## Act ##
+        for (int round = 0; round < roundCount; round++) { // median of rounds to ignore GC noise
+            fullBytesList.add(measureRetainedBytesPerEntry(entryCount, index -> createRealisticHistory(index)));
+            compactBytesList.add(measureRetainedBytesPerEntry(entryCount, index -> {
+                return new Cron4jCompactJobHistory(createRealisticHistory(index));
+            }));
+        }
+
+        // ## Assert ##
+        long fullBytes = median(fullBytesList);
+        long compactBytes = median(compactBytesList);
+        log("retained heap per entry: full={}bytes {}, compact={}bytes {}", fullBytes, fullBytesList, compactBytes, compactBytesList);
+        assertTrue(fullBytes > 0L);
+        assertTrue(compactBytes > 0L);
+        assertTrue(compactBytes * 2L < fullBytes); // loose bound, about 180 to 700 bytes when measured
+    }
+
+    private long measureRetainedBytesPerEntry(int entryCount, IntFunction<LaJobHistory> historyCreator) {
+        List<LaJobHistory> historyList = new ArrayList<LaJobHistory>(entryCount);
+        long before = measureSettledUsedHeap();
+        for (int i = 0; i < entryCount; i++) {
+            historyList.add(historyCreator.apply(i));
+        }
+        long after = measureSettledUsedHeap();
+        assertEquals(entryCount, historyList.size()); // also keeps the list reachable until measured
+        return (after - before) / entryCount;
+    }
+
+    private long median(List<Long> valueList) {
+        List<Long> sortedList = new ArrayList<Long>(valueList);
+        Collections.sort(sortedList);
+        return sortedList.get(sortedList.size() / 2);
+    }
+
+    private Cron4jJobHistory createRealisticHistory(int index) {
+        LocalDateTime activation = LocalDateTime.of(2026, 10, 16, 0, 0).plusMinutes(index);
+        Map<String, String> rollMap = new LinkedHashMap<String, String>();
+        rollMap.put("count", String.valueOf(index));
+        boolean failure = index % 10 == 0; // sometimes
+        return createFullHistory(activation, failure ? ExecResultType.CAUSED_BY_APPLICATION : ExecResultType.SUCCESS, rollMap,
+                failure ? new IllegalStateException("Failed to save: " + index) : null, new RomanticCron4jFireAttr(index, 0L, false));
+    }
+
+    private long measureSettledUsedHeap() { // several passes until used heap is stable
+        Runtime runtime = Runtime.getRuntime();
+        long previous = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            sleep(20); // for finalization and concurrent collector
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if (i >= 2 && Math.abs(previous - current) < 64 * 1024) { // settled
+                return current;
+            }
+            previous = current;
+        }
+        return previous;
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    private Cron4jJobHistory createFullHistory(LocalDateTime activation, ExecResultType resultType, Map<String, String> rollMap,
+            Throwable cause, RomanticCron4jFireAttr fireAttr) {
+        return new Cron4jJobHistory(JOB_KEY, OptionalThing.of(JOB_NOTE), OptionalThing.of(JOB_UNIQUE), OptionalThing.of("*/5 * * * *"),
+                "org.docksidestage.app.job.SeaJob", activation, OptionalThing.of(activation.plusSeconds(1)),
+                OptionalThing.of(activation.plusSeconds(2)), resultType, rollMap, OptionalThing.ofNullable(cause, () -> {
+                    throw new IllegalStateException("Not found the cause.");
+                }), OptionalThing.ofNullable(fireAttr, () -> {
+                    throw new IllegalStateException("Not found the fire attribute.");
+                }));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.LaJobHistory;
+import org.lastaflute.job.LaJobRunner;
+import org.lastaflute.job.log.JobHistoryHook;
+import org.lastaflute.job.log.JobHistoryResource;
+import org.lastaflute.job.mock.MockJobHistory;
+import org.lastaflute.job.subsidiary.AsyncHistoryOption;
+import org.lastaflute.job.subsidiary.AsyncHistoryOption.HistoryOverflowType;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jHistoryDelivererTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Batch
+    //                                                                               =====
+    public void test_offer_deliverInBatch_drainByClose() {
+        // ## Arrange ##
+        List<Integer> batchSizeList = new CopyOnWriteArrayList<Integer>();
+        List<LaJobHistory> deliveredList = new CopyOnWriteArrayList<LaJobHistory>();
+        CountDownLatch blocker = new CountDownLatch(1);
+        JobHistoryHook hook = new MockBatchHook(historyList -> {
+            awaitQuietly(blocker); // to keep histories in the queue
+            batchSizeList.add(historyList.size());
+            deliveredList.addAll(historyList);
+        });
+        AsyncHistoryOption option = new AsyncHistoryOption().batchSize(10).flushIntervalMillis(100);
+        Cron4jHistoryDeliverer deliverer = new Cron4jHistoryDeliverer(option, hook, new LaJobRunner(), 300);
+        deliverer.start();
+
+        // ## Act ##
+        List<LaJobHistory> offeredList = new ArrayList<LaJobHistory>();
+        for (int i = 0; i < 25; i++) {
+            MockJobHistory history = new MockJobHistory();
+            offeredList.add(history);
+            deliverer.offer(history);
+        }
+        blocker.countDown();
+        deliverer.close();
+
+        // ## Assert ##
+        log("batches: {}", batchSizeList);
+        assertEquals(offeredList, deliveredList); // no loss, keeping order
+        for (Integer batchSize : batchSizeList) {
+            assertTrue(batchSize <= 10);
+        }
+        assertTrue(batchSizeList.size() >= 3);
+        assertEquals(0, deliverer.getQueuedCount());
+    }
+
+    // ===================================================================================
+    //                                                                            Overflow
+    //                                                                            ========
+    public void test_offer_overflow_discardNewest() {
+        // ## Arrange ##
+        List<LaJobHistory> deliveredList = new CopyOnWriteArrayList<LaJobHistory>();
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch firstArrived = new CountDownLatch(1);
+        JobHistoryHook hook = new MockBatchHook(historyList -> {
+            firstArrived.countDown();
+            awaitQuietly(blocker);
+            deliveredList.addAll(historyList);
+        });
+        AsyncHistoryOption option = new AsyncHistoryOption().queueCapacity(3).batchSize(1).overflowType(HistoryOverflowType.DISCARD_NEWEST);
+        Cron4jHistoryDeliverer deliverer = new Cron4jHistoryDeliverer(option, hook, new LaJobRunner(), 300);
+        deliverer.start();
+        deliverer.offer(new MockJobHistory()); // taken by writer
+        awaitQuietly(firstArrived);
+
+        // ## Act ##
+        for (int i = 0; i < 5; i++) { // 3 queued, 2 discarded
+            deliverer.offer(new MockJobHistory());
+        }
+        blocker.countDown();
+        deliverer.close();
+
+        // ## Assert ##
+        assertEquals(2L, deliverer.getDiscardedCount());
+        assertEquals(4, deliveredList.size());
+    }
+
+    public void test_offer_overflow_callerRuns() {
+        // ## Arrange ##
+        List<String> threadNameList = new CopyOnWriteArrayList<String>();
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch firstArrived = new CountDownLatch(1);
+        String callerName = Thread.currentThread().getName();
+        JobHistoryHook hook = new MockBatchHook(historyList -> {
+            String threadName = Thread.currentThread().getName();
+            if (!threadName.equals(callerName)) {
+                firstArrived.countDown();
+                awaitQuietly(blocker);
+            }
+            threadNameList.add(threadName);
+        });
+        AsyncHistoryOption option = new AsyncHistoryOption().queueCapacity(1).batchSize(1);
+        Cron4jHistoryDeliverer deliverer = new Cron4jHistoryDeliverer(option, hook, new LaJobRunner(), 300);
+        deliverer.start();
+        deliverer.offer(new MockJobHistory()); // taken by writer
+        awaitQuietly(firstArrived);
+
+        // ## Act ##
+        deliverer.offer(new MockJobHistory()); // queued
+        deliverer.offer(new MockJobHistory()); // caller runs
+
+        // ## Assert ##
+        assertEquals(1, threadNameList.size());
+        assertEquals(callerName, threadNameList.get(0));
+        blocker.countDown();
+        deliverer.close();
+        assertEquals(3, threadNameList.size());
+        assertEquals(0L, deliverer.getDiscardedCount());
+    }
+
+    // ===================================================================================
+    //                                                                               Close
+    //                                                                               =====
+    public void test_offer_closedWhileOffering_deliveredByCaller() {
+        // ## Arrange ##
+        List<LaJobHistory> deliveredList = new CopyOnWriteArrayList<LaJobHistory>();
+        JobHistoryHook hook = new MockBatchHook(historyList -> deliveredList.addAll(historyList));
+        AsyncHistoryOption option = new AsyncHistoryOption();
+        Cron4jHistoryDeliverer deliverer = new Cron4jHistoryDeliverer(option, hook, new LaJobRunner(), 300) {
+            @Override
+            protected BlockingQueue<LaJobHistory> createHistoryQueue(AsyncHistoryOption option) {
+                return new ArrayBlockingQueue<LaJobHistory>(option.getQueueCapacity()) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public boolean offer(LaJobHistory jobHistory) { // closed between checking closed and queueing
+                        close(); // the writer and close() drain the empty queue
+                        return super.offer(jobHistory);
+                    }
+                };
+            }
+        };
+        deliverer.start();
+        MockJobHistory history = new MockJobHistory();
+
+        // ## Act ##
+        deliverer.offer(history);
+
+        // ## Assert ##
+        assertEquals(1, deliveredList.size()); // not left in the queue
+        assertSame(history, deliveredList.get(0));
+        assertEquals(0, deliverer.getQueuedCount());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Interrupted while waiting.", e);
+        }
+    }
+
+    private static interface BatchCall {
+
+        void callback(List<LaJobHistory> historyList);
+    }
+
+    private static class MockBatchHook implements JobHistoryHook {
+
+        private final BatchCall batchCall;
+
+        public MockBatchHook(BatchCall batchCall) {
+            this.batchCall = batchCall;
+        }
+
+        @Override
+        public void hookRecord(LaJobHistory jobHistory, JobHistoryResource resource) {
+            throw new IllegalStateException("Not called if batch.");
+        }
+
+        @Override
+        public void hookRecordBatch(List<LaJobHistory> historyList, JobHistoryResource resource) {
+            batchCall.callback(historyList);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.LaJobRunner;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobNote;
+import org.lastaflute.job.key.LaJobUnique;
+import org.lastaflute.job.subsidiary.ExecResultType;
+import org.lastaflute.job.subsidiary.HistoryJournalOption;
+
+import it.sauronsoftware.cron4j.RomanticCron4jFireAttr;
+import it.sauronsoftware.cron4j.RomanticCron4jNativeScheduler;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jHistoryJournalTest extends PlainTestCase {
+
+    private Path journalDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        journalDir = Files.createTempDirectory("lasta-job-journal");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        File[] files = journalDir.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        journalDir.toFile().delete();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                              Replay
+    //                                                                              ======
+    public void test_append_replay_afterReopen() {
+        // ## Arrange ##
+        HistoryJournalOption option = new HistoryJournalOption(journalDir.toString());
+        Cron4jHistoryJournal journal = new Cron4jHistoryJournal(option);
+        journal.open();
+        LocalDateTime activation = LocalDateTime.of(2026, 10, 16, 12, 34, 56, 789000000);
+        Map<String, String> rollMap = new LinkedHashMap<String, String>();
+        rollMap.put("sea", "mystic");
+        rollMap.put("land", null);
+        journal.append(createHistory("sea", activation, ExecResultType.SUCCESS, rollMap, null, null));
+        journal.append(createHistory("land", activation.plusMinutes(1), ExecResultType.CAUSED_BY_APPLICATION, new LinkedHashMap<>(),
+                new IllegalStateException("oneman"), new RomanticCron4jFireAttr(1234L, 56L, true)));
+        journal.close();
+
+        // ## Act ##
+        Cron4jHistoryJournal reopened = new Cron4jHistoryJournal(option);
+        reopened.open();
+        List<Cron4jJobHistory> historyList = new ArrayList<Cron4jJobHistory>();
+        int replayedCount = reopened.replay((historyKey, jobHistory) -> historyList.add(jobHistory));
+        reopened.append(createHistory("piari", activation.plusMinutes(2), ExecResultType.SUCCESS, new LinkedHashMap<>(), null, null));
+        reopened.close();
+
+        // ## Assert ##
+        assertEquals(2, replayedCount);
+        Cron4jJobHistory sea = historyList.get(0);
+        log(sea);
+        assertEquals("sea", sea.getJobKey().value());
+        assertEquals("title of sea", sea.getJobNote().get().getTitle().get());
+        assertFalse(sea.getJobNote().get().getDesc().isPresent());
+        assertEquals("uq-sea", sea.getJobUnique().get().value());
+        assertEquals("0 * * * *", sea.getCronExp().get());
+        assertEquals(activation, sea.getActivationTime());
+        assertEquals(activation.plusSeconds(1), sea.getBeginTime().get());
+        assertEquals(rollMap, sea.getEndTitleRollSnapshotMap());
+        assertFalse(sea.getCause().isPresent());
+        assertFalse(sea.getFireAttr().isPresent());
+
+        Cron4jJobHistory land = historyList.get(1);
+        log(land);
+        assertEquals(ExecResultType.CAUSED_BY_APPLICATION, land.getExecResultType());
+        Throwable cause = land.getCause().get();
+        assertEquals("oneman", cause.getMessage());
+        assertEquals(IllegalStateException.class.getName(), ((Cron4jSummarizedCause) cause).getCauseClassName());
+        assertEquals(1234L, land.getFireAttr().get().getPlannedFireMillis());
+        assertEquals(56L, land.getFireSpreadMillis());
+        assertTrue(land.isMisfireCatchUp());
+
+        Cron4jHistoryJournal third = new Cron4jHistoryJournal(option);
+        third.open();
+        List<String> keyList = new ArrayList<String>();
+        third.replay((historyKey, jobHistory) -> keyList.add(jobHistory.getJobKey().value()));
+        third.close();
+        assertEquals(3, keyList.size());
+        assertEquals("piari", keyList.get(2)); // appended after existing records
+    }
+
+    // ===================================================================================
+    //                                                                             Restart
+    //                                                                             =======
+    public void test_restart_waitForPreviousDestroying() {
+        // ## Arrange ##
+        HistoryJournalOption option = new HistoryJournalOption(journalDir.toString());
+        Cron4jHistoryJournal previousJournal = new Cron4jHistoryJournal(option);
+        LocalDateTime activation = LocalDateTime.of(2026, 10, 16, 12, 34, 56);
+        Cron4jScheduler previousScheduler = new Cron4jScheduler(new RomanticCron4jNativeScheduler()) {
+            @Override
+            public void stop() {
+                sleep(200); // e.g. waiting for running jobs
+                previousJournal.append(createHistory("sea", activation, ExecResultType.SUCCESS, new LinkedHashMap<>(), null, null));
+            }
+        };
+        Cron4jNow previousNow = new Cron4jNow(previousScheduler, new LaJobRunner(), () -> LocalDateTime.now(), false);
+        previousNow.startHistoryJournal(previousJournal);
+
+        // ## Act ##
+        previousNow.destroy();
+        Cron4jNow nextNow = new Cron4jNow(new Cron4jScheduler(new RomanticCron4jNativeScheduler()), new LaJobRunner(),
+                () -> LocalDateTime.now(), false);
+        Cron4jHistoryJournal nextJournal = new Cron4jHistoryJournal(option);
+        int replayedCount = nextNow.startHistoryJournal(nextJournal);
+
+        // ## Assert ##
+        try {
+            assertTrue(previousJournal.closed);
+            assertEquals(1, replayedCount); // saved while stopping
+            assertEquals(1, Cron4jJobHistory.list().size()); // not cleared by previous destroying
+        } finally {
+            nextJournal.close();
+            Cron4jJobHistory.clear();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Rotation
+    //                                                                            ========
+    public void test_append_rotateSegment() throws IOException {
+        // ## Arrange ##
+        HistoryJournalOption option = new HistoryJournalOption(journalDir.toString()).segmentBytes(64 * 1024).maxSegmentCount(2);
+        Cron4jHistoryJournal journal = new Cron4jHistoryJournal(option);
+        journal.open();
+        LocalDateTime activation = LocalDateTime.of(2026, 10, 16, 0, 0);
+
+        // ## Act ##
+        int appendedCount = 3000;
+        for (int i = 0; i < appendedCount; i++) {
+            journal.append(createHistory("job" + i, activation.plusMinutes(i), ExecResultType.SUCCESS, new LinkedHashMap<>(), null, null));
+        }
+        assertNotNull(journal.segmentCleaner); // old segments are deleted by cleaner thread
+        journal.close();
+
+        // ## Assert ##
+        assertNull(journal.segmentCleaner);
+        assertEquals(2, journalDir.toFile().listFiles().length); // deletion is waited by close()
+        Cron4jHistoryJournal reopened = new Cron4jHistoryJournal(option);
+        reopened.open();
+        List<String> keyList = new ArrayList<String>();
+        int replayedCount = reopened.replay((historyKey, jobHistory) -> keyList.add(jobHistory.getJobKey().value()));
+        reopened.close();
+        log("replayed: {}", replayedCount);
+        assertTrue(replayedCount > 0);
+        assertTrue(replayedCount < appendedCount); // oldest segments are deleted
+        assertEquals("job" + (appendedCount - 1), keyList.get(keyList.size() - 1));
+        assertEquals("job" + (appendedCount - replayedCount), keyList.get(0)); // continuous
+    }
+
+    public void test_open_skipStaleSegment() throws IOException {
+        // ## Arrange ##
+        HistoryJournalOption option = new HistoryJournalOption(journalDir.toString()).segmentBytes(64 * 1024).maxSegmentCount(2);
+        Cron4jHistoryJournal journal = new Cron4jHistoryJournal(option);
+        journal.open();
+        LocalDateTime activation = LocalDateTime.of(2026, 10, 16, 0, 0);
+        for (int i = 0; i < 3000; i++) {
+            journal.append(createHistory("job" + i, activation.plusMinutes(i), ExecResultType.SUCCESS, new LinkedHashMap<>(), null, null));
+        }
+        journal.close();
+        Path latestSegment = journal.toSegmentPath(journal.segmentNoList.get(journal.segmentNoList.size() - 1));
+        Path staleSegment = journal.toSegmentPath(0L); // e.g. failed to delete it on Windows
+        Files.copy(latestSegment, staleSegment);
+
+        // ## Act ##
+        Cron4jHistoryJournal reopened = new Cron4jHistoryJournal(option);
+        reopened.open();
+        List<String> keyList = new ArrayList<String>();
+        reopened.replay((historyKey, jobHistory) -> keyList.add(jobHistory.getJobKey().value()));
+        reopened.close();
+
+        // ## Assert ##
+        log("replayed: {}", keyList.size());
+        assertEquals("job" + (3000 - keyList.size()), keyList.get(0)); // continuous without stale histories
+        assertFalse(Files.exists(staleSegment)); // retried deletion
+        assertEquals(2, journalDir.toFile().listFiles().length);
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    private Cron4jJobHistory createHistory(String jobKey, LocalDateTime activation, ExecResultType resultType, Map<String, String> rollMap,
+            Throwable cause, RomanticCron4jFireAttr fireAttr) {
+        return new Cron4jJobHistory(LaJobKey.of(jobKey), OptionalThing.of(LaJobNote.of("title of " + jobKey, null)),
+                OptionalThing.of(LaJobUnique.of("uq-" + jobKey)), OptionalThing.of("0 * * * *"), "org.docksidestage.app.job.SeaJob",
+                activation, OptionalThing.of(activation.plusSeconds(1)), OptionalThing.of(activation.plusSeconds(2)), resultType, rollMap,
+                OptionalThing.ofNullable(cause, () -> {
+                    throw new IllegalStateException("Not found the cause.");
+                }), OptionalThing.ofNullable(fireAttr, () -> {
+                    throw new IllegalStateException("Not found the fire attribute.");
+                }));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.exception.JobCronExpInvalidException;
+
+import it.sauronsoftware.cron4j.RomanticCron4jFireQueueScheduler;
+import it.sauronsoftware.cron4j.RomanticCron4jNativeScheduler;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jSchedulerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                         Verify Cron
+    //                                                                         ===========
+    public void test_verifyCronExp_nativeEngine() {
+        // ## Arrange ##
+        Cron4jScheduler scheduler = new Cron4jScheduler(new RomanticCron4jNativeScheduler()); // not started
+
+        // ## Act ##
+        // ## Assert ##
+        scheduler.verifyCronExp("*/10 * * * *"); // no exception, minute pattern
+        scheduler.verifyCronExp("0 0 1 * *|30 12 * * 0");
+        assertException(JobCronExpInvalidException.class, () -> scheduler.verifyCronExp("*/10 * * * * *")).handle(cause -> {
+            assertContains(cause.getMessage(), "not supported by the scheduler engine");
+        });
+    }
+
+    public void test_verifyCronExp_fireQueueEngine() {
+        // ## Arrange ##
+        Cron4jScheduler scheduler = new Cron4jScheduler(new RomanticCron4jFireQueueScheduler()); // not started
+
+        // ## Act ##
+        // ## Assert ##
+        scheduler.verifyCronExp("*/10 * * * * *"); // no exception
+        scheduler.verifyCronExp("0,30 5 * * * *");
+        scheduler.verifyCronExp("*/10 * * * *"); // minute pattern too
+        assertException(JobCronExpInvalidException.class, () -> scheduler.verifyCronExp("60 * * * * *")).handle(cause -> {
+            assertContains(cause.getMessage(), "0-59");
+        });
+        assertException(JobCronExpInvalidException.class, () -> scheduler.verifyCronExp("0 * * * * *|0 5 * * * *")).handle(cause -> {
+            assertContains(cause.getMessage(), "Multiple patterns");
+        });
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.cron4j;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.utflute.core.cannonball.CannonballOption;
+import org.lastaflute.job.LaJob;
+import org.lastaflute.job.LaJobRunner;
+import org.lastaflute.job.LaJobRuntime;
+import org.lastaflute.job.exception.JobExecutionGroupNotFoundException;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.subsidiary.CompiledCronExp;
+import org.lastaflute.job.subsidiary.CronOption;
+import org.lastaflute.job.subsidiary.ExecutionPermitGroup;
+import org.lastaflute.job.subsidiary.FireSpreading;
+import org.lastaflute.job.subsidiary.FireSpreading.FireSpreadType;
+import org.lastaflute.job.subsidiary.JobConcurrentExec;
+import org.lastaflute.job.subsidiary.JobIdentityAttr;
+import org.lastaflute.job.subsidiary.JobStatisticsSnapshot;
+import org.lastaflute.job.subsidiary.LaunchNowOption;
+import org.lastaflute.job.subsidiary.NeighborConcurrentGroup;
+import org.lastaflute.job.subsidiary.RunnerResult;
+import org.lastaflute.job.subsidiary.VaryingCron;
+import org.lastaflute.job.subsidiary.VaryingCronOption;
+
+import it.sauronsoftware.cron4j.RomanticCron4jNativeScheduler;
+import it.sauronsoftware.cron4j.RomanticCron4jPatternCompiler;
+import it.sauronsoftware.cron4j.TaskExecutionContext;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class Cron4jTaskTest extends PlainTestCase {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    // ===================================================================================
+    //                                                                     Concurrent WAIT
+    //                                                                     ===============
+    public void test_doExecute_wait_noOverlap() {
+        // ## Arrange ##
+        Cron4jNow cron4jNow = prepareCron4jNow();
+        ExecutionRecorder recorder = new ExecutionRecorder();
+        MockTask task = new MockTask(cron4jNow, recorder);
+        Cron4jJob job = createJob(cron4jNow, task, "sea");
+        int threadCount = 8;
+        int repeatCount = 10;
+
+        // ## Act ##
+        long before = System.currentTimeMillis();
+        cannonball(car -> {
+            for (int i = 0; i < repeatCount; i++) {
+                RunnerResult result = task.doExecute(job, null, OptionalThing.empty());
+                assertFalse(result.isQuitByConcurrent());
+            }
+        }, new CannonballOption().threadCount(threadCount));
+        long cost = System.currentTimeMillis() - before;
+
+        // ## Assert ##
+        int executionCount = threadCount * repeatCount;
+        log("execution={}, maxConcurrent={}, cost={}ms", recorder.finished.get(), recorder.maxConcurrent.get(), cost);
+        assertEquals(executionCount, recorder.finished.get());
+        assertEquals(1, recorder.maxConcurrent.get()); // waiting for previous execution
+        assertTrue(recorder.errorList.isEmpty());
+        assertFalse(task.isRunningNow());
+        assertFalse(task.getPreparingReentrantLock().isLocked());
+        assertFalse(task.getRunningReentrantLock().isLocked());
+        assertTrue(cost < executionCount * 100L); // no fixed sleep (was 200ms per execution)
+    }
+
+    public void test_doExecute_wait_neighborNoOverlap() {
+        // ## Arrange ##
+        Cron4jNow cron4jNow = prepareCron4jNow();
+        ExecutionRecorder recorder = new ExecutionRecorder(); // shared by neighbors
+        MockTask seaTask = new MockTask(cron4jNow, recorder);
+        MockTask landTask = new MockTask(cron4jNow, recorder);
+        Cron4jJob seaJob = createJob(cron4jNow, seaTask, "sea");
+        Cron4jJob landJob = createJob(cron4jNow, landTask, "land");
+        NeighborConcurrentGroup group = new NeighborConcurrentGroup("maihama", JobConcurrentExec.WAIT,
+                new CopyOnWriteArraySet<LaJobKey>(), new ReentrantLock(true), new ReentrantLock());
+        seaJob.registerNeighborConcurrent(group.getGroupName(), group);
+        landJob.registerNeighborConcurrent(group.getGroupName(), group);
+        int repeatCount = 10;
+
+        // ## Act ##
+        cannonball(car -> {
+            for (int i = 0; i < repeatCount; i++) {
+                if (car.getEntryNumber() % 2 == 0) {
+                    seaTask.doExecute(seaJob, null, OptionalThing.empty());
+                } else {
+                    landTask.doExecute(landJob, null, OptionalThing.empty());
+                }
+            }
+        }, new CannonballOption().threadCount(6));
+
+        // ## Assert ##
+        log("execution={}, maxConcurrent={}", recorder.finished.get(), recorder.maxConcurrent.get());
+        assertEquals(6 * repeatCount, recorder.finished.get());
+        assertEquals(1, recorder.maxConcurrent.get()); // neighbor also waits
+        assertTrue(recorder.errorList.isEmpty());
+        assertFalse(group.getGroupPreparingReentrantLock().isLocked());
+        assertFalse(group.getGroupRunningReentrantLock().isLocked());
+    }
+
+    @SuppressWarnings("deprecation")
+    public void test_neighborConcurrentGroup_plainMonitor_rejected() {
+        // ## Arrange ##
+        ReentrantLock preparingLock = new ReentrantLock();
+        ReentrantLock runningLock = new ReentrantLock();
+        Object monitor = new Object();
+
+        // ## Act ##
+        NeighborConcurrentGroup group = new NeighborConcurrentGroup("maihama", JobConcurrentExec.WAIT,
+                new CopyOnWriteArraySet<LaJobKey>(), (Object) preparingLock, (Object) runningLock);
+
+        // ## Assert ##
+        assertSame(preparingLock, group.getGroupPreparingReentrantLock()); // kept as it is
+        assertSame(runningLock, group.getGroupRunningLock());
+        assertException(IllegalArgumentException.class, () -> {
+            new NeighborConcurrentGroup("maihama", JobConcurrentExec.WAIT, new CopyOnWriteArraySet<LaJobKey>(), monitor, monitor);
+        });
+    }
+
+    // ===================================================================================
+    //                                                                     Execution Group
+    //                                                                     ===============
+    public void test_doExecute_executionGroup_limited() {
+        // ## Arrange ##
+        ExecutionRecorder recorder = new ExecutionRecorder();
+        LaJobRunner jobRunner = new RecordingJobRunner(recorder).defineExecutionGroup("heavy", 2).limitConcurrentExecution(3);
+        Cron4jNow cron4jNow = new Cron4jNow(new Cron4jScheduler(new RomanticCron4jNativeScheduler()), jobRunner, () -> LocalDateTime.now(),
+                false);
+        int jobCount = 6;
+        List<Cron4jTask> taskList = new ArrayList<Cron4jTask>();
+        List<Cron4jJob> jobList = new ArrayList<Cron4jJob>();
+        for (int i = 0; i < jobCount; i++) { // different jobs so no waiting by job concurrent control
+            CronOption cronOption = new CronOption().inExecutionGroup("heavy");
+            Cron4jTask task = new Cron4jTask(new VaryingCron(Cron4jCron.NON_CRON, cronOption), LaJob.class, JobConcurrentExec.WAIT,
+                    option -> "mock", jobRunner, cron4jNow, () -> LocalDateTime.now(), false);
+            taskList.add(task);
+            jobList.add(createJob(cron4jNow, task, "job" + i));
+        }
+
+        // ## Act ##
+        cannonball(car -> {
+            int index = car.getEntryNumber() - 1;
+            for (int i = 0; i < 5; i++) {
+                taskList.get(index).doExecute(jobList.get(index), null, OptionalThing.empty());
+            }
+        }, new CannonballOption().threadCount(jobCount));
+
+        // ## Assert ##
+        ExecutionPermitGroup group = jobRunner.findExecutionGroup("heavy").get();
+        log("execution={}, maxConcurrent={}, group={}", recorder.finished.get(), recorder.maxConcurrent.get(), group);
+        assertEquals(jobCount * 5, recorder.finished.get());
+        assertEquals(2, recorder.maxConcurrent.get()); // limited by group (global is three)
+        assertEquals(2, group.getAvailablePermits());
+        assertEquals(jobCount * 5, group.getAcquiredCount());
+        assertTrue(group.getWaitedCount() > 0);
+        assertEquals(3, jobRunner.getGlobalExecutionPermit().get().getAvailablePermits());
+        for (Cron4jJob job : jobList) {
+            JobStatisticsSnapshot statistics = job.getExecStatistics().snapshot();
+            assertEquals(5L, statistics.getLockWait().getCount()); // one sample per execution
+            assertEquals(5L, statistics.getPermitWait().getCount());
+        }
+        cron4jNow.getMetricsRegistry().remove(LaJobKey.of("job0")); // e.g. unscheduled
+        taskList.get(0).doExecute(jobList.get(0), null, OptionalThing.empty());
+        assertFalse(cron4jNow.getMetricsRegistry().snapshot().findJobStatistics(LaJobKey.of("job0")).isPresent()); // not resurrected
+    }
+
+    public void test_findExecutionGroup_notFound() {
+        // ## Arrange ##
+        LaJobRunner jobRunner = new LaJobRunner().defineExecutionGroup("heavy", 2);
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(JobExecutionGroupNotFoundException.class, () -> jobRunner.findExecutionGroup("light").get());
+    }
+
+    // ===================================================================================
+    //                                                                         Fire Spread
+    //                                                                         ===========
+    public void test_determineFireSpreadMillis_hashedByUniqueCode() {
+        // ## Arrange ##
+        LaJobRunner jobRunner = new LaJobRunner().spreadFireTime(20);
+        Cron4jNow cron4jNow = new Cron4jNow(new Cron4jScheduler(new RomanticCron4jNativeScheduler()), jobRunner, () -> LocalDateTime.now(),
+                false);
+        Cron4jTask task = saveSpreadJob(cron4jNow, jobRunner, new CronOption().uniqueBy("sea"));
+
+        // ## Act ##
+        long offset = task.determineFireSpreadMillis();
+
+        // ## Assert ##
+        assertTrue(offset >= 0L && offset < 20000L);
+        assertEquals(offset, task.determineFireSpreadMillis()); // stable per fire
+        assertEquals(new FireSpreading(FireSpreadType.HASHED, 20000L).determineOffsetMillis("sea"), offset);
+    }
+
+    public void test_determineFireSpreadMillis_hashedByJobKey_jobOptionPrior() {
+        // ## Arrange ##
+        LaJobRunner jobRunner = new LaJobRunner().spreadFireTime(20);
+        Cron4jNow cron4jNow = new Cron4jNow(new Cron4jScheduler(new RomanticCron4jNativeScheduler()), jobRunner, () -> LocalDateTime.now(),
+                false);
+        Cron4jTask task = saveSpreadJob(cron4jNow, jobRunner, new CronOption().spreadFireTime(5)); // no unique code
+        String jobKey = cron4jNow.findJobByTask(task.getTaskJobIdentity()).get().getJobKey().value();
+
+        // ## Act ##
+        long offset = task.determineFireSpreadMillis();
+
+        // ## Assert ##
+        assertTrue(offset >= 0L && offset < 5000L); // job's window
+        assertEquals(new FireSpreading(FireSpreadType.HASHED, 5000L).determineOffsetMillis(jobKey), offset);
+    }
+
+    public void test_determineFireSpreadMillis_noSpreading() {
+        // ## Arrange ##
+        LaJobRunner jobRunner = new LaJobRunner();
+        Cron4jNow cron4jNow = new Cron4jNow(new Cron4jScheduler(new RomanticCron4jNativeScheduler()), jobRunner, () -> LocalDateTime.now(),
+                false);
+        Cron4jTask task = saveSpreadJob(cron4jNow, jobRunner, new CronOption());
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(0L, task.determineFireSpreadMillis());
+    }
+
+    private Cron4jTask saveSpreadJob(Cron4jNow cron4jNow, LaJobRunner jobRunner, CronOption cronOption) {
+        Cron4jTask task = new Cron4jTask(new VaryingCron(Cron4jCron.NON_CRON, cronOption), LaJob.class, JobConcurrentExec.WAIT,
+                option -> "mock", jobRunner, cron4jNow, () -> LocalDateTime.now(), false);
+        cron4jNow.saveJob(task, cronOption, Collections.emptyList(), OptionalThing.empty());
+        return task;
+    }
+
+    // ===================================================================================
+    //                                                                             Misfire
+    //                                                                             =======
+    public void test_handleMisfire_skip() {
+        // ## Arrange ##
+        Cron4jTask task = createHourlyTask(new CronOption());
+
+        // ## Act ##
+        List<Long> catchUpList = task.handleMisfire(toMillis("2026-10-16T10:00"), toMillis("2026-10-16T13:00"), UTC);
+
+        // ## Assert ##
+        assertHasZeroElement(catchUpList); // missed 11:00 and 12:00 but skipped
+    }
+
+    public void test_handleMisfire_catchUpOnce() {
+        // ## Arrange ##
+        Cron4jTask task = createHourlyTask(new CronOption().catchUpMisfireOnce());
+
+        // ## Act ##
+        List<Long> catchUpList = task.handleMisfire(toMillis("2026-10-16T10:00"), toMillis("2026-10-16T13:00"), UTC);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList(toMillis("2026-10-16T12:00")), catchUpList); // latest one
+    }
+
+    public void test_handleMisfire_catchUpLimited() {
+        // ## Arrange ##
+        Cron4jTask task = createHourlyTask(new CronOption().catchUpMisfire(2));
+
+        // ## Act ##
+        List<Long> catchUpList = task.handleMisfire(toMillis("2026-10-16T10:00"), toMillis("2026-10-16T15:00"), UTC);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList(toMillis("2026-10-16T13:00"), toMillis("2026-10-16T14:00")), catchUpList);
+        assertHasZeroElement(task.handleMisfire(toMillis("2026-10-16T10:00"), toMillis("2026-10-16T11:00"), UTC)); // not missed
+    }
+
+    private Cron4jTask createHourlyTask(CronOption cronOption) {
+        CompiledCronExp compiledCron = RomanticCron4jPatternCompiler.compile("0 * * * *");
+        return new Cron4jTask(new VaryingCron(compiledCron.getCronExp(), cronOption, compiledCron), LaJob.class, JobConcurrentExec.WAIT,
+                option -> "mock", new LaJobRunner(), prepareCron4jNow(), () -> LocalDateTime.now(), false);
+    }
+
+    private long toMillis(String localExp) {
+        return LocalDateTime.parse(localExp).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // ===================================================================================
+    //                                                                        Test Helper
+    //                                                                        ===========
+    private Cron4jNow prepareCron4jNow() {
+        Cron4jScheduler cron4jScheduler = new Cron4jScheduler(new RomanticCron4jNativeScheduler()); // not started
+        return new Cron4jNow(cron4jScheduler, new LaJobRunner(), () -> LocalDateTime.now(), false);
+    }
+
+    private Cron4jJob createJob(Cron4jNow cron4jNow, Cron4jTask task, String keyValue) {
+        return new Cron4jJob(LaJobKey.of(keyValue), OptionalThing.empty(), OptionalThing.empty(), OptionalThing.empty(), task, cron4jNow);
+    }
+
+    private static class ExecutionRecorder {
+
+        protected final AtomicInteger executing = new AtomicInteger();
+        protected final AtomicInteger maxConcurrent = new AtomicInteger();
+        protected final AtomicInteger finished = new AtomicInteger();
+        protected final List<Throwable> errorList = Collections.synchronizedList(new ArrayList<Throwable>());
+    }
+
+    private static class RecordingJobRunner extends LaJobRunner {
+
+        protected final ExecutionRecorder recorder;
+
+        public RecordingJobRunner(ExecutionRecorder recorder) {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public RunnerResult run(Class<? extends LaJob> jobType, Supplier<LaJobRuntime> runtimeSupplier) {
+            final int current = recorder.executing.incrementAndGet();
+            recorder.maxConcurrent.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(5L);
+            } catch (InterruptedException e) {
+                recorder.errorList.add(e);
+            } finally {
+                recorder.executing.decrementAndGet();
+                recorder.finished.incrementAndGet();
+            }
+            return RunnerResult.asExecuted(LocalDateTime.now(), OptionalThing.empty(), OptionalThing.empty(), false);
+        }
+    }
+
+    private static class MockTask extends Cron4jTask {
+
+        protected final ExecutionRecorder recorder;
+
+        public MockTask(Cron4jNow cron4jNow, ExecutionRecorder recorder) {
+            super(new VaryingCron(Cron4jCron.NON_CRON, new CronOption()), LaJob.class, JobConcurrentExec.WAIT,
+                    option -> "mock", new LaJobRunner(), cron4jNow, () -> LocalDateTime.now(), false);
+            this.recorder = recorder;
+        }
+
+        @Override
+        protected RunnerResult actuallyExecute(JobIdentityAttr identityProvider, String cronExp, VaryingCronOption cronOption,
+                TaskExecutionContext context, OptionalThing<LaunchNowOption> nowOption) {
+            final int current = recorder.executing.incrementAndGet();
+            recorder.maxConcurrent.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(2L); // short job
+            } catch (InterruptedException e) {
+                recorder.errorList.add(e);
+            } finally {
+                recorder.executing.decrementAndGet();
+                recorder.finished.incrementAndGet();
+            }
+            return RunnerResult.asExecuted(LocalDateTime.now(), OptionalThing.empty(), OptionalThing.empty(), false);
+        }
+    }
+}
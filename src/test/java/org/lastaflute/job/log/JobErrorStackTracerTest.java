@@ -15,6 +15,8 @@
  */
 package org.lastaflute.job.log;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.lang.reflect.Field;
 import java.nio.charset.Charset;
 
@@ -76,6 +78,108 @@ public class JobErrorStackTracerTest extends PlainTestCase {
         }
     }
 
+    // ===================================================================================
+    //                                                                              Format
+    //                                                                              ======
+    public void test_buildExceptionStackTrace_sameAsPrintStackTrace() {
+        // ## Arrange ##
+        IllegalStateException cause = createNestedException();
+
+        // ## Act ##
+        String exp = new JobErrorStackTracer().buildExceptionStackTrace(cause);
+
+        // ## Assert ##
+        StringWriter writer = new StringWriter();
+        cause.printStackTrace(new PrintWriter(writer));
+        log(exp);
+        assertEquals(writer.toString(), exp);
+        assertSame(exp, new JobErrorStackTracer().buildExceptionStackTrace(cause)); // cached
+    }
+
+    public void test_buildExceptionStackTrace_bounded() {
+        // ## Arrange ##
+        IllegalStateException cause = createNestedException();
+        JobErrorStackTracer tracer = new JobErrorStackTracer().maxCauseDepth(1).collapseFrame(frame -> {
+            return !frame.getClassName().startsWith(JobErrorStackTracerTest.class.getName());
+        });
+
+        // ## Act ##
+        String exp = tracer.buildExceptionStackTrace(cause);
+
+        // ## Assert ##
+        log(exp);
+        assertContains(exp, "collapsed frames");
+        assertContains(exp, "Suppressed: java.lang.IllegalArgumentException: suppressed");
+        assertContains(exp, "Caused by: java.lang.UnsupportedOperationException: middle");
+        assertContains(exp, "Caused by: java.lang.NullPointerException: root"); // only caption over max depth
+        assertContains(exp, "omitted by max cause depth 1");
+        assertFalse(exp.contains("at junit."));
+        assertNotSame(exp, new JobErrorStackTracer().buildExceptionStackTrace(cause)); // other options
+    }
+
+    public void test_buildExceptionStackTrace_changedAfterRendering() {
+        // ## Arrange ##
+        IllegalStateException cause = new IllegalStateException("top");
+        JobErrorStackTracer tracer = new JobErrorStackTracer();
+        String first = tracer.buildExceptionStackTrace(cause);
+
+        // ## Act ##
+        cause.addSuppressed(new IllegalArgumentException("suppressed"));
+        String suppressed = tracer.buildExceptionStackTrace(cause);
+        cause.initCause(new NullPointerException("root"));
+        String caused = tracer.buildExceptionStackTrace(cause);
+
+        // ## Assert ##
+        log(caused);
+        assertFalse(first.contains("Suppressed:"));
+        assertContains(suppressed, "Suppressed: java.lang.IllegalArgumentException: suppressed");
+        assertContains(caused, "Caused by: java.lang.NullPointerException: root");
+        assertSame(caused, tracer.buildExceptionStackTrace(cause)); // cached again
+    }
+
+    public void test_buildExceptionStackTrace_equalException() {
+        // ## Arrange ##
+        JobErrorStackTracer tracer = new JobErrorStackTracer();
+        EqualException first = new EqualException("first");
+        EqualException second = new EqualException("second");
+
+        // ## Act ##
+        String firstExp = tracer.buildExceptionStackTrace(first);
+        String secondExp = tracer.buildExceptionStackTrace(second);
+
+        // ## Assert ##
+        assertEquals(first, second);
+        assertContains(firstExp, "first");
+        assertContains(secondExp, "second"); // not shared with the equal exception
+    }
+
+    private static class EqualException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public EqualException(String msg) {
+            super(msg);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof EqualException;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    private IllegalStateException createNestedException() {
+        NullPointerException root = new NullPointerException("root");
+        UnsupportedOperationException middle = new UnsupportedOperationException("middle", root);
+        IllegalStateException cause = new IllegalStateException("top", middle);
+        cause.addSuppressed(new IllegalArgumentException("suppressed"));
+        return cause;
+    }
+
     private void forcedlySetDefaultCharset(Charset charset) {
         Field defaultCharsetField = DfReflectionUtil.getWholeField(Charset.class, "defaultCharset");
         DfReflectionUtil.setValueForcedly(defaultCharsetField, null, charset);
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+import java.time.Duration;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.subsidiary.JobErrorDedupOption;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobErrorSuppressorTest extends PlainTestCase {
+
+    public void test_fingerprint_sameSite_differentMessage() {
+        // ## Arrange ##
+        JobErrorFingerprint[] prints = new JobErrorFingerprint[2];
+        for (int i = 0; i < prints.length; i++) { // same stack frames
+            prints[i] = JobErrorFingerprint.of(throwAt("id=" + i), 5);
+        }
+        JobErrorFingerprint firstPrint = prints[0];
+
+        // ## Act ##
+        JobErrorFingerprint secondPrint = prints[1];
+        JobErrorFingerprint otherPrint = JobErrorFingerprint.of(new IllegalStateException("id=0"), 5);
+
+        // ## Assert ##
+        log(firstPrint.getFingerprintExp());
+        assertEquals(firstPrint, secondPrint);
+        assertFalse(firstPrint.equals(otherPrint));
+        assertTrue(firstPrint.getFingerprintExp().contains(IllegalArgumentException.class.getName()));
+    }
+
+    public void test_judge_window_resolve() {
+        // ## Arrange ##
+        long[] currentMillis = new long[] { 1000000L };
+        JobErrorSuppressor suppressor = new JobErrorSuppressor(newDedupOption()) {
+            @Override
+            protected long currentMillis() {
+                return currentMillis[0];
+            }
+        };
+        LaJobKey seaKey = LaJobKey.of("sea");
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(suppressor.judge(seaKey, throwAt("first")).isSuppressed());
+        currentMillis[0] += 60000L;
+        JobErrorJudgment repeated = suppressor.judge(seaKey, throwAt("second"));
+        assertTrue(repeated.isSuppressed());
+        assertEquals(1, repeated.getRepeatedCount());
+        assertTrue(suppressor.judge(seaKey, throwAt("third")).isSuppressed());
+        assertFalse(suppressor.judge(LaJobKey.of("land"), throwAt("other job")).isSuppressed());
+
+        currentMillis[0] += 10 * 60000L; // window expired
+        JobErrorJudgment afterWindow = suppressor.judge(seaKey, throwAt("fourth"));
+        assertFalse(afterWindow.isSuppressed());
+        assertEquals(2, afterWindow.getRepeatedCount()); // of the previous window
+        log(afterWindow.toSummaryLine());
+
+        assertTrue(suppressor.judge(seaKey, throwAt("fifth")).isSuppressed());
+        String summary = suppressor.resolve(seaKey).get();
+        log(summary);
+        assertContains(summary, "=1");
+        assertFalse(suppressor.resolve(seaKey).isPresent());
+        assertFalse(suppressor.judge(seaKey, throwAt("after success")).isSuppressed());
+    }
+
+    private JobErrorDedupOption newDedupOption() {
+        return new JobErrorDedupOption().suppressionWindow(Duration.ofMinutes(10)).topFrameCount(1); // ignoring caller lines
+    }
+
+    private Throwable throwAt(String msg) { // same top frame
+        return new IllegalArgumentException(msg);
+    }
+}
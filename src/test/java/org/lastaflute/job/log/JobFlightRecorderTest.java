@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.log;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobUnique;
+import org.lastaflute.job.subsidiary.ExecResultType;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobFlightRecorderTest extends PlainTestCase {
+
+    public void test_begin_noRecording() {
+        assertTrue(JobFlightRecorder.isAvailable()); // test runtime has JFR
+        assertSame(JobFlightSpan.NONE, JobFlightRecorder.begin(JobFlightEventType.JOB_RUN));
+    }
+
+    public void test_begin_recording() throws Exception {
+        // ## Arrange ##
+        File dumpFile = File.createTempFile("lasta-job-flight", ".jfr");
+        dumpFile.deleteOnExit();
+        List<RecordedEvent> eventList;
+        JobFlightSpan disabledSpan;
+        try (Recording recording = new Recording()) {
+            recording.enable("org.lastaflute.job.JobRun");
+            recording.enable("org.lastaflute.job.JobActivation");
+            recording.disable("org.lastaflute.job.JobHistoryHook");
+            recording.start();
+
+            // ## Act ##
+            JobFlightRecorder.emit(JobFlightEventType.ACTIVATION, LaJobKey.of("sea"), OptionalThing.empty(), null);
+            JobFlightSpan span = JobFlightRecorder.begin(JobFlightEventType.JOB_RUN);
+            span.end(LaJobKey.of("sea"), OptionalThing.of(LaJobUnique.of("uq-sea")), ExecResultType.SUCCESS);
+            disabledSpan = JobFlightRecorder.begin(JobFlightEventType.HISTORY_HOOK);
+            disabledSpan.end(LaJobKey.of("land"), OptionalThing.empty(), null);
+
+            recording.stop();
+            recording.dump(dumpFile.toPath());
+        }
+        eventList = RecordingFile.readAllEvents(dumpFile.toPath())
+                .stream()
+                .filter(event -> event.getEventType().getName().startsWith("org.lastaflute.job."))
+                .collect(Collectors.toList());
+
+        // ## Assert ##
+        log(eventList);
+        assertSame(JobFlightSpan.NONE, disabledSpan); // not allocated
+        assertEquals(2, eventList.size());
+        RecordedEvent activation = eventList.get(0);
+        assertEquals("org.lastaflute.job.JobActivation", activation.getEventType().getName());
+        assertEquals("sea", activation.getString("jobKey"));
+        assertNull(activation.getString("resultType"));
+        RecordedEvent run = eventList.get(1);
+        assertEquals("org.lastaflute.job.JobRun", run.getEventType().getName());
+        assertEquals("uq-sea", run.getString("jobUnique"));
+        assertEquals("SUCCESS", run.getString("resultType"));
+        assertEquals(Thread.currentThread().getName(), run.getThread().getJavaName());
+    }
+}
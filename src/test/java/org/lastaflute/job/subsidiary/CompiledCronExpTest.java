@@ -0,0 +1,184 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+import it.sauronsoftware.cron4j.RomanticCron4jPatternCompiler;
+import it.sauronsoftware.cron4j.SchedulingPattern;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class CompiledCronExpTest extends PlainTestCase {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    // ===================================================================================
+    //                                                                        Differential
+    //                                                                        ============
+    public void test_nextFireTime_sameAsNativeMatch() {
+        // ## Arrange ##
+        String[] cronExps = { "* * * * *", "*/15 * * * *", "0 0 * * *", "30 9 * * 1-5", "0 22-2 * * *", "50-10/5 * * * *",
+                "0 0 L * *", "0 12 13 * 5", "0 0 * * 5-1", "0 0 1 JAN,jul *", "0 0 * * 7", "5/20 * * * *",
+                "0 0 1 * *|30 12 * * 0", "0 0 31 * *" };
+        Random random = new Random(20261016L);
+
+        for (String cronExp : cronExps) {
+            SchedulingPattern pattern = new SchedulingPattern(cronExp);
+            CompiledCronExp compiled = RomanticCron4jPatternCompiler.compile(cronExp);
+            for (int i = 0; i < 20; i++) {
+                LocalDateTime base = LocalDateTime.of(2023, 1, 1, 0, 0).plusMinutes(random.nextInt(60 * 24 * 365 * 3));
+
+                // ## Act ##
+                LocalDateTime next = compiled.nextFireTime(base).get();
+                LocalDateTime previous = compiled.previousFireTime(base).get();
+
+                // ## Assert ##
+                assertEquals(cronExp + " after " + base, findNativeNext(pattern, base), next);
+                assertEquals(cronExp + " before " + base, findNativePrevious(pattern, base), previous);
+            }
+        }
+    }
+
+    private LocalDateTime findNativeNext(SchedulingPattern pattern, LocalDateTime base) {
+        LocalDateTime current = base.plusMinutes(1);
+        while (!pattern.match(UTC, toMillis(current))) {
+            current = current.plusMinutes(1);
+        }
+        return current;
+    }
+
+    private LocalDateTime findNativePrevious(SchedulingPattern pattern, LocalDateTime base) {
+        LocalDateTime current = base.minusMinutes(1);
+        while (!pattern.match(UTC, toMillis(current))) {
+            current = current.minusMinutes(1);
+        }
+        return current;
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // ===================================================================================
+    //                                                                      Seconds Field
+    //                                                                      =============
+    public void test_nextFireTime_seconds() {
+        // ## Arrange ##
+        CompiledCronExp compiled = RomanticCron4jPatternCompiler.compile("*/20 59 23 31 12 *");
+
+        // ## Act ##
+        List<LocalDateTime> timeList = compiled.forecastFireTimeList(LocalDateTime.of(2026, 12, 31, 23, 59, 30), 3);
+
+        // ## Assert ##
+        log(timeList);
+        assertTrue(compiled.isSecondsSpecified());
+        assertEquals(LocalDateTime.of(2026, 12, 31, 23, 59, 40), timeList.get(0));
+        assertEquals(LocalDateTime.of(2027, 12, 31, 23, 59, 0), timeList.get(1));
+        assertEquals(LocalDateTime.of(2027, 12, 31, 23, 59, 20), timeList.get(2));
+        assertEquals(LocalDateTime.of(2026, 12, 31, 23, 59, 20),
+                compiled.previousFireTime(LocalDateTime.of(2026, 12, 31, 23, 59, 39)).get());
+    }
+
+    // ===================================================================================
+    //                                                                            Leap Day
+    //                                                                            ========
+    public void test_nextFireTime_leapDay() {
+        // ## Arrange ##
+        CompiledCronExp compiled = RomanticCron4jPatternCompiler.compile("0 0 29 2 *|0 0 L 2 *");
+
+        // ## Act ##
+        List<LocalDateTime> timeList = compiled.forecastFireTimeList(LocalDateTime.of(2026, 10, 16, 0, 0), 3);
+
+        // ## Assert ##
+        log(timeList);
+        assertEquals(LocalDateTime.of(2027, 2, 28, 0, 0), timeList.get(0));
+        assertEquals(LocalDateTime.of(2028, 2, 29, 0, 0), timeList.get(1));
+        assertEquals(LocalDateTime.of(2029, 2, 28, 0, 0), timeList.get(2));
+        assertEquals(LocalDateTime.of(2024, 2, 29, 0, 0), compiled.previousFireTime(LocalDateTime.of(2024, 2, 29, 0, 1)).get());
+    }
+
+    // ===================================================================================
+    //                                                                         Never Fired
+    //                                                                         ===========
+    public void test_nextFireTime_neverFired() {
+        // ## Arrange ##
+        CompiledCronExp compiled = RomanticCron4jPatternCompiler.compile("0 0 30 2 *");
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(compiled.nextFireTime(LocalDateTime.of(2026, 10, 16, 0, 0)).isPresent());
+        assertTrue(compiled.forecastFireTimeList(LocalDateTime.of(2026, 10, 16, 0, 0), 3).isEmpty());
+        assertEquals(CompiledCronExp.NOT_FOUND, compiled.nextFireMillis(0L, UTC));
+    }
+
+    // ===================================================================================
+    //                                                                        Summer Time
+    //                                                                        ===========
+    public void test_nextFireMillis_summerTime() {
+        // ## Arrange ##
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        CompiledCronExp compiled = RomanticCron4jPatternCompiler.compile("30 1,2 * * *");
+        SchedulingPattern pattern = new SchedulingPattern("30 1,2 * * *");
+        long base = LocalDateTime.of(2026, 3, 1, 0, 0).toInstant(ZoneOffset.ofHours(-5)).toEpochMilli();
+
+        // ## Act ##
+        // ## Assert ##
+        long current = base;
+        for (int i = 0; i < 600; i++) { // through both summer time transitions
+            long next = compiled.nextFireMillis(current, zone);
+            long expected = current - (current % 60000L) + 60000L;
+            while (!pattern.match(zone, expected)) {
+                expected += 60000L;
+            }
+            assertEquals(expected, next);
+            current = next;
+        }
+    }
+
+    public void test_forecastFireTimeList_summerTime() {
+        // ## Arrange ##
+        TimeZone zone = TimeZone.getTimeZone("America/New_York"); // 2026-03-08 02:00 skipped, 2026-11-01 01:00 repeated
+        CompiledCronExp springCron = RomanticCron4jPatternCompiler.compile("30 2 * * *");
+        CompiledCronExp fallCron = RomanticCron4jPatternCompiler.compile("30 1 * * *");
+        long springBase = LocalDateTime.of(2026, 3, 7, 0, 0).toInstant(ZoneOffset.ofHours(-5)).toEpochMilli();
+        long fallBase = LocalDateTime.of(2026, 10, 31, 0, 0).toInstant(ZoneOffset.ofHours(-4)).toEpochMilli();
+
+        // ## Act ##
+        List<LocalDateTime> springList = springCron.forecastFireTimeList(springBase, zone, 3);
+        List<LocalDateTime> fallList = fallCron.forecastFireTimeList(fallBase, zone, 4);
+
+        // ## Assert ##
+        log(springList, fallList);
+        assertEquals(LocalDateTime.of(2026, 3, 7, 2, 30), springList.get(0));
+        assertEquals(LocalDateTime.of(2026, 3, 9, 2, 30), springList.get(1)); // 03-08 02:30 never fires
+        assertEquals(LocalDateTime.of(2026, 3, 10, 2, 30), springList.get(2));
+        assertEquals(LocalDateTime.of(2026, 10, 31, 1, 30), fallList.get(0));
+        assertEquals(LocalDateTime.of(2026, 11, 1, 1, 30), fallList.get(1)); // as daylight time
+        assertEquals(LocalDateTime.of(2026, 11, 1, 1, 30), fallList.get(2)); // as standard time
+        assertEquals(LocalDateTime.of(2026, 11, 2, 1, 30), fallList.get(3));
+        List<LocalDateTime> bareList = springCron.forecastFireTimeList(LocalDateTime.of(2026, 3, 7, 0, 0), 3);
+        assertEquals(LocalDateTime.of(2026, 3, 8, 2, 30), bareList.get(1)); // bare local fields contain the skipped time
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class ContentionRecordingLockTest extends PlainTestCase {
+
+    public void test_lockRecording_notContended() {
+        // ## Arrange ##
+        ContentionRecordingLock lock = new ContentionRecordingLock("job preparing", true);
+
+        // ## Act ##
+        long waitNanos = lock.lockRecording();
+        try {
+            // ## Assert ##
+            assertEquals(0L, waitNanos);
+            assertEquals(Thread.currentThread().getName(), lock.findOwnerThreadName().get());
+        } finally {
+            lock.unlock();
+        }
+        JobLockContention contention = lock.takeContentionSnapshot();
+        log(contention);
+        assertEquals(1L, contention.getAcquiredCount());
+        assertEquals(0L, contention.getContendedCount());
+        assertFalse(contention.getLastHolderName().isPresent());
+        assertFalse(contention.getCurrentOwnerName().isPresent());
+    }
+
+    public void test_lockRecording_contended() throws Exception {
+        // ## Arrange ##
+        ContentionRecordingLock lock = new ContentionRecordingLock("neighbor running (land)", false);
+        CountDownLatch lockedLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            lock.lock();
+            try {
+                lockedLatch.countDown();
+                releaseLatch.await();
+            } catch (InterruptedException ignored) {} finally {
+                lock.unlock();
+            }
+        }, "lasta_job_sea");
+        holder.start();
+        lockedLatch.await();
+
+        // ## Act ##
+        new Thread(() -> {
+            sleep(100);
+            releaseLatch.countDown();
+        }).start();
+        long waitNanos = lock.lockRecording();
+        lock.unlock();
+        holder.join();
+
+        // ## Assert ##
+        JobLockContention contention = lock.takeContentionSnapshot();
+        log(contention.toDisplay());
+        assertTrue(waitNanos > 0L);
+        assertEquals(1L, contention.getAcquiredCount());
+        assertEquals(1L, contention.getContendedCount());
+        assertTrue(contention.getMaxWaitMillis() >= 50L);
+        assertEquals("lasta_job_sea", contention.getLastHolderName().get());
+        assertEquals("lasta_job_sea", contention.getMaxWaitHolderName().get());
+    }
+}
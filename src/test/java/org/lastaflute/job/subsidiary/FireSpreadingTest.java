@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.subsidiary.FireSpreading.FireSpreadType;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class FireSpreadingTest extends PlainTestCase {
+
+    public void test_determineOffsetMillis_hashed_stableInWindow() {
+        // ## Arrange ##
+        FireSpreading spreading = new FireSpreading(FireSpreadType.HASHED, 20000L);
+        Set<Long> offsetSet = new HashSet<Long>();
+
+        for (int i = 0; i < 100; i++) {
+            String identity = "job" + i; // similar keys like auto-generated job keys
+
+            // ## Act ##
+            long offset = spreading.determineOffsetMillis(identity);
+
+            // ## Assert ##
+            assertTrue(identity + ": " + offset, offset >= 0L && offset < 20000L);
+            assertEquals(offset, spreading.determineOffsetMillis(identity)); // same job, same offset
+            assertEquals(offset, new FireSpreading(FireSpreadType.HASHED, 20000L).determineOffsetMillis(identity)); // other instance
+            offsetSet.add(offset);
+        }
+        log("distinct offsets: {}", offsetSet.size());
+        assertTrue(offsetSet.size() > 90); // spread, not gathered
+    }
+
+    public void test_determineOffsetMillis_random_inWindow() {
+        // ## Arrange ##
+        FireSpreading spreading = new FireSpreading(FireSpreadType.RANDOM, 1000L);
+
+        for (int i = 0; i < 100; i++) {
+            // ## Act ##
+            long offset = spreading.determineOffsetMillis("sea");
+
+            // ## Assert ##
+            assertTrue(String.valueOf(offset), offset >= 0L && offset < 1000L);
+        }
+    }
+
+    public void test_constructor_illegal() {
+        assertException(IllegalArgumentException.class, () -> new FireSpreading(null, 1000L));
+        assertException(IllegalArgumentException.class, () -> new FireSpreading(FireSpreadType.HASHED, 0L));
+    }
+}
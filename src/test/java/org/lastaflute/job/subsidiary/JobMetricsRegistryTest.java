@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.key.LaJobKey;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class JobMetricsRegistryTest extends PlainTestCase {
+
+    public void test_snapshot_basic() {
+        // ## Arrange ##
+        JobMetricsRegistry registry = new JobMetricsRegistry();
+        JobExecStatistics sea = registry.register(LaJobKey.of("sea"));
+        JobExecStatistics land = registry.register(LaJobKey.of("land"));
+        assertSame(sea, registry.register(LaJobKey.of("sea")));
+
+        // ## Act ##
+        registry.beginExecuting(false);
+        registry.beginExecuting(true);
+        registry.recordLockWait(sea, 5L);
+        registry.recordPermitWait(sea, 7L);
+        registry.recordExecution(sea, ExecResultType.SUCCESS, 1000L, 1010L, 1100L);
+        registry.recordHookTime(sea, 3L);
+        registry.endExecuting(false);
+        registry.recordExecution(land, ExecResultType.QUIT_BY_CONCURRENT, 1000L, JobExecStatistics.NONE_MILLIS,
+                JobExecStatistics.NONE_MILLIS);
+        JobMetricsSnapshot snapshot = registry.snapshot();
+
+        // ## Assert ##
+        log(snapshot);
+        assertTrue(snapshot.isConsistent());
+        assertEquals(1L, snapshot.getExecutingCount());
+        assertEquals(1L, snapshot.getOutlawParallelCount());
+        assertEquals(2, snapshot.getJobStatisticsList().size());
+        JobStatisticsSnapshot seaSnapshot = snapshot.findJobStatistics(LaJobKey.of("sea")).get();
+        log(seaSnapshot);
+        assertEquals(1L, seaSnapshot.getResultCount(ExecResultType.SUCCESS));
+        assertEquals(1L, seaSnapshot.getLockWait().getCount());
+        assertEquals(1L, seaSnapshot.getPermitWait().getCount()); // separated from lock wait
+        assertEquals(1L, seaSnapshot.getHookTime().getCount());
+        assertEquals(1L, snapshot.findJobStatistics(LaJobKey.of("land")).get().getResultCount(ExecResultType.QUIT_BY_CONCURRENT));
+
+        registry.remove(LaJobKey.of("land"));
+        assertFalse(registry.snapshot().findJobStatistics(LaJobKey.of("land")).isPresent());
+    }
+
+    public void test_snapshot_consistent_withConcurrentRecording() throws Exception {
+        // ## Arrange ##
+        JobMetricsRegistry registry = new JobMetricsRegistry();
+        JobExecStatistics sea = registry.register(LaJobKey.of("sea"));
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threadList = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                startLatch.countDown();
+                while (running.get()) {
+                    registry.recordExecution(sea, ExecResultType.SUCCESS, 1000L, 1001L, 1002L);
+                }
+            });
+            thread.start();
+            threadList.add(thread);
+        }
+        startLatch.await();
+
+        // ## Act ##
+        // ## Assert ##
+        int consistentCount = 0;
+        for (int i = 0; i < 200; i++) {
+            JobMetricsSnapshot snapshot = registry.snapshot();
+            if (snapshot.isConsistent()) {
+                ++consistentCount;
+                JobStatisticsSnapshot statistics = snapshot.getJobStatisticsList().get(0);
+                // counter and timers are updated by one recording
+                assertEquals(statistics.getTotalCount(), statistics.getDuration().getCount());
+                assertEquals(statistics.getTotalCount(), statistics.getQueueWait().getCount());
+            }
+        }
+        running.set(false);
+        for (Thread thread : threadList) {
+            thread.join();
+        }
+        log("consistent snapshots: {}/200", consistentCount);
+        assertTrue(registry.snapshot().isConsistent());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.job.subsidiary;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.subsidiary.LatencyHistogram.LatencySummary;
+
+/**
+ * @author jflute
+ * @since 0.5.7 (2026/10/16 Friday)
+ */
+public class LatencyHistogramTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                              Bucket
+    //                                                                              ======
+    public void test_bucket_boundary() {
+        long previousUpper = -1L;
+        for (long value = 0L; value < 100000L; value++) {
+            int index = LatencyHistogram.toBucketIndex(value);
+            long upper = LatencyHistogram.toBucketUpperBound(index);
+            assertTrue(value <= upper);
+            assertTrue(upper - value <= Math.max(value / 8, 0L)); // error under 12.5%
+            if (upper != previousUpper) {
+                assertEquals(previousUpper + 1, value); // buckets are continuous
+                previousUpper = upper;
+            }
+        }
+        assertTrue(LatencyHistogram.toBucketIndex(Long.MAX_VALUE) < LatencyHistogram.BUCKET_COUNT);
+    }
+
+    // ===================================================================================
+    //                                                                          Percentile
+    //                                                                          ==========
+    public void test_summarize_percentile() {
+        // ## Arrange ##
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-5L); // treated as zero
+
+        // ## Act ##
+        LatencySummary summary = histogram.summarize();
+
+        // ## Assert ##
+        log(summary);
+        assertEquals(1001L, summary.getCount());
+        assertEquals(1000L, summary.getMax());
+        assertEquals(500L, summary.getMean());
+        assertBetween(summary.getP50(), 500L, 563L);
+        assertBetween(summary.getP90(), 900L, 1000L);
+        assertBetween(summary.getP99(), 990L, 1000L);
+    }
+
+    public void test_summarize_empty() {
+        LatencySummary summary = new LatencyHistogram().summarize();
+        assertEquals(0L, summary.getCount());
+        assertEquals(0L, summary.getP99());
+        assertEquals(0L, summary.getMax());
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public void test_statistics_record() {
+        // ## Arrange ##
+        JobExecStatistics statistics = new JobExecStatistics(LaJobKey.of("sea"));
+
+        // ## Act ##
+        statistics.record(ExecResultType.SUCCESS, 1000L, 1010L, 1110L);
+        statistics.record(ExecResultType.SUCCESS, 2000L, 2020L, 2220L);
+        statistics.record(ExecResultType.CAUSED_BY_APPLICATION, 3000L, 3000L, 3050L);
+        statistics.record(ExecResultType.ERROR_BY_CONCURRENT, 4000L, JobExecStatistics.NONE_MILLIS, JobExecStatistics.NONE_MILLIS);
+
+        // ## Assert ##
+        JobStatisticsSnapshot snapshot = statistics.snapshot();
+        log(snapshot);
+        assertEquals(4L, snapshot.getTotalCount());
+        assertEquals(2L, snapshot.getResultCount(ExecResultType.SUCCESS));
+        assertEquals(1L, snapshot.getResultCount(ExecResultType.CAUSED_BY_APPLICATION));
+        assertEquals(1L, snapshot.getResultCount(ExecResultType.ERROR_BY_CONCURRENT));
+        assertEquals(0L, snapshot.getResultCount(ExecResultType.QUIT_BY_CONCURRENT));
+        assertEquals(3L, snapshot.getDuration().getCount()); // not begun is excluded
+        assertEquals(200L, snapshot.getDuration().getMax());
+        assertEquals(20L, snapshot.getQueueWait().getMax());
+    }
+
+    private void assertBetween(long actual, long min, long max) {
+        assertTrue("actual=" + actual, min <= actual && actual <= max);
+    }
+}
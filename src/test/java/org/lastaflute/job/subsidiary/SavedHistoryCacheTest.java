@@ -15,13 +15,25 @@
  */
 package org.lastaflute.job.subsidiary;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.dbflute.optional.OptionalThing;
 import org.dbflute.utflute.core.PlainTestCase;
 import org.dbflute.utflute.core.cannonball.CannonballCar;
 import org.dbflute.utflute.core.cannonball.CannonballOption;
 import org.dbflute.utflute.core.cannonball.CannonballRun;
 import org.lastaflute.job.LaJobHistory;
+import org.lastaflute.job.key.LaJobKey;
+import org.lastaflute.job.key.LaJobUnique;
 import org.lastaflute.job.log.SavedHistoryCache;
 import org.lastaflute.job.mock.MockJobHistory;
 
@@ -60,4 +72,250 @@ public class SavedHistoryCacheTest extends PlainTestCase {
         }
         assertEquals(limit, historyList.size());
     }
+
+    public void test_record_evictOldest_keepOrder() {
+        // ## Arrange ##
+        SavedHistoryCache cache = new SavedHistoryCache();
+        List<LaJobHistory> recordedList = new ArrayList<LaJobHistory>();
+
+        // ## Act ##
+        for (int i = 0; i < 7; i++) {
+            LaJobHistory jobHistory = new MockJobHistory();
+            recordedList.add(jobHistory);
+            cache.record("sea_" + i, jobHistory, 5);
+        }
+
+        // ## Assert ##
+        assertEquals(recordedList.subList(2, 7), cache.list()); // oldest first
+        assertFalse(cache.find("sea_1").isPresent()); // evicted
+        assertEquals(recordedList.get(2), cache.find("sea_2").get());
+        assertEquals(recordedList.get(6), cache.find("sea_6").get());
+    }
+
+    public void test_record_limitChanged() {
+        // ## Arrange ##
+        SavedHistoryCache cache = new SavedHistoryCache();
+        List<LaJobHistory> recordedList = new ArrayList<LaJobHistory>();
+        for (int i = 0; i < 5; i++) {
+            LaJobHistory jobHistory = new MockJobHistory();
+            recordedList.add(jobHistory);
+            cache.record("sea_" + i, jobHistory, 5);
+        }
+
+        // ## Act ##
+        LaJobHistory lastHistory = new MockJobHistory();
+        recordedList.add(lastHistory);
+        cache.record("sea_5", lastHistory, 3); // smaller
+
+        // ## Assert ##
+        assertEquals(recordedList.subList(3, 6), cache.list());
+        assertFalse(cache.find("sea_2").isPresent());
+        assertEquals(lastHistory, cache.find("sea_5").get());
+        cache.clear();
+        assertHasZeroElement(cache.list());
+        assertFalse(cache.find("sea_5").isPresent());
+    }
+
+    // ===================================================================================
+    //                                                                              Search
+    //                                                                              ======
+    public void test_forEach_order_stop() {
+        // ## Arrange ##
+        SavedHistoryCache cache = new SavedHistoryCache();
+        List<LaJobHistory> recordedList = new ArrayList<LaJobHistory>();
+        for (int i = 0; i < 8; i++) {
+            LaJobHistory jobHistory = new MockJobHistory();
+            recordedList.add(jobHistory);
+            cache.record("sea_" + i, jobHistory, 5);
+        }
+
+        // ## Act ##
+        List<LaJobHistory> oldestList = new ArrayList<LaJobHistory>();
+        int oldestCount = cache.forEach(JobHistoryOrder.OLDEST_FIRST, history -> oldestList.add(history));
+        List<LaJobHistory> latestList = new ArrayList<LaJobHistory>();
+        int latestCount = cache.forEach(JobHistoryOrder.LATEST_FIRST, history -> {
+            latestList.add(history);
+            return latestList.size() < 2; // stops at second
+        });
+
+        // ## Assert ##
+        assertEquals(5, oldestCount);
+        assertEquals(recordedList.subList(3, 8), oldestList);
+        assertEquals(2, latestCount);
+        assertEquals(Arrays.asList(recordedList.get(7), recordedList.get(6)), latestList);
+        assertEquals(0, new SavedHistoryCache().forEach(JobHistoryOrder.LATEST_FIRST, history -> true));
+    }
+
+    public void test_search_byJobIndex() {
+        // ## Arrange ##
+        SavedHistoryCache cache = new SavedHistoryCache();
+        LocalDateTime baseTime = LocalDateTime.of(2026, 10, 16, 12, 0);
+        for (int i = 0; i < 30; i++) {
+            String jobName = i % 3 == 0 ? "sea" : "land";
+            ExecResultType resultType = i % 2 == 0 ? ExecResultType.SUCCESS : ExecResultType.CAUSED_BY_APPLICATION;
+            cache.record("key_" + i, new SearchedJobHistory(jobName, resultType, baseTime.plusMinutes(i)), 20); // 10 to 29 remain
+        }
+
+        // ## Act ##
+        List<LaJobHistory> seaList = cache.search(new JobHistorySearchOption().byJobKey(LaJobKey.of("sea")));
+        List<LaJobHistory> uniqueList = cache.search(new JobHistorySearchOption().byJobUnique(LaJobUnique.of("sea_unique")));
+        List<LaJobHistory> failureList = cache.search(new JobHistorySearchOption().byJobKey(LaJobKey.of("land")) //
+                .byExecResultType(ExecResultType.CAUSED_BY_APPLICATION)
+                .activatedFrom(baseTime.plusMinutes(15))
+                .paging(2, 2));
+        List<LaJobHistory> allLatestList = cache.search(new JobHistorySearchOption().limit(3));
+
+        // ## Assert ##
+        assertEquals(Arrays.asList(27, 24, 21, 18, 15, 12), extractMinutes(seaList, baseTime)); // latest first
+        assertEquals(extractMinutes(seaList, baseTime), extractMinutes(uniqueList, baseTime));
+        assertEquals(Arrays.asList(23, 19), extractMinutes(failureList, baseTime)); // 29, 25 in page 1 (27, 21 are sea)
+        assertEquals(Arrays.asList(29, 28, 27), extractMinutes(allLatestList, baseTime));
+        assertHasZeroElement(cache.search(new JobHistorySearchOption().byJobKey(LaJobKey.of("none"))));
+    }
+
+    public void test_retention_minimumPerJob() {
+        // ## Arrange ##
+        SavedHistoryCache cache = new SavedHistoryCache();
+        LocalDateTime baseTime = LocalDateTime.of(2026, 10, 16, 0, 0);
+        HistoryRetentionOption option = new HistoryRetentionOption().minimumPerJob(1);
+        cache.record("nightly_0", new SearchedJobHistory("nightly", ExecResultType.SUCCESS, baseTime), 10, option);
+
+        // ## Act ##
+        for (int i = 1; i <= 30; i++) { // chatty once-per-minute job
+            cache.record("chatty_" + i, new SearchedJobHistory("chatty", ExecResultType.SUCCESS, baseTime.plusMinutes(i)), 10, option);
+        }
+
+        // ## Assert ##
+        assertEquals(Arrays.asList(0, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30), extractMinutes(cache.list(), baseTime));
+        JobHistorySearchOption nightlyOption = new JobHistorySearchOption().byJobKey(LaJobKey.of("nightly"));
+        assertEquals(Arrays.asList(0), extractMinutes(cache.search(nightlyOption), baseTime));
+        assertTrue(cache.find("nightly_0").isPresent());
+        List<LaJobHistory> latestList = new ArrayList<LaJobHistory>();
+        cache.forEach(JobHistoryOrder.LATEST_FIRST, history -> latestList.add(history));
+        assertEquals(Arrays.asList(30, 29), extractMinutes(latestList.subList(0, 2), baseTime));
+        assertEquals(Arrays.asList(0), extractMinutes(latestList.subList(10, 11), baseTime)); // pinned is oldest
+
+        // released when the nightly job runs again
+        cache.record("nightly_1", new SearchedJobHistory("nightly", ExecResultType.SUCCESS, baseTime.plusDays(1)), 10, option);
+        assertFalse(cache.find("nightly_0").isPresent());
+        assertEquals(Arrays.asList(1440), extractMinutes(cache.search(nightlyOption), baseTime));
+    }
+
+    public void test_retention_policy() {
+        // ## Arrange ##
+        SavedHistoryCache cache = new SavedHistoryCache();
+        LocalDateTime baseTime = LocalDateTime.of(2026, 10, 16, 0, 0);
+        long[] maxBytes = new long[1];
+        HistoryRetentionOption option = new HistoryRetentionOption().evictBy((oldest, recordedMillis, currentMillis, approximateBytes) -> {
+            maxBytes[0] = Math.max(maxBytes[0], approximateBytes);
+            return oldest.getActivationTime().isBefore(baseTime.plusMinutes(5)); // like age
+        });
+
+        // ## Act ##
+        for (int i = 0; i < 8; i++) {
+            cache.record("key_" + i, new SearchedJobHistory("sea", ExecResultType.SUCCESS, baseTime.plusMinutes(i)), 20, option);
+        }
+
+        // ## Assert ##
+        assertEquals(Arrays.asList(5, 6, 7), extractMinutes(cache.list(), baseTime));
+        assertFalse(cache.find("key_0").isPresent());
+        assertTrue(maxBytes[0] > 0L);
+        long bytesOfOne = cache.getApproximateBytes() / 3;
+        cache.record("key_8", new SearchedJobHistory("sea", ExecResultType.SUCCESS, baseTime.plusMinutes(8)), 20,
+                new HistoryRetentionOption().maxBytes(bytesOfOne * 2));
+        assertEquals(Arrays.asList(7, 8), extractMinutes(cache.list(), baseTime));
+        assertEquals(Long.valueOf(bytesOfOne * 2), Long.valueOf(cache.getApproximateBytes()));
+    }
+
+    private List<Integer> extractMinutes(List<LaJobHistory> historyList, LocalDateTime baseTime) {
+        return historyList.stream().map(history -> {
+            return (int) Duration.between(baseTime, history.getActivationTime()).toMinutes();
+        }).collect(Collectors.toList());
+    }
+
+    private static class SearchedJobHistory extends MockJobHistory {
+
+        protected final String jobName;
+        protected final ExecResultType resultType;
+        protected final LocalDateTime activationTime;
+
+        public SearchedJobHistory(String jobName, ExecResultType resultType, LocalDateTime activationTime) {
+            this.jobName = jobName;
+            this.resultType = resultType;
+            this.activationTime = activationTime;
+        }
+
+        @Override
+        public LaJobKey getJobKey() {
+            return LaJobKey.of(jobName);
+        }
+
+        @Override
+        public OptionalThing<LaJobUnique> getJobUnique() {
+            return OptionalThing.of(LaJobUnique.of(jobName + "_unique"));
+        }
+
+        @Override
+        public ExecResultType getExecResultType() {
+            return resultType;
+        }
+
+        @Override
+        public LocalDateTime getActivationTime() {
+            return activationTime;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    public void test_benchmark_comparedWithCopyOnWrite() {
+        // ## Arrange ##
+        int limit = 3000;
+        int threadCount = 8;
+        int recordCount = 20000; // per thread
+        LaJobHistory jobHistory = new MockJobHistory();
+        SavedHistoryCache ringCache = new SavedHistoryCache();
+        CopyOnWriteHistoryCache copyCache = new CopyOnWriteHistoryCache();
+
+        // ## Act ##
+        long ringMillis = measureRecording(threadCount, key -> ringCache.record(key, jobHistory, limit), recordCount);
+        long copyMillis = measureRecording(threadCount, key -> copyCache.record(key, jobHistory, limit), recordCount);
+
+        // ## Assert ##
+        log("ring buffer: {}ms, copy-on-write: {}ms (threads={}, records={}, limit={})", ringMillis, copyMillis, threadCount,
+                threadCount * recordCount, limit);
+        assertEquals(limit, ringCache.list().size());
+        assertEquals(limit, copyCache.list().size());
+    }
+
+    private long measureRecording(int threadCount, Consumer<String> recorder, int recordCount) {
+        long before = System.currentTimeMillis();
+        cannonball(car -> {
+            String prefix = "sea_" + car.getEntryNumber() + "_";
+            for (int i = 0; i < recordCount; i++) {
+                recorder.accept(prefix + i);
+            }
+        }, new CannonballOption().threadCount(threadCount));
+        return System.currentTimeMillis() - before;
+    }
+
+    private static class CopyOnWriteHistoryCache { // previous implementation for comparison
+
+        protected final Map<String, LaJobHistory> historyMap = new ConcurrentHashMap<String, LaJobHistory>();
+        protected final List<String> historyKeyList = new CopyOnWriteArrayList<String>();
+
+        public synchronized void record(String historyKey, LaJobHistory jobHistory, int limit) {
+            if (historyMap.size() >= limit) {
+                final String removedKey = historyKeyList.remove(0); // oldest
+                historyMap.remove(removedKey);
+            }
+            historyMap.put(historyKey, jobHistory);
+            historyKeyList.add(historyKey);
+        }
+
+        public synchronized List<LaJobHistory> list() {
+            return historyKeyList.stream().map(key -> historyMap.get(key)).collect(Collectors.toList());
+        }
+    }
 }